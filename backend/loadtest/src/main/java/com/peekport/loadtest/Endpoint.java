@@ -0,0 +1,30 @@
+package com.peekport.loadtest;
+
+/**
+ * 측정 대상 요청 (보고서에는 "메서드 경로 패턴"으로 묶어 기록)
+ */
+enum Endpoint {
+    PORTFOLIOS("GET", "/api/portfolios"),
+    STOCKS("GET", "/api/portfolios/{portfolioId}/stocks"),
+    SUMMARY("GET", "/api/portfolios/{portfolioId}/summary"),
+    REBALANCING_STATUS("GET", "/api/portfolios/{portfolioId}/rebalancing/status"),
+    REBALANCING_ANALYZE("POST", "/api/portfolios/rebalancing/analyze"),
+    CASH_ADJUST("POST", "/api/portfolios/{portfolioId}/cash/adjust"),
+    QUANTITY_ADJUST("POST", "/api/portfolios/{portfolioId}/stocks/{stockId}/quantity/adjust");
+
+    private final String method;
+    private final String pattern;
+
+    Endpoint(String method, String pattern) {
+        this.method = method;
+        this.pattern = pattern;
+    }
+
+    String method() {
+        return method;
+    }
+
+    String label() {
+        return method + " " + pattern;
+    }
+}
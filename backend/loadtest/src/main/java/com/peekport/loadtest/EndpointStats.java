@@ -0,0 +1,50 @@
+package com.peekport.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 하나의 응답 시간(마이크로초, 유효 숫자 3자리)과 상태 코드별 건수
+ * 여러 클라이언트 스레드가 동시에 기록한다.
+ */
+class EndpointStats {
+
+    // 연결 실패/타임아웃 등 응답을 못 받은 경우
+    static final int NO_RESPONSE = 0;
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+    void record(long nanos, int status) {
+        latencyMicros.recordValue(Math.max(1, nanos / 1_000));
+        statusCodes.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    // 워밍업 구간 기록을 버림
+    void reset() {
+        latencyMicros.reset();
+        statusCodes.clear();
+    }
+
+    Histogram snapshot() {
+        return latencyMicros.copy();
+    }
+
+    long errors() {
+        return statusCodes.entrySet().stream()
+                .filter(e -> e.getKey() == NO_RESPONSE || e.getKey() >= 400)
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+    }
+
+    Map<String, Long> statusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statusCodes.forEach((status, count) -> counts.put(status == NO_RESPONSE ? "none" : status.toString(), count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,146 @@
+package com.peekport.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 mix 실행
+ * 클라이언트마다 임의의 사용자/포트폴리오를 골라 한 번의 "방문"을 수행하고 바로 다음 방문으로 넘어간다. (closed loop)
+ * - 조회(1 - edit-ratio): 포트폴리오 목록 → 종목 목록 → 요약 → 리밸런싱 상태 (대시보드 진입)
+ * - 수정(edit-ratio): 현금 증감 / 수량 증감 / 리밸런싱 분석 중 하나 → 종목 목록 새로고침
+ * 응답이 느려지면 보내는 요청 수도 줄어드는 방식이라, 꼬리 지연은 고정 도착률 측정보다 낮게 나올 수 있다.
+ */
+@Slf4j
+class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final Population population;
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private volatile boolean stopped;
+
+    LoadDriver(URI baseUri, Population population, LoadTestConfig config) {
+        this.baseUri = baseUri;
+        this.population = population;
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            Random random = new Random(config.seed() * 31 + i);
+            clients.execute(() -> loop(random));
+        }
+
+        log.info("워밍업 {}s (클라이언트 {}개)", config.warmup().toSeconds(), config.concurrency());
+        Thread.sleep(config.warmup().toMillis());
+        stats.values().forEach(EndpointStats::reset);
+
+        Instant startedAt = Instant.now();
+        long measureFrom = System.nanoTime();
+        log.info("측정 {}s", config.duration().toSeconds());
+        Thread.sleep(config.duration().toMillis());
+        stopped = true;
+        long measuredNanos = System.nanoTime() - measureFrom;
+
+        clients.shutdown();
+        if (!clients.awaitTermination(REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        return LoadTestReport.of(config, startedAt, measuredNanos, stats);
+    }
+
+    private void loop(Random random) {
+        List<Population.SeededUser> users = population.users();
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            Population.SeededUser user = users.get(random.nextInt(users.size()));
+            Population.SeededPortfolio portfolio = user.portfolios().get(random.nextInt(user.portfolios().size()));
+            if (random.nextDouble() < config.editRatio()) {
+                edit(user, portfolio, random);
+            } else {
+                dashboard(user, portfolio);
+            }
+            if (!config.thinkTime().isZero()) {
+                try {
+                    Thread.sleep(config.thinkTime().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void dashboard(Population.SeededUser user, Population.SeededPortfolio portfolio) {
+        String base = "/api/portfolios/" + portfolio.id();
+        send(Endpoint.PORTFOLIOS, user, "/api/portfolios", null);
+        send(Endpoint.STOCKS, user, base + "/stocks", null);
+        send(Endpoint.SUMMARY, user, base + "/summary", null);
+        send(Endpoint.REBALANCING_STATUS, user, base + "/rebalancing/status", null);
+    }
+
+    private void edit(Population.SeededUser user, Population.SeededPortfolio portfolio, Random random) {
+        String base = "/api/portfolios/" + portfolio.id();
+        String sign = random.nextBoolean() ? "" : "-";
+        switch (random.nextInt(3)) {
+            case 0 -> send(Endpoint.CASH_ADJUST, user, base + "/cash/adjust", "{\"delta\":" + sign + "10000}");
+            case 1 -> {
+                long stockId = portfolio.stockIds().get(random.nextInt(portfolio.stockIds().size()));
+                send(Endpoint.QUANTITY_ADJUST, user, base + "/stocks/" + stockId + "/quantity/adjust", "{\"delta\":" + sign + "1}");
+            }
+            default -> send(Endpoint.REBALANCING_ANALYZE, user, "/api/portfolios/rebalancing/analyze", portfolio.analyzeBody());
+        }
+        send(Endpoint.STOCKS, user, base + "/stocks", null);
+    }
+
+    private void send(Endpoint endpoint, Population.SeededUser user, String path, String body) {
+        if (stopped) {
+            return;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + user.token());
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(endpoint.method(), HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(endpoint.method(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        long startedAt = System.nanoTime();
+        int status;
+        try {
+            // 본문은 끝까지 읽고 버림 (직렬화/전송 시간까지 포함)
+            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = EndpointStats.NO_RESPONSE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(endpoint).record(System.nanoTime() - startedAt, status);
+    }
+}
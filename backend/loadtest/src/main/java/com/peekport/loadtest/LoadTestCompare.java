@@ -0,0 +1,58 @@
+package com.peekport.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 두 부하 측정 결과 비교 (gradle :loadtest:loadTestCompare -Pbaseline=a.json -Pcandidate=b.json)
+ * 엔드포인트별 p50/p99/처리량/오류 수를 기준 -> 비교 대상(변화율)으로 출력한다.
+ */
+public class LoadTestCompare {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args[0].isBlank() || args[1].isBlank()) {
+            throw new IllegalArgumentException("기준/비교 결과 파일이 필요합니다: -Pbaseline=a.json -Pcandidate=b.json");
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(Path.of(args[0]).toFile());
+        JsonNode candidate = objectMapper.readTree(Path.of(args[1]).toFile());
+
+        if (!baseline.path("config").equals(candidate.path("config"))) {
+            System.out.println("주의: 두 실행의 설정(config)이 다릅니다.");
+        }
+        System.out.printf("%-70s %-24s %-24s %-24s %s%n", "endpoint", "p50(ms)", "p99(ms)", "req/s", "errors");
+
+        Set<String> labels = new LinkedHashSet<>();
+        baseline.path("endpoints").fieldNames().forEachRemaining(labels::add);
+        candidate.path("endpoints").fieldNames().forEachRemaining(labels::add);
+        for (String label : labels) {
+            print(label, baseline.path("endpoints").path(label), candidate.path("endpoints").path(label));
+        }
+        print("TOTAL", baseline.path("total"), candidate.path("total"));
+    }
+
+    private static void print(String label, JsonNode before, JsonNode after) {
+        System.out.printf("%-70s %-24s %-24s %-24s %s%n", label,
+                change(before.path("latencyMs").path("p50"), after.path("latencyMs").path("p50")),
+                change(before.path("latencyMs").path("p99"), after.path("latencyMs").path("p99")),
+                change(before.path("throughput"), after.path("throughput")),
+                before.path("errors").asLong() + " -> " + after.path("errors").asLong());
+    }
+
+    // "12.30 -> 10.10 (-17.9%)", 한쪽에만 있으면 "-"
+    private static String change(JsonNode before, JsonNode after) {
+        if (before.isMissingNode() || after.isMissingNode()) {
+            return (before.isMissingNode() ? "-" : String.format("%.2f", before.asDouble()))
+                    + " -> " + (after.isMissingNode() ? "-" : String.format("%.2f", after.asDouble()));
+        }
+        double a = before.asDouble();
+        double b = after.asDouble();
+        String percent = a == 0 ? "" : String.format(" (%+.1f%%)", (b - a) * 100 / a);
+        return String.format("%.2f -> %.2f%s", a, b, percent);
+    }
+}
@@ -0,0 +1,59 @@
+package com.peekport.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 측정 설정 (시스템 속성 loadtest.*, gradle에서는 -Ploadtest.users=500 처럼 넘김)
+ * 사용자 users명 × 포트폴리오 portfolios개 × 종목 holdings개를 만들고,
+ * concurrency개 클라이언트가 warmup 후 duration 동안 쉬지 않고(think-time 제외) 요청을 보낸다.
+ */
+public record LoadTestConfig(int users,
+                             int portfoliosPerUser,
+                             int holdingsPerPortfolio,
+                             int concurrency,
+                             Duration warmup,
+                             Duration duration,
+                             double editRatio,
+                             Duration thinkTime,
+                             long seed,
+                             Path reportDir) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                intProperty("loadtest.users", 200),
+                intProperty("loadtest.portfolios", 3),
+                intProperty("loadtest.holdings", 15),
+                intProperty("loadtest.concurrency", 32),
+                durationProperty("loadtest.warmup", "10s"),
+                durationProperty("loadtest.duration", "60s"),
+                Double.parseDouble(System.getProperty("loadtest.edit-ratio", "0.2")),
+                durationProperty("loadtest.think-time", "0ms"),
+                Long.parseLong(System.getProperty("loadtest.seed", "42")),
+                Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest")));
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        if (users < 1 || portfoliosPerUser < 1 || holdingsPerPortfolio < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("users/portfolios/holdings/concurrency는 1 이상이어야 합니다.");
+        }
+        if (editRatio < 0 || editRatio > 1) {
+            throw new IllegalArgumentException("edit-ratio는 0~1 사이여야 합니다: " + editRatio);
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("duration은 0보다 커야 합니다.");
+        }
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static Duration durationProperty(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(name, defaultValue));
+    }
+}
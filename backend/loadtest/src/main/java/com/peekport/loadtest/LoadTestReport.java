@@ -0,0 +1,136 @@
+package com.peekport.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 측정 결과 (JSON으로 저장해 실행끼리 비교)
+ * 지연은 밀리초, 처리량은 측정 구간 초당 완료 요청 수. histogram은 upToMs 이하로 끝난 요청 수(구간별, 누적 아님)
+ */
+public record LoadTestReport(String startedAt,
+                             Map<String, Object> config,
+                             Map<String, Object> environment,
+                             double measuredSeconds,
+                             EndpointReport total,
+                             Map<String, EndpointReport> endpoints) {
+
+    // 히스토그램 구간: 0.5ms부터 2배씩
+    private static final long FIRST_BUCKET_MICROS = 500;
+    private static final double BUCKET_FACTOR = 2.0;
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    public record EndpointReport(long count,
+                                 long errors,
+                                 Map<String, Long> statusCodes,
+                                 double throughput,
+                                 Latency latencyMs,
+                                 List<Bucket> histogram) {
+    }
+
+    public record Latency(double mean, double p50, double p90, double p95, double p99, double p999, double max) {
+    }
+
+    public record Bucket(double upToMs, long count) {
+    }
+
+    static LoadTestReport of(LoadTestConfig config, Instant startedAt, long measuredNanos, Map<Endpoint, EndpointStats> stats) {
+        double seconds = measuredNanos / 1e9;
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        Histogram all = null;
+        long errors = 0;
+        Map<String, Long> statusCodes = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().snapshot();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Long> codes = entry.getValue().statusCounts();
+            endpoints.put(entry.getKey().label(), endpoint(histogram, entry.getValue().errors(), codes, seconds));
+
+            if (all == null) {
+                all = histogram.copy();
+            } else {
+                all.add(histogram);
+            }
+            errors += entry.getValue().errors();
+            codes.forEach((code, count) -> statusCodes.merge(code, count, Long::sum));
+        }
+        EndpointReport total = all == null ? null : endpoint(all, errors, statusCodes, seconds);
+
+        return new LoadTestReport(startedAt.toString(), configOf(config), environmentOf(), round(seconds), total, endpoints);
+    }
+
+    /**
+     * reportDir/loadtest-yyyyMMdd-HHmmss.json 으로 저장
+     */
+    Path write(Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve("loadtest-" + FILE_TIME.format(Instant.parse(startedAt)) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+        return file;
+    }
+
+    private static EndpointReport endpoint(Histogram histogram, long errors, Map<String, Long> statusCodes, double seconds) {
+        Latency latency = new Latency(
+                round(histogram.getMean() / 1000.0),
+                millis(histogram, 50),
+                millis(histogram, 90),
+                millis(histogram, 95),
+                millis(histogram, 99),
+                millis(histogram, 99.9),
+                round(histogram.getMaxValue() / 1000.0));
+
+        List<Bucket> buckets = new ArrayList<>();
+        for (HistogramIterationValue value : histogram.logarithmicBucketValues(FIRST_BUCKET_MICROS, BUCKET_FACTOR)) {
+            buckets.add(new Bucket(round(value.getValueIteratedTo() / 1000.0), value.getCountAddedInThisIterationStep()));
+        }
+        return new EndpointReport(histogram.getTotalCount(), errors, statusCodes,
+                round(histogram.getTotalCount() / seconds), latency, buckets);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static Map<String, Object> configOf(LoadTestConfig config) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("users", config.users());
+        values.put("portfoliosPerUser", config.portfoliosPerUser());
+        values.put("holdingsPerPortfolio", config.holdingsPerPortfolio());
+        values.put("concurrency", config.concurrency());
+        values.put("warmup", config.warmup().toString());
+        values.put("duration", config.duration().toString());
+        values.put("editRatio", config.editRatio());
+        values.put("thinkTime", config.thinkTime().toString());
+        values.put("seed", config.seed());
+        return values;
+    }
+
+    private static Map<String, Object> environmentOf() {
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("java", System.getProperty("java.version"));
+        values.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        values.put("processors", runtime.availableProcessors());
+        values.put("maxHeapMb", runtime.maxMemory() / (1024 * 1024));
+        return values;
+    }
+}
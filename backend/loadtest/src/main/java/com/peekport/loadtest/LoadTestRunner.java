@@ -0,0 +1,51 @@
+package com.peekport.loadtest;
+
+import com.peekport.PeekportBackApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * HTTP 부하 측정 진입점 (gradle :loadtest:loadTest)
+ * loadtest 프로필(내장 H2)로 앱을 빈 포트에 띄우고, 합성 사용자를 적재한 뒤 요청 mix를 돌려 결과를 JSON으로 남긴다.
+ * JWT 유효 시간(1시간)보다 긴 측정은 중간부터 401이 난다.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PeekportBackApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Population population = new PopulationSeeder(context).seed(config);
+
+            LoadTestReport report = new LoadDriver(URI.create("http://localhost:" + port), population, config).run();
+            Path file = report.write(config.reportDir());
+            print(report);
+            log.info("결과 저장 - {}", file.toAbsolutePath());
+        }
+    }
+
+    private static void print(LoadTestReport report) {
+        System.out.printf("%n%-70s %9s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        for (Map.Entry<String, LoadTestReport.EndpointReport> entry : report.endpoints().entrySet()) {
+            print(entry.getKey(), entry.getValue());
+        }
+        if (report.total() != null) {
+            print("TOTAL", report.total());
+        }
+    }
+
+    private static void print(String label, LoadTestReport.EndpointReport endpoint) {
+        System.out.printf("%-70s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", label, endpoint.count(), endpoint.errors(),
+                endpoint.throughput(), endpoint.latencyMs().p50(), endpoint.latencyMs().p99(), endpoint.latencyMs().max());
+    }
+}
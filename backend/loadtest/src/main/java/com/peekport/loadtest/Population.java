@@ -0,0 +1,26 @@
+package com.peekport.loadtest;
+
+import java.util.List;
+
+/**
+ * 부하 측정용으로 만든 사용자와 포트폴리오 (요청 경로/본문을 만드는 데 필요한 값만)
+ */
+public record Population(List<SeededUser> users) {
+
+    public record SeededUser(String email, String token, List<SeededPortfolio> portfolios) {
+    }
+
+    /**
+     * @param analyzeBody 이 포트폴리오의 보유 종목으로 만든 리밸런싱 분석 요청 본문(JSON)
+     */
+    public record SeededPortfolio(long id, List<Long> stockIds, String analyzeBody) {
+    }
+
+    public int portfolioCount() {
+        return users.stream().mapToInt(u -> u.portfolios().size()).sum();
+    }
+
+    public int stockCount() {
+        return users.stream().flatMap(u -> u.portfolios().stream()).mapToInt(p -> p.stockIds().size()).sum();
+    }
+}
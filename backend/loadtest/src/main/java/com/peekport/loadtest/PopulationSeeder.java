@@ -0,0 +1,177 @@
+package com.peekport.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peekport.config.JwtUtil;
+import com.peekport.model.Asset;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioType;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 합성 사용자 적재
+ * 서비스 계층을 거치지 않고 저장소로 바로 넣는다. (변경 이벤트/원장 없이 조회·수정 요청에 필요한 행만)
+ * 같은 seed면 같은 구성이 나오므로 실행끼리 비교할 수 있다.
+ */
+@Slf4j
+class PopulationSeeder {
+
+    static final String PASSWORD = "loadtest";
+
+    private static final int USERS_PER_TRANSACTION = 50;
+    private static final int TICKERS = 500;
+    private static final String[] CATEGORIES = {"주식", "ETF", "채권"};
+    private static final String[] TERMS = {"short", "mid", "long"};
+    private static final PortfolioType[] TYPES = PortfolioType.values();
+
+    private final UserRepository userRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    PopulationSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.goalAccountRepository = context.getBean(GoalAccountRepository.class);
+        this.assetRepository = context.getBean(AssetRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.jwtUtil = context.getBean(JwtUtil.class);
+        this.transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    Population seed(LoadTestConfig config) {
+        if (config.holdingsPerPortfolio() > TICKERS) {
+            throw new IllegalArgumentException("포트폴리오당 종목은 " + TICKERS + "개까지 만들 수 있습니다.");
+        }
+        long startedAt = System.nanoTime();
+        Random random = new Random(config.seed());
+        // BCrypt는 느리므로 모든 사용자가 같은 해시를 씀
+        String password = passwordEncoder.encode(PASSWORD);
+
+        List<Population.SeededUser> users = new ArrayList<>(config.users());
+        for (int from = 0; from < config.users(); from += USERS_PER_TRANSACTION) {
+            int to = Math.min(from + USERS_PER_TRANSACTION, config.users());
+            int first = from;
+            transaction.executeWithoutResult(status -> {
+                for (int i = first; i < to; i++) {
+                    users.add(seedUser(i, password, config, random));
+                }
+            });
+        }
+
+        Population population = new Population(users);
+        log.info("합성 데이터 적재 - 사용자 {}명, 포트폴리오 {}개, 종목 {}개, {}ms",
+                users.size(), population.portfolioCount(), population.stockCount(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return population;
+    }
+
+    private Population.SeededUser seedUser(int index, String password, LoadTestConfig config, Random random) {
+        User user = new User();
+        user.setName("부하" + index);
+        user.setEmail("loadtest-" + index + "@peekport.test");
+        user.setPassword(password);
+        userRepository.save(user);
+
+        List<Population.SeededPortfolio> portfolios = new ArrayList<>(config.portfoliosPerUser());
+        for (int p = 0; p < config.portfoliosPerUser(); p++) {
+            GoalAccount goal = new GoalAccount();
+            goal.setUser(user);
+            goal.setName("포트폴리오 " + (p + 1));
+            goal.setTargetAmount(100_000_000L);
+            goal.setCash(BigDecimal.valueOf(10_000_000L + random.nextInt(10_000_000)));
+            goal.setPortfolioType(TYPES[random.nextInt(TYPES.length)]);
+            goalAccountRepository.save(goal);
+
+            List<Asset> assets = new ArrayList<>(config.holdingsPerPortfolio());
+            BigDecimal targetRatio = BigDecimal.valueOf(90).divide(BigDecimal.valueOf(config.holdingsPerPortfolio()), 2, RoundingMode.DOWN);
+            // 한 포트폴리오 안에서는 티커가 겹치지 않게 (리밸런싱 분석이 티커를 키로 씀)
+            int firstTicker = random.nextInt(TICKERS);
+            for (int h = 0; h < config.holdingsPerPortfolio(); h++) {
+                assets.add(asset(user, goal, (firstTicker + h) % TICKERS, targetRatio, random));
+            }
+            assetRepository.saveAll(assets);
+
+            portfolios.add(new Population.SeededPortfolio(goal.getId(),
+                    assets.stream().map(Asset::getId).toList(), analyzeBody(goal, assets)));
+        }
+        return new Population.SeededUser(user.getEmail(), jwtUtil.generateToken(user.getEmail(), user.getRole().name()), portfolios);
+    }
+
+    private static Asset asset(User user, GoalAccount goal, int ticker, BigDecimal targetRatio, Random random) {
+        boolean usd = random.nextInt(5) == 0;
+        BigDecimal price = usd
+                ? BigDecimal.valueOf(10 + random.nextInt(500)).setScale(2, RoundingMode.UNNECESSARY)
+                : BigDecimal.valueOf(1_000L * (5 + random.nextInt(200)));
+
+        Asset asset = new Asset();
+        asset.setUser(user);
+        asset.setGoalAccount(goal);
+        asset.setTicker(String.format("LT%04d", ticker));
+        asset.setName("종목 " + ticker);
+        asset.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        asset.setTerm(TERMS[random.nextInt(TERMS.length)]);
+        asset.setCurrency(usd ? "USD" : "KRW");
+        asset.setQuantity(10 + random.nextInt(200));
+        asset.setPurchasePrice(price);
+        asset.setCurrentPrice(price.multiply(BigDecimal.valueOf(80 + random.nextInt(41))).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+        asset.setTargetRatio(targetRatio);
+        return asset;
+    }
+
+    // 화면에서 보내는 것과 같은 모양 (통화 환산 없이 종목 가격 그대로 합산)
+    private String analyzeBody(GoalAccount goal, List<Asset> assets) {
+        BigDecimal total = goal.getCash();
+        for (Asset asset : assets) {
+            total = total.add(value(asset));
+        }
+
+        List<Map<String, Object>> holdings = new ArrayList<>();
+        List<Map<String, Object>> targets = new ArrayList<>();
+        for (Asset asset : assets) {
+            BigDecimal value = value(asset);
+            Map<String, Object> holding = new LinkedHashMap<>();
+            holding.put("stock_code", asset.getTicker());
+            holding.put("stock_name", asset.getName());
+            holding.put("current_shares", asset.getQuantity());
+            holding.put("current_price", asset.getCurrentPrice());
+            holding.put("current_value", value);
+            holding.put("current_ratio", value.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP));
+            holdings.add(holding);
+            targets.add(Map.of("stock_code", asset.getTicker(), "target_ratio", asset.getTargetRatio()));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("portfolio_id", goal.getId());
+        body.put("total_asset_value", total);
+        body.put("current_holdings", holdings);
+        body.put("target_allocations", targets);
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BigDecimal value(Asset asset) {
+        return asset.getCurrentPrice().multiply(BigDecimal.valueOf(asset.getQuantity()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.peekport.config;
+
+import com.peekport.service.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    // 포트폴리오 비동기 정리용 (요청 스레드와 분리, 동시 정리 개수 제한)
+    // 가상 스레드 모드에서도 개수 제한은 그대로 두고 스레드만 가상 스레드로 (DB 대기가 대부분)
+    @Bean
+    public ThreadPoolTaskExecutor purgeExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("purge-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("purge-", 0).factory());
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    // 평균-분산 최적화, 위험 지표, 수익률, 리밸런싱 분석 (CPU 위주, 일반 요청과 스레드를 나눠 씀)
+    // CPU를 쓰는 작업이라 가상 스레드 모드에서도 일반 스레드로 둔다
+    @Bean
+    public Bulkhead analysisBulkhead(MeterRegistry meterRegistry,
+                                     @Value("${peekport.bulkhead.analysis.threads:4}") int threads,
+                                     @Value("${peekport.bulkhead.analysis.queue:16}") int queue) {
+        return new Bulkhead("analysis", threads, queue, meterRegistry);
+    }
+
+    // 몬테카를로 시뮬레이션 (한 건이 오래 걸려 분석과도 따로 둠)
+    @Bean
+    public Bulkhead simulationBulkhead(MeterRegistry meterRegistry,
+                                       @Value("${peekport.bulkhead.simulation.threads:2}") int threads,
+                                       @Value("${peekport.bulkhead.simulation.queue:4}") int queue) {
+        return new Bulkhead("simulation", threads, queue, meterRegistry);
+    }
+}
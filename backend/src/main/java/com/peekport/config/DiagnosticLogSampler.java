@@ -0,0 +1,39 @@
+package com.peekport.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 진단용 로그 표본 추출 (logback-spring.xml의 prod 프로필에서 등록)
+ * DIAGNOSTIC 마커가 붙은 호출별 로그는 rate건 중 1건만 남기고, 마커 없는 로그와 WARN 이상은 그대로 둔다.
+ * 사용: log.info(DiagnosticLogSampler.DIAGNOSTIC, "...", ...)
+ */
+public class DiagnosticLogSampler extends TurboFilter {
+
+    public static final Marker DIAGNOSTIC = MarkerFactory.getMarker("DIAGNOSTIC");
+
+    private final AtomicLong counter = new AtomicLong();
+    private int rate = 1;
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate == 1 || marker == null || level == null || level.isGreaterOrEqual(Level.WARN) || !marker.contains(DIAGNOSTIC)) {
+            return FilterReply.NEUTRAL;
+        }
+        // 어차피 꺼진 레벨이면 표본 수에 넣지 않음
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,20 @@
+package com.peekport.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 서비스 메서드 시간 측정
+ * @Timed("peekport.service")를 붙인 클래스의 public 메서드마다 class/method 태그로 타이머를 남긴다.
+ * (히스토그램 구간은 management.metrics.distribution 설정, Prometheus는 /actuator/prometheus)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.peekport.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 알림 발송 설정 (peekport.notification)
+ * 발송 주기(dispatch-interval-ms)와 리밸런싱 확인 시각(rebalancing-cron)은 @Scheduled에서 직접 읽는다.
+ */
+@Component
+@ConfigurationProperties("peekport.notification")
+@Getter @Setter
+public class NotificationProperties {
+
+    private int batchSize = 200;                            // 한 번에 점유하는 알림 수
+    private int maxBatchesPerRun = 10;                      // 한 주기에 처리하는 최대 묶음 수
+    private int maxAttempts = 5;                            // 넘기면 FAILED
+    private Duration retryBackoff = Duration.ofSeconds(30); // 실패할 때마다 두 배
+    private Duration maxBackoff = Duration.ofHours(1);
+    private int perUserLimit = 5;                           // 사용자별 발송 한도 (per-user-window 동안)
+    private Duration perUserWindow = Duration.ofMinutes(1);
+    private Duration claimTimeout = Duration.ofMinutes(5);  // 점유 후 이 시간이 지나도 결과가 없으면 다시 발송
+    private int digestMaxLines = 20;                        // 묶음 알림 본문에 나열하는 최대 건수
+    private Duration retention = Duration.ofDays(7);        // 발송 완료 알림 보관 기간
+    private Duration rebalancingRenotify = Duration.ofDays(7); // 계속 리밸런싱이 필요할 때 다시 알리는 간격
+}
@@ -0,0 +1,52 @@
+package com.peekport.config;
+
+import com.peekport.model.PortfolioType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 목표 달성 시뮬레이션 설정 (peekport.projection)
+ * 포트폴리오 유형별 기대 수익률/변동성은 연 단위 소수 (0.06 = 6%)
+ */
+@Component
+@ConfigurationProperties("peekport.projection")
+@Getter @Setter
+public class ProjectionProperties {
+
+    private int defaultPaths = 20_000;
+    private int maxPaths = 100_000;
+    private int maxMonths = 600;
+    private int chunkSize = 2_048;                          // 작업 하나가 맡는 경로 수
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Duration timeBudget = Duration.ofMillis(200);   // 넘기면 남은 경로는 버리고 완료분으로 응답
+
+    private Map<PortfolioType, Assumption> assumptions = defaults();
+
+    @Getter @Setter
+    public static class Assumption {
+        private double expectedReturn;
+        private double volatility;
+
+        public Assumption() {
+        }
+
+        Assumption(double expectedReturn, double volatility) {
+            this.expectedReturn = expectedReturn;
+            this.volatility = volatility;
+        }
+    }
+
+    private static Map<PortfolioType, Assumption> defaults() {
+        Map<PortfolioType, Assumption> map = new EnumMap<>(PortfolioType.class);
+        map.put(PortfolioType.CONSERVATIVE, new Assumption(0.04, 0.06));
+        map.put(PortfolioType.BALANCED, new Assumption(0.06, 0.12));
+        map.put(PortfolioType.AGGRESSIVE, new Assumption(0.08, 0.20));
+        return map;
+    }
+}
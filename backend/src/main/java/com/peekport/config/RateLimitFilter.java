@@ -0,0 +1,112 @@
+package com.peekport.config;
+
+import com.peekport.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 사용자별 요청 한도 (JwtFilter 다음, 인증된 요청만)
+ * 경로별 비용만큼 토큰을 꺼내고, 모자라면 컨트롤러까지 가지 않고 429 + Retry-After로 끝낸다.
+ * 거절 수는 peekport.ratelimit.rejected(rule 태그), 추적 중인 버킷 수는 peekport.ratelimit.buckets
+ */
+@Slf4j
+class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_RULE = "default";
+
+    private final TokenBucketRateLimiter limiter;
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final MeterRegistry meterRegistry;
+
+    RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.limiter = new TokenBucketRateLimiter(properties.getTokensPerSecond(), properties.getBurst(),
+                properties.getMaxTrackedUsers());
+        this.enabled = properties.isEnabled();
+        this.rules = properties.getCosts().stream()
+                .map(cost -> new Rule(cost.getMethod(), PathPatternParser.defaultInstance.parse(cost.getPattern()), cost.getCost()))
+                .toList();
+        for (Rule rule : rules) {
+            if (!limiter.fits(rule.cost())) {
+                throw new IllegalStateException("요청 비용이 버킷 크기보다 큽니다: " + rule.pattern() + " (" + rule.cost() + ")");
+            }
+        }
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("peekport.ratelimit.buckets", limiter, TokenBucketRateLimiter::size)
+                .description("요청 한도를 추적 중인 사용자 버킷 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!enabled || auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Rule rule = match(request);
+        long waitNanos = limiter.tryAcquire(auth.getName(), rule != null ? rule.cost() : 1, System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String ruleName = rule != null ? rule.pattern().getPatternString() : DEFAULT_RULE;
+        Counter.builder("peekport.ratelimit.rejected")
+                .description("요청 한도 초과로 거절한 요청 수")
+                .tag("rule", ruleName)
+                .register(meterRegistry)
+                .increment();
+        log.debug("요청 한도 초과 - {} {} {}", auth.getName(), request.getMethod(), request.getRequestURI());
+
+        TooManyRequestsException rejected = new TooManyRequestsException(
+                "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", Duration.ofNanos(waitNanos));
+        response.setStatus(rejected.getStatusCode().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"" + rejected.getReason() + "\"}");
+    }
+
+    private Rule match(HttpServletRequest request) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod())) && rule.pattern().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private record Rule(String method, PathPattern pattern, int cost) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.peekport.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자별 요청 한도 (peekport.rate-limit)
+ * 요청마다 costs에서 처음 맞는 규칙의 비용(없으면 1)만큼 토큰을 쓴다.
+ */
+@Component
+@ConfigurationProperties("peekport.rate-limit")
+@Getter @Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private double tokensPerSecond = 20;        // 초당 다시 차는 토큰 수
+    private int burst = 40;                     // 버킷 크기 (한 번에 몰아 쓸 수 있는 양)
+    private int maxTrackedUsers = 100_000;      // 넘으면 가득 찬 버킷부터 정리
+    private List<Cost> costs = new ArrayList<>();
+
+    @Getter @Setter
+    public static class Cost {
+        private String method;                  // 비우면 모든 메서드
+        private String pattern;                 // 예: /api/portfolios/*/projection
+        private int cost = 1;                   // 0이면 한도 검사 제외
+    }
+}
@@ -1,11 +1,15 @@
 package com.peekport.config;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,6 +34,8 @@ public class SecurityConfig {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitProperties rateLimitProperties;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -44,21 +50,33 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // 내부 지표는 가입만 하면 볼 수 있으면 안 됨 (수집기는 관리자 토큰으로)
+                        .requestMatchers(EndpointRequest.to("metrics", "prometheus")).hasRole("ADMIN")
                         .anyRequest().authenticated() // 로그인했다면 일단 모든 요청은 접근 권한을 가질 수 있음 (관리자 페이지를 만들기 전까지)
                 )
-                .addFilterBefore(new JwtFilter(jwtUtil, userDetailsService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtFilter(jwtUtil, userDetailsService, meterRegistry), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimitProperties, meterRegistry), JwtFilter.class)
                 .build();
     }
 
     // 필터 클래스
+    // 토큰 검증 + 사용자 조회 시간만 peekport.jwt.filter(outcome 태그)로 측정 (뒤쪽 필터/컨트롤러 시간 제외)
+    @Slf4j
     static class JwtFilter extends OncePerRequestFilter {
 
         private final JwtUtil jwtUtil;
         private final UserDetailsService userDetailsService;
+        private final MeterRegistry meterRegistry;
+        private final Timer authenticated;
+        private final Timer rejected;
 
-        public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+        public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
             this.jwtUtil = jwtUtil;
             this.userDetailsService = userDetailsService;
+            this.meterRegistry = meterRegistry;
+            this.authenticated = timer(meterRegistry, "authenticated");
+            this.rejected = timer(meterRegistry, "rejected");
         }
 
         @Override
@@ -77,6 +95,7 @@ public class SecurityConfig {
             String authHeader = request.getHeader("Authorization");
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                Timer.Sample sample = Timer.start(meterRegistry);
                 String token = authHeader.substring(7);
                 try {
                     Claims claims = jwtUtil.parseClaims(token);
@@ -91,10 +110,10 @@ public class SecurityConfig {
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
                     SecurityContextHolder.getContext().setAuthentication(auth);
+                    sample.stop(authenticated);
                 } catch (Exception e) {
-                    // 상세 로깅 추가
-                    System.err.println("JWT 처리 중 오류 발생: " + e.getMessage());
-                    e.printStackTrace();
+                    sample.stop(rejected);
+                    log.debug("JWT 처리 중 오류 발생: {}", e.getMessage());
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     return;
                 }
@@ -102,5 +121,12 @@ public class SecurityConfig {
 
             filterChain.doFilter(request, response);
         }
+
+        private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+            return Timer.builder("peekport.jwt.filter")
+                    .description("JWT 검증과 사용자 조회 시간")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
     }
 }
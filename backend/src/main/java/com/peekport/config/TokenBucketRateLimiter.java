@@ -0,0 +1,72 @@
+package com.peekport.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키(사용자)별 토큰 버킷
+ * 버킷마다 "다 쓴 토큰이 모두 다시 차는 시각(TAT)" 하나만 AtomicLong으로 두고 CAS로 갱신한다. (GCRA, 락 없음)
+ * - 토큰 하나가 차는 데 interval, 버킷 크기는 burst개 → TAT가 now + burst*interval을 넘는 요청은 거절
+ * - 거절할 때는 그 요청이 통과할 수 있는 시각까지 남은 시간을 돌려준다. (Retry-After)
+ * 가득 찬 버킷(TAT <= now)은 새 버킷과 같으므로 키가 많아지면 지워도 된다.
+ */
+final class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int purgeThreshold;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    TokenBucketRateLimiter(double tokensPerSecond, int burst, int purgeThreshold) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("초당 토큰 수와 버킷 크기는 0보다 커야 합니다.");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.purgeThreshold = purgeThreshold;
+    }
+
+    /**
+     * cost개의 토큰을 꺼냄
+     * @return 0이면 통과, 아니면 다시 시도할 수 있을 때까지 남은 나노초
+     */
+    long tryAcquire(String key, int cost, long nowNanos) {
+        if (cost <= 0) {
+            return 0;
+        }
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= purgeThreshold) {
+                purgeFull(nowNanos);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+
+        long increment = intervalNanos * cost;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long waitNanos = next - capacityNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // 버킷 크기보다 큰 비용은 영원히 통과하지 못함
+    boolean fits(int cost) {
+        return intervalNanos * cost <= capacityNanos;
+    }
+
+    // 정리하는 순간 같은 버킷에서 꺼낸 요청은 차감이 빠질 수 있음 (허용 쪽으로만 틀림)
+    private void purgeFull(long nowNanos) {
+        buckets.values().removeIf(tat -> tat.get() <= nowNanos);
+    }
+}
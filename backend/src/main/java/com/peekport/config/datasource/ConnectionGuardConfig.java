@@ -0,0 +1,43 @@
+package com.peekport.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 커넥션 대기 제한 설정
+ * 애플리케이션이 쓰는 "dataSource" 빈만 감싼다. (replica를 켜면 primary/replica를 합친 동시 커넥션 수로 묶임)
+ * max-connections는 기본으로 Hikari 풀 크기를 따라가므로 풀 크기를 바꾸면 같이 바뀐다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "peekport.datasource.guard", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionGuardConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor connectionGuardDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${peekport.datasource.guard.max-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConnections,
+            @Value("${peekport.datasource.guard.max-waiting:200}") int maxWaiting,
+            @Value("${peekport.datasource.guard.max-wait:2s}") Duration maxWait) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionGuardDataSource)) {
+                    return new ConnectionGuardDataSource(dataSource, maxConnections, maxWaiting, maxWait,
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
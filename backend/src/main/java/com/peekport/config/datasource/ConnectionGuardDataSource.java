@@ -0,0 +1,140 @@
+package com.peekport.config.datasource;
+
+import com.peekport.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시에 빌려 가는 커넥션 수와 기다리는 요청 수를 묶는 DataSource
+ * 가상 스레드로 요청을 받으면 Tomcat 스레드 수가 동시 요청을 막아 주지 않아, 몰린 요청이 전부 풀 대기열에 쌓인다.
+ * - 커넥션은 maxConnections개까지만 빌려 주고(공정 세마포어, 가상 스레드는 기다리는 동안 캐리어를 놓음) 나머지는 순서대로 대기
+ * - 이미 maxWaiting개가 기다리고 있거나 maxWait 안에 차례가 오지 않으면 바로 DatabaseBusyException (503)
+ * 빌린 커넥션을 close()하면 자리를 돌려준다.
+ */
+public class ConnectionGuardDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public ConnectionGuardDataSource(DataSource target, int maxConnections, int maxWaiting, Duration maxWait,
+                                     MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        Gauge.builder("peekport.datasource.guard.waiting", waiting, AtomicInteger::get)
+                .description("커넥션 차례를 기다리는 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("peekport.datasource.guard.in-use", permits, p -> maxConnections - p.availablePermits())
+                .description("빌려 간 커넥션 수")
+                .register(meterRegistry);
+        this.queueFull = rejectedCounter(meterRegistry, "queue-full");
+        this.timedOut = rejectedCounter(meterRegistry, "timeout");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guarded(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guarded(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            queueFull.increment();
+            throw new DatabaseBusyException("DB 커넥션 대기 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                timedOut.increment();
+                throw new DatabaseBusyException("DB 커넥션을 기다리다 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("DB 커넥션을 기다리는 중 인터럽트되었습니다.", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    // close()를 여러 번 불러도 자리는 한 번만 돌려줌
+    private Connection guarded(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionGuardDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "close" -> {
+                            try {
+                                target.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        default -> {
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                        }
+                    }
+                });
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("peekport.datasource.guard.rejected")
+                .description("커넥션을 기다리지 않고 돌려보낸 요청 수")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
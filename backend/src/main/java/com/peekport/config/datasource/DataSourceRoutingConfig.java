@@ -0,0 +1,75 @@
+package com.peekport.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 분리 설정
+ * peekport.datasource.replica.enabled=true 일 때만 활성화되며,
+ * 꺼져 있으면 기존처럼 spring.datasource 하나만 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "peekport.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("peekport.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${peekport.datasource.sticky-window:2s}") Duration stickyWindow,
+            MeterRegistry meterRegistry) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(stickyWindow);
+        Gauge.builder("peekport.datasource.sticky.users", tracker, ReadYourWritesTracker::size)
+                .description("sticky window 안에 있는 사용자 수")
+                .register(meterRegistry);
+        return tracker;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker tracker,
+                                 MeterRegistry meterRegistry) {
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(tracker, meterRegistry);
+        routing.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.Target.PRIMARY, primary,
+                ReplicationRoutingDataSource.Target.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,156 @@
+package com.peekport.config.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 실행한 SQL을 현재 QueryStats 구간에 기록하는 DataSource
+ * Connection → Statement → ResultSet을 JDK 프록시로 감싸 execute* 호출 수/시간, 읽은 행 수(next), 변경 행 수를 센다.
+ * 열린 구간이 없으면 원래 객체를 그대로 호출만 하므로 배치 작업 등 요청 밖에서는 비용이 거의 없다.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final String UNKNOWN_SQL = "(batch)";
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // 프록시 자신과의 비교 (커넥션/문장을 키로 쓰는 곳에서 같은 객체로 보이도록)
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object same = identity(proxy, method, args);
+            if (same != null) {
+                return same;
+            }
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private record StatementHandler(Statement target, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object same = identity(proxy, method, args);
+            if (same != null) {
+                return same;
+            }
+            String name = method.getName();
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                return QueryCountingDataSource.invoke(target, method, args);
+            }
+            if (name.equals("getResultSet")) {
+                return wrap((ResultSet) QueryCountingDataSource.invoke(target, method, args), stats);
+            }
+            if (!name.startsWith("execute")) {
+                return QueryCountingDataSource.invoke(target, method, args);
+            }
+
+            long startedAt = System.nanoTime();
+            Object result;
+            try {
+                result = QueryCountingDataSource.invoke(target, method, args);
+            } finally {
+                stats.statement(statementSql(args), System.nanoTime() - startedAt);
+            }
+            switch (result) {
+                case ResultSet resultSet -> {
+                    return wrap(resultSet, stats);
+                }
+                case Integer count when count > 0 -> stats.rows(count);
+                case Long count when count > 0 -> stats.rows(count);
+                case int[] counts -> {
+                    for (int count : counts) {
+                        stats.rows(Math.max(count, 0));
+                    }
+                }
+                case long[] counts -> {
+                    for (long count : counts) {
+                        stats.rows(Math.max(count, 0));
+                    }
+                }
+                case null, default -> {
+                }
+            }
+            return result;
+        }
+
+        // PreparedStatement는 준비할 때의 SQL, Statement는 execute 인자의 SQL
+        private String statementSql(Object[] args) {
+            if (sql != null) {
+                return sql;
+            }
+            return args != null && args.length > 0 && args[0] instanceof String text ? text : UNKNOWN_SQL;
+        }
+
+        private static ResultSet wrap(ResultSet resultSet, QueryStats stats) {
+            return resultSet == null ? null : proxy(ResultSet.class, new ResultSetHandler(resultSet, stats));
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target, QueryStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object same = identity(proxy, method, args);
+            if (same != null) {
+                return same;
+            }
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            if (result == Boolean.TRUE && method.getName().equals("next")) {
+                stats.rows(1);
+            }
+            return result;
+        }
+    }
+}
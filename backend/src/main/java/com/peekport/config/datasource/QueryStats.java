@@ -0,0 +1,122 @@
+package com.peekport.config.datasource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 한 구간(보통 HTTP 요청 하나)에서 실행된 SQL 통계
+ * start()로 현재 스레드에 구간을 열고, 그 사이 QueryCountingDataSource를 거친 문장 수/행 수/JDBC 시간을 센다.
+ * 구간은 겹쳐 열 수 있고, 안쪽 구간을 닫으면 집계가 바깥 구간에 더해진다. (테스트에서 요청 여러 개를 한 번에 셀 때)
+ * 같은 스레드에서만 세므로 @Async 등 다른 스레드에서 실행된 쿼리는 포함되지 않는다.
+ * (요청 안에서 나눠 실행하는 조회는 propagate()로 감싸면 끝날 때 요청 구간에 더해진다)
+ */
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private boolean closed;
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    // SQL 문자열별 실행 횟수 (같은 문장이 반복되면 N+1 의심)
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * 다른 스레드에서 실행할 작업을 현재 구간에 묶음 (열린 구간이 없으면 그대로 돌려줌)
+     * 작업 스레드에서는 따로 세고, 끝나면 호출한 쪽 구간에 합친다.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        QueryStats target = CURRENT.get();
+        if (target == null) {
+            return task;
+        }
+        return () -> {
+            QueryStats forked = new QueryStats(null);
+            CURRENT.set(forked);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.remove();
+                target.mergeForked(forked);
+            }
+        };
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            parent.merge(this);
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void statement(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        shapes.merge(sql, 1, Integer::sum);
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * threshold번 이상 실행된 문장 (많이 실행된 순)
+     */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    // 작업 스레드 여러 개가 동시에 합칠 수 있음 (그동안 호출한 스레드는 결과를 기다리므로 직접 세지 않음)
+    private synchronized void mergeForked(QueryStats forked) {
+        merge(forked);
+    }
+
+    private void merge(QueryStats child) {
+        statements += child.statements;
+        rows += child.rows;
+        jdbcNanos += child.jdbcNanos;
+        child.shapes.forEach((sql, count) -> shapes.merge(sql, count, Integer::sum));
+    }
+}
@@ -0,0 +1,50 @@
+package com.peekport.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 요청별 쿼리 수 측정 설정
+ * 애플리케이션이 쓰는 "dataSource" 빈(replica를 켜면 라우팅 프록시, 아니면 Hikari)만 감싸
+ * primary/replica 풀을 따로 세어 같은 문장이 두 번 잡히지 않게 한다.
+ * 필터는 보안 필터보다 앞에 둬서 JWT 사용자 조회 쿼리까지 요청에 포함한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "peekport.query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${peekport.query-stats.response-headers:false}") boolean responseHeaders,
+            @Value("${peekport.query-stats.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(meterRegistry, responseHeaders, repeatThreshold));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,106 @@
+package com.peekport.config.datasource;
+
+import com.peekport.config.DiagnosticLogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 QueryStats 구간을 열고, 끝나면 URI 패턴별 지표로 남긴다.
+ * - peekport.request.queries / peekport.request.query.rows / peekport.request.jdbc
+ * - 같은 SQL이 repeat-threshold번 이상이면 peekport.request.repeated.queries 증가 + 진단 로그(N+1 의심)
+ * response-headers=true(dev)면 X-Query-* 응답 헤더도 붙인다. 헤더는 본문보다 먼저 나가야 하므로 이때만 응답을 버퍼링한다.
+ */
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String ROWS_HEADER = "X-Query-Rows";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+    public static final String REPEATED_HEADER = "X-Query-Repeated";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int repeatThreshold;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, boolean responseHeaders, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ContentCachingResponseWrapper buffered = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        QueryStats stats = QueryStats.start();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            stats.close();
+            Map<String, Integer> repeated = stats.repeated(repeatThreshold);
+            record(request, stats, repeated);
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, String.valueOf(stats.getStatements()));
+                buffered.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                buffered.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+                if (!repeated.isEmpty()) {
+                    buffered.setHeader(REPEATED_HEADER, String.valueOf(repeated.values().iterator().next()));
+                }
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats, Map<String, Integer> repeated) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("peekport.request.queries")
+                .description("요청 하나가 실행한 SQL 문장 수")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("peekport.request.query.rows")
+                .description("요청 하나가 읽거나 바꾼 행 수")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("peekport.request.jdbc")
+                .description("요청 하나의 JDBC 실행 시간 합계")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (!repeated.isEmpty()) {
+            Counter.builder("peekport.request.repeated.queries")
+                    .description("같은 SQL을 반복 실행한 요청 수 (N+1 의심)")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            Map.Entry<String, Integer> top = repeated.entrySet().iterator().next();
+            log.info(DiagnosticLogSampler.DIAGNOSTIC, "N+1 의심 - {} {} 전체 {}건 중 같은 SQL {}회: {}",
+                    request.getMethod(), uri, stats.getStatements(), top.getValue(), top.getKey());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.peekport.config.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 마지막 쓰기 시각 기록
+ * 쓰기 직후 일정 시간(sticky window) 동안은 해당 사용자의 읽기를 primary로 보내
+ * 복제 지연 때문에 방금 저장한 데이터가 안 보이는 문제를 막는다.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this.windowNanos = stickyWindow.toNanos();
+    }
+
+    public void markWrite(String username) {
+        lastWrites.put(username, System.nanoTime());
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            purgeExpired();
+        }
+    }
+
+    public boolean isSticky(String username) {
+        Long writtenAt = lastWrites.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(username, writtenAt);
+        return false;
+    }
+
+    public int size() {
+        return lastWrites.size();
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        lastWrites.entrySet().removeIf(e -> now - e.getValue() >= windowNanos);
+    }
+}
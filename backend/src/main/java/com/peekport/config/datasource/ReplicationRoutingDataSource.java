@@ -0,0 +1,132 @@
+package com.peekport.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * readOnly 트랜잭션은 replica, 나머지는 primary로 보내는 라우팅 DataSource
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 얻어야 하므로 반드시 LazyConnectionDataSourceProxy로 감싸서 사용한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<ReadPin> PINNED = new ThreadLocal<>();
+
+    private final ReadYourWritesTracker tracker;
+
+    private final Counter writeRoutes;
+    private final Counter readRoutes;
+    private final Counter stickyRoutes;
+    private final Counter nonTransactionalRoutes;
+    private final Counter pinnedPrimaryRoutes;
+    private final Counter pinnedReplicaRoutes;
+
+    public ReplicationRoutingDataSource(ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.writeRoutes = routeCounter(meterRegistry, Target.PRIMARY, "write");
+        this.readRoutes = routeCounter(meterRegistry, Target.REPLICA, "read");
+        this.stickyRoutes = routeCounter(meterRegistry, Target.PRIMARY, "sticky");
+        this.nonTransactionalRoutes = routeCounter(meterRegistry, Target.PRIMARY, "no-transaction");
+        this.pinnedPrimaryRoutes = routeCounter(meterRegistry, Target.PRIMARY, "pinned");
+        this.pinnedReplicaRoutes = routeCounter(meterRegistry, Target.REPLICA, "pinned");
+    }
+
+    /**
+     * task 안의 읽기 전용 트랜잭션을 pin에 처음 정해진 DB로 보냄 (다른 스레드에서 실행해도 같은 pin이면 같은 DB)
+     * 순번을 읽고 그 순번까지의 행을 따로 읽을 때, 순번은 primary·행은 뒤처진 replica에서 읽어 행이 빠지는 일을 막는다.
+     */
+    public static <T> Supplier<T> pinned(ReadPin pin, Supplier<T> task) {
+        return () -> {
+            ReadPin previous = PINNED.get();
+            PINNED.set(pin);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    PINNED.remove();
+                } else {
+                    PINNED.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // 트랜잭션 밖(스키마 검사, 단발성 쿼리 등)은 안전하게 primary
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            nonTransactionalRoutes.increment();
+            return Target.PRIMARY;
+        }
+
+        String username = currentUsername();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // 커밋이 끝난 시점부터 sticky window 시작
+            if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.markWrite(username);
+                    }
+                });
+            }
+            writeRoutes.increment();
+            return Target.PRIMARY;
+        }
+
+        ReadPin pin = PINNED.get();
+        if (pin != null) {
+            Target target = pin.resolve(username != null && tracker.isSticky(username) ? Target.PRIMARY : Target.REPLICA);
+            (target == Target.PRIMARY ? pinnedPrimaryRoutes : pinnedReplicaRoutes).increment();
+            return target;
+        }
+
+        if (username != null && tracker.isSticky(username)) {
+            stickyRoutes.increment();
+            return Target.PRIMARY;
+        }
+
+        readRoutes.increment();
+        return Target.REPLICA;
+    }
+
+    private String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, Target target, String reason) {
+        return Counter.builder("peekport.datasource.routing")
+                .description("DataSource 라우팅 결정 횟수")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * 읽기 대상 고정 (처음 읽기 전용 트랜잭션이 정한 대상을 이후에도 그대로 씀)
+     */
+    public static final class ReadPin {
+
+        private final AtomicReference<Target> target = new AtomicReference<>();
+
+        Target resolve(Target wanted) {
+            Target chosen = target.compareAndExchange(null, wanted);
+            return chosen != null ? chosen : wanted;
+        }
+    }
+}
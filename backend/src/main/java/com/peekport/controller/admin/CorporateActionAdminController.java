@@ -0,0 +1,31 @@
+package com.peekport.controller.admin;
+
+import com.peekport.dto.CorporateActionRequest;
+import com.peekport.dto.CorporateActionResponse;
+import com.peekport.service.CorporateActionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/corporate-actions")
+@RequiredArgsConstructor
+public class CorporateActionAdminController {
+
+    private final CorporateActionService corporateActionService;
+
+    // 최근 적용 기록 (처리 건수/처리량 포함)
+    @GetMapping
+    public ResponseEntity<List<CorporateActionResponse>> getActions() {
+        return ResponseEntity.ok(corporateActionService.getActions());
+    }
+
+    // 액면분할/병합, 티커 변경 적용 (같은 요청을 다시 보내면 alreadyApplied, 중단된 요청은 이어서 진행)
+    @PostMapping
+    public ResponseEntity<CorporateActionResponse> apply(@RequestBody CorporateActionRequest request) {
+        return ResponseEntity.ok(corporateActionService.apply(request));
+    }
+}
@@ -0,0 +1,31 @@
+package com.peekport.controller.admin;
+
+import com.peekport.dto.FxRateUpdateRequest;
+import com.peekport.dto.FxRatesResponse;
+import com.peekport.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/fx-rates")
+@RequiredArgsConstructor
+public class FxRateAdminController {
+
+    private final FxRateService fxRateService;
+
+    // 통화별 환율 등록/수정 (요청에 없는 통화는 그대로 둠)
+    @PutMapping
+    public ResponseEntity<FxRatesResponse> updateRates(@RequestBody FxRateUpdateRequest request) {
+        fxRateService.upsert(request.getRates());
+        return ResponseEntity.ok(new FxRatesResponse(fxRateService.current()));
+    }
+
+    // 테이블을 바로 다시 읽어 스냅샷 반영 (DB를 직접 고친 경우)
+    @PostMapping("/reload")
+    public ResponseEntity<FxRatesResponse> reload() {
+        fxRateService.reload();
+        return ResponseEntity.ok(new FxRatesResponse(fxRateService.current()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.peekport.controller.admin;
+
+import com.peekport.service.PortfolioHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/history")
+@RequiredArgsConstructor
+public class HistoryAdminController {
+
+    private final PortfolioHistoryService portfolioHistoryService;
+
+    // 주기를 기다리지 않고 체크포인트 저장 (이미 실행 중이면 saved = -1)
+    @PostMapping("/checkpoints")
+    public ResponseEntity<Map<String, Integer>> checkpoint() {
+        return ResponseEntity.ok(Map.of("saved", portfolioHistoryService.checkpoint()));
+    }
+}
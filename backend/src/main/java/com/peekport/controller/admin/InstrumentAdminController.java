@@ -0,0 +1,28 @@
+package com.peekport.controller.admin;
+
+import com.peekport.dto.InstrumentIndexResponse;
+import com.peekport.service.InstrumentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/instruments")
+@RequiredArgsConstructor
+public class InstrumentAdminController {
+
+    private final InstrumentService instrumentService;
+
+    @GetMapping("/index")
+    public ResponseEntity<InstrumentIndexResponse> getIndexStatus() {
+        return ResponseEntity.ok(instrumentService.getIndexStatus());
+    }
+
+    // 종목 마스터 파일을 바로 다시 읽어 색인 교체
+    @PostMapping("/reload")
+    public ResponseEntity<InstrumentIndexResponse> reload() {
+        instrumentService.reload();
+        return ResponseEntity.ok(instrumentService.getIndexStatus());
+    }
+}
@@ -0,0 +1,48 @@
+package com.peekport.controller.admin;
+
+import com.peekport.dto.NotificationStatsResponse;
+import com.peekport.model.NotificationOutbox.Status;
+import com.peekport.repository.NotificationOutboxRepository;
+import com.peekport.service.NotificationDispatcher;
+import com.peekport.service.RebalancingNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/notifications")
+@RequiredArgsConstructor
+public class NotificationAdminController {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final RebalancingNotificationService rebalancingNotificationService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<NotificationStatsResponse> getStats() {
+        return ResponseEntity.ok(stats());
+    }
+
+    // 발송 주기를 기다리지 않고 바로 발송
+    @PostMapping("/dispatch")
+    public ResponseEntity<NotificationStatsResponse> dispatch() {
+        notificationDispatcher.dispatch();
+        return ResponseEntity.ok(stats());
+    }
+
+    // 리밸런싱 필요 여부를 바로 확인해 알림 적재
+    @PostMapping("/rebalancing-check")
+    public ResponseEntity<NotificationStatsResponse> checkRebalancing() {
+        rebalancingNotificationService.check();
+        return ResponseEntity.ok(stats());
+    }
+
+    private NotificationStatsResponse stats() {
+        return new NotificationStatsResponse(
+                notificationOutboxRepository.countByStatus(Status.PENDING),
+                notificationOutboxRepository.countByStatus(Status.SENDING),
+                notificationOutboxRepository.countByStatus(Status.SENT),
+                notificationOutboxRepository.countByStatus(Status.FAILED));
+    }
+}
@@ -0,0 +1,29 @@
+package com.peekport.controller.admin;
+
+import com.peekport.dto.PriceAlertIndexResponse;
+import com.peekport.service.PriceAlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/price-alerts")
+@RequiredArgsConstructor
+public class PriceAlertAdminController {
+
+    private final PriceAlertService priceAlertService;
+
+    // 색인 상태 (알림 수, 티커 수, 배열 크기)
+    @GetMapping("/index")
+    public ResponseEntity<PriceAlertIndexResponse> getIndexStatus() {
+        return ResponseEntity.ok(priceAlertService.getIndexStatus());
+    }
+
+    // 활성 알림을 다시 읽어 색인 교체 (DB를 직접 고친 경우, 다른 서버에서 등록한 알림 반영)
+    @PostMapping("/reload")
+    public ResponseEntity<PriceAlertIndexResponse> reload() {
+        priceAlertService.reload();
+        return ResponseEntity.ok(priceAlertService.getIndexStatus());
+    }
+}
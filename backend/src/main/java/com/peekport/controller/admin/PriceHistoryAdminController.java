@@ -0,0 +1,51 @@
+package com.peekport.controller.admin;
+
+import com.peekport.dto.PriceHistoryImportRequest;
+import com.peekport.dto.PriceHistoryImportResponse;
+import com.peekport.dto.PriceTickRequest;
+import com.peekport.dto.PriceTickResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.service.PriceAlertService;
+import com.peekport.service.PriceHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+// 관리자 전용 (SecurityConfig에서 /api/admin/** 는 ADMIN 권한 필요)
+@RestController
+@RequestMapping("/api/admin/prices")
+@RequiredArgsConstructor
+public class PriceHistoryAdminController {
+
+    private final PriceHistoryService priceHistoryService;
+    private final PriceAlertService priceAlertService;
+
+    // 일별 종가 적재 (같은 티커/날짜는 덮어씀)
+    @PostMapping
+    public ResponseEntity<PriceHistoryImportResponse> importPrices(@RequestBody PriceHistoryImportRequest request) {
+        int imported = priceHistoryService.importPrices(request.getPrices());
+        return ResponseEntity.ok(new PriceHistoryImportResponse(imported, priceHistoryService.getVersion()));
+    }
+
+    // 최신 체결가로 가격 알림만 확인 (같은 티커가 여러 번 오면 마지막 값)
+    @PostMapping("/latest")
+    public ResponseEntity<PriceTickResponse> checkLatest(@RequestBody PriceTickRequest request) {
+        if (request.getPrices() == null || request.getPrices().isEmpty()) {
+            throw new InvalidRequestException("가격이 필요합니다.");
+        }
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (PriceTickRequest.Row row : request.getPrices()) {
+            if (row.getTicker() == null || row.getTicker().isBlank()
+                    || row.getPrice() == null || row.getPrice().signum() <= 0) {
+                throw new InvalidRequestException("티커와 0보다 큰 가격이 필요합니다.");
+            }
+            prices.put(row.getTicker().trim(), row.getPrice());
+        }
+        int triggered = priceAlertService.onPrices(prices);
+        return ResponseEntity.ok(new PriceTickResponse(prices.size(), triggered));
+    }
+}
@@ -1,5 +1,8 @@
 package com.peekport.controller.user;
 
+import com.peekport.dto.AdjustQuantityRequest;
+import com.peekport.dto.AssetBatchRequest;
+import com.peekport.dto.AssetBatchResponse;
 import com.peekport.dto.AssetRequest;
 import com.peekport.dto.AssetResponse;
 import com.peekport.model.Asset;
@@ -8,12 +11,16 @@ import com.peekport.model.User;
 import com.peekport.repository.AssetRepository;
 import com.peekport.repository.GoalAccountRepository;
 import com.peekport.repository.UserRepository;
+import com.peekport.service.AssetBatchService;
+import com.peekport.service.AssetService;
+import com.peekport.service.EtagService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,12 +32,20 @@ public class AssetController {
     private final UserRepository userRepository;
     private final GoalAccountRepository goalAccountRepository;
     private final AssetRepository assetRepository;
+    private final AssetService assetService;
+    private final AssetBatchService assetBatchService;
+    private final EtagService etagService;
 
     @GetMapping("/{portfolioId}/stocks")
     public ResponseEntity<List<AssetResponse>> getAssetsByPortfolio(
             @PathVariable Long portfolioId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest
     ) {
+        // 바뀐 게 없으면 사용자/종목을 읽지 않고 304
+        if (etagService.stocks(portfolioId, userDetails.getUsername()).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
@@ -49,8 +64,12 @@ public class AssetController {
     public ResponseEntity<AssetResponse> getAssetDetail(
             @PathVariable Long portfolioId,
             @PathVariable Long stockId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest
     ) {
+        if (etagService.stock(portfolioId, stockId, userDetails.getUsername()).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
@@ -76,23 +95,7 @@ public class AssetController {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
-                .orElseThrow(() -> new AccessDeniedException("이 포트폴리오에 접근할 수 없습니다."));
-
-        Asset asset = new Asset();
-        asset.setName(request.getName());
-        asset.setTicker(request.getTicker());
-        asset.setQuantity(request.getQuantity());
-        asset.setPurchasePrice(request.getPurchasePrice());
-        asset.setCurrentPrice(request.getCurrentPrice() != null ? request.getCurrentPrice() : request.getPurchasePrice());
-        asset.setTerm(request.getTerm());
-        asset.setUser(user);
-        asset.setGoalAccount(goal);
-        asset.setCategory(request.getCategory());
-        asset.setMemo(request.getMemo());
-
-        Asset saved = assetRepository.save(asset);
-        return ResponseEntity.ok(new AssetResponse(saved));
+        return ResponseEntity.ok(assetService.addAsset(portfolioId, request, user));
     }
 
     @DeleteMapping("/{portfolioId}/stocks/{stockId}")
@@ -104,20 +107,7 @@ public class AssetController {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 포트폴리오 접근 권한 확인
-        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
-                .orElseThrow(() -> new AccessDeniedException("이 포트폴리오에 접근할 수 없습니다."));
-
-        // 종목 존재 및 권한 확인
-        Asset asset = assetRepository.findById(stockId)
-                .orElseThrow(() -> new RuntimeException("종목을 찾을 수 없습니다."));
-
-        // 종목이 해당 포트폴리오에 속하고 현재 사용자 소유인지 확인
-        if (!asset.getGoalAccount().getId().equals(portfolioId) || !asset.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("이 종목에 접근할 수 없습니다.");
-        }
-
-        assetRepository.delete(asset);
+        assetService.deleteAsset(portfolioId, stockId, user);
         return ResponseEntity.ok().build();
     }
 
@@ -131,30 +121,37 @@ public class AssetController {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 포트폴리오 접근 권한 확인
-        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
-                .orElseThrow(() -> new AccessDeniedException("이 포트폴리오에 접근할 수 없습니다."));
+        // 권한 확인 + 버전 확인 + 충돌 재시도는 서비스에서 처리
+        return ResponseEntity.ok(assetService.updateAsset(portfolioId, stockId, request, user));
+    }
 
-        // 종목 존재 및 권한 확인
-        Asset asset = assetRepository.findById(stockId)
-                .orElseThrow(() -> new RuntimeException("종목을 찾을 수 없습니다."));
+    // 여러 건의 추가/수정/삭제 + 현금 증감을 한 번에 (한 트랜잭션, 전부 적용 또는 전부 취소)
+    @PostMapping("/{portfolioId}/stocks/batch")
+    public ResponseEntity<AssetBatchResponse> applyBatch(
+            @PathVariable Long portfolioId,
+            @RequestBody AssetBatchRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 종목이 해당 포트폴리오에 속하고 현재 사용자 소유인지 확인
-        if (!asset.getGoalAccount().getId().equals(portfolioId) || !asset.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("이 종목에 접근할 수 없습니다.");
-        }
+        AssetBatchResponse response = assetBatchService.apply(portfolioId, request, user);
+        return response.isApplied()
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.unprocessableEntity().body(response);
+    }
+
+    // 수량 증감 (quantity += delta)
+    @PostMapping("/{portfolioId}/stocks/{stockId}/quantity/adjust")
+    public ResponseEntity<AssetResponse> adjustQuantity(
+            @PathVariable Long portfolioId,
+            @PathVariable Long stockId,
+            @RequestBody AdjustQuantityRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 종목 정보 업데이트
-        asset.setName(request.getName());
-        asset.setTicker(request.getTicker());
-        asset.setQuantity(request.getQuantity());
-        asset.setPurchasePrice(request.getPurchasePrice());
-        asset.setCurrentPrice(request.getCurrentPrice() != null ? request.getCurrentPrice() : request.getPurchasePrice());
-        asset.setTerm(request.getTerm());
-        asset.setCategory(request.getCategory());
-        asset.setMemo(request.getMemo());
-
-        Asset updated = assetRepository.save(asset);
-        return ResponseEntity.ok(new AssetResponse(updated));
+        return ResponseEntity.ok(assetService.adjustQuantity(portfolioId, stockId, request.getDelta(), user));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.AssetTransactionRequest;
+import com.peekport.dto.AssetTransactionResponse;
+import com.peekport.dto.LedgerRebuildResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import com.peekport.service.AssetLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/portfolios/{portfolioId}/stocks/{stockId}")
+@RequiredArgsConstructor
+public class AssetTransactionController {
+
+    private final UserRepository userRepository;
+    private final AssetLedgerService assetLedgerService;
+
+    // 거래 추가 (매수/매도/배당), 반영된 종목을 함께 돌려줌
+    @PostMapping("/transactions")
+    public ResponseEntity<AssetTransactionResponse> appendTrade(
+            @PathVariable Long portfolioId,
+            @PathVariable Long stockId,
+            @RequestBody AssetTransactionRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(assetLedgerService.appendTrade(portfolioId, stockId, request, user));
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<List<AssetTransactionResponse>> getTransactions(
+            @PathVariable Long portfolioId,
+            @PathVariable Long stockId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(assetLedgerService.getTransactions(portfolioId, stockId, user));
+    }
+
+    // 거래 내역으로 다시 계산 (apply=false면 비교만, true면 불일치 시 덮어씀)
+    @PostMapping("/ledger/rebuild")
+    public ResponseEntity<LedgerRebuildResponse> rebuild(
+            @PathVariable Long portfolioId,
+            @PathVariable Long stockId,
+            @RequestParam(defaultValue = "false") boolean apply,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(apply
+                ? assetLedgerService.rebuild(portfolioId, stockId, user)
+                : assetLedgerService.verify(portfolioId, stockId, user));
+    }
+}
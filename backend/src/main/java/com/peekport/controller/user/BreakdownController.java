@@ -0,0 +1,44 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.BreakdownResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import com.peekport.service.BreakdownService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class BreakdownController {
+
+    private final BreakdownService breakdownService;
+    private final UserRepository userRepository;
+
+    // 포트폴리오 자산 배분 (분류/기간/종목별)
+    @GetMapping("/api/portfolios/{portfolioId}/breakdown")
+    public ResponseEntity<BreakdownResponse> getPortfolioBreakdown(
+            @PathVariable Long portfolioId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        return ResponseEntity.ok(breakdownService.getPortfolioBreakdown(portfolioId, user));
+    }
+
+    // 전체 포트폴리오 합산 자산 배분 (currency: 합산 통화, 기본 KRW)
+    @GetMapping("/api/breakdown")
+    public ResponseEntity<BreakdownResponse> getUserBreakdown(
+            @RequestParam(required = false) String currency,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        return ResponseEntity.ok(breakdownService.getUserBreakdown(user, currency));
+    }
+}
@@ -0,0 +1,34 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.ExposureResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import com.peekport.service.ExposureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/exposure")
+@RequiredArgsConstructor
+public class ExposureController {
+
+    private final ExposureService exposureService;
+    private final UserRepository userRepository;
+
+    // 전체 포트폴리오 합산 종목/분류별 노출 (currency: 합산 통화, 기본 KRW)
+    @GetMapping
+    public ResponseEntity<ExposureResponse> getExposure(
+            @RequestParam(required = false) String currency,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        return ResponseEntity.ok(exposureService.getExposure(user, currency));
+    }
+}
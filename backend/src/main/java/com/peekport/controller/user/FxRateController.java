@@ -0,0 +1,23 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.FxRatesResponse;
+import com.peekport.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/fx-rates")
+@RequiredArgsConstructor
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    // 현재 환율 스냅샷 (지원 통화 목록 겸용)
+    @GetMapping
+    public ResponseEntity<FxRatesResponse> getRates() {
+        return ResponseEntity.ok(new FxRatesResponse(fxRateService.current()));
+    }
+}
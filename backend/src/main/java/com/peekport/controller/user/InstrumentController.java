@@ -0,0 +1,29 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.InstrumentResponse;
+import com.peekport.service.InstrumentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/instruments")
+@RequiredArgsConstructor
+public class InstrumentController {
+
+    private final InstrumentService instrumentService;
+
+    // 종목 자동완성 (티커/이름 앞부분, 한글 초성, limit 기본 10 최대 50)
+    @GetMapping("/search")
+    public ResponseEntity<List<InstrumentResponse>> search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(instrumentService.search(q, limit));
+    }
+}
@@ -4,14 +4,25 @@ import com.peekport.dto.*;
 import com.peekport.model.User;
 import com.peekport.repository.UserRepository;
 import com.peekport.service.AssetService;
+import com.peekport.service.Bulkhead;
+import com.peekport.service.EtagService;
+import com.peekport.service.PortfolioHistoryService;
 import com.peekport.service.PortfolioService;
+import com.peekport.service.PortfolioSnapshotService;
+import com.peekport.service.ProjectionService;
+import com.peekport.service.ReturnsService;
+import com.peekport.service.RiskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.nio.file.AccessDeniedException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,6 +33,14 @@ public class PortfolioController {
     private final PortfolioService portfolioService;
     private final UserRepository userRepository;
     private final AssetService assetService;
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final ReturnsService returnsService;
+    private final RiskService riskService;
+    private final ProjectionService projectionService;
+    private final PortfolioHistoryService portfolioHistoryService;
+    private final Bulkhead analysisBulkhead;
+    private final Bulkhead simulationBulkhead;
+    private final EtagService etagService;
 
     @PostMapping
     public ResponseEntity<GoalAccountResponse> createPortfolio(
@@ -39,8 +58,13 @@ public class PortfolioController {
 
     @GetMapping
     public ResponseEntity<List<GoalAccountResponse>> getPortfolios(
-            @AuthenticationPrincipal UserDetails userDetails // 여기도 UserDetails로 변경
+            @AuthenticationPrincipal UserDetails userDetails, // 여기도 UserDetails로 변경
+            WebRequest webRequest
     ) {
+        // 마지막으로 받은 뒤 바뀐 게 없으면 변경 순번만 읽고 304 (바뀌었으면 ETag를 붙여 평소대로)
+        if (etagService.portfolios(userDetails.getUsername()).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
         User realUser = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -51,8 +75,12 @@ public class PortfolioController {
     @GetMapping("/{portfolioId}/summary")
     public ResponseEntity<PortfolioSummaryResponse> getPortfolioSummary(
             @PathVariable Long portfolioId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest
     ) {
+        if (etagService.summary(portfolioId, userDetails.getUsername()).map(webRequest::checkNotModified).orElse(false)) {
+            return null;
+        }
         PortfolioSummaryResponse response = assetService.calculatePortfolioSummary(
                 portfolioId, userDetails.getUsername()
         );
@@ -64,11 +92,25 @@ public class PortfolioController {
             @PathVariable Long portfolioId,
             @RequestBody UpdateCashRequest request,
             @AuthenticationPrincipal UserDetails userDetails
-    ) throws AccessDeniedException {
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        GoalAccountResponse response = portfolioService.updateCash(portfolioId, request.getCash(), request.getVersion(), user);
+        return ResponseEntity.ok(response);
+    }
+
+    // 현금 증감 (cash += delta)
+    @PostMapping("/{portfolioId}/cash/adjust")
+    public ResponseEntity<GoalAccountResponse> adjustCash(
+            @PathVariable Long portfolioId,
+            @RequestBody AdjustCashRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        GoalAccountResponse response = portfolioService.updateCash(portfolioId, request.getCash(), user);
+        GoalAccountResponse response = portfolioService.adjustCash(portfolioId, request.getDelta(), user);
         return ResponseEntity.ok(response);
     }
 
@@ -77,7 +119,7 @@ public class PortfolioController {
             @PathVariable Long portfolioId,  // ← portfolioId로 통일
             @RequestBody UpdateTargetRequest request,
             @AuthenticationPrincipal UserDetails userDetails
-    ) throws AccessDeniedException {  // ← 예외 처리 추가
+    ) {
         User user = userRepository.findByEmail(userDetails.getUsername())  // ← User 객체 생성
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
@@ -89,16 +131,88 @@ public class PortfolioController {
         return ResponseEntity.ok(response);
     }
 
-    // 포트폴리오 삭제 API 추가
+    // 포트폴리오 삭제 API (async=true면 삭제 표시 후 202, 정리는 백그라운드)
     @DeleteMapping("/{portfolioId}")
     public ResponseEntity<Void> deletePortfolio(
             @PathVariable Long portfolioId,
+            @RequestParam(defaultValue = "false") boolean async,
             @AuthenticationPrincipal UserDetails userDetails
-    ) throws AccessDeniedException {
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        portfolioService.deletePortfolio(portfolioId, user, async);
+        return async ? ResponseEntity.accepted().build() : ResponseEntity.noContent().build();
+    }
+
+    // 일별 평가 스냅샷 (차트용, 기본 최근 1년)
+    @GetMapping("/{portfolioId}/snapshots")
+    public ResponseEntity<List<PortfolioSnapshotResponse>> getSnapshots(
+            @PathVariable Long portfolioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(portfolioSnapshotService.getSnapshots(portfolioId, from, to, user));
+    }
+
+    // 기간 수익률 (period: 1M, 3M, 6M, YTD, 1Y, 3Y, 5Y, 10Y, ALL)
+    @GetMapping("/{portfolioId}/returns")
+    public ResponseEntity<ReturnsResponse> getReturns(
+            @PathVariable Long portfolioId,
+            @RequestParam(defaultValue = "1Y") String period,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(analysisBulkhead.call(() -> returnsService.getReturns(portfolioId, period, user)));
+    }
+
+    // 위험 지표 (days: 사용할 일간 수익률 개수, covariance=true면 공분산 행렬 포함)
+    @GetMapping("/{portfolioId}/risk")
+    public ResponseEntity<RiskResponse> getRisk(
+            @PathVariable Long portfolioId,
+            @RequestParam(defaultValue = "252") int days,
+            @RequestParam(defaultValue = "false") boolean covariance,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(analysisBulkhead.call(() -> riskService.getRisk(portfolioId, days, covariance, user)));
+    }
+
+    // 목표 금액 달성 확률 시뮬레이션 (targetDate 기본 10년 뒤, seed를 주면 같은 결과 재현)
+    @GetMapping("/{portfolioId}/projection")
+    public ResponseEntity<ProjectionResponse> getProjection(
+            @PathVariable Long portfolioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate,
+            @RequestParam(required = false) BigDecimal monthlyContribution,
+            @RequestParam(required = false) Integer paths,
+            @RequestParam(required = false) Long seed,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(simulationBulkhead.call(
+                () -> projectionService.project(portfolioId, targetDate, monthlyContribution, paths, seed, user)));
+    }
+
+    // 과거 시점의 포트폴리오/종목 구성 (at 생략 시 현재)
+    @GetMapping("/{portfolioId}/history")
+    public ResponseEntity<PortfolioHistoryResponse> getHistory(
+            @PathVariable Long portfolioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        portfolioService.deletePortfolio(portfolioId, user);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(portfolioHistoryService.getHistory(portfolioId, at != null ? at : LocalDateTime.now(), user));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.PriceAlertRequest;
+import com.peekport.dto.PriceAlertResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import com.peekport.service.PriceAlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/price-alerts")
+@RequiredArgsConstructor
+public class PriceAlertController {
+
+    private final PriceAlertService priceAlertService;
+    private final UserRepository userRepository;
+
+    // 내 가격 알림 목록 (발동한 알림 포함, 최신순)
+    @GetMapping
+    public ResponseEntity<List<PriceAlertResponse>> getAlerts(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        return ResponseEntity.ok(priceAlertService.getAlerts(user));
+    }
+
+    @PostMapping
+    public ResponseEntity<PriceAlertResponse> createAlert(
+            @RequestBody PriceAlertRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        return ResponseEntity.ok(priceAlertService.create(request, user));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAlert(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        priceAlertService.delete(id, user);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,7 +2,15 @@ package com.peekport.controller.user;
 
 import com.peekport.dto.RebalancingRequest;
 import com.peekport.dto.RebalancingResponse;
+import com.peekport.dto.TargetAllocationRequest;
+import com.peekport.dto.TargetAllocationResponse;
+import com.peekport.exception.TooManyRequestsException;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import com.peekport.service.Bulkhead;
+import com.peekport.service.PortfolioService;
 import com.peekport.service.RebalancingService;
+import com.peekport.service.TargetAllocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +28,10 @@ import jakarta.validation.Valid;
 public class RebalancingController {
 
     private final RebalancingService rebalancingService;
+    private final TargetAllocationService targetAllocationService;
+    private final PortfolioService portfolioService;
+    private final UserRepository userRepository;
+    private final Bulkhead analysisBulkhead;
 
     @PostMapping("/rebalancing/analyze")
     public ResponseEntity<RebalancingResponse> analyzeRebalancing(
@@ -28,10 +40,12 @@ public class RebalancingController {
         try {
             log.info("리밸런싱 분석 요청 - Portfolio ID: {}", request.getPortfolioId());
 
-            RebalancingResponse response = rebalancingService.analyzeRebalancing(request);
+            RebalancingResponse response = analysisBulkhead.call(() -> rebalancingService.analyzeRebalancing(request));
 
             return ResponseEntity.ok(response);
 
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             log.error("리밸런싱 분석 API 오류", e);
             return ResponseEntity.badRequest().build();
@@ -56,24 +70,21 @@ public class RebalancingController {
         }
     }
 
+    // 리밸런싱 필요 알림 설정 (켜 두면 매일 확인해 필요할 때 알림 발송)
     @PutMapping("/{portfolioId}/rebalancing/notification")
     public ResponseEntity<String> updateRebalancingNotification(
             @PathVariable Long portfolioId,
-            @RequestParam Boolean enabled) {
+            @RequestParam Boolean enabled,
+            @AuthenticationPrincipal UserDetails userDetails) {
 
-        try {
-            log.info("리밸런싱 알림 설정 - Portfolio ID: {}, Enabled: {}", portfolioId, enabled);
-
-            // TODO: 사용자의 리밸런싱 알림 설정을 DB에 저장
-
-            String message = enabled ? "리밸런싱 알림이 활성화되었습니다." : "리밸런싱 알림이 비활성화되었습니다.";
+        log.info("리밸런싱 알림 설정 - Portfolio ID: {}, Enabled: {}", portfolioId, enabled);
 
-            return ResponseEntity.ok(message);
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        portfolioService.updateRebalancingAlert(portfolioId, enabled, user);
 
-        } catch (Exception e) {
-            log.error("리밸런싱 알림 설정 API 오류", e);
-            return ResponseEntity.badRequest().body("알림 설정 실패");
-        }
+        String message = enabled ? "리밸런싱 알림이 활성화되었습니다." : "리밸런싱 알림이 비활성화되었습니다.";
+        return ResponseEntity.ok(message);
     }
 
     @PutMapping("/{portfolioId}/rebalancing/target-allocation")
@@ -103,4 +114,17 @@ public class RebalancingController {
             return ResponseEntity.badRequest().body("목표 비율 설정 실패");
         }
     }
-}
\ No newline at end of file
+
+    // 위험 수준별 평균-분산 목표 비중 계산 (apply=true면 종목 targetRatio에 저장)
+    @PostMapping("/{portfolioId}/rebalancing/target-allocation/optimize")
+    public ResponseEntity<TargetAllocationResponse> optimizeTargetAllocation(
+            @PathVariable Long portfolioId,
+            @RequestBody TargetAllocationRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        return ResponseEntity.ok(analysisBulkhead.call(() -> targetAllocationService.optimize(portfolioId, request, user)));
+    }
+}
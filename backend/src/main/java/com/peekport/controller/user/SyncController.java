@@ -0,0 +1,31 @@
+package com.peekport.controller.user;
+
+import com.peekport.dto.SyncResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import com.peekport.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+    private final UserRepository userRepository;
+
+    // since: 마지막으로 받은 seq (처음이면 0)
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(syncService.changesSince(since, user));
+    }
+}
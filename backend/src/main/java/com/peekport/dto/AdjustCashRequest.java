@@ -0,0 +1,11 @@
+package com.peekport.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter @Setter
+public class AdjustCashRequest {
+    private BigDecimal delta; // 증감액 (입금 +, 출금 -)
+}
@@ -0,0 +1,9 @@
+package com.peekport.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class AdjustQuantityRequest {
+    private Integer delta; // 증감 수량 (매수 +, 매도 -)
+}
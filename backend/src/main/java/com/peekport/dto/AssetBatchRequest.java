@@ -0,0 +1,23 @@
+package com.peekport.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+public class AssetBatchRequest {
+    private List<Operation> operations = new ArrayList<>(); // 순서대로 적용
+    private BigDecimal cashDelta;                           // 현금 증감 (선택)
+
+    public enum OperationType { ADD, UPDATE, DELETE }
+
+    @Getter @Setter
+    public static class Operation {
+        private OperationType type;
+        private Long stockId;      // UPDATE, DELETE 대상
+        private AssetRequest asset; // ADD, UPDATE 내용
+    }
+}
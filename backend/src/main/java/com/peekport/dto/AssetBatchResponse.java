@@ -0,0 +1,25 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class AssetBatchResponse {
+    private boolean applied;                 // false면 전체 롤백됨
+    private List<OperationResult> results;   // 요청 순서와 동일
+    private GoalAccountResponse portfolio;   // 적용 후 포트폴리오 (롤백 시 null)
+
+    @Getter
+    @AllArgsConstructor
+    public static class OperationResult {
+        private int index;
+        private AssetBatchRequest.OperationType type;
+        private Long stockId;
+        private String status;   // "OK", "NOT_FOUND", "INVALID", "CONFLICT", "ROLLED_BACK"
+        private String message;
+        private AssetResponse asset;
+    }
+}
@@ -12,8 +12,10 @@ public class AssetRequest {
     private Integer quantity;
     private BigDecimal purchasePrice;
     private BigDecimal currentPrice;
+    private String currency;          // 선택: 거래 통화 (없으면 추가 시 포트폴리오 통화, 수정 시 기존 값)
     private String term;
     private String category;
     private String memo;
     private BigDecimal targetRatio;
+    private Long version; // 선택: 클라이언트가 본 버전 (다르면 409)
 }
@@ -9,12 +9,14 @@ import java.time.LocalDateTime;
 @Getter
 public class AssetResponse {
     private Long id;
+    private Long portfolioId;
     private String ticker;
     private String name;
     private String category;
     private Integer quantity;
     private BigDecimal purchasePrice;
     private BigDecimal currentPrice;
+    private String currency;
     private String term;
 
     private BigDecimal totalInvestment;
@@ -23,27 +25,34 @@ public class AssetResponse {
     private Double returnRate;
 
     private BigDecimal avgPrice;
+    private BigDecimal realizedProfitLoss;
     private String memo;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     private BigDecimal targetRatio;
+    private Long version;
 
     public AssetResponse(Asset asset) {
         this.id = asset.getId();
+        this.portfolioId = asset.getGoalAccount() != null ? asset.getGoalAccount().getId() : null;
         this.ticker = asset.getTicker();
         this.name = asset.getName();
         this.category = asset.getCategory();
         this.quantity = asset.getQuantity();
         this.purchasePrice = asset.getPurchasePrice();
         this.currentPrice = asset.getCurrentPrice();
+        this.currency = asset.getCurrency();
         this.term = asset.getTerm();
 
         // ✅ 추가 필드 매핑
-        this.avgPrice = asset.getPurchasePrice(); // 현재는 매입가 그대로
+        this.avgPrice = asset.getPurchasePrice(); // 거래 내역 기준 평균 매수가
+        this.realizedProfitLoss = asset.getRealizedProfitLoss();
         this.memo = asset.getMemo();
         this.createdAt = asset.getCreatedAt();
         this.updatedAt = asset.getUpdatedAt();
+        this.targetRatio = asset.getTargetRatio();
+        this.version = asset.getVersion();
 
         // 계산된 값들
         if (quantity != null && purchasePrice != null) {
@@ -0,0 +1,27 @@
+package com.peekport.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// 종목 한 건의 상태 (변경 이벤트/체크포인트에 저장, 과거 시점 조회 결과)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssetState {
+    private Long id;
+    private String ticker;
+    private String name;
+    private String category;
+    private String term;
+    private String currency;
+    private Integer quantity;
+    private BigDecimal purchasePrice;
+    private BigDecimal currentPrice;
+    private BigDecimal targetRatio;
+    private BigDecimal realizedProfitLoss;
+}
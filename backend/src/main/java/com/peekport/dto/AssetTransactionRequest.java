@@ -0,0 +1,18 @@
+package com.peekport.dto;
+
+import com.peekport.model.AssetTransaction;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter
+public class AssetTransactionRequest {
+    private AssetTransaction.Type type; // BUY, SELL, DIVIDEND
+    private Integer quantity;           // 매수/매도 수량
+    private BigDecimal price;           // 매수/매도 단가
+    private BigDecimal amount;          // 배당 수령액
+    private BigDecimal fee;             // 수수료/세금 (선택)
+    private LocalDateTime tradedAt;     // 거래 일시 (선택, 기본 현재)
+}
@@ -0,0 +1,41 @@
+package com.peekport.dto;
+
+import com.peekport.model.AssetTransaction;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+public class AssetTransactionResponse {
+    private Long id;
+    private AssetTransaction.Type type;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal amount;
+    private BigDecimal fee;
+    private BigDecimal fxRate; // 기록 시점 환율 (종목 통화 → 포트폴리오 통화)
+    private BigDecimal realizedProfitLoss;
+    private LocalDateTime tradedAt;
+    private LocalDateTime createdAt;
+
+    private AssetResponse position; // 거래 반영 후 종목 (추가 응답에서만)
+
+    public AssetTransactionResponse(AssetTransaction tx) {
+        this(tx, null);
+    }
+
+    public AssetTransactionResponse(AssetTransaction tx, AssetResponse position) {
+        this.id = tx.getId();
+        this.type = tx.getType();
+        this.quantity = tx.getQuantity();
+        this.price = tx.getPrice();
+        this.amount = tx.getAmount();
+        this.fee = tx.getFee();
+        this.fxRate = tx.getFxRate() != null ? tx.getFxRate() : BigDecimal.ONE;
+        this.realizedProfitLoss = tx.getRealizedProfitLoss();
+        this.tradedAt = tx.getTradedAt();
+        this.createdAt = tx.getCreatedAt();
+        this.position = position;
+    }
+}
@@ -0,0 +1,37 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 자산 배분 (분류별, 기간별, 종목별)
+ * weight는 종목 평가액 + 현금 합계 대비 비중(%)이다. 현금은 cash로 따로 내려준다.
+ */
+@Getter
+@AllArgsConstructor
+public class BreakdownResponse {
+    private String currency;        // 금액 단위 (포트폴리오별은 기준 통화, 전체는 요청 통화)
+    private BigDecimal totalValue;  // 종목 평가액 + 현금
+    private BigDecimal cash;
+    private Double cashWeight;
+    private List<Slice> categories;
+    private List<Slice> terms;
+    private List<Slice> tickers;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Slice {
+        private String key;         // 분류/기간/티커 (값이 없으면 null)
+        private String name;
+        private String term;        // 종목별 항목에서만: 평가액이 가장 큰 기간
+        private Long count;         // 종목 행 수
+        private BigDecimal value;
+        private BigDecimal investment;
+        private BigDecimal profitLoss;
+        private Double returnRate;
+        private Double weight;
+    }
+}
@@ -0,0 +1,12 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 사용자 id와 변경 순번 (조건부 GET용 조회 결과)
+@Getter
+@AllArgsConstructor
+public class ChangeVersion {
+    private Long userId;
+    private Long changeSeq;
+}
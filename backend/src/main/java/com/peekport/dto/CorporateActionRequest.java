@@ -0,0 +1,19 @@
+package com.peekport.dto;
+
+import com.peekport.model.CorporateAction;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// 예: 4:1 분할 { type: SPLIT, ticker: "AAPL", ratioFrom: 1, ratioTo: 4, effectiveDate: "2026-10-20" }
+@Getter @Setter
+public class CorporateActionRequest {
+    private CorporateAction.Type type;
+    private String ticker;
+    private String newTicker;       // RENAME
+    private String newName;         // RENAME, 선택
+    private Integer ratioFrom;      // 기존 주식 수
+    private Integer ratioTo;        // 행사 후 주식 수
+    private LocalDate effectiveDate; // 생략 시 오늘
+}
@@ -0,0 +1,50 @@
+package com.peekport.dto;
+
+import com.peekport.model.CorporateAction;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+public class CorporateActionResponse {
+    private Long id;
+    private CorporateAction.Type type;
+    private String ticker;
+    private String newTicker;
+    private Integer ratioFrom;
+    private Integer ratioTo;
+    private LocalDate effectiveDate;
+    private CorporateAction.Status status;
+    private long assetsAdjusted;
+    private long ledgerEntries;
+    private long fractionalHoldings;  // 단수를 버린 종목 수
+    private long priceRows;
+    private long alertsAdjusted;
+    private long elapsedMillis;
+    private long assetsPerSecond;     // 보유 종목 반영 처리량
+    private boolean alreadyApplied;   // 이미 완료된 요청을 다시 보낸 경우
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public CorporateActionResponse(CorporateAction action, boolean alreadyApplied) {
+        this.id = action.getId();
+        this.type = action.getType();
+        this.ticker = action.getTicker();
+        this.newTicker = action.getNewTicker();
+        this.ratioFrom = action.getRatioFrom();
+        this.ratioTo = action.getRatioTo();
+        this.effectiveDate = action.getEffectiveDate();
+        this.status = action.getStatus();
+        this.assetsAdjusted = action.getAssetsAdjusted();
+        this.ledgerEntries = action.getLedgerEntries();
+        this.fractionalHoldings = action.getFractionalHoldings();
+        this.priceRows = action.getPriceRows();
+        this.alertsAdjusted = action.getAlertsAdjusted();
+        this.elapsedMillis = action.getElapsedMillis();
+        this.assetsPerSecond = action.getElapsedMillis() > 0 ? action.getAssetsAdjusted() * 1000 / action.getElapsedMillis() : 0;
+        this.alreadyApplied = alreadyApplied;
+        this.createdAt = action.getCreatedAt();
+        this.completedAt = action.getCompletedAt();
+    }
+}
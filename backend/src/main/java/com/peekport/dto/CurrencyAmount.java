@@ -0,0 +1,14 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// 통화별 금액 합계 (집계 결과)
+@Getter
+@AllArgsConstructor
+public class CurrencyAmount {
+    private String currency;
+    private BigDecimal amount;
+}
@@ -0,0 +1,35 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 사용자 전체 포트폴리오 합산 노출
+ * weight는 전체 종목 평가액 대비 비중(%)이며 현금은 포함하지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class ExposureResponse {
+    private String currency;        // 금액 단위 (종목 통화에서 환산)
+    private BigDecimal totalValue;
+    private BigDecimal totalInvestment;
+    private List<Item> tickers;
+    private List<Item> categories;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private String key;         // 티커(없으면 종목명) 또는 분류
+        private String name;
+        private Long quantity;      // 분류별 항목은 null
+        private BigDecimal value;
+        private BigDecimal investment;
+        private BigDecimal profitLoss;
+        private BigDecimal realizedProfitLoss;
+        private Double weight;
+        private Long portfolioCount; // 분류별 항목은 null
+    }
+}
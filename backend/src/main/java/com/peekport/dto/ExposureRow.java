@@ -0,0 +1,21 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// 종목(티커, 없으면 이름) x 분류 x 통화별 합계 (AssetRepository 집계 결과, 금액은 종목 통화)
+@Getter
+@AllArgsConstructor
+public class ExposureRow {
+    private String key;
+    private String name;
+    private String category;
+    private Long quantity;
+    private BigDecimal value;
+    private BigDecimal investment;
+    private BigDecimal realizedProfitLoss;
+    private Long portfolioCount;
+    private String currency;
+}
@@ -0,0 +1,12 @@
+package com.peekport.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter @Setter
+public class FxRateUpdateRequest {
+    private Map<String, BigDecimal> rates; // 통화 → 1단위의 원화 값 (예: "USD": 1380.5)
+}
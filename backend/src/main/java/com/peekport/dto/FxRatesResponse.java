@@ -0,0 +1,20 @@
+package com.peekport.dto;
+
+import com.peekport.service.FxRates;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter
+public class FxRatesResponse {
+    private final long version;  // 환율 스냅샷 버전 (평가 결과 캐시 무효화 기준)
+    private final String base;
+    private final Map<String, BigDecimal> rates;
+
+    public FxRatesResponse(FxRates fxRates) {
+        this.version = fxRates.getVersion();
+        this.base = FxRates.BASE;
+        this.rates = fxRates.getRates();
+    }
+}
@@ -14,4 +14,5 @@ public class GoalAccountRequest {
     private Long targetAmount;
     private BigDecimal cash;
     private PortfolioType portfolioType;
+    private String currency; // 선택: 기준 통화 (생성 시에만, 기본 KRW)
 }
@@ -1,5 +1,6 @@
 package com.peekport.dto;
 
+import com.peekport.model.GoalAccount;
 import com.peekport.model.PortfolioType;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,4 +18,13 @@ public class GoalAccountResponse {
     private Long targetAmount;
     private BigDecimal cash;
     private PortfolioType portfolioType;
+    private Long version;
+    private String currency;
+    private boolean rebalancingAlert;
+
+    public GoalAccountResponse(GoalAccount goal, BigDecimal totalAmount) {
+        this(goal.getId(), goal.getName(), totalAmount, goal.getTargetAmount(),
+                goal.getCash(), goal.getPortfolioType(), goal.getVersion(), goal.getCurrency(),
+                goal.isRebalancingAlert());
+    }
 }
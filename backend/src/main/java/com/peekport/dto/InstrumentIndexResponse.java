@@ -0,0 +1,13 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 종목 검색 색인 상태 (관리자 확인용)
+@Getter
+@AllArgsConstructor
+public class InstrumentIndexResponse {
+    private long version;
+    private int instruments;
+    private int keys;   // 티커/이름/초성 검색 키 수
+}
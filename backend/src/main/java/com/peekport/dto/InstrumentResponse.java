@@ -0,0 +1,14 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 종목 마스터 한 줄 (자동완성 결과)
+@Getter
+@AllArgsConstructor
+public class InstrumentResponse {
+    private final String ticker;
+    private final String name;
+    private final String market;
+    private final String currency;
+}
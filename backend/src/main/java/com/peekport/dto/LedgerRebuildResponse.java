@@ -0,0 +1,25 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 거래 내역 재계산 결과 (저장된 종목 값과 내역으로 다시 계산한 값 비교)
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerRebuildResponse {
+    private boolean consistent;
+    private boolean applied;    // 재계산 값으로 덮어썼는지
+    private int entries;
+
+    private Integer storedQuantity;
+    private BigDecimal storedAvgPrice;
+    private BigDecimal storedRealizedProfitLoss;
+
+    private Integer rebuiltQuantity;
+    private BigDecimal rebuiltAvgPrice;
+    private BigDecimal rebuiltRealizedProfitLoss;
+}
@@ -0,0 +1,14 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 상태별 outbox 알림 수 (관리자 확인용)
+@Getter
+@AllArgsConstructor
+public class NotificationStatsResponse {
+    private long pending;
+    private long sending;
+    private long sent;
+    private long failed;
+}
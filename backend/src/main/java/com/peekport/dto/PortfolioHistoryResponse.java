@@ -0,0 +1,18 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 과거 시점의 포트폴리오 (기록된 수량/평단/현재가 그대로, 평가는 하지 않음)
+@Getter
+@AllArgsConstructor
+public class PortfolioHistoryResponse {
+    private LocalDateTime at;
+    private PortfolioState portfolio;
+    private List<AssetState> assets;
+    private LocalDateTime checkpointAt; // 복원 기준 체크포인트 시각 (생성 시점부터 복원했으면 null)
+    private int eventsReplayed;         // 체크포인트 이후 다시 적용한 이벤트 수
+}
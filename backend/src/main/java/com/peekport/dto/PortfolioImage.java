@@ -0,0 +1,16 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 체크포인트 내용 (포트폴리오 + 전체 종목)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioImage {
+    private PortfolioState portfolio;
+    private List<AssetState> assets;
+}
@@ -0,0 +1,26 @@
+package com.peekport.dto;
+
+import com.peekport.model.PortfolioSnapshot;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+public class PortfolioSnapshotResponse {
+    private LocalDate date;
+    private BigDecimal marketValue;
+    private BigDecimal costBasis;
+    private BigDecimal cash;
+    private BigDecimal totalValue;  // 평가액 + 현금
+    private BigDecimal profitLoss;  // 평가액 - 매수금액
+
+    public PortfolioSnapshotResponse(PortfolioSnapshot snapshot) {
+        this.date = snapshot.getSnapshotDate();
+        this.marketValue = snapshot.getMarketValue();
+        this.costBasis = snapshot.getCostBasis();
+        this.cash = snapshot.getCash();
+        this.totalValue = marketValue.add(cash);
+        this.profitLoss = marketValue.subtract(costBasis);
+    }
+}
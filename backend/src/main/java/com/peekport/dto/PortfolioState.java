@@ -0,0 +1,23 @@
+package com.peekport.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.peekport.model.PortfolioType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// 포트폴리오 자체 상태 (변경 이벤트/체크포인트에 저장)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PortfolioState {
+    private Long id;
+    private String name;
+    private String currency;
+    private BigDecimal cash;
+    private Long targetAmount;
+    private PortfolioType portfolioType;
+}
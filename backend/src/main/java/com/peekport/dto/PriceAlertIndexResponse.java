@@ -0,0 +1,13 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 가격 알림 색인 상태 (관리자 확인용)
+@Getter
+@AllArgsConstructor
+public class PriceAlertIndexResponse {
+    private int alerts;
+    private int tickers;
+    private long arrayBytes; // 기준가/id 배열 크기 (여유 용량 포함)
+}
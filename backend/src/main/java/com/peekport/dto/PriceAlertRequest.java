@@ -0,0 +1,15 @@
+package com.peekport.dto;
+
+import com.peekport.model.PriceAlert;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter @Setter
+public class PriceAlertRequest {
+    private String ticker;
+    private PriceAlert.Direction direction; // BELOW: 기준가 이하로 내려가면, ABOVE: 기준가 이상으로 올라가면
+    private BigDecimal threshold;
+    private String memo;
+}
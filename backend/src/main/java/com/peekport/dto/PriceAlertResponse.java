@@ -0,0 +1,32 @@
+package com.peekport.dto;
+
+import com.peekport.model.PriceAlert;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+public class PriceAlertResponse {
+    private Long id;
+    private String ticker;
+    private PriceAlert.Direction direction;
+    private BigDecimal threshold;
+    private String memo;
+    private boolean active;
+    private BigDecimal triggeredPrice;
+    private LocalDateTime triggeredAt;
+    private LocalDateTime createdAt;
+
+    public PriceAlertResponse(PriceAlert alert) {
+        this.id = alert.getId();
+        this.ticker = alert.getTicker();
+        this.direction = alert.getDirection();
+        this.threshold = alert.getThreshold();
+        this.memo = alert.getMemo();
+        this.active = alert.isActive();
+        this.triggeredPrice = alert.getTriggeredPrice();
+        this.triggeredAt = alert.getTriggeredAt();
+        this.createdAt = alert.getCreatedAt();
+    }
+}
@@ -0,0 +1,20 @@
+package com.peekport.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter @Setter
+public class PriceHistoryImportRequest {
+    private List<Row> prices;
+
+    @Getter @Setter
+    public static class Row {
+        private String ticker;
+        private LocalDate date;
+        private BigDecimal close;
+    }
+}
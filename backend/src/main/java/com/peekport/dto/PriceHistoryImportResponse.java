@@ -0,0 +1,11 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PriceHistoryImportResponse {
+    private int imported;
+    private long version; // 가격 이력 버전 (위험 지표 캐시 무효화 기준)
+}
@@ -0,0 +1,16 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 종가 한 점 (엔티티로 읽지 않고 값만 가져올 때)
+@Getter
+@AllArgsConstructor
+public class PricePoint {
+    private String ticker;
+    private LocalDate tradeDate;
+    private BigDecimal closePrice;
+}
@@ -0,0 +1,19 @@
+package com.peekport.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// 최신 체결가 (가격 알림 확인용, 가격 이력에는 남기지 않음)
+@Getter @Setter
+public class PriceTickRequest {
+    private List<Row> prices;
+
+    @Getter @Setter
+    public static class Row {
+        private String ticker;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,11 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PriceTickResponse {
+    private int evaluated;  // 확인한 티커 수
+    private int triggered;  // 발동한 알림 수
+}
@@ -0,0 +1,50 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 목표 금액 달성 시뮬레이션 결과
+ * probability: 목표일 평가액이 목표 이상인 경로 비율 (%), probabilityAnyTime: 목표일 전에 한 번이라도 도달한 비율 (%)
+ * 목표 금액이 없으면 두 확률은 null. truncated=true면 시간 제한으로 requestedPaths 중 paths개 경로만 계산된 결과다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectionResponse {
+    private Long portfolioId;
+    private String portfolioType;
+    private BigDecimal startValue;
+    private Long targetAmount;
+    private LocalDate targetDate;
+    private int months;
+    private BigDecimal monthlyContribution;
+
+    private double expectedReturn;  // 가정한 연 기대수익률 (%)
+    private double volatility;      // 가정한 연 변동성 (%)
+
+    private int requestedPaths;
+    private int paths;              // 실제로 계산한 경로 수 (truncated면 requestedPaths보다 적음)
+    private boolean truncated;
+    private long seed;              // 같은 seed로 다시 요청하면 같은 결과
+    private long elapsedMillis;
+
+    private Double probability;
+    private Double probabilityAnyTime;
+    private List<Band> bands;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Band {
+        private LocalDate date;
+        private int month;
+        private BigDecimal p5;
+        private BigDecimal p25;
+        private BigDecimal p50;
+        private BigDecimal p75;
+        private BigDecimal p95;
+    }
+}
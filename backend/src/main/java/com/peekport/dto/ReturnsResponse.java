@@ -0,0 +1,29 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 기간 수익률
+ * twr: 시간가중 수익률 (입출금 영향 제거), xirr: 금액가중 연 수익률. 단위 %, 계산 불가 시 null
+ */
+@Getter
+@AllArgsConstructor
+public class ReturnsResponse {
+    private Long portfolioId;
+    private String period;
+    private LocalDate from;     // 실제 계산 시작일 (기록이 기간보다 짧으면 첫 기록일)
+    private LocalDate to;
+
+    private BigDecimal startValue;
+    private BigDecimal endValue;
+    private BigDecimal netContribution; // 기간 중 순투입액
+    private BigDecimal profit;          // endValue - startValue - netContribution
+
+    private Double twr;
+    private Double twrAnnualized;       // 1년 이상일 때만
+    private Double xirr;
+}
@@ -0,0 +1,66 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 포트폴리오 위험 지표
+ * 변동성은 연 환산 %, VaR/CVaR는 1일 기준 손실 금액이다. 가격 이력이 있는 종목(covered)만으로 계산한다.
+ * correlation/covariance 행과 열 순서는 holdings 순서와 같고, covariance는 요청할 때만 채운다.
+ */
+@Getter
+@AllArgsConstructor
+public class RiskResponse {
+    private Long portfolioId;
+    private String portfolioType;
+    private LocalDate from;
+    private LocalDate to;
+    private int observations;       // 일간 수익률 개수
+
+    private BigDecimal coveredValue;
+    private Double coverage;        // 전체 종목 평가액 중 계산에 포함된 비중 (%)
+
+    private Double volatility;      // 포트폴리오 연 변동성 (%)
+    private Double volatilityLimit; // 포트폴리오 유형별 허용 변동성 (%)
+    private Boolean withinRiskProfile;
+
+    private BigDecimal var95;
+    private BigDecimal cvar95;
+    private BigDecimal var99;
+    private BigDecimal cvar99;
+
+    private List<Holding> holdings;
+    private List<Uncovered> uncovered;
+    private double[][] correlation;
+    private double[][] covariance;  // 연 환산
+
+    public RiskResponse withoutCovariance() {
+        return new RiskResponse(portfolioId, portfolioType, from, to, observations, coveredValue, coverage,
+                volatility, volatilityLimit, withinRiskProfile, var95, cvar95, var99, cvar99,
+                holdings, uncovered, correlation, null);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Holding {
+        private String ticker;
+        private String name;
+        private BigDecimal value;
+        private Double weight;           // covered 평가액 대비 비중 (%)
+        private Double volatility;       // 연 변동성 (%)
+        private Double riskContribution; // 포트폴리오 분산 중 이 종목 몫 (%)
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Uncovered {
+        private String key;    // 티커 (없으면 종목명)
+        private String name;
+        private BigDecimal value;
+        private String reason;
+    }
+}
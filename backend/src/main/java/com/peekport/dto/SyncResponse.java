@@ -0,0 +1,34 @@
+package com.peekport.dto;
+
+import com.peekport.model.SyncTombstone;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 변경분 동기화 응답
+ * 클라이언트는 seq를 저장해 두었다가 다음 요청의 since로 보낸다.
+ */
+@Getter
+@AllArgsConstructor
+public class SyncResponse {
+    private Long seq;
+    private boolean changed;
+    private boolean fullResync; // true면 로컬 캐시를 비우고 이 응답으로 교체
+    private List<GoalAccountResponse> portfolios;
+    private List<AssetResponse> stocks;
+    private List<Deleted> deleted;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Deleted {
+        private SyncTombstone.EntityType type;
+        private Long id;
+        private Long seq;
+
+        public Deleted(SyncTombstone tombstone) {
+            this(tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getSeq());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.peekport.dto;
+
+import com.peekport.model.PortfolioType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 목표 비중 계산 요청. 비중 단위는 모두 포트폴리오 총 자산(종목 + 현금) 대비 %
+ */
+@Getter @Setter
+public class TargetAllocationRequest {
+    private Integer days;                  // 사용할 일간 수익률 개수 (기본 252)
+    private PortfolioType profile;         // 적용할 위험 수준 (기본: 포트폴리오 유형)
+    private BigDecimal minWeight;          // 종목 공통 하한 (기본 0)
+    private BigDecimal maxWeight;          // 종목 공통 상한 (기본 100)
+    private Map<String, Bound> bounds;     // 티커별 상하한 (공통 값보다 우선)
+    private Bound cash;                    // 현금 상하한 (기본 0 ~ 100)
+    private boolean apply;                 // true면 선택한 위험 수준 결과를 Asset.targetRatio에 저장
+
+    @Getter @Setter
+    public static class Bound {
+        private BigDecimal min;
+        private BigDecimal max;
+    }
+}
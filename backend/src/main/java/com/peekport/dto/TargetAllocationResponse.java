@@ -0,0 +1,46 @@
+package com.peekport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 위험 수준별 효율적 투자선 위 목표 비중
+ * 비중/수익률/변동성 단위는 %. 가격 이력이 없는 종목(excluded)은 현재 비중 그대로 두고 나머지만 배분한다.
+ */
+@Getter
+@AllArgsConstructor
+public class TargetAllocationResponse {
+    private Long portfolioId;
+    private String profile;     // 적용(또는 적용 대상) 위험 수준
+    private boolean applied;
+    private LocalDate from;
+    private LocalDate to;
+    private int observations;
+    private double cashReturn;  // 현금 가정 수익률
+    private Double excludedWeight;
+    private List<String> excluded;
+    private List<Frontier> frontiers;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Frontier {
+        private String profile;
+        private double targetVolatility;
+        private double expectedReturn;
+        private double volatility;
+        private boolean targetReached; // false면 제약 안에서 목표 변동성까지 낮추지 못함 (최소 분산 결과)
+        private double cashWeight;
+        private List<Weight> weights;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Weight {
+        private String ticker;
+        private String name;
+        private double weight;
+    }
+}
@@ -8,4 +8,5 @@ import java.math.BigDecimal;
 @Getter @Setter
 public class UpdateCashRequest {
     private BigDecimal cash;
+    private Long version; // 선택: 클라이언트가 본 버전 (다르면 409)
 }
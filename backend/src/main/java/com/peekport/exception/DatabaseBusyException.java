@@ -0,0 +1,14 @@
+package com.peekport.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.sql.SQLTransientConnectionException;
+
+// DB 커넥션을 기다리는 요청이 너무 많아 바로 돌려보내는 경우 (JPA/트랜잭션 예외의 원인으로 감싸져 올라와도 503으로 응답)
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseBusyException extends SQLTransientConnectionException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
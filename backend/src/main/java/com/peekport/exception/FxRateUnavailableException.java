@@ -0,0 +1,12 @@
+package com.peekport.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 평가에 필요한 환율이 등록되어 있지 않은 경우
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class FxRateUnavailableException extends RuntimeException {
+    public FxRateUnavailableException(String message) {
+        super(message);
+    }
+}
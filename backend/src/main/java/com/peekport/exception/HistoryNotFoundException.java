@@ -0,0 +1,12 @@
+package com.peekport.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 요청한 시점의 변경 기록이 없는 경우 (기록 시작 전, 생성 전, 삭제 후)
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class HistoryNotFoundException extends RuntimeException {
+    public HistoryNotFoundException(String message) {
+        super(message);
+    }
+}
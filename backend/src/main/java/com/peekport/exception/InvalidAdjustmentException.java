@@ -0,0 +1,11 @@
+package com.peekport.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAdjustmentException extends RuntimeException {
+    public InvalidAdjustmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.peekport.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+// 429 + Retry-After (헤더가 필요해서 @ResponseStatus 대신 ResponseStatusException을 씀)
+public class TooManyRequestsException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+        this.retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,11 @@
+package com.peekport.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -9,6 +9,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_asset_user_change_seq", columnList = "user_id, change_seq"),
+        @Index(name = "idx_asset_ticker", columnList = "ticker, id")   // 기업 행사 반영 시 티커별 keyset 조회
+})
 @Getter @Setter
 @NoArgsConstructor
 public class Asset {
@@ -22,9 +26,13 @@ public class Asset {
     private String ticker;            // 종목 코드 (예: 005930) - 선택사항
 
     private Integer quantity;         // 보유 수량
-    private BigDecimal purchasePrice; // 매수가
+    private BigDecimal purchasePrice; // 평균 매수가 (거래 내역 반영 시 이동평균으로 갱신)
     private BigDecimal currentPrice;  // 현재가 (실시간 업데이트용)
 
+    // 거래 통화 (가격/매수가 단위, 포트폴리오 통화와 다르면 평가 시 환산)
+    @Column(nullable = false, length = 3, columnDefinition = "varchar(3) not null default 'KRW'")
+    private String currency;
+
     private String term;              // 투자 기간 (short, mid, long)
 
     @Column(columnDefinition = "TEXT")
@@ -41,10 +49,23 @@ public class Asset {
     @JoinColumn(name = "goal_account_id")
     private GoalAccount goalAccount;  // 해당 종목이 소속된 포트폴리오
 
-    // 목표 비중
+    // 목표 비중 (포트폴리오 총 자산 대비, 종목 합의 나머지가 현금 목표)
     @Column(precision = 5, scale = 2)
     private BigDecimal targetRatio;  // 단위: %, 예: 15.50
 
+    // 낙관적 락 (동시 수정 시 나중 커밋이 덮어쓰지 않도록)
+    @Version
+    @Column(nullable = false)
+    private Long version; // 새 엔티티는 null이어야 save()가 persist로 처리함
+
+    // 매도/배당으로 확정된 손익 누계
+    @Column(nullable = false)
+    private BigDecimal realizedProfitLoss = BigDecimal.ZERO;
+
+    // 마지막 변경 순번 (ChangeTracker가 관리)
+    @Column(name = "change_seq", nullable = false, updatable = false)
+    private Long changeSeq = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
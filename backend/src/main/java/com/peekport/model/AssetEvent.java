@@ -0,0 +1,75 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오/종목 변경 이벤트 (추가만 하고 수정하지 않음)
+ * 변경 후 상태(payload, JSON)를 그대로 담아 두므로 체크포인트에 이후 이벤트를 순서대로 덮어쓰면 그 시점 상태가 된다.
+ * 변경을 일으킨 트랜잭션이 커밋되기 직전에 AssetEventLog가 기록한다.
+ */
+@Entity
+@Table(name = "asset_events", indexes = {
+        @Index(name = "idx_asset_events_goal", columnList = "goal_account_id, id")
+})
+@Getter @Setter
+@NoArgsConstructor
+public class AssetEvent {
+
+    public enum EntityType {
+        PORTFOLIO, ASSET
+    }
+
+    public enum Op {
+        CREATE, UPDATE, DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "goal_account_id", nullable = false)
+    private Long goalAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Op op;
+
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;     // 변경 후 상태 (DELETE는 null)
+
+    @Column(columnDefinition = "TEXT")
+    private String detail;      // 상태만으로 알 수 없는 변경 사유 (예: 기업 행사로 버린 단수), 대부분 null
+
+    public AssetEvent(Long userId, Long goalAccountId, EntityType entityType, Long entityId, Op op,
+                      Long changeSeq, LocalDateTime occurredAt, String payload) {
+        this.userId = userId;
+        this.goalAccountId = goalAccountId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.op = op;
+        this.changeSeq = changeSeq;
+        this.occurredAt = occurredAt;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,74 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 종목 거래 내역 (추가만 하고 수정/삭제하지 않음)
+ * 종목 행(Asset)은 이 내역을 id 순서대로 반영한 결과를 들고 있다.
+ */
+@Entity
+@Table(name = "asset_transactions", indexes = {
+        @Index(name = "idx_asset_transactions_asset", columnList = "asset_id, id"),
+        @Index(name = "idx_asset_transactions_goal", columnList = "goal_account_id")
+})
+@Getter @Setter
+@NoArgsConstructor
+public class AssetTransaction {
+
+    public enum Type {
+        BUY,
+        SELL,
+        DIVIDEND,
+        ADJUST // 보유 수량/평단 직접 수정 (기존 보유분의 기초 잔고, 종목 삭제 시 0 정리 포함)
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "goal_account_id", nullable = false)
+    private Long goalAccountId;
+
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    private Integer quantity;       // BUY/SELL 수량, ADJUST는 조정 후 수량
+
+    private BigDecimal price;       // BUY/SELL 단가, ADJUST는 조정 후 평단
+
+    private BigDecimal amount;      // 거래 금액 (배당은 수령액)
+
+    @Column(nullable = false)
+    private BigDecimal fee = BigDecimal.ZERO;
+
+    // 기록 시점 환율 (종목 통화 1단위 → 포트폴리오 통화, 이전 내역은 null = 1)
+    @Column(precision = 19, scale = 10)
+    private BigDecimal fxRate;
+
+    @Column(nullable = false)
+    private BigDecimal realizedProfitLoss = BigDecimal.ZERO; // 이 거래로 확정된 손익
+
+    private LocalDateTime tradedAt;
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (tradedAt == null) {
+            tradedAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 기업 행사 (액면분할/병합, 티커 변경) 적용 기록
+ * (종류, 티커, 기준일)이 같은 요청은 한 번만 적용된다.
+ * 보유 종목은 id 순서로 묶음마다 나눠 반영하면서 마지막으로 반영한 종목 id(lastAssetId)를 같은 트랜잭션에서 남기므로,
+ * 중간에 멈춘 작업은 같은 요청을 다시 보내면 이어서 진행된다.
+ */
+@Entity
+@Table(name = "corporate_actions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_corporate_actions_key", columnNames = {"type", "ticker", "effective_date"})
+})
+@Getter @Setter
+@NoArgsConstructor
+public class CorporateAction {
+
+    public enum Type {
+        SPLIT,          // 액면분할 (ratioFrom주 → ratioTo주, ratioTo > ratioFrom)
+        REVERSE_SPLIT,  // 액면병합 (ratioTo < ratioFrom, 1주 미만 단수는 버림)
+        RENAME          // 티커 변경
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false, length = 20)
+    private String ticker;
+
+    @Column(length = 20)
+    private String newTicker;       // RENAME
+
+    private String newName;         // RENAME (없으면 종목 이름 유지)
+
+    private Integer ratioFrom;      // SPLIT/REVERSE_SPLIT
+
+    private Integer ratioTo;
+
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate; // 이 날짜 전 종가를 분할 기준으로 환산
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.RUNNING;
+
+    @Column(nullable = false)
+    private Long lastAssetId = 0L;
+
+    @Column(nullable = false)
+    private long assetsAdjusted;
+
+    @Column(nullable = false)
+    private long ledgerEntries;     // 추가한 조정(ADJUST) 내역 수
+
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private long fractionalHoldings; // 1주 미만 단수를 버린 종목 수 (종목별 수량은 변경 이벤트 detail)
+
+    @Column(nullable = false)
+    private long priceRows;         // 환산/이동한 종가 수
+
+    @Column(nullable = false)
+    private long alertsAdjusted;
+
+    @Column(nullable = false)
+    private long elapsedMillis;     // 보유 종목 반영에 걸린 시간 (재개한 경우 합계)
+
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
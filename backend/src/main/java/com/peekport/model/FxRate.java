@@ -0,0 +1,40 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 통화별 환율 (1단위의 원화 값)
+ * 요청 처리 중에는 읽지 않고, FxRateService가 메모리 스냅샷으로 올려 쓴다.
+ */
+@Entity
+@Table(name = "fx_rates")
+@Getter @Setter
+@NoArgsConstructor
+public class FxRate {
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "rate_to_krw", nullable = false, precision = 19, scale = 8)
+    private BigDecimal rateToKrw;
+
+    private LocalDateTime updatedAt;
+
+    public FxRate(String currency, BigDecimal rateToKrw) {
+        this.currency = currency;
+        this.rateToKrw = rateToKrw;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -12,7 +12,8 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "goal_accounts")
+@Table(name = "goal_accounts",
+        indexes = @Index(name = "idx_goal_accounts_user_change_seq", columnList = "user_id, change_seq"))
 public class GoalAccount {
 
     @Id
@@ -35,11 +36,37 @@ public class GoalAccount {
     @Column(nullable = false)
     private BigDecimal cash = BigDecimal.ZERO;
 
+    // 기준 통화 (현금 단위이자 평가 금액 단위, 생성 후 바꾸지 않음)
+    @Column(nullable = false, length = 3, columnDefinition = "varchar(3) not null default 'KRW'")
+    private String currency = "KRW";
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PortfolioType portfolioType = PortfolioType.BALANCED; // 기본값 설정
 
-    @OneToMany(mappedBy = "goalAccount", cascade = CascadeType.ALL, orphanRemoval = true)
+    // 리밸런싱 필요 알림 수신 여부
+    @Column(nullable = false, columnDefinition = "boolean not null default false")
+    private boolean rebalancingAlert = false;
+
+    // 마지막 리밸런싱 알림 시각 (다시 균형이 맞으면 비움, bulk UPDATE로만 변경)
+    @Column(updatable = false)
+    private LocalDateTime rebalancingNotifiedAt;
+
+    // 낙관적 락 (동시 수정 시 나중 커밋이 덮어쓰지 않도록)
+    @Version
+    @Column(nullable = false)
+    private Long version; // 새 엔티티는 null이어야 save()가 persist로 처리함
+
+    // 마지막 변경 순번 (종목 변경 시에도 갱신됨, ChangeTracker가 관리)
+    @Column(name = "change_seq", nullable = false, updatable = false)
+    private Long changeSeq = 0L;
+
+    // 삭제 표시 (실제 행 삭제는 PortfolioPurgeService가 묶음 단위로 처리)
+    @Column(nullable = false)
+    private boolean deleted = false;
+
+    // 삭제는 bulk DELETE로 처리하므로 cascade/orphanRemoval로 종목을 하나씩 지우지 않는다
+    @OneToMany(mappedBy = "goalAccount")
     private List<Asset> assets = new ArrayList<>();
 
     @PrePersist
@@ -0,0 +1,77 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보낼 알림 (outbox)
+ * 알림을 일으킨 변경과 같은 트랜잭션에서 쌓고, NotificationDispatcher가 묶어서 발송한다.
+ * PENDING → SENDING(발송 중 점유) → SENT, 실패하면 재시도 시각을 늦춰 PENDING으로, 횟수를 넘기면 FAILED.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at, id"),
+        @Index(name = "idx_notification_outbox_user", columnList = "user_id, id")
+})
+@Getter @Setter
+@NoArgsConstructor
+public class NotificationOutbox {
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationType type;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(nullable = false, length = 500)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public NotificationOutbox(Long userId, NotificationType type, String title, String body) {
+        this.userId = userId;
+        this.type = type;
+        this.title = title;
+        this.body = body;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.peekport.model;
+
+public enum NotificationType {
+    PRICE_ALERT,  // 가격 알림 발동
+    REBALANCING   // 리밸런싱 필요
+}
@@ -0,0 +1,40 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 현금 입출금 기록 (입금 +, 출금 -)
+ * 수익률 계산에서 외부 자금 흐름으로 쓰인다. 추가만 한다.
+ */
+@Entity
+@Table(name = "portfolio_cash_flows",
+        indexes = @Index(name = "idx_portfolio_cash_flows_goal", columnList = "goal_account_id, id"))
+@Getter @Setter
+@NoArgsConstructor
+public class PortfolioCashFlow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "goal_account_id", nullable = false)
+    private Long goalAccountId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime flowedAt;
+
+    public PortfolioCashFlow(Long goalAccountId, BigDecimal amount) {
+        this.goalAccountId = goalAccountId;
+        this.amount = amount;
+        this.flowedAt = LocalDateTime.now();
+    }
+}
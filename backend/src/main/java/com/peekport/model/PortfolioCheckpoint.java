@@ -0,0 +1,48 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 체크포인트 (takenAt 시점의 포트폴리오와 전체 종목 상태)
+ * lastEventId까지의 이벤트가 반영된 상태라, 과거 시점 복원은 가장 가까운 체크포인트 이후 이벤트만 다시 적용하면 된다.
+ */
+@Entity
+@Table(name = "portfolio_checkpoints", indexes = {
+        @Index(name = "idx_portfolio_checkpoints_goal", columnList = "goal_account_id, taken_at")
+})
+@Getter @Setter
+@NoArgsConstructor
+public class PortfolioCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "goal_account_id", nullable = false)
+    private Long goalAccountId;
+
+    @Column(nullable = false)
+    private Long lastEventId;   // 반영된 마지막 이벤트 id (없으면 0)
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;     // PortfolioImage JSON
+
+    public PortfolioCheckpoint(Long userId, Long goalAccountId, Long lastEventId, LocalDateTime takenAt, String payload) {
+        this.userId = userId;
+        this.goalAccountId = goalAccountId;
+        this.lastEventId = lastEventId;
+        this.takenAt = takenAt;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,50 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 포트폴리오 일별 평가 스냅샷
+ * (날짜, 포트폴리오) 복합 키만 두고 FK/대리키 없이 작게 유지한다.
+ * 운영 DB에서는 snapshot_date 기준 월별 파티션으로 관리 (db/portfolio_snapshots_partitioning.sql)
+ */
+@Entity
+@Table(name = "portfolio_snapshots",
+        indexes = @Index(name = "idx_portfolio_snapshots_goal_date", columnList = "goal_account_id, snapshot_date"))
+@IdClass(PortfolioSnapshot.Key.class)
+@Getter @Setter
+@NoArgsConstructor
+public class PortfolioSnapshot {
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Id
+    @Column(name = "goal_account_id")
+    private Long goalAccountId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal marketValue; // 종목 평가액 합계
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal costBasis;   // 종목 매수금액 합계
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal cash;
+
+    @Getter @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate snapshotDate;
+        private Long goalAccountId;
+    }
+}
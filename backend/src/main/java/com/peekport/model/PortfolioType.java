@@ -1,7 +1,17 @@
 package com.peekport.model;
 
 public enum PortfolioType {
-    CONSERVATIVE, // 보수형
-    BALANCED,     // 균형형
-    AGGRESSIVE    // 공격형
-}
\ No newline at end of file
+    CONSERVATIVE(10.0), // 보수형
+    BALANCED(18.0),     // 균형형
+    AGGRESSIVE(30.0);   // 공격형
+
+    private final double maxVolatility; // 허용 연 변동성 (%)
+
+    PortfolioType(double maxVolatility) {
+        this.maxVolatility = maxVolatility;
+    }
+
+    public double getMaxVolatility() {
+        return maxVolatility;
+    }
+}
@@ -0,0 +1,60 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 가격 알림 ("티커가 기준가 아래/위로 가면 알려줘")
+ * 한 번 발동하면 비활성으로 바뀐다. 활성 알림은 PriceAlertService가 메모리 색인으로 올려 두고 가격마다 확인한다.
+ */
+@Entity
+@Table(name = "price_alerts", indexes = {
+        @Index(name = "idx_price_alerts_user", columnList = "user_id, id"),
+        @Index(name = "idx_price_alerts_active", columnList = "active, id")
+})
+@Getter @Setter
+@NoArgsConstructor
+public class PriceAlert {
+
+    public enum Direction {
+        BELOW, // 가격 <= 기준가
+        ABOVE  // 가격 >= 기준가
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    private String ticker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Direction direction;
+
+    @Column(nullable = false, precision = 15, scale = 4)
+    private BigDecimal threshold;     // 종목 거래 통화 기준
+
+    private String memo;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(precision = 15, scale = 4)
+    private BigDecimal triggeredPrice;
+    private LocalDateTime triggeredAt;
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
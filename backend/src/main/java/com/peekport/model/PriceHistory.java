@@ -0,0 +1,42 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 종목 일별 종가 (위험 지표 계산용)
+ * (티커, 거래일) 복합 키로 같은 날 값을 다시 넣으면 덮어쓴다.
+ */
+@Entity
+@Table(name = "price_history")
+@IdClass(PriceHistory.Key.class)
+@Getter @Setter
+@NoArgsConstructor
+public class PriceHistory {
+
+    @Id
+    @Column(length = 20)
+    private String ticker;
+
+    @Id
+    @Column(name = "trade_date")
+    private LocalDate tradeDate;
+
+    @Column(name = "close_price", nullable = false, precision = 15, scale = 4)
+    private BigDecimal closePrice;
+
+    @Getter @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String ticker;
+        private LocalDate tradeDate;
+    }
+}
@@ -0,0 +1,30 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 가격 이력 버전 (행 하나)
+ * 종가를 적재/수정하는 트랜잭션에서 함께 올려, 다른 서버도 주기적으로 읽어 가격 이력 캐시를 비울 수 있게 한다.
+ */
+@Entity
+@Table(name = "price_history_version")
+@Getter @Setter
+@NoArgsConstructor
+public class PriceHistoryVersion {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+
+    public PriceHistoryVersion(long version) {
+        this.id = ID;
+        this.version = version;
+    }
+}
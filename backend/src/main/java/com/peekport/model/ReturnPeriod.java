@@ -0,0 +1,49 @@
+package com.peekport.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// 수익률 조회 기간
+public enum ReturnPeriod {
+    ONE_MONTH("1M"),
+    THREE_MONTHS("3M"),
+    SIX_MONTHS("6M"),
+    YTD("YTD"),
+    ONE_YEAR("1Y"),
+    THREE_YEARS("3Y"),
+    FIVE_YEARS("5Y"),
+    TEN_YEARS("10Y"),
+    ALL("ALL");
+
+    private final String code;
+
+    ReturnPeriod(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static ReturnPeriod fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(p -> p.code.equalsIgnoreCase(code) || p.name().equalsIgnoreCase(code))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // 기간 시작 기준일 (이 날의 평가액이 시작 값), ALL은 null
+    public LocalDate startDate(LocalDate today) {
+        return switch (this) {
+            case ONE_MONTH -> today.minusMonths(1);
+            case THREE_MONTHS -> today.minusMonths(3);
+            case SIX_MONTHS -> today.minusMonths(6);
+            case YTD -> today.withDayOfYear(1).minusDays(1);
+            case ONE_YEAR -> today.minusYears(1);
+            case THREE_YEARS -> today.minusYears(3);
+            case FIVE_YEARS -> today.minusYears(5);
+            case TEN_YEARS -> today.minusYears(10);
+            case ALL -> null;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.peekport.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제 기록 (동기화 시 클라이언트가 지울 행)
+ * 보관 기간이 지나면 지우고, 그보다 오래된 since로 오는 클라이언트는 전체 재동기화한다.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+        indexes = {
+                @Index(name = "idx_sync_tombstones_user_seq", columnList = "user_id, seq"),
+                @Index(name = "idx_sync_tombstones_created_at", columnList = "created_at")
+        })
+@Getter @Setter
+@NoArgsConstructor
+public class SyncTombstone {
+
+    public enum EntityType { PORTFOLIO, ASSET }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long seq;
+
+    private LocalDateTime createdAt;
+
+    public SyncTombstone(Long userId, EntityType entityType, Long entityId, Long seq) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.seq = seq;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
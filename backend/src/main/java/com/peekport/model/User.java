@@ -26,6 +26,14 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    // 이 사용자 데이터의 마지막 변경 순번 (동기화 high-water mark, bulk UPDATE로만 증가)
+    @Column(nullable = false, updatable = false)
+    private Long changeSeq = 0L;
+
+    // 보관 기간이 지나 지운 삭제 기록의 최대 순번 (이보다 작은 since는 전체 재동기화, bulk UPDATE로만 증가)
+    @Column(nullable = false, updatable = false)
+    private Long tombstonePurgedSeq = 0L;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
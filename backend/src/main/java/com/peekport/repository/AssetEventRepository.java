@@ -0,0 +1,47 @@
+package com.peekport.repository;
+
+import com.peekport.model.AssetEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AssetEventRepository extends JpaRepository<AssetEvent, Long> {
+
+    // 체크포인트 이후 at까지의 이벤트 (기록 순서)
+    @Query("SELECT e FROM AssetEvent e WHERE e.goalAccountId = :goalId AND e.id > :afterId AND e.occurredAt <= :at ORDER BY e.id")
+    List<AssetEvent> findForReplay(@Param("goalId") Long goalId, @Param("afterId") Long afterId, @Param("at") LocalDateTime at);
+
+    @Query("SELECT MAX(e.id) FROM AssetEvent e WHERE e.goalAccountId = :goalId")
+    Long findMaxId(@Param("goalId") Long goalId);
+
+    // 포트폴리오 생성 이벤트 (체크포인트 없이 처음부터 복원할 수 있는지 확인)
+    @Query("SELECT e FROM AssetEvent e WHERE e.goalAccountId = :goalId " +
+            "AND e.entityType = com.peekport.model.AssetEvent.EntityType.PORTFOLIO " +
+            "AND e.op = com.peekport.model.AssetEvent.Op.CREATE")
+    Optional<AssetEvent> findCreation(@Param("goalId") Long goalId);
+
+    Optional<AssetEvent> findFirstByGoalAccountIdOrderByIdAsc(Long goalAccountId);
+
+    /**
+     * 체크포인트가 필요한 포트폴리오 (id keyset 페이지)
+     * 체크포인트가 아직 없거나, 마지막 체크포인트 이후 이벤트가 threshold건 이상 쌓인 경우
+     */
+    @Query(value = "SELECT g.id FROM goal_accounts g WHERE g.id > :afterId AND g.deleted = false " +
+            "AND (NOT EXISTS (SELECT 1 FROM portfolio_checkpoints c WHERE c.goal_account_id = g.id) " +
+            "  OR (SELECT COUNT(*) FROM asset_events e WHERE e.goal_account_id = g.id AND e.id > " +
+            "      (SELECT MAX(c.last_event_id) FROM portfolio_checkpoints c WHERE c.goal_account_id = g.id)) >= :threshold) " +
+            "ORDER BY g.id LIMIT :limit", nativeQuery = true)
+    List<Long> findCheckpointCandidates(@Param("afterId") Long afterId, @Param("threshold") int threshold, @Param("limit") int limit);
+
+    // 포트폴리오 정리용 (chunk 단위 삭제)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM asset_events WHERE goal_account_id = :goalId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByGoalAccountId(@Param("goalId") Long goalId, @Param("limit") int limit);
+}
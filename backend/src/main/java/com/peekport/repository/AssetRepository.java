@@ -1,12 +1,19 @@
 package com.peekport.repository;
 
+import com.peekport.dto.AllocationRow;
+import com.peekport.dto.AssetState;
+import com.peekport.dto.ExposureRow;
 import com.peekport.model.Asset;
 import com.peekport.model.GoalAccount;
 import com.peekport.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +24,76 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
 
     List<Asset> findByGoalAccountId(Long goalAccountId);
 
+    List<Asset> findByGoalAccountIdIn(Collection<Long> goalAccountIds);
+
+    List<Asset> findByGoalAccountIdAndIdIn(Long goalAccountId, Collection<Long> ids);
+
+    @Query("SELECT a FROM Asset a WHERE a.id = :id AND a.goalAccount.id = :goalAccountId " +
+            "AND a.user.id = :userId AND a.goalAccount.deleted = false")
+    Optional<Asset> findOwned(@Param("id") Long id, @Param("goalAccountId") Long goalAccountId,
+                              @Param("userId") Long userId);
+
+    // 변경 이벤트/체크포인트용 상태 (엔티티가 아닌 값으로 읽어 bulk UPDATE 결과도 그대로 반영)
+    @Query("SELECT new com.peekport.dto.AssetState(a.id, a.ticker, a.name, a.category, a.term, a.currency, a.quantity, " +
+            "a.purchasePrice, a.currentPrice, a.targetRatio, a.realizedProfitLoss) FROM Asset a WHERE a.id IN :ids")
+    List<AssetState> findStates(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.peekport.dto.AssetState(a.id, a.ticker, a.name, a.category, a.term, a.currency, a.quantity, " +
+            "a.purchasePrice, a.currentPrice, a.targetRatio, a.realizedProfitLoss) FROM Asset a " +
+            "WHERE a.goalAccount.id = :goalAccountId ORDER BY a.id")
+    List<AssetState> findStatesByGoalAccountId(@Param("goalAccountId") Long goalAccountId);
+
     @Query("SELECT COALESCE(SUM(a.quantity * a.currentPrice), 0) FROM Asset a WHERE a.goalAccount.id = :goalAccountId")
     Double getTotalStockValueByGoalAccountId(@Param("goalAccountId") Long goalAccountId);
+
+    // 수량 증감 (조회 없이 한 문장으로 원자적 처리, 수량이 음수가 되면 0건)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Asset a SET a.quantity = a.quantity + :delta, a.version = a.version + 1, a.updatedAt = :now " +
+            "WHERE a.id = :id AND a.goalAccount.id = :goalAccountId AND a.user.id = :userId AND a.quantity + :delta >= 0")
+    int addQuantity(@Param("id") Long id, @Param("goalAccountId") Long goalAccountId, @Param("userId") Long userId,
+                    @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Asset a WHERE a.goalAccount.id = :goalAccountId AND a.id IN :ids")
+    int deleteByGoalAccountIdAndIdIn(@Param("goalAccountId") Long goalAccountId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Asset a SET a.changeSeq = :seq WHERE a.id IN :ids")
+    int stampChangeSeq(@Param("ids") Collection<Long> ids, @Param("seq") Long seq);
+
+    // 조건부 GET용 (포트폴리오/소유자 확인 포함)
+    @Query("SELECT a.changeSeq FROM Asset a WHERE a.id = :id AND a.goalAccount.id = :goalAccountId " +
+            "AND a.user.email = :email AND a.goalAccount.deleted = false")
+    Optional<Long> findChangeSeqForOwner(@Param("id") Long id, @Param("goalAccountId") Long goalAccountId,
+                                         @Param("email") String email);
+
+    @Query("SELECT a FROM Asset a WHERE a.user.id = :userId AND a.changeSeq > :since AND a.goalAccount.deleted = false")
+    List<Asset> findChangedSince(@Param("userId") Long userId, @Param("since") Long since);
+
+    // 사용자 전체 포트폴리오의 종목별 합계 (같은 티커는 포트폴리오가 달라도 합침)
+    @Query("SELECT new com.peekport.dto.ExposureRow(COALESCE(a.ticker, a.name), MIN(a.name), a.category, " +
+            "SUM(a.quantity), SUM(a.quantity * COALESCE(a.currentPrice, a.purchasePrice)), " +
+            "SUM(a.quantity * a.purchasePrice), SUM(a.realizedProfitLoss), COUNT(DISTINCT a.goalAccount.id), a.currency) " +
+            "FROM Asset a WHERE a.user.id = :userId AND a.goalAccount.deleted = false " +
+            "GROUP BY COALESCE(a.ticker, a.name), a.category, a.currency")
+    List<ExposureRow> sumExposureByUserId(@Param("userId") Long userId);
+
+    // 자산 배분용 합계 (티커 x 분류 x 기간), 차트는 이 결과만으로 그린다
+    @Query("SELECT new com.peekport.dto.AllocationRow(COALESCE(a.ticker, a.name), MIN(a.name), a.category, a.term, " +
+            "COUNT(a), SUM(a.quantity * COALESCE(a.currentPrice, a.purchasePrice)), SUM(a.quantity * a.purchasePrice), a.currency) " +
+            "FROM Asset a WHERE a.user.id = :userId AND a.goalAccount.deleted = false " +
+            "GROUP BY COALESCE(a.ticker, a.name), a.category, a.term, a.currency")
+    List<AllocationRow> sumAllocationByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.peekport.dto.AllocationRow(COALESCE(a.ticker, a.name), MIN(a.name), a.category, a.term, " +
+            "COUNT(a), SUM(a.quantity * COALESCE(a.currentPrice, a.purchasePrice)), SUM(a.quantity * a.purchasePrice), a.currency) " +
+            "FROM Asset a WHERE a.goalAccount.id = :goalAccountId " +
+            "GROUP BY COALESCE(a.ticker, a.name), a.category, a.term, a.currency")
+    List<AllocationRow> sumAllocationByGoalAccountId(@Param("goalAccountId") Long goalAccountId);
+
+    // 포트폴리오 종목 묶음 삭제 (엔티티를 읽지 않고 limit 건씩 지움)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM asset WHERE goal_account_id = :goalAccountId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByGoalAccountId(@Param("goalAccountId") Long goalAccountId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.peekport.repository;
+
+import com.peekport.model.AssetTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface AssetTransactionRepository extends JpaRepository<AssetTransaction, Long> {
+
+    List<AssetTransaction> findByAssetIdOrderById(Long assetId);
+
+    boolean existsByAssetId(Long assetId);
+
+    // 수익률 계산용 증분 조회 (이미 읽은 id 이후만)
+    List<AssetTransaction> findByGoalAccountIdAndIdGreaterThanOrderById(Long goalAccountId, Long afterId);
+
+    // 포트폴리오 정리 시 묶음 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM asset_transactions WHERE goal_account_id = :goalAccountId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByGoalAccountId(@Param("goalAccountId") Long goalAccountId, @Param("limit") int limit);
+}
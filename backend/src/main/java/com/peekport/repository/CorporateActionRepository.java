@@ -0,0 +1,24 @@
+package com.peekport.repository;
+
+import com.peekport.model.CorporateAction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface CorporateActionRepository extends JpaRepository<CorporateAction, Long> {
+
+    Optional<CorporateAction> findByTypeAndTickerAndEffectiveDate(CorporateAction.Type type, String ticker, LocalDate effectiveDate);
+
+    List<CorporateAction> findTop50ByOrderByIdDesc();
+
+    // 묶음 처리 중 진행 위치를 함께 갱신하기 위한 잠금 (같은 행사를 두 곳에서 동시에 진행하지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CorporateAction c WHERE c.id = :id")
+    Optional<CorporateAction> lock(@Param("id") Long id);
+}
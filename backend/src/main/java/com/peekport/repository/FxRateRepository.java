@@ -0,0 +1,7 @@
+package com.peekport.repository;
+
+import com.peekport.model.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+}
@@ -1,18 +1,100 @@
 package com.peekport.repository;
 
+import com.peekport.dto.CurrencyAmount;
+import com.peekport.dto.PortfolioState;
 import com.peekport.model.GoalAccount;
 import com.peekport.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface GoalAccountRepository extends JpaRepository<GoalAccount, Long> {
-    List<GoalAccount> findByUserId(Long userId);
-    List<GoalAccount> findByUser(User user);
-    @Query("SELECT g FROM GoalAccount g WHERE g.id = :id AND g.user.id = :userId")
+    // 삭제 표시된 포트폴리오는 조회에서 제외
+    @Query("SELECT g FROM GoalAccount g WHERE g.user.id = :userId AND g.deleted = false")
+    List<GoalAccount> findByUserId(@Param("userId") Long userId);
+    @Query("SELECT g FROM GoalAccount g WHERE g.user = :user AND g.deleted = false")
+    List<GoalAccount> findByUser(@Param("user") User user);
+    @Query("SELECT g FROM GoalAccount g WHERE g.id = :id AND g.user.id = :userId AND g.deleted = false")
     Optional<GoalAccount> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
-    List<GoalAccount> findByUserOrderByCreatedAtDesc(User user); // 생성일 순 정리
+    @Query("SELECT g FROM GoalAccount g WHERE g.user = :user AND g.deleted = false ORDER BY g.createdAt DESC")
+    List<GoalAccount> findByUserOrderByCreatedAtDesc(@Param("user") User user); // 생성일 순 정리
+
+    // 변경 이벤트/체크포인트용 상태
+    @Query("SELECT new com.peekport.dto.PortfolioState(g.id, g.name, g.currency, g.cash, g.targetAmount, g.portfolioType) " +
+            "FROM GoalAccount g WHERE g.id IN :ids")
+    List<PortfolioState> findStates(@Param("ids") Collection<Long> ids);
+
+    // 행 잠금 (이 포트폴리오의 다른 변경이 끝날 때까지 기다림, 변경은 모두 변경 순번 갱신으로 같은 행을 잠근다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM GoalAccount g WHERE g.id = :id AND g.deleted = false")
+    Optional<GoalAccount> lockActive(@Param("id") Long id);
+
+    // 통화별 현금 합계
+    @Query("SELECT new com.peekport.dto.CurrencyAmount(g.currency, SUM(g.cash)) FROM GoalAccount g " +
+            "WHERE g.user.id = :userId AND g.deleted = false GROUP BY g.currency")
+    List<CurrencyAmount> sumCashByUserId(@Param("userId") Long userId);
+
+    // 현금 증감 (조회 없이 한 문장으로 원자적 처리, 잔액이 음수가 되면 0건)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE GoalAccount g SET g.cash = g.cash + :delta, g.version = g.version + 1, g.updatedAt = :now " +
+            "WHERE g.id = :id AND g.user.id = :userId AND g.cash + :delta >= 0")
+    int addCash(@Param("id") Long id, @Param("userId") Long userId,
+                @Param("delta") BigDecimal delta, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE GoalAccount g SET g.changeSeq = :seq WHERE g.id = :id")
+    int stampChangeSeq(@Param("id") Long id, @Param("seq") Long seq);
+
+    // 조건부 GET용 (소유자 확인 포함, 엔티티를 읽지 않음)
+    @Query("SELECT g.changeSeq FROM GoalAccount g WHERE g.id = :id AND g.user.email = :email AND g.deleted = false")
+    Optional<Long> findChangeSeqByIdAndUserEmail(@Param("id") Long id, @Param("email") String email);
+
+    @Query("SELECT g FROM GoalAccount g WHERE g.user.id = :userId AND g.changeSeq > :since AND g.deleted = false")
+    List<GoalAccount> findChangedSince(@Param("userId") Long userId, @Param("since") Long since);
+
+    // 삭제 표시 (소유자 확인 포함, 이미 삭제 표시된 경우 0건)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE GoalAccount g SET g.deleted = true, g.version = g.version + 1, g.updatedAt = :now " +
+            "WHERE g.id = :id AND g.user.id = :userId AND g.deleted = false")
+    int markDeleted(@Param("id") Long id, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // 삭제 표시만 되고 정리되지 않은 포트폴리오 (비동기 정리 중 서버가 내려간 경우 등)
+    @Query("SELECT g.id FROM GoalAccount g WHERE g.deleted = true ORDER BY g.id")
+    List<Long> findDeletedIds(Pageable pageable);
+
+    // id 기준 keyset 페이지 (일괄 작업용, offset 없이 다음 구간을 찾음)
+    @Query("SELECT g.id FROM GoalAccount g WHERE g.id > :afterId ORDER BY g.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 리밸런싱 알림을 켠 포트폴리오 (id keyset 페이지)
+    @Query("SELECT g.id FROM GoalAccount g WHERE g.rebalancingAlert = true AND g.deleted = false AND g.id > :afterId ORDER BY g.id")
+    List<Long> findRebalancingAlertIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 알림 시각 기록 (cutoff 이후 이미 알린 경우 0건, 버전/변경 순번은 그대로)
+    @Modifying
+    @Query("UPDATE GoalAccount g SET g.rebalancingNotifiedAt = :now WHERE g.id = :id AND g.rebalancingAlert = true " +
+            "AND (g.rebalancingNotifiedAt IS NULL OR g.rebalancingNotifiedAt < :cutoff)")
+    int markRebalancingNotified(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GoalAccount g SET g.rebalancingNotifiedAt = NULL WHERE g.id = :id AND g.rebalancingNotifiedAt IS NOT NULL")
+    int clearRebalancingNotified(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GoalAccount g WHERE g.id = :id AND g.deleted = true")
+    int deleteMarked(@Param("id") Long id);
 }
@@ -0,0 +1,38 @@
+package com.peekport.repository;
+
+import com.peekport.model.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // 발송할 차례가 된 알림 (점유할 때까지 다른 서버는 같은 행을 기다림)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM NotificationOutbox n WHERE n.status = com.peekport.model.NotificationOutbox.Status.PENDING " +
+            "AND n.nextAttemptAt <= :now ORDER BY n.id")
+    List<NotificationOutbox> lockDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatusIn(Collection<NotificationOutbox.Status> statuses);
+
+    long countByStatus(NotificationOutbox.Status status);
+
+    // 점유한 채 오래 남은 알림 되돌리기 (발송 중 서버가 내려간 경우)
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = com.peekport.model.NotificationOutbox.Status.PENDING " +
+            "WHERE n.status = com.peekport.model.NotificationOutbox.Status.SENDING AND n.claimedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status = com.peekport.model.NotificationOutbox.Status.SENT " +
+            "AND n.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
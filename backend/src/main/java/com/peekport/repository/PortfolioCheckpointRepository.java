@@ -0,0 +1,25 @@
+package com.peekport.repository;
+
+import com.peekport.model.PortfolioCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface PortfolioCheckpointRepository extends JpaRepository<PortfolioCheckpoint, Long> {
+
+    // at 이전의 가장 가까운 체크포인트
+    Optional<PortfolioCheckpoint> findFirstByGoalAccountIdAndTakenAtLessThanEqualOrderByTakenAtDescIdDesc(
+            Long goalAccountId, LocalDateTime at);
+
+    Optional<PortfolioCheckpoint> findFirstByGoalAccountIdOrderByIdDesc(Long goalAccountId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PortfolioCheckpoint c WHERE c.goalAccountId = :goalId")
+    int deleteByGoalAccountId(@Param("goalId") Long goalId);
+}
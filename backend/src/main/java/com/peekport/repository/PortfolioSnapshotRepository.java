@@ -0,0 +1,49 @@
+package com.peekport.repository;
+
+import com.peekport.model.PortfolioSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnapshot, PortfolioSnapshot.Key> {
+
+    List<PortfolioSnapshot> findByGoalAccountIdAndSnapshotDateBetweenOrderBySnapshotDate(
+            Long goalAccountId, LocalDate from, LocalDate to);
+
+    Optional<PortfolioSnapshot> findFirstByGoalAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+            Long goalAccountId, LocalDate date);
+
+    // 같은 날짜를 다시 돌릴 때를 위해 구간을 먼저 비움
+    @Modifying
+    @Query(value = "DELETE FROM portfolio_snapshots " +
+            "WHERE snapshot_date = :date AND goal_account_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int deleteRange(@Param("date") LocalDate date, @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 포트폴리오 id 구간을 DB 안에서 집계해 바로 적재 (행을 애플리케이션으로 가져오지 않음)
+    // 종목 통화 → 원화 → 포트폴리오 통화로 환산 (원화는 fx_rates에 행이 없으므로 1)
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_snapshots (snapshot_date, goal_account_id, market_value, cost_basis, cash) " +
+            "SELECT :date, g.id, " +
+            "COALESCE(SUM(a.quantity * COALESCE(a.current_price, a.purchase_price) * COALESCE(fa.rate_to_krw, 1)), 0) " +
+            "/ COALESCE(fg.rate_to_krw, 1), " +
+            "COALESCE(SUM(a.quantity * a.purchase_price * COALESCE(fa.rate_to_krw, 1)), 0) / COALESCE(fg.rate_to_krw, 1), " +
+            "g.cash " +
+            "FROM goal_accounts g LEFT JOIN asset a ON a.goal_account_id = g.id " +
+            "LEFT JOIN fx_rates fa ON fa.currency = a.currency " +
+            "LEFT JOIN fx_rates fg ON fg.currency = g.currency " +
+            "WHERE g.id BETWEEN :fromId AND :toId AND g.deleted = false " +
+            "GROUP BY g.id, g.cash, fg.rate_to_krw", nativeQuery = true)
+    int insertRange(@Param("date") LocalDate date, @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 포트폴리오 정리 시 묶음 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM portfolio_snapshots WHERE goal_account_id = :goalAccountId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByGoalAccountId(@Param("goalAccountId") Long goalAccountId, @Param("limit") int limit);
+}
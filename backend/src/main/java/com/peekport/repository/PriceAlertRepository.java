@@ -0,0 +1,31 @@
+package com.peekport.repository;
+
+import com.peekport.model.PriceAlert;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+
+    List<PriceAlert> findByUserIdOrderByIdDesc(Long userId);
+
+    Optional<PriceAlert> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserIdAndActiveTrue(Long userId);
+
+    // 색인 적재용 id keyset 페이지
+    @Query("SELECT a FROM PriceAlert a WHERE a.active = true AND a.id > :afterId ORDER BY a.id")
+    List<PriceAlert> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 발동 처리 (다른 요청이 먼저 발동/삭제한 알림은 빠짐)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PriceAlert a WHERE a.id IN :ids AND a.active = true")
+    List<PriceAlert> lockActive(@Param("ids") Collection<Long> ids);
+}
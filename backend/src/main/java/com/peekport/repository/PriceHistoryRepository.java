@@ -0,0 +1,20 @@
+package com.peekport.repository;
+
+import com.peekport.dto.PricePoint;
+import com.peekport.model.PriceHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface PriceHistoryRepository extends JpaRepository<PriceHistory, PriceHistory.Key> {
+
+    // 티커별로 모여 있고 날짜순이어야 ReturnHistoryLoader가 한 번에 배열로 옮길 수 있다
+    @Query("SELECT new com.peekport.dto.PricePoint(p.ticker, p.tradeDate, p.closePrice) FROM PriceHistory p " +
+            "WHERE p.ticker IN :tickers AND p.tradeDate BETWEEN :from AND :to ORDER BY p.ticker, p.tradeDate")
+    List<PricePoint> findPoints(@Param("tickers") Collection<String> tickers,
+                                @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
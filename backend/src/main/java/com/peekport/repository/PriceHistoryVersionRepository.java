@@ -0,0 +1,17 @@
+package com.peekport.repository;
+
+import com.peekport.model.PriceHistoryVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface PriceHistoryVersionRepository extends JpaRepository<PriceHistoryVersion, Long> {
+
+    // 행 잠금으로 동시에 적재해도 버전이 겹치지 않음
+    @Modifying
+    @Query("UPDATE PriceHistoryVersion v SET v.version = v.version + 1 WHERE v.id = 1")
+    int increment();
+
+    @Query("SELECT v.version FROM PriceHistoryVersion v WHERE v.id = 1")
+    Long findVersion();
+}
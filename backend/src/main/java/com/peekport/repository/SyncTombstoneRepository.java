@@ -0,0 +1,18 @@
+package com.peekport.repository;
+
+import com.peekport.model.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    List<SyncTombstone> findByUserIdAndSeqGreaterThanOrderBySeq(Long userId, Long seq);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,37 @@
 package com.peekport.repository;
 
+import com.peekport.dto.ChangeVersion;
 import com.peekport.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 변경 순번 증가 (커밋까지 해당 사용자 행을 잠가 순번이 커밋 순서대로 보이게 함)
+    @Modifying
+    @Query("UPDATE User u SET u.changeSeq = u.changeSeq + 1 WHERE u.id = :id")
+    int incrementChangeSeq(@Param("id") Long id);
+
+    @Query("SELECT u.changeSeq FROM User u WHERE u.id = :id")
+    Long findChangeSeq(@Param("id") Long id);
+
+    @Query("SELECT u.tombstonePurgedSeq FROM User u WHERE u.id = :id")
+    Long findTombstonePurgedSeq(@Param("id") Long id);
+
+    // cutoff 전에 만든 삭제 기록이 있는 사용자마다 그 최대 순번을 기준점으로 (기록을 지우기 전에 같은 트랜잭션에서)
+    @Modifying
+    @Query("UPDATE User u SET u.tombstonePurgedSeq = " +
+            "(SELECT MAX(t.seq) FROM SyncTombstone t WHERE t.userId = u.id AND t.createdAt < :cutoff) " +
+            "WHERE u.id IN (SELECT t.userId FROM SyncTombstone t WHERE t.createdAt < :cutoff)")
+    int advanceTombstonePurgedSeq(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT new com.peekport.dto.ChangeVersion(u.id, u.changeSeq) FROM User u WHERE u.email = :email")
+    Optional<ChangeVersion> findChangeVersionByEmail(@Param("email") String email);
 }
@@ -0,0 +1,252 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetBatchRequest;
+import com.peekport.dto.AssetBatchRequest.Operation;
+import com.peekport.dto.AssetBatchRequest.OperationType;
+import com.peekport.dto.AssetBatchResponse;
+import com.peekport.dto.AssetBatchResponse.OperationResult;
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.exception.VersionConflictException;
+import com.peekport.model.Asset;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioCashFlow;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioCashFlowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 종목 추가/수정/삭제 + 현금 증감 일괄 처리
+ * 소유자 확인 1번, 대상 종목 조회 1번, 커밋 1번으로 끝낸다.
+ * 수정은 flush 시 JDBC batch로, 삭제는 IN 조건 DELETE 한 문장으로 나간다.
+ * 하나라도 실패하면 전체를 롤백하고 작업별 결과만 돌려준다.
+ * 현금 증감은 읽은 값을 덮어쓰지 않고 조건부 UPDATE(cash += delta)로 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssetBatchService {
+
+    private static final int MAX_OPERATIONS = 500;
+
+    private final AssetRepository assetRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetService assetService;
+    private final ChangeTracker changeTracker;
+    private final AssetLedgerService assetLedgerService;
+    private final PortfolioCashFlowRepository portfolioCashFlowRepository;
+    private final FxRateService fxRateService;
+
+    @Transactional
+    public AssetBatchResponse apply(Long portfolioId, AssetBatchRequest request, User user) {
+        List<Operation> operations = request.getOperations() != null ? request.getOperations() : List.of();
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new InvalidRequestException("한 번에 처리할 수 있는 작업은 " + MAX_OPERATIONS + "건까지입니다.");
+        }
+
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("이 포트폴리오에 접근할 수 없습니다."));
+
+        // 수정/삭제 대상 종목을 한 번에 조회 (포트폴리오 조건이 붙어 있어 소유권도 함께 확인됨)
+        Set<Long> targetIds = operations.stream()
+                .filter(op -> op.getType() != OperationType.ADD && op.getStockId() != null)
+                .map(Operation::getStockId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Asset> targets = targetIds.isEmpty()
+                ? new HashMap<>()
+                : assetRepository.findByGoalAccountIdAndIdIn(goal.getId(), targetIds).stream()
+                        .collect(Collectors.toMap(Asset::getId, Function.identity()));
+
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        List<Asset> touched = new ArrayList<>(operations.size()); // 작업별 대상 종목 (삭제/실패는 null)
+        List<Asset> added = new ArrayList<>();
+        Map<Long, Asset> deleted = new LinkedHashMap<>(); // 삭제 대상 (정리 기록에 통화가 필요해 엔티티째 보관)
+        Set<Asset> repositioned = new LinkedHashSet<>(); // 수량/평단을 직접 바꾼 종목 (거래 내역에 조정 기록)
+        boolean failed = false;
+
+        for (int i = 0; i < operations.size(); i++) {
+            OperationResult result = applyOperation(i, operations.get(i), goal, user, targets, added, deleted,
+                    repositioned, touched);
+            failed |= !"OK".equals(result.getStatus());
+            results.add(result);
+        }
+
+        // 읽어 둔 잔액으로 먼저 걸러 두고, 실제 반영은 마지막에 조건부 UPDATE 한 문장으로 (동시 입출금과 덮어쓰지 않음)
+        BigDecimal cashDelta = request.getCashDelta();
+        if (cashDelta != null && goal.getCash().add(cashDelta).signum() < 0) {
+            failed = true;
+            results.add(insufficientCash(operations.size()));
+        }
+
+        if (failed) {
+            return rolledBack(results);
+        }
+
+        // 수정분은 batch로 flush, 삭제는 한 문장
+        if (!added.isEmpty()) {
+            changeTracker.newAssets(user.getId(), goal.getId(), added);
+        }
+        assetRepository.saveAll(added);
+        try {
+            assetRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("다른 곳에서 먼저 수정된 종목이 있습니다. 새로고침 후 다시 시도해주세요.");
+        }
+        List<Long> updatedIds = results.stream()
+                .filter(r -> r.getType() == OperationType.UPDATE)
+                .map(OperationResult::getStockId)
+                .filter(id -> !deleted.containsKey(id))
+                .distinct()
+                .toList();
+        changeTracker.assetsUpdated(user.getId(), goal.getId(), updatedIds);
+
+        // 거래 내역/입출금 기록은 변경 순번을 잡은 뒤에 추가 (id 순서 = 커밋 순서가 되도록)
+        repositioned.removeIf(asset -> deleted.containsKey(asset.getId()));
+        added.stream().filter(asset -> asset.getQuantity() > 0).forEach(repositioned::add);
+        assetLedgerService.recordAdjustments(repositioned);
+        if (!deleted.isEmpty()) {
+            assetRepository.deleteByGoalAccountIdAndIdIn(goal.getId(), deleted.keySet());
+            changeTracker.assetsDeleted(user.getId(), goal.getId(), deleted.keySet());
+            assetLedgerService.recordClosings(deleted.values());
+        }
+        if (cashDelta != null && cashDelta.signum() != 0) {
+            // 영속성 컨텍스트를 비우므로 종목 변경을 모두 내보낸 뒤에 실행
+            if (goalAccountRepository.addCash(goal.getId(), user.getId(), cashDelta, LocalDateTime.now()) == 0) {
+                results.add(insufficientCash(operations.size()));
+                return rolledBack(results);
+            }
+            changeTracker.portfolioUpdated(user.getId(), goal.getId());
+            portfolioCashFlowRepository.save(new PortfolioCashFlow(goal.getId(), cashDelta));
+            goal = goalAccountRepository.findByIdAndUserId(goal.getId(), user.getId()).orElseThrow();
+        }
+
+        log.debug("일괄 처리 완료 - Portfolio ID: {}, 작업 {}건", portfolioId, operations.size());
+        return new AssetBatchResponse(true, withAssets(results, touched),
+                new GoalAccountResponse(goal, assetService.calculateTotalAssets(goal)));
+    }
+
+    private static OperationResult insufficientCash(int index) {
+        return new OperationResult(index, null, null, "INVALID", "현금 잔액이 부족합니다.", null);
+    }
+
+    private AssetBatchResponse rolledBack(List<OperationResult> results) {
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return new AssetBatchResponse(false, markRolledBack(results), null);
+    }
+
+    private OperationResult applyOperation(int index, Operation op, GoalAccount goal, User user,
+                                           Map<Long, Asset> targets, List<Asset> added, Map<Long, Asset> deleted,
+                                           Set<Asset> repositioned, List<Asset> touched) {
+        touched.add(null);
+        if (op.getType() == null) {
+            return new OperationResult(index, null, op.getStockId(), "INVALID", "작업 종류가 필요합니다.", null);
+        }
+
+        switch (op.getType()) {
+            case ADD: {
+                String invalid = validate(op.getAsset());
+                if (invalid != null) {
+                    return new OperationResult(index, op.getType(), null, "INVALID", invalid, null);
+                }
+                Asset asset = new Asset();
+                asset.setUser(user);
+                asset.setGoalAccount(goal);
+                assetService.applyRequest(asset, op.getAsset());
+                added.add(asset);
+                touched.set(index, asset);
+                return new OperationResult(index, op.getType(), null, "OK", null, null);
+            }
+            case UPDATE: {
+                Asset asset = targets.get(op.getStockId());
+                if (asset == null) {
+                    return new OperationResult(index, op.getType(), op.getStockId(), "NOT_FOUND", "종목을 찾을 수 없습니다.", null);
+                }
+                String invalid = validate(op.getAsset());
+                if (invalid != null) {
+                    return new OperationResult(index, op.getType(), op.getStockId(), "INVALID", invalid, null);
+                }
+                Long expected = op.getAsset().getVersion();
+                if (expected != null && !expected.equals(asset.getVersion())) {
+                    return new OperationResult(index, op.getType(), op.getStockId(), "CONFLICT", "다른 곳에서 먼저 수정되었습니다.", null);
+                }
+                if (assetService.changesPosition(asset, op.getAsset())) {
+                    repositioned.add(asset);
+                }
+                assetService.applyRequest(asset, op.getAsset());
+                touched.set(index, asset);
+                return new OperationResult(index, op.getType(), op.getStockId(), "OK", null, null);
+            }
+            case DELETE: {
+                Asset asset = targets.remove(op.getStockId());
+                if (asset == null) {
+                    return new OperationResult(index, op.getType(), op.getStockId(), "NOT_FOUND", "종목을 찾을 수 없습니다.", null);
+                }
+                deleted.put(asset.getId(), asset);
+                return new OperationResult(index, op.getType(), op.getStockId(), "OK", null, null);
+            }
+            default:
+                return new OperationResult(index, op.getType(), op.getStockId(), "INVALID", "지원하지 않는 작업입니다.", null);
+        }
+    }
+
+    private String validate(AssetRequest request) {
+        if (request == null) {
+            return "종목 정보가 필요합니다.";
+        }
+        if (request.getName() == null || request.getQuantity() == null || request.getPurchasePrice() == null) {
+            return "종목 이름, 수량, 매수가는 필수입니다.";
+        }
+        if (request.getQuantity() < 0 || request.getPurchasePrice().signum() < 0) {
+            return "수량과 매수가는 0 이상이어야 합니다.";
+        }
+        if (request.getCurrency() != null && !request.getCurrency().isBlank()) {
+            String code = request.getCurrency().trim().toUpperCase(Locale.ROOT);
+            if (!fxRateService.current().supports(code)) {
+                return "환율이 등록되지 않은 통화입니다: " + request.getCurrency();
+            }
+        }
+        return null;
+    }
+
+    private List<OperationResult> markRolledBack(List<OperationResult> results) {
+        return results.stream()
+                .map(r -> "OK".equals(r.getStatus())
+                        ? new OperationResult(r.getIndex(), r.getType(), r.getStockId(), "ROLLED_BACK", null, null)
+                        : r)
+                .toList();
+    }
+
+    // flush 이후 상태로 결과 채우기 (추가된 종목은 flush 후에야 ID가 생김)
+    private List<OperationResult> withAssets(List<OperationResult> results, List<Asset> touched) {
+        List<OperationResult> filled = new ArrayList<>(results.size());
+        for (OperationResult r : results) {
+            Asset asset = r.getIndex() < touched.size() ? touched.get(r.getIndex()) : null;
+            filled.add(asset == null ? r
+                    : new OperationResult(r.getIndex(), r.getType(), asset.getId(), r.getStatus(), r.getMessage(), new AssetResponse(asset)));
+        }
+        return filled;
+    }
+}
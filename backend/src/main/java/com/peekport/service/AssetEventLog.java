@@ -0,0 +1,192 @@
+package com.peekport.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peekport.dto.AssetState;
+import com.peekport.dto.PortfolioState;
+import com.peekport.model.Asset;
+import com.peekport.model.AssetEvent;
+import com.peekport.model.GoalAccount;
+import com.peekport.repository.AssetEventRepository;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 변경 이벤트 기록 (ChangeTracker에서만 호출)
+ * 트랜잭션 동안 바뀐 포트폴리오/종목 id만 모아 두었다가 커밋 직전에 변경 후 상태를 한 번에 읽어 이벤트로 남긴다.
+ * 같은 트랜잭션에서 여러 번 바뀐 행은 이벤트 하나로 합친다. (생성 후 수정 → CREATE, 무엇이든 삭제로 끝나면 DELETE)
+ */
+@Service
+@RequiredArgsConstructor
+public class AssetEventLog {
+
+    private final AssetEventRepository assetEventRepository;
+    private final AssetRepository assetRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final ObjectMapper objectMapper;
+
+    void portfolioCreated(GoalAccount goal, long seq) {
+        pending().createdPortfolios.add(new Created<>(goal, goal.getUser().getId(), seq));
+    }
+
+    void portfolioUpdated(Long userId, Long goalAccountId, long seq) {
+        pending().change(AssetEvent.EntityType.PORTFOLIO, goalAccountId, goalAccountId, userId, AssetEvent.Op.UPDATE, seq);
+    }
+
+    void portfolioDeleted(Long userId, Long goalAccountId, long seq) {
+        pending().change(AssetEvent.EntityType.PORTFOLIO, goalAccountId, goalAccountId, userId, AssetEvent.Op.DELETE, seq);
+    }
+
+    // 종목 변경은 소속 포트폴리오 행도 함께 바꾸므로(변경 순번, 일괄 처리의 현금 증감) 포트폴리오 상태도 같이 남긴다
+    void assetsCreated(Long userId, Long goalAccountId, Collection<Asset> assets, long seq) {
+        Pending pending = pending();
+        assets.forEach(asset -> pending.createdAssets.add(new Created<>(asset, userId, seq)));
+        portfolioUpdated(userId, goalAccountId, seq);
+    }
+
+    void assetsUpdated(Long userId, Long goalAccountId, Collection<Long> assetIds, long seq) {
+        Pending pending = pending();
+        assetIds.forEach(id -> pending.change(AssetEvent.EntityType.ASSET, id, goalAccountId, userId, AssetEvent.Op.UPDATE, seq));
+        portfolioUpdated(userId, goalAccountId, seq);
+    }
+
+    // 종목 변경 이벤트에 붙일 설명 (같은 트랜잭션에서 그 종목 변경을 기록한 경우에만 남음)
+    void assetDetails(Map<Long, ?> details) {
+        pending().details.putAll(details);
+    }
+
+    void assetsDeleted(Long userId, Long goalAccountId, Collection<Long> assetIds, long seq) {
+        Pending pending = pending();
+        assetIds.forEach(id -> pending.change(AssetEvent.EntityType.ASSET, id, goalAccountId, userId, AssetEvent.Op.DELETE, seq));
+        portfolioUpdated(userId, goalAccountId, seq);
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Pending created = new Pending();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AssetEventLog.this);
+            }
+        });
+        return created;
+    }
+
+    private void write(Pending pending) {
+        // 생성된 행은 이제 id가 있음 (생성 후 수정은 CREATE 하나로, 생성 후 삭제는 삭제만 남김)
+        for (Created<GoalAccount> created : pending.createdPortfolios) {
+            GoalAccount goal = created.entity();
+            pending.changes.merge(new Key(AssetEvent.EntityType.PORTFOLIO, goal.getId()),
+                    new Change(goal.getId(), created.userId(), AssetEvent.Op.CREATE, created.seq()), Pending::combine);
+        }
+        for (Created<Asset> created : pending.createdAssets) {
+            Asset asset = created.entity();
+            pending.changes.merge(new Key(AssetEvent.EntityType.ASSET, asset.getId()),
+                    new Change(asset.getGoalAccount().getId(), created.userId(), AssetEvent.Op.CREATE, created.seq()), Pending::combine);
+        }
+        if (pending.changes.isEmpty()) {
+            return;
+        }
+
+        // 변경 후 상태를 값으로 읽음 (조회 전에 쌓인 변경이 flush됨)
+        Map<Long, PortfolioState> portfolios = statesOf(pending, AssetEvent.EntityType.PORTFOLIO,
+                ids -> goalAccountRepository.findStates(ids), PortfolioState::getId);
+        Map<Long, AssetState> assets = statesOf(pending, AssetEvent.EntityType.ASSET,
+                ids -> assetRepository.findStates(ids), AssetState::getId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AssetEvent> events = new ArrayList<>(pending.changes.size());
+        pending.changes.forEach((key, change) -> {
+            String payload = null;
+            if (change.op() != AssetEvent.Op.DELETE) {
+                Object state = key.type() == AssetEvent.EntityType.PORTFOLIO ? portfolios.get(key.id()) : assets.get(key.id());
+                if (state == null) {
+                    return; // 같은 트랜잭션에서 bulk DELETE 등으로 이미 사라진 행
+                }
+                payload = toJson(state);
+            }
+            AssetEvent event = new AssetEvent(change.userId(), change.goalAccountId(), key.type(), key.id(), change.op(),
+                    change.seq(), now, payload);
+            Object detail = key.type() == AssetEvent.EntityType.ASSET ? pending.details.get(key.id()) : null;
+            if (detail != null) {
+                event.setDetail(toJson(detail));
+            }
+            events.add(event);
+        });
+        assetEventRepository.saveAll(events);
+    }
+
+    private <T> Map<Long, T> statesOf(Pending pending, AssetEvent.EntityType type,
+                                     Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        List<Long> ids = pending.changes.entrySet().stream()
+                .filter(e -> e.getKey().type() == type && e.getValue().op() != AssetEvent.Op.DELETE)
+                .map(e -> e.getKey().id())
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private String toJson(Object state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("변경 이벤트를 기록할 수 없습니다.", e);
+        }
+    }
+
+    private record Key(AssetEvent.EntityType type, Long id) {
+    }
+
+    private record Change(Long goalAccountId, Long userId, AssetEvent.Op op, long seq) {
+    }
+
+    private record Created<T>(T entity, Long userId, long seq) {
+    }
+
+    private static final class Pending {
+        private final List<Created<GoalAccount>> createdPortfolios = new ArrayList<>();
+        private final List<Created<Asset>> createdAssets = new ArrayList<>();
+        private final Map<Key, Change> changes = new LinkedHashMap<>();
+        private final Map<Long, Object> details = new HashMap<>();
+
+        void change(AssetEvent.EntityType type, Long id, Long goalAccountId, Long userId, AssetEvent.Op op, long seq) {
+            changes.merge(new Key(type, id), new Change(goalAccountId, userId, op, seq), Pending::combine);
+        }
+
+        // 먼저 기록된 변경과 합치기 (CREATE는 유지, DELETE는 항상 마지막 상태)
+        static Change combine(Change before, Change after) {
+            if (after.op() == AssetEvent.Op.DELETE || before.op() == AssetEvent.Op.DELETE) {
+                return new Change(before.goalAccountId(), before.userId(), AssetEvent.Op.DELETE, Math.max(before.seq(), after.seq()));
+            }
+            AssetEvent.Op op = before.op() == AssetEvent.Op.CREATE || after.op() == AssetEvent.Op.CREATE
+                    ? AssetEvent.Op.CREATE : AssetEvent.Op.UPDATE;
+            return new Change(before.goalAccountId(), before.userId(), op, Math.max(before.seq(), after.seq()));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.AssetTransactionRequest;
+import com.peekport.dto.AssetTransactionResponse;
+import com.peekport.dto.LedgerRebuildResponse;
+import com.peekport.exception.InvalidAdjustmentException;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.Asset;
+import com.peekport.model.AssetTransaction;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.AssetTransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 종목 거래 내역(매수/매도/배당)과 보유 포지션 관리
+ * 거래를 추가할 때마다 수량/평균 매수가/실현 손익을 그 거래 하나만 반영해 갱신하고 (O(1)),
+ * 재계산(rebuild)은 같은 계산을 내역 처음부터 다시 돌려 저장된 값과 비교한다.
+ */
+@Service
+@Slf4j
+public class AssetLedgerService {
+
+    private static final int SCALE = 2;
+
+    private final AssetRepository assetRepository;
+    private final AssetTransactionRepository transactionRepository;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final ChangeTracker changeTracker;
+    private final FxRateService fxRateService;
+
+    public AssetLedgerService(AssetRepository assetRepository,
+                              AssetTransactionRepository transactionRepository,
+                              OptimisticLockRetrier optimisticLockRetrier,
+                              ChangeTracker changeTracker,
+                              FxRateService fxRateService) {
+        this.assetRepository = assetRepository;
+        this.transactionRepository = transactionRepository;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.changeTracker = changeTracker;
+        this.fxRateService = fxRateService;
+    }
+
+    /**
+     * 거래 추가
+     * 같은 종목에 동시에 들어온 거래는 낙관적 락으로 한 건씩 반영된다.
+     */
+    public AssetTransactionResponse appendTrade(Long portfolioId, Long stockId, AssetTransactionRequest request, User user) {
+        AssetTransaction.Type type = validate(request);
+
+        return optimisticLockRetrier.execute(() -> {
+            Asset asset = findOwned(portfolioId, stockId, user);
+            // 내역 추가 전에 변경 순번(사용자 행 잠금)을 먼저 잡아 내역 id가 커밋 순서대로 늘어나게 함
+            changeTracker.assetsUpdated(user.getId(), portfolioId, List.of(asset.getId()));
+
+            // 내역 없이 수량만 있던 기존 종목은 현재 값을 기초 잔고로 먼저 남김
+            if (!transactionRepository.existsByAssetId(asset.getId()) && quantityOf(asset) > 0) {
+                transactionRepository.save(adjustmentOf(asset));
+            }
+
+            AssetTransaction tx = new AssetTransaction();
+            tx.setUserId(user.getId());
+            tx.setGoalAccountId(portfolioId);
+            tx.setAssetId(asset.getId());
+            tx.setType(type);
+            tx.setQuantity(request.getQuantity());
+            tx.setPrice(request.getPrice());
+            tx.setAmount(type == AssetTransaction.Type.DIVIDEND
+                    ? request.getAmount()
+                    : request.getPrice().multiply(BigDecimal.valueOf(request.getQuantity())));
+            tx.setFee(request.getFee() != null ? request.getFee() : BigDecimal.ZERO);
+            tx.setFxRate(fxRateOf(asset));
+            tx.setTradedAt(request.getTradedAt());
+
+            Position position = Position.of(asset);
+            tx.setRealizedProfitLoss(position.apply(tx));
+            position.writeTo(asset);
+
+            Asset updated = assetRepository.saveAndFlush(asset);
+            AssetTransaction saved = transactionRepository.save(tx);
+
+            return new AssetTransactionResponse(saved, new AssetResponse(updated));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<AssetTransactionResponse> getTransactions(Long portfolioId, Long stockId, User user) {
+        Asset asset = findOwned(portfolioId, stockId, user);
+        return transactionRepository.findByAssetIdOrderById(asset.getId()).stream()
+                .map(AssetTransactionResponse::new)
+                .toList();
+    }
+
+    // 내역으로 다시 계산해 저장된 값과 비교만 한다
+    @Transactional(readOnly = true)
+    public LedgerRebuildResponse verify(Long portfolioId, Long stockId, User user) {
+        Asset asset = findOwned(portfolioId, stockId, user);
+        return compare(asset, transactionRepository.findByAssetIdOrderById(asset.getId()), false);
+    }
+
+    // 내역으로 다시 계산한 값으로 종목을 덮어쓴다
+    public LedgerRebuildResponse rebuild(Long portfolioId, Long stockId, User user) {
+        return optimisticLockRetrier.execute(() -> {
+            Asset asset = findOwned(portfolioId, stockId, user);
+            List<AssetTransaction> entries = transactionRepository.findByAssetIdOrderById(asset.getId());
+            if (entries.isEmpty()) {
+                throw new InvalidRequestException("거래 내역이 없는 종목입니다.");
+            }
+
+            LedgerRebuildResponse result = compare(asset, entries, true);
+            if (!result.isConsistent()) {
+                log.warn("거래 내역과 종목 값 불일치, 재계산 값으로 교체 - Asset ID: {}", asset.getId());
+                asset.setQuantity(result.getRebuiltQuantity());
+                asset.setPurchasePrice(result.getRebuiltAvgPrice());
+                asset.setRealizedProfitLoss(result.getRebuiltRealizedProfitLoss());
+                assetRepository.saveAndFlush(asset);
+                changeTracker.assetsUpdated(user.getId(), portfolioId, List.of(asset.getId()));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 수량/평단을 직접 바꾼 종목들의 조정 내역 기록 (추가/수정/수량 증감/일괄 처리)
+     * 이후 거래는 이 값을 기준으로 이어서 계산된다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdjustments(Collection<Asset> assets) {
+        if (!assets.isEmpty()) {
+            transactionRepository.saveAll(assets.stream().map(this::adjustmentOf).toList());
+        }
+    }
+
+    /**
+     * 종목 삭제 시 수량 0으로 정리하는 조정 기록
+     * 내역은 지우지 않고 남겨 수익률 계산에서 보유분이 빠져나간 흐름으로 잡히게 한다.
+     * (삭제된 행의 통화로 환율을 찍어야 하므로 삭제 전에 읽어 둔 종목을 넘긴다)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordClosings(Collection<Asset> assets) {
+        transactionRepository.saveAll(assets.stream().map(asset -> {
+            AssetTransaction tx = adjustmentOf(asset);
+            tx.setQuantity(0);
+            tx.setPrice(BigDecimal.ZERO);
+            return tx;
+        }).toList());
+    }
+
+    private LedgerRebuildResponse compare(Asset asset, List<AssetTransaction> entries, boolean apply) {
+        Position rebuilt = new Position(0, BigDecimal.ZERO, BigDecimal.ZERO);
+        for (AssetTransaction entry : entries) {
+            rebuilt.apply(entry);
+        }
+
+        Position stored = Position.of(asset);
+        boolean consistent = stored.quantity == rebuilt.quantity
+                && stored.avgPrice.compareTo(rebuilt.avgPrice) == 0
+                && stored.realized.compareTo(rebuilt.realized) == 0;
+
+        return new LedgerRebuildResponse(consistent, apply && !consistent, entries.size(),
+                stored.quantity, stored.avgPrice, stored.realized,
+                rebuilt.quantity, rebuilt.avgPrice, rebuilt.realized);
+    }
+
+    private AssetTransaction.Type validate(AssetTransactionRequest request) {
+        AssetTransaction.Type type = request.getType();
+        if (type == null || type == AssetTransaction.Type.ADJUST) {
+            throw new InvalidRequestException("거래 종류는 BUY, SELL, DIVIDEND 중 하나여야 합니다.");
+        }
+        if (request.getFee() != null && request.getFee().signum() < 0) {
+            throw new InvalidRequestException("수수료는 0 이상이어야 합니다.");
+        }
+        if (type == AssetTransaction.Type.DIVIDEND) {
+            if (request.getAmount() == null || request.getAmount().signum() <= 0) {
+                throw new InvalidRequestException("배당 수령액이 필요합니다.");
+            }
+        } else if (request.getQuantity() == null || request.getQuantity() <= 0
+                || request.getPrice() == null || request.getPrice().signum() < 0) {
+            throw new InvalidRequestException("매수/매도는 1 이상의 수량과 0 이상의 단가가 필요합니다.");
+        }
+        return type;
+    }
+
+    private Asset findOwned(Long portfolioId, Long stockId, User user) {
+        return assetRepository.findOwned(stockId, portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("이 종목에 접근할 수 없습니다."));
+    }
+
+    private AssetTransaction adjustmentOf(Asset asset) {
+        AssetTransaction tx = new AssetTransaction();
+        tx.setUserId(asset.getUser().getId());
+        tx.setGoalAccountId(asset.getGoalAccount().getId());
+        tx.setAssetId(asset.getId());
+        tx.setType(AssetTransaction.Type.ADJUST);
+        tx.setQuantity(quantityOf(asset));
+        tx.setPrice(Objects.requireNonNullElse(asset.getPurchasePrice(), BigDecimal.ZERO));
+        tx.setFxRate(fxRateOf(asset));
+        return tx;
+    }
+
+    private BigDecimal fxRateOf(Asset asset) {
+        return fxRateService.current().rate(asset.getCurrency(), asset.getGoalAccount().getCurrency());
+    }
+
+    private static int quantityOf(Asset asset) {
+        return asset.getQuantity() != null ? asset.getQuantity() : 0;
+    }
+
+    /**
+     * 보유 포지션 (수량, 평균 매수가, 실현 손익 누계)
+     * 추가 시 반영과 재계산이 같은 계산을 쓰도록 한 곳에 둔다.
+     */
+    private static final class Position {
+        private int quantity;
+        private BigDecimal avgPrice;
+        private BigDecimal realized;
+
+        private Position(int quantity, BigDecimal avgPrice, BigDecimal realized) {
+            this.quantity = quantity;
+            this.avgPrice = avgPrice;
+            this.realized = realized;
+        }
+
+        static Position of(Asset asset) {
+            return new Position(quantityOf(asset),
+                    Objects.requireNonNullElse(asset.getPurchasePrice(), BigDecimal.ZERO),
+                    Objects.requireNonNullElse(asset.getRealizedProfitLoss(), BigDecimal.ZERO));
+        }
+
+        void writeTo(Asset asset) {
+            asset.setQuantity(quantity);
+            asset.setPurchasePrice(avgPrice);
+            asset.setRealizedProfitLoss(realized);
+        }
+
+        // 거래 하나 반영, 이 거래로 확정된 손익을 돌려준다
+        BigDecimal apply(AssetTransaction tx) {
+            BigDecimal fee = Objects.requireNonNullElse(tx.getFee(), BigDecimal.ZERO);
+            BigDecimal gain = BigDecimal.ZERO;
+
+            switch (tx.getType()) {
+                case BUY -> {
+                    // 수수료는 매수 원가에 포함
+                    BigDecimal cost = avgPrice.multiply(BigDecimal.valueOf(quantity))
+                            .add(tx.getPrice().multiply(BigDecimal.valueOf(tx.getQuantity())))
+                            .add(fee);
+                    quantity += tx.getQuantity();
+                    avgPrice = cost.divide(BigDecimal.valueOf(quantity), SCALE, RoundingMode.HALF_UP);
+                }
+                case SELL -> {
+                    if (tx.getQuantity() > quantity) {
+                        throw new InvalidAdjustmentException("보유 수량보다 많이 매도할 수 없습니다.");
+                    }
+                    gain = tx.getPrice().subtract(avgPrice)
+                            .multiply(BigDecimal.valueOf(tx.getQuantity()))
+                            .subtract(fee)
+                            .setScale(SCALE, RoundingMode.HALF_UP);
+                    quantity -= tx.getQuantity();
+                }
+                case DIVIDEND -> gain = tx.getAmount().subtract(fee).setScale(SCALE, RoundingMode.HALF_UP);
+                case ADJUST -> {
+                    quantity = tx.getQuantity();
+                    avgPrice = tx.getPrice().setScale(SCALE, RoundingMode.HALF_UP);
+                }
+            }
+
+            realized = realized.add(gain);
+            return gain;
+        }
+    }
+}
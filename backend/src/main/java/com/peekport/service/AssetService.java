@@ -2,36 +2,63 @@ package com.peekport.service;
 
 import com.peekport.dto.AssetRequest;
 import com.peekport.dto.AssetResponse;
+import com.peekport.dto.CurrencyAmount;
+import com.peekport.dto.GoalAccountResponse;
 import com.peekport.dto.PortfolioSummaryResponse;
+import com.peekport.exception.InvalidAdjustmentException;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.exception.VersionConflictException;
 import com.peekport.model.Asset;
 import com.peekport.model.GoalAccount;
 import com.peekport.model.User;
 import com.peekport.repository.AssetRepository;
 import com.peekport.repository.GoalAccountRepository;
 import com.peekport.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 // RoundingMode가 안 되는 경우를 대비해 String.format 대안 사용
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("peekport.service")
 public class AssetService {
 
     private final AssetRepository assetRepository;
     private final GoalAccountRepository goalAccountRepository;
     private final UserRepository userRepository;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final ChangeTracker changeTracker;
+    private final AssetLedgerService assetLedgerService;
+    private final FxRateService fxRateService;
 
     public AssetService(AssetRepository assetRepository,
                         GoalAccountRepository goalAccountRepository,
-                        UserRepository userRepository) {
+                        UserRepository userRepository,
+                        OptimisticLockRetrier optimisticLockRetrier,
+                        ChangeTracker changeTracker,
+                        AssetLedgerService assetLedgerService,
+                        FxRateService fxRateService) {
         this.assetRepository = assetRepository;
         this.goalAccountRepository = goalAccountRepository;
         this.userRepository = userRepository;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.changeTracker = changeTracker;
+        this.assetLedgerService = assetLedgerService;
+        this.fxRateService = fxRateService;
     }
 
+    @Transactional(readOnly = true)
     public PortfolioSummaryResponse calculatePortfolioSummary(Long portfolioId, String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -41,14 +68,16 @@ public class AssetService {
 
         List<Asset> assets = assetRepository.findByGoalAccountAndUser(goalAccount, user);
 
+        // 종목 통화 → 포트폴리오 통화 (원가도 현재 환율로 환산)
+        FxRates fx = fxRateService.current();
         BigDecimal totalInvestment = BigDecimal.ZERO;
         BigDecimal totalValue = BigDecimal.ZERO;
 
         for (Asset asset : assets) {
             BigDecimal investment = asset.getPurchasePrice().multiply(BigDecimal.valueOf(asset.getQuantity()));
             BigDecimal current = asset.getCurrentPrice().multiply(BigDecimal.valueOf(asset.getQuantity()));
-            totalInvestment = totalInvestment.add(investment);
-            totalValue = totalValue.add(current);
+            totalInvestment = totalInvestment.add(fx.convert(investment, asset.getCurrency(), goalAccount.getCurrency()));
+            totalValue = totalValue.add(fx.convert(current, asset.getCurrency(), goalAccount.getCurrency()));
         }
 
         BigDecimal profitLoss = totalValue.subtract(totalInvestment);
@@ -71,40 +100,210 @@ public class AssetService {
         );
     }
 
-    public AssetResponse updateAsset(Long portfolioId, Long stockId, AssetRequest request, User user) {
+    @Transactional
+    public AssetResponse addAsset(Long portfolioId, AssetRequest request, User user) {
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("이 포트폴리오에 접근할 수 없습니다."));
+
+        Asset asset = new Asset();
+        asset.setUser(user);
+        asset.setGoalAccount(goal);
+        applyRequest(asset, request);
+
+        changeTracker.newAssets(user.getId(), goal.getId(), List.of(asset));
+        Asset saved = assetRepository.save(asset);
+        if (saved.getQuantity() != null && saved.getQuantity() > 0) {
+            assetLedgerService.recordAdjustments(List.of(saved));
+        }
+        return new AssetResponse(saved);
+    }
+
+    @Transactional
+    public void deleteAsset(Long portfolioId, Long stockId, User user) {
+        // 종목 존재 및 권한 확인
         Asset asset = assetRepository.findById(stockId)
                 .orElseThrow(() -> new EntityNotFoundException("해당 종목을 찾을 수 없습니다"));
 
-        if (!asset.getGoalAccount().getId().equals(portfolioId)) {
-            throw new AccessDeniedException("해당 종목이 요청한 포트폴리오에 속하지 않습니다.");
+        // 종목이 해당 포트폴리오에 속하고 현재 사용자 소유인지 확인
+        if (!asset.getGoalAccount().getId().equals(portfolioId) || !asset.getUser().getId().equals(user.getId())) {
+            throw new AccessDeniedException("이 종목에 접근할 수 없습니다.");
+        }
+
+        assetRepository.delete(asset);
+        changeTracker.assetsDeleted(user.getId(), portfolioId, List.of(stockId));
+        assetLedgerService.recordClosings(List.of(asset));
+    }
+
+    /**
+     * 종목 정보 덮어쓰기
+     * request.version이 오면 그 버전일 때만 저장하고, 낙관적 락 충돌은 짧게 재시도한다.
+     */
+    public AssetResponse updateAsset(Long portfolioId, Long stockId, AssetRequest request, User user) {
+        return optimisticLockRetrier.execute(() -> {
+            Asset asset = assetRepository.findById(stockId)
+                    .orElseThrow(() -> new EntityNotFoundException("해당 종목을 찾을 수 없습니다"));
+
+            if (!asset.getGoalAccount().getId().equals(portfolioId)) {
+                throw new AccessDeniedException("해당 종목이 요청한 포트폴리오에 속하지 않습니다.");
+            }
+
+            // 종목 소유자로 확인 (포트폴리오 → 사용자를 따라가면 지연 로딩 조회가 한 번 더 나감)
+            if (!asset.getUser().getId().equals(user.getId())) {
+                throw new AccessDeniedException("사용자 권한이 없습니다.");
+            }
+
+            if (request.getVersion() != null && !request.getVersion().equals(asset.getVersion())) {
+                throw new VersionConflictException("다른 곳에서 먼저 수정되었습니다. 새로고침 후 다시 시도해주세요.");
+            }
+
+            boolean repositioned = changesPosition(asset, request);
+            applyRequest(asset, request);
+
+            Asset updated = assetRepository.saveAndFlush(asset);
+            changeTracker.assetsUpdated(user.getId(), portfolioId, List.of(stockId));
+            if (repositioned) {
+                assetLedgerService.recordAdjustments(List.of(updated));
+            }
+            return new AssetResponse(updated);
+        });
+    }
+
+    /**
+     * 수량 증감 (quantity += delta)
+     * 읽지 않고 UPDATE 한 번으로 처리하므로 동시 요청끼리 덮어쓰지 않는다.
+     */
+    @Transactional
+    public AssetResponse adjustQuantity(Long portfolioId, Long stockId, Integer delta, User user) {
+        if (delta == null) {
+            throw new InvalidAdjustmentException("증감 수량이 필요합니다.");
         }
 
-        if (!asset.getGoalAccount().getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("사용자 권한이 없습니다.");
+        int updated = assetRepository.addQuantity(stockId, portfolioId, user.getId(), delta, LocalDateTime.now());
+        if (updated > 0) {
+            changeTracker.assetsUpdated(user.getId(), portfolioId, List.of(stockId));
         }
 
+        Asset asset = assetRepository.findById(stockId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 종목을 찾을 수 없습니다"));
+        if (!asset.getGoalAccount().getId().equals(portfolioId) || !asset.getUser().getId().equals(user.getId())) {
+            throw new AccessDeniedException("이 종목에 접근할 수 없습니다.");
+        }
+        if (updated == 0) {
+            throw new InvalidAdjustmentException("보유 수량이 부족합니다.");
+        }
+        assetLedgerService.recordAdjustments(List.of(asset));
+
+        return new AssetResponse(asset);
+    }
+
+    // 수량이나 평단을 직접 바꾸는 요청인지 (거래 내역에 조정으로 남겨야 함)
+    boolean changesPosition(Asset asset, AssetRequest request) {
+        return !Objects.equals(asset.getQuantity(), request.getQuantity())
+                || asset.getPurchasePrice() == null
+                || request.getPurchasePrice() == null
+                || asset.getPurchasePrice().compareTo(request.getPurchasePrice()) != 0;
+    }
+
+    // 요청 값을 종목에 반영 (추가/수정/일괄 처리 공통)
+    void applyRequest(Asset asset, AssetRequest request) {
         asset.setName(request.getName());
+        asset.setTicker(request.getTicker());
         asset.setQuantity(request.getQuantity());
         asset.setPurchasePrice(request.getPurchasePrice());
-        asset.setCurrentPrice(request.getCurrentPrice());
+        asset.setCurrentPrice(request.getCurrentPrice() != null ? request.getCurrentPrice() : request.getPurchasePrice());
+        asset.setTerm(request.getTerm());
         asset.setCategory(request.getCategory());
         asset.setMemo(request.getMemo());
+        asset.setCurrency(currencyOf(asset, request));
 
         if (request.getTargetRatio() != null) {
             asset.setTargetRatio(request.getTargetRatio());
         }
+    }
 
-        Asset updated = assetRepository.save(asset);
-        return new AssetResponse(updated);
+    /**
+     * 거래 통화 결정
+     * 요청에 없으면 기존 값(추가 시에는 포트폴리오 통화)을 쓰고, 환율이 없는 통화는 받지 않는다.
+     */
+    String currencyOf(Asset asset, AssetRequest request) {
+        String requested = FxRates.normalize(request.getCurrency());
+        if (requested == null) {
+            return asset.getCurrency() != null ? asset.getCurrency() : asset.getGoalAccount().getCurrency();
+        }
+        if (!fxRateService.current().supports(requested)) {
+            throw new InvalidRequestException("환율이 등록되지 않은 통화입니다: " + requested);
+        }
+        return requested;
     }
 
+    // 종목 평가액 + 현금 (포트폴리오 통화 기준)
+    @Transactional(readOnly = true)
     public BigDecimal calculateTotalAssets(GoalAccount goalAccount) {
         List<Asset> assets = assetRepository.findByGoalAccountAndUser(goalAccount, goalAccount.getUser());
+        return totalOf(goalAccount, assets, fxRateService.current());
+    }
+
+    /**
+     * 여러 포트폴리오의 총 자산 (포트폴리오 id → 총 자산)
+     * 목록 화면에서 포트폴리오마다 종목을 따로 읽지 않도록 종목은 한 번에 읽어 나눈다.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> calculateTotalAssets(Collection<GoalAccount> goalAccounts) {
+        if (goalAccounts.isEmpty()) {
+            return Map.of();
+        }
+        return calculateTotalAssets(goalAccounts,
+                assetRepository.findByGoalAccountIdIn(goalAccounts.stream().map(GoalAccount::getId).toList()));
+    }
+
+    /**
+     * 이미 읽어 둔 종목으로 여러 포트폴리오의 총 자산 계산 (목록에 없는 포트폴리오의 종목은 무시)
+     */
+    public Map<Long, BigDecimal> calculateTotalAssets(Collection<GoalAccount> goalAccounts, List<Asset> assets) {
+        Map<Long, List<Asset>> assetsByGoal = assets.stream()
+                .collect(Collectors.groupingBy(a -> a.getGoalAccount().getId()));
+
+        FxRates fx = fxRateService.current();
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (GoalAccount goal : goalAccounts) {
+            totals.put(goal.getId(), totalOf(goal, assetsByGoal.getOrDefault(goal.getId(), List.of()), fx));
+        }
+        return totals;
+    }
+
+    /**
+     * 포트폴리오별 통화별 종목 평가액 (포트폴리오 id → 통화별 합계)
+     * 환산은 포트폴리오 통화를 알아야 하므로 하지 않는다.
+     */
+    public Map<Long, List<CurrencyAmount>> marketValuesByPortfolio(List<Asset> assets) {
+        Map<Long, Map<String, BigDecimal>> sums = new HashMap<>();
+        for (Asset asset : assets) {
+            BigDecimal current = asset.getCurrentPrice().multiply(BigDecimal.valueOf(asset.getQuantity()));
+            sums.computeIfAbsent(asset.getGoalAccount().getId(), id -> new HashMap<>())
+                    .merge(asset.getCurrency(), current, BigDecimal::add);
+        }
+
+        Map<Long, List<CurrencyAmount>> values = new HashMap<>();
+        sums.forEach((goalId, byCurrency) -> values.put(goalId, byCurrency.entrySet().stream()
+                .map(e -> new CurrencyAmount(e.getKey(), e.getValue()))
+                .toList()));
+        return values;
+    }
+
+    // 통화별 평가액을 포트폴리오 통화로 환산해 현금과 더함
+    public BigDecimal totalOf(GoalAccountResponse portfolio, List<CurrencyAmount> values, FxRates fx) {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (CurrencyAmount value : values) {
+            totalValue = totalValue.add(fx.convert(value.getAmount(), value.getCurrency(), portfolio.getCurrency()));
+        }
+        return totalValue.add(portfolio.getCash());
+    }
 
+    private static BigDecimal totalOf(GoalAccount goalAccount, List<Asset> assets, FxRates fx) {
         BigDecimal totalValue = BigDecimal.ZERO;
         for (Asset asset : assets) {
             BigDecimal current = asset.getCurrentPrice().multiply(BigDecimal.valueOf(asset.getQuantity()));
-            totalValue = totalValue.add(current);
+            totalValue = totalValue.add(fx.convert(current, asset.getCurrency(), goalAccount.getCurrency()));
         }
 
         return totalValue.add(goalAccount.getCash());
@@ -0,0 +1,42 @@
+package com.peekport.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 크기 제한 LRU 캐시
+ * 가득 차면 가장 오래 쓰지 않은 항목 하나만 버린다. (전부 비우면 한동안 모든 요청이 다시 계산하게 됨)
+ * 조회도 순서를 바꾸므로 모든 연산을 한 잠금 아래에서 한다. 값 계산은 호출한 쪽에서 잠금 밖에서 한다.
+ */
+final class BoundedCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+
+    BoundedCache(int maxSize) {
+        int limit = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > limit;
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    // factory는 잠금 안에서 불리므로 가벼운 생성만
+    synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        return entries.computeIfAbsent(key, factory);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
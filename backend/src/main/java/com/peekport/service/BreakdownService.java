@@ -0,0 +1,161 @@
+package com.peekport.service;
+
+import com.peekport.dto.AllocationRow;
+import com.peekport.dto.BreakdownResponse;
+import com.peekport.dto.BreakdownResponse.Slice;
+import com.peekport.dto.CurrencyAmount;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 자산 배분 (분류/기간/종목별 평가액과 비중)
+ * DB에서 (티커, 분류, 기간) 단위로 한 번 GROUP BY 한 결과를 세 방향으로 접어서 만든다.
+ * 종목 행 전체를 내려받지 않아도 차트를 그릴 수 있다.
+ * 금액은 통화별로 집계된 값을 포트폴리오 기준 통화(전체 합산은 요청 통화)로 환산해 합친다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BreakdownService {
+
+    private final AssetRepository assetRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final FxRateService fxRateService;
+
+    @Transactional(readOnly = true)
+    public BreakdownResponse getPortfolioBreakdown(Long portfolioId, User user) {
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+        FxRates fx = fxRateService.current();
+        return build(convert(assetRepository.sumAllocationByGoalAccountId(goal.getId()), fx, goal.getCurrency()),
+                goal.getCash(), goal.getCurrency());
+    }
+
+    /**
+     * @param currency 합산 통화 (null이면 원화)
+     */
+    @Transactional(readOnly = true)
+    public BreakdownResponse getUserBreakdown(User user, String currency) {
+        FxRates fx = fxRateService.current();
+        String target = Objects.requireNonNullElse(FxRates.normalize(currency), FxRates.BASE);
+        if (!fx.supports(target)) {
+            throw new InvalidRequestException("환율이 등록되지 않은 통화입니다: " + target);
+        }
+        BigDecimal cash = BigDecimal.ZERO;
+        for (CurrencyAmount amount : goalAccountRepository.sumCashByUserId(user.getId())) {
+            cash = cash.add(fx.convert(amount.getAmount(), amount.getCurrency(), target));
+        }
+        return build(convert(assetRepository.sumAllocationByUserId(user.getId()), fx, target), cash, target);
+    }
+
+    // 통화별 행을 같은 통화로 환산 (이후 접을 때 같은 키끼리 합쳐짐)
+    private static List<AllocationRow> convert(List<AllocationRow> rows, FxRates fx, String currency) {
+        return rows.stream()
+                .map(row -> currency.equals(row.getCurrency()) ? row : new AllocationRow(
+                        row.getKey(), row.getName(), row.getCategory(), row.getTerm(), row.getCount(),
+                        fx.convert(row.getValue(), row.getCurrency(), currency),
+                        fx.convert(row.getInvestment(), row.getCurrency(), currency),
+                        currency))
+                .toList();
+    }
+
+    private BreakdownResponse build(List<AllocationRow> rows, BigDecimal cash, String currency) {
+        BigDecimal safeCash = cash != null ? cash : BigDecimal.ZERO;
+        BigDecimal total = safeCash;
+        for (AllocationRow row : rows) {
+            total = total.add(valueOf(row));
+        }
+
+        return new BreakdownResponse(
+                currency,
+                total,
+                safeCash,
+                weight(safeCash, total),
+                fold(rows, AllocationRow::getCategory, total, false),
+                fold(rows, AllocationRow::getTerm, total, false),
+                fold(rows, AllocationRow::getKey, total, true)
+        );
+    }
+
+    private List<Slice> fold(List<AllocationRow> rows, Function<AllocationRow, String> keyOf,
+                             BigDecimal total, boolean perTicker) {
+        Map<String, Acc> groups = new HashMap<>();
+        for (AllocationRow row : rows) {
+            groups.computeIfAbsent(keyOf.apply(row), k -> new Acc(perTicker ? row.getName() : k)).add(row);
+        }
+
+        List<Slice> slices = new ArrayList<>(groups.size());
+        groups.forEach((key, acc) -> slices.add(new Slice(
+                key,
+                acc.name,
+                perTicker ? acc.mainTerm : null,
+                acc.count,
+                acc.value,
+                acc.investment,
+                acc.value.subtract(acc.investment),
+                returnRate(acc.value, acc.investment),
+                weight(acc.value, total)
+        )));
+        slices.sort(Comparator.comparing(Slice::getValue).reversed());
+        return slices;
+    }
+
+    private static BigDecimal valueOf(AllocationRow row) {
+        return row.getValue() != null ? row.getValue() : BigDecimal.ZERO;
+    }
+
+    private static Double weight(BigDecimal value, BigDecimal total) {
+        if (total.signum() == 0) {
+            return 0.0;
+        }
+        return value.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static Double returnRate(BigDecimal value, BigDecimal investment) {
+        if (investment.signum() <= 0) {
+            return 0.0;
+        }
+        return value.subtract(investment).multiply(BigDecimal.valueOf(100))
+                .divide(investment, 2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static final class Acc {
+        private final String name;
+        private long count;
+        private BigDecimal value = BigDecimal.ZERO;
+        private BigDecimal investment = BigDecimal.ZERO;
+        private String mainTerm;
+        private BigDecimal mainTermValue;
+
+        private Acc(String name) {
+            this.name = name;
+        }
+
+        void add(AllocationRow row) {
+            BigDecimal rowValue = valueOf(row);
+            count += row.getCount();
+            value = value.add(rowValue);
+            investment = investment.add(row.getInvestment() != null ? row.getInvestment() : BigDecimal.ZERO);
+            if (mainTermValue == null || rowValue.compareTo(mainTermValue) > 0) {
+                mainTerm = row.getTerm();
+                mainTermValue = rowValue;
+            }
+        }
+    }
+}
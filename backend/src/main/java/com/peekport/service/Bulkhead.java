@@ -0,0 +1,88 @@
+package com.peekport.service;
+
+import com.peekport.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 무거운 계산 전용 실행기 (bulkhead)
+ * 정해진 스레드와 대기열 안에서만 돌리고, 가득 차면 기다리지 않고 429로 돌려보낸다.
+ * 분석 요청이 몰려도 요청 스레드/DB 커넥션을 일반 조회·수정 몫까지 차지하지 못한다.
+ * 호출한 요청 스레드는 결과가 나올 때까지 기다리며, 보안 컨텍스트는 작업 스레드로 넘겨준다.
+ */
+public class Bulkhead {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(name + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("peekport.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("peekport.bulkhead.queued", executor, e -> e.getQueue().size())
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("peekport.bulkhead.rejected")
+                .description("실행기가 가득 차 거절한 작업 수")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> work) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                SecurityContextHolder.setContext(context);
+                try {
+                    return work.get();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("분석 요청이 많아 지금은 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", RETRY_AFTER);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("분석 결과를 기다리는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,125 @@
+package com.peekport.service;
+
+import com.peekport.model.Asset;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.SyncTombstone;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.SyncTombstoneRepository;
+import com.peekport.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포트폴리오/종목 변경 순번 기록
+ * 사용자별 changeSeq를 트랜잭션당 한 번만 올리고, 그 값을 변경된 행에 찍는다.
+ * 종목이 바뀌면 소속 포트폴리오의 순번도 함께 올라가므로 포트폴리오 순번만 보고도 변경 여부를 알 수 있다.
+ * 변경 내용은 AssetEventLog에도 넘겨 커밋 직전에 변경 이벤트로 남긴다.
+ * 모든 메서드는 호출자의 쓰기 트랜잭션 안에서만 동작한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeTracker {
+
+    private final UserRepository userRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final AssetEventLog assetEventLog;
+
+    // insert 전에 호출 (changeSeq는 insert 때만 엔티티 값으로 저장됨)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void newPortfolio(GoalAccount goal) {
+        long seq = nextSeq(goal.getUser().getId());
+        goal.setChangeSeq(seq);
+        assetEventLog.portfolioCreated(goal, seq);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void portfolioUpdated(Long userId, Long goalAccountId) {
+        long seq = nextSeq(userId);
+        goalAccountRepository.stampChangeSeq(goalAccountId, seq);
+        assetEventLog.portfolioUpdated(userId, goalAccountId, seq);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void portfolioDeleted(Long userId, Long goalAccountId) {
+        long seq = nextSeq(userId);
+        syncTombstoneRepository.save(new SyncTombstone(userId, SyncTombstone.EntityType.PORTFOLIO, goalAccountId, seq));
+        assetEventLog.portfolioDeleted(userId, goalAccountId, seq);
+    }
+
+    // insert 전에 호출
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void newAssets(Long userId, Long goalAccountId, Collection<Asset> assets) {
+        long seq = nextSeq(userId);
+        assets.forEach(asset -> asset.setChangeSeq(seq));
+        goalAccountRepository.stampChangeSeq(goalAccountId, seq);
+        assetEventLog.assetsCreated(userId, goalAccountId, assets, seq);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assetsUpdated(Long userId, Long goalAccountId, Collection<Long> assetIds) {
+        long seq = nextSeq(userId);
+        if (!assetIds.isEmpty()) {
+            assetRepository.stampChangeSeq(assetIds, seq);
+        }
+        goalAccountRepository.stampChangeSeq(goalAccountId, seq);
+        assetEventLog.assetsUpdated(userId, goalAccountId, assetIds, seq);
+    }
+
+    // 종목별 설명(details, 종목 id → 값)을 변경 이벤트에 함께 남김
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assetsUpdated(Long userId, Long goalAccountId, Collection<Long> assetIds, Map<Long, ?> details) {
+        assetsUpdated(userId, goalAccountId, assetIds);
+        if (!details.isEmpty()) {
+            assetEventLog.assetDetails(details);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assetsDeleted(Long userId, Long goalAccountId, Collection<Long> assetIds) {
+        long seq = nextSeq(userId);
+        List<SyncTombstone> tombstones = assetIds.stream()
+                .map(id -> new SyncTombstone(userId, SyncTombstone.EntityType.ASSET, id, seq))
+                .toList();
+        syncTombstoneRepository.saveAll(tombstones);
+        goalAccountRepository.stampChangeSeq(goalAccountId, seq);
+        assetEventLog.assetsDeleted(userId, goalAccountId, assetIds, seq);
+    }
+
+    /**
+     * 현재 트랜잭션에서 쓸 변경 순번
+     * 같은 트랜잭션 안의 여러 변경은 같은 순번을 공유한다.
+     */
+    private long nextSeq(Long userId) {
+        SeqKey key = new SeqKey(userId);
+        Long bound = (Long) TransactionSynchronizationManager.getResource(key);
+        if (bound != null) {
+            return bound;
+        }
+
+        userRepository.incrementChangeSeq(userId);
+        long seq = userRepository.findChangeSeq(userId);
+
+        TransactionSynchronizationManager.bindResource(key, seq);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+        return seq;
+    }
+
+    private record SeqKey(Long userId) {
+    }
+}
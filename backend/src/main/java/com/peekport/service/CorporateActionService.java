@@ -0,0 +1,366 @@
+package com.peekport.service;
+
+import com.peekport.dto.CorporateActionRequest;
+import com.peekport.dto.CorporateActionResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.CorporateAction;
+import com.peekport.repository.CorporateActionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 기업 행사 일괄 반영 (관리자)
+ * 해당 티커 보유 종목을 id keyset으로 chunk-size개씩 끊어, 묶음마다 짧은 트랜잭션에서 UPDATE 한 문장으로 바꾼다.
+ * - 분할/병합: 수량 × ratioTo/ratioFrom (단수 버림), 평단/현재가 × ratioFrom/ratioTo, 거래 내역이 있는 종목은 조정(ADJUST) 내역 추가
+ *   버린 단수(와 조정 후 현재가로 본 금액)는 그 종목의 변경 이벤트 detail에 남긴다. (현금 지급은 증권사 정산 후 사용자가 입력)
+ * - 티커 변경: 티커(와 이름)만 바꿈
+ * 묶음마다 변경 순번을 올리고(동기화/변경 이벤트) 진행 위치를 같은 트랜잭션에 남기므로, 실패해도 다시 요청하면 이어서 진행된다.
+ * 보유 종목이 끝나면 종가 이력(기준일 전)과 활성 가격 알림을 한 트랜잭션에서 맞추고 완료로 표시한다.
+ * 일별 스냅샷은 평가 금액만 들고 있어 분할로 값이 바뀌지 않으므로 그대로 둔다.
+ */
+@Service
+@Slf4j
+public class CorporateActionService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final String PAGE =
+            "SELECT id, user_id, goal_account_id, quantity, current_price FROM asset " +
+            "WHERE ticker = :ticker AND id > :afterId ORDER BY id LIMIT :limit";
+
+    // 평단/현재가는 컬럼 scale(2), 종가/알림 기준가는 scale(4)에 맞춰 반올림
+    private static final String SPLIT_ASSETS =
+            "UPDATE asset SET quantity = FLOOR(quantity * :ratioTo / :ratioFrom), " +
+            "purchase_price = ROUND(purchase_price * :ratioFrom / :ratioTo, 2), " +
+            "current_price = ROUND(current_price * :ratioFrom / :ratioTo, 2), " +
+            "version = version + 1, updated_at = :now WHERE id IN (:ids)";
+
+    // 조정 후 수량/평단을 내역에 남김 (환율은 그 종목의 마지막 내역 값을 이어 씀)
+    private static final String SPLIT_LEDGER =
+            "INSERT INTO asset_transactions (user_id, goal_account_id, asset_id, type, quantity, price, fee, fx_rate, " +
+            "realized_profit_loss, traded_at, created_at) " +
+            "SELECT a.user_id, a.goal_account_id, a.id, 'ADJUST', COALESCE(a.quantity, 0), COALESCE(a.purchase_price, 0), 0, " +
+            "(SELECT t.fx_rate FROM asset_transactions t WHERE t.asset_id = a.id ORDER BY t.id DESC LIMIT 1), 0, :now, :now " +
+            "FROM asset a WHERE a.id IN (:ids) AND EXISTS (SELECT 1 FROM asset_transactions t WHERE t.asset_id = a.id)";
+
+    private static final String RENAME_ASSETS =
+            "UPDATE asset SET ticker = :newTicker, version = version + 1, updated_at = :now WHERE id IN (:ids)";
+
+    private static final String RENAME_ASSETS_WITH_NAME =
+            "UPDATE asset SET ticker = :newTicker, name = :newName, version = version + 1, updated_at = :now WHERE id IN (:ids)";
+
+    private static final String SPLIT_PRICES =
+            "UPDATE price_history SET close_price = ROUND(close_price * :ratioFrom / :ratioTo, 4) " +
+            "WHERE ticker = :ticker AND trade_date < :effectiveDate";
+
+    // 새 티커에 이미 같은 날짜 종가가 있으면 새 티커 값을 남김
+    private static final String RENAME_PRICES_DROP_OVERLAP =
+            "DELETE FROM price_history WHERE ticker = :ticker AND trade_date IN " +
+            "(SELECT d FROM (SELECT trade_date AS d FROM price_history WHERE ticker = :newTicker) overlap)";
+
+    private static final String RENAME_PRICES =
+            "UPDATE price_history SET ticker = :newTicker WHERE ticker = :ticker";
+
+    private static final String SPLIT_ALERTS =
+            "UPDATE price_alerts SET threshold = ROUND(threshold * :ratioFrom / :ratioTo, 4) WHERE ticker = :ticker AND active = true";
+
+    private static final String RENAME_ALERTS =
+            "UPDATE price_alerts SET ticker = :newTicker WHERE ticker = :ticker AND active = true";
+
+    private final CorporateActionRepository corporateActionRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeTracker changeTracker;
+    private final PriceHistoryService priceHistoryService;
+    private final PriceAlertService priceAlertService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CorporateActionService(CorporateActionRepository corporateActionRepository,
+                                  NamedParameterJdbcTemplate jdbcTemplate,
+                                  ChangeTracker changeTracker,
+                                  PriceHistoryService priceHistoryService,
+                                  PriceAlertService priceAlertService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${peekport.corporate-action.chunk-size:1000}") int chunkSize) {
+        this.corporateActionRepository = corporateActionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeTracker = changeTracker;
+        this.priceHistoryService = priceHistoryService;
+        this.priceAlertService = priceAlertService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CorporateActionResponse> getActions() {
+        return corporateActionRepository.findTop50ByOrderByIdDesc().stream()
+                .map(action -> new CorporateActionResponse(action, false))
+                .toList();
+    }
+
+    /**
+     * 기업 행사 적용 (같은 요청은 한 번만 적용, 진행 중이던 요청은 이어서 진행)
+     */
+    public CorporateActionResponse apply(CorporateActionRequest request) {
+        CorporateAction requested = validate(request);
+        CorporateAction action = register(requested);
+        if (action.getStatus() == CorporateAction.Status.COMPLETED) {
+            return new CorporateActionResponse(action, true);
+        }
+
+        long startedAt = System.nanoTime();
+        int chunks = 0;
+        while (withRetry(() -> transactionTemplate.execute(status -> applyChunk(action.getId()))) > 0) {
+            chunks++;
+        }
+        CorporateAction completed = withRetry(() -> transactionTemplate.execute(status -> complete(action.getId())));
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("기업 행사 반영 완료 - {} {} → 종목 {}건 (묶음 {}개, {}ms, {}건/초), 내역 {}건, 단수 버림 {}건, 종가 {}건, 알림 {}건",
+                completed.getType(), completed.getTicker(), completed.getAssetsAdjusted(), chunks, elapsedMillis,
+                completed.getAssetsAdjusted() * 1000 / elapsedMillis, completed.getLedgerEntries(),
+                completed.getFractionalHoldings(), completed.getPriceRows(), completed.getAlertsAdjusted());
+        return new CorporateActionResponse(completed, false);
+    }
+
+    // 처음이면 기록을 만들고, 있으면 같은 내용인지 확인
+    private CorporateAction register(CorporateAction requested) {
+        try {
+            return transactionTemplate.execute(status -> corporateActionRepository
+                    .findByTypeAndTickerAndEffectiveDate(requested.getType(), requested.getTicker(), requested.getEffectiveDate())
+                    .map(existing -> sameAs(existing, requested))
+                    .orElseGet(() -> corporateActionRepository.saveAndFlush(requested)));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 요청이 동시에 들어와 다른 쪽이 먼저 만든 경우
+            return corporateActionRepository
+                    .findByTypeAndTickerAndEffectiveDate(requested.getType(), requested.getTicker(), requested.getEffectiveDate())
+                    .map(existing -> sameAs(existing, requested))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private static CorporateAction sameAs(CorporateAction existing, CorporateAction requested) {
+        if (!Objects.equals(existing.getRatioFrom(), requested.getRatioFrom())
+                || !Objects.equals(existing.getRatioTo(), requested.getRatioTo())
+                || !Objects.equals(existing.getNewTicker(), requested.getNewTicker())) {
+            throw new InvalidRequestException("같은 날짜에 다른 내용으로 등록된 기업 행사가 있습니다. (ID: " + existing.getId() + ")");
+        }
+        return existing;
+    }
+
+    /**
+     * 진행 위치 다음의 보유 종목 한 묶음 반영
+     * @return 반영한 종목 수 (0이면 끝)
+     */
+    private int applyChunk(Long actionId) {
+        long startedAt = System.nanoTime();
+        CorporateAction action = corporateActionRepository.lock(actionId).orElseThrow();
+        if (action.getStatus() == CorporateAction.Status.COMPLETED) {
+            return 0;
+        }
+
+        List<Holding> page = jdbcTemplate.query(PAGE, new MapSqlParameterSource()
+                        .addValue("ticker", action.getTicker())
+                        .addValue("afterId", action.getLastAssetId())
+                        .addValue("limit", chunkSize),
+                (rs, rowNum) -> new Holding(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("goal_account_id"),
+                        rs.getInt("quantity"), rs.getBigDecimal("current_price")));
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, FractionalShares> dropped = action.getType() == CorporateAction.Type.RENAME
+                ? Map.of() : droppedFractions(action, page);
+
+        // 사용자 id 순서로 변경 순번을 잡아 여러 묶음이 같은 순서로 잠금
+        Map<Long, Map<Long, List<Long>>> byUserAndGoal = page.stream().collect(Collectors.groupingBy(Holding::userId, TreeMap::new,
+                Collectors.groupingBy(Holding::goalAccountId, TreeMap::new, Collectors.mapping(Holding::id, Collectors.toList()))));
+        byUserAndGoal.forEach((userId, byGoal) -> byGoal.forEach((goalId, ids) -> changeTracker.assetsUpdated(userId, goalId, ids,
+                ids.stream().filter(dropped::containsKey).collect(Collectors.toMap(Function.identity(), dropped::get)))));
+
+        List<Long> ids = page.stream().map(Holding::id).toList();
+        MapSqlParameterSource params = params(action)
+                .addValue("ids", ids)
+                .addValue("now", LocalDateTime.now());
+        int adjusted;
+        int ledgerEntries = 0;
+        if (action.getType() == CorporateAction.Type.RENAME) {
+            adjusted = jdbcTemplate.update(action.getNewName() != null ? RENAME_ASSETS_WITH_NAME : RENAME_ASSETS, params);
+        } else {
+            adjusted = jdbcTemplate.update(SPLIT_ASSETS, params);
+            ledgerEntries = jdbcTemplate.update(SPLIT_LEDGER, params);
+        }
+
+        action.setLastAssetId(ids.get(ids.size() - 1));
+        action.setAssetsAdjusted(action.getAssetsAdjusted() + adjusted);
+        action.setLedgerEntries(action.getLedgerEntries() + ledgerEntries);
+        action.setFractionalHoldings(action.getFractionalHoldings() + dropped.size());
+        action.setElapsedMillis(action.getElapsedMillis() + (System.nanoTime() - startedAt) / 1_000_000);
+        return page.size();
+    }
+
+    /**
+     * 수량 × ratioTo/ratioFrom에서 버려지는 1주 미만 단수 (종목 id → 버린 수량/금액)
+     * 금액은 조정 후 현재가 기준이고 종목 통화 단위다.
+     */
+    private static Map<Long, FractionalShares> droppedFractions(CorporateAction action, List<Holding> page) {
+        BigDecimal from = BigDecimal.valueOf(action.getRatioFrom());
+        BigDecimal to = BigDecimal.valueOf(action.getRatioTo());
+        Map<Long, FractionalShares> dropped = new HashMap<>();
+        for (Holding holding : page) {
+            long remainder = (long) holding.quantity() * action.getRatioTo() % action.getRatioFrom();
+            if (remainder == 0) {
+                continue;
+            }
+            BigDecimal quantity = BigDecimal.valueOf(remainder).divide(from, 6, RoundingMode.HALF_UP);
+            BigDecimal price = holding.currentPrice() != null
+                    ? holding.currentPrice().multiply(from).divide(to, 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+            dropped.put(holding.id(), new FractionalShares(action.getId(), action.getType(), quantity,
+                    quantity.multiply(price).setScale(2, RoundingMode.HALF_UP)));
+        }
+        return dropped;
+    }
+
+    // 종가 이력/가격 알림을 맞추고 완료 표시
+    private CorporateAction complete(Long actionId) {
+        CorporateAction action = corporateActionRepository.lock(actionId).orElseThrow();
+        if (action.getStatus() == CorporateAction.Status.COMPLETED) {
+            return action;
+        }
+
+        MapSqlParameterSource params = params(action);
+        int priceRows;
+        int alerts;
+        if (action.getType() == CorporateAction.Type.RENAME) {
+            jdbcTemplate.update(RENAME_PRICES_DROP_OVERLAP, params);
+            priceRows = jdbcTemplate.update(RENAME_PRICES, params);
+            alerts = jdbcTemplate.update(RENAME_ALERTS, params);
+        } else {
+            priceRows = jdbcTemplate.update(SPLIT_PRICES, params);
+            alerts = jdbcTemplate.update(SPLIT_ALERTS, params);
+        }
+        if (priceRows > 0) {
+            priceHistoryService.pricesChanged();
+        }
+        if (alerts > 0) {
+            // 메모리 색인은 바뀐 기준가/티커로 다시 적재
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    priceAlertService.reload();
+                }
+            });
+        }
+
+        action.setPriceRows(priceRows);
+        action.setAlertsAdjusted(alerts);
+        action.setStatus(CorporateAction.Status.COMPLETED);
+        action.setCompletedAt(LocalDateTime.now());
+        return action;
+    }
+
+    private static MapSqlParameterSource params(CorporateAction action) {
+        return new MapSqlParameterSource()
+                .addValue("ticker", action.getTicker())
+                .addValue("newTicker", action.getNewTicker())
+                .addValue("newName", action.getNewName())
+                .addValue("ratioFrom", action.getRatioFrom())
+                .addValue("ratioTo", action.getRatioTo())
+                .addValue("effectiveDate", action.getEffectiveDate());
+    }
+
+    // 묶음끼리/일반 요청과 잠금 순서가 엇갈려 교착되면 그 묶음만 다시 시도
+    private <T> T withRetry(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("기업 행사 반영 중 잠금 충돌, 재시도 {}/{}", attempt, MAX_ATTEMPTS);
+            }
+        }
+    }
+
+    private CorporateAction validate(CorporateActionRequest request) {
+        if (request.getType() == null) {
+            throw new InvalidRequestException("행사 종류(SPLIT/REVERSE_SPLIT/RENAME)가 필요합니다.");
+        }
+        String ticker = trimToNull(request.getTicker());
+        if (ticker == null || ticker.length() > 20) {
+            throw new InvalidRequestException("티커가 올바르지 않습니다.");
+        }
+        LocalDate today = LocalDate.now(ZONE);
+        LocalDate effectiveDate = request.getEffectiveDate() != null ? request.getEffectiveDate() : today;
+        if (effectiveDate.isAfter(today)) {
+            throw new InvalidRequestException("기준일이 지난 뒤에 적용할 수 있습니다.");
+        }
+
+        CorporateAction action = new CorporateAction();
+        action.setType(request.getType());
+        action.setTicker(ticker);
+        action.setEffectiveDate(effectiveDate);
+
+        if (request.getType() == CorporateAction.Type.RENAME) {
+            String newTicker = trimToNull(request.getNewTicker());
+            if (newTicker == null || newTicker.length() > 20 || newTicker.equals(ticker)) {
+                throw new InvalidRequestException("새 티커가 올바르지 않습니다.");
+            }
+            action.setNewTicker(newTicker);
+            action.setNewName(trimToNull(request.getNewName()));
+            return action;
+        }
+
+        Integer from = request.getRatioFrom();
+        Integer to = request.getRatioTo();
+        if (from == null || to == null || from <= 0 || to <= 0) {
+            throw new InvalidRequestException("분할 비율(ratioFrom:ratioTo)이 필요합니다.");
+        }
+        if (request.getType() == CorporateAction.Type.SPLIT ? to <= from : to >= from) {
+            throw new InvalidRequestException(request.getType() == CorporateAction.Type.SPLIT
+                    ? "액면분할은 ratioTo가 ratioFrom보다 커야 합니다."
+                    : "액면병합은 ratioTo가 ratioFrom보다 작아야 합니다.");
+        }
+        action.setRatioFrom(from);
+        action.setRatioTo(to);
+        return action;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private record Holding(long id, long userId, long goalAccountId, int quantity, BigDecimal currentPrice) {
+    }
+
+    // 변경 이벤트 detail로 남기는 버린 단수
+    public record FractionalShares(Long corporateActionId, CorporateAction.Type type, BigDecimal droppedQuantity,
+                                   BigDecimal valueAtAdjustedPrice) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.peekport.service;
+
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * 조건부 GET(If-None-Match)용 ETag
+ * 목록/종목/요약을 읽기 전에 변경 순번 한 줄만 조회해서 만든다. (ChangeTracker가 올리는 changeSeq)
+ * - 종목이 바뀌면 포트폴리오 순번도 오르므로 종목 목록은 포트폴리오 순번으로 충분하다.
+ * - 평가액(목록 총액, 요약)은 환율에 따라서도 달라지므로 환율 지문을 붙인다.
+ * 순번을 읽은 뒤에 본문을 만들기 때문에, 그 사이 변경이 끼면 본문이 ETag보다 새것일 뿐 낡은 본문에 304를 주지는 않는다.
+ * 남의 포트폴리오이거나 삭제된 경우는 empty → 평소 경로로 처리해 원래 오류 응답을 그대로 돌려준다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EtagService {
+
+    private final UserRepository userRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final FxRateService fxRateService;
+
+    // 포트폴리오 목록 (사용자 순번 + 환율)
+    public Optional<String> portfolios(String email) {
+        return userRepository.findChangeVersionByEmail(email)
+                .map(v -> "u" + v.getUserId() + "-" + v.getChangeSeq() + "-" + fxFingerprint());
+    }
+
+    // 종목 목록
+    public Optional<String> stocks(Long portfolioId, String email) {
+        return goalAccountRepository.findChangeSeqByIdAndUserEmail(portfolioId, email)
+                .map(seq -> "p" + portfolioId + "-" + seq);
+    }
+
+    // 종목 하나 (같은 포트폴리오의 다른 종목이 바뀌어도 그대로)
+    public Optional<String> stock(Long portfolioId, Long stockId, String email) {
+        return assetRepository.findChangeSeqForOwner(stockId, portfolioId, email)
+                .map(seq -> "a" + stockId + "-" + seq);
+    }
+
+    // 포트폴리오 요약 (포트폴리오 순번 + 환율)
+    public Optional<String> summary(Long portfolioId, String email) {
+        return goalAccountRepository.findChangeSeqByIdAndUserEmail(portfolioId, email)
+                .map(seq -> "p" + portfolioId + "-" + seq + "-" + fxFingerprint());
+    }
+
+    private String fxFingerprint() {
+        return fxRateService.current().getFingerprint();
+    }
+}
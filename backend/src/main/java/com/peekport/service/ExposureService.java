@@ -0,0 +1,148 @@
+package com.peekport.service;
+
+import com.peekport.dto.ExposureResponse;
+import com.peekport.dto.ExposureResponse.Item;
+import com.peekport.dto.ExposureRow;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 사용자 전체 포트폴리오 합산 노출 (티커별, 분류별)
+ * 종목 테이블 GROUP BY 한 번으로 만들고, (사용자, 통화)별로 캐시해 사용자 변경 순번과 환율 버전이 그대로면 캐시를 돌려준다.
+ * 금액은 요청한 통화(기본 원화)로 환산해 합친다.
+ */
+@Service
+public class ExposureService {
+
+    private static final String UNCATEGORIZED = "기타";
+
+    private final AssetRepository assetRepository;
+    private final UserRepository userRepository;
+    private final FxRateService fxRateService;
+    private final BoundedCache<CacheKey, CachedExposure> cache;
+
+    public ExposureService(AssetRepository assetRepository,
+                           UserRepository userRepository,
+                           FxRateService fxRateService,
+                           @Value("${peekport.exposure.max-cached-users:10000}") int maxCachedUsers) {
+        this.assetRepository = assetRepository;
+        this.userRepository = userRepository;
+        this.fxRateService = fxRateService;
+        this.cache = new BoundedCache<>(maxCachedUsers);
+    }
+
+    /**
+     * @param currency 합산 통화 (null이면 원화)
+     */
+    @Transactional(readOnly = true)
+    public ExposureResponse getExposure(User user, String currency) {
+        FxRates fx = fxRateService.current();
+        String target = Objects.requireNonNullElse(FxRates.normalize(currency), FxRates.BASE);
+        if (!fx.supports(target)) {
+            throw new InvalidRequestException("환율이 등록되지 않은 통화입니다: " + target);
+        }
+
+        long seq = userRepository.findChangeSeq(user.getId());
+        CacheKey key = new CacheKey(user.getId(), target);
+        CachedExposure cached = cache.get(key);
+        if (cached != null && cached.changeSeq == seq && cached.fxVersion == fx.getVersion()) {
+            return cached.response;
+        }
+
+        ExposureResponse response = build(assetRepository.sumExposureByUserId(user.getId()), fx, target);
+        cache.put(key, new CachedExposure(seq, fx.getVersion(), response));
+        return response;
+    }
+
+    private ExposureResponse build(List<ExposureRow> rows, FxRates fx, String currency) {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalInvestment = BigDecimal.ZERO;
+        // 같은 티커가 포트폴리오마다 다른 분류로 들어간 경우 티커 기준으로 다시 합침
+        Map<String, Acc> byTicker = new LinkedHashMap<>();
+        Map<String, Acc> byCategory = new LinkedHashMap<>();
+
+        for (ExposureRow row : rows) {
+            BigDecimal value = fx.convert(zeroIfNull(row.getValue()), row.getCurrency(), currency);
+            BigDecimal investment = fx.convert(zeroIfNull(row.getInvestment()), row.getCurrency(), currency);
+            BigDecimal realized = fx.convert(zeroIfNull(row.getRealizedProfitLoss()), row.getCurrency(), currency);
+            totalValue = totalValue.add(value);
+            totalInvestment = totalInvestment.add(investment);
+
+            byTicker.computeIfAbsent(row.getKey(), k -> new Acc(row.getName())).add(row, value, investment, realized);
+            String category = Objects.requireNonNullElse(row.getCategory(), UNCATEGORIZED);
+            byCategory.computeIfAbsent(category, k -> new Acc(category)).add(row, value, investment, realized);
+        }
+
+        return new ExposureResponse(currency, totalValue, totalInvestment,
+                toItems(byTicker, totalValue, true), toItems(byCategory, totalValue, false));
+    }
+
+    private List<Item> toItems(Map<String, Acc> groups, BigDecimal totalValue, boolean perTicker) {
+        List<Item> items = new ArrayList<>(groups.size());
+        groups.forEach((key, acc) -> items.add(new Item(
+                key,
+                acc.name,
+                perTicker ? acc.quantity : null,
+                acc.value,
+                acc.investment,
+                acc.value.subtract(acc.investment),
+                acc.realized,
+                weight(acc.value, totalValue),
+                perTicker ? acc.portfolioCount : null
+        )));
+        items.sort(Comparator.comparing(Item::getValue).reversed());
+        return items;
+    }
+
+    private static Double weight(BigDecimal value, BigDecimal total) {
+        if (total.signum() == 0) {
+            return 0.0;
+        }
+        return value.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static final class Acc {
+        private final String name;
+        private long quantity;
+        private BigDecimal value = BigDecimal.ZERO;
+        private BigDecimal investment = BigDecimal.ZERO;
+        private BigDecimal realized = BigDecimal.ZERO;
+        private long portfolioCount;
+
+        private Acc(String name) {
+            this.name = name;
+        }
+
+        void add(ExposureRow row, BigDecimal rowValue, BigDecimal rowInvestment, BigDecimal rowRealized) {
+            quantity += row.getQuantity() != null ? row.getQuantity() : 0;
+            value = value.add(rowValue);
+            investment = investment.add(rowInvestment);
+            realized = realized.add(rowRealized);
+            portfolioCount = Math.max(portfolioCount, row.getPortfolioCount());
+        }
+    }
+
+    private record CacheKey(Long userId, String currency) {
+    }
+
+    private record CachedExposure(long changeSeq, long fxVersion, ExposureResponse response) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.peekport.service;
+
+import com.peekport.config.datasource.QueryStats;
+import com.peekport.config.datasource.ReplicationRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 서로 독립인 조회를 가상 스레드에서 동시에 실행
+ * StructuredTaskScope.ShutdownOnFailure와 같은 규칙으로 쓴다. (Java 21에서는 preview라 --enable-preview 없이 같은 모양으로 구현)
+ * <pre>
+ * try (FanOut.Scope scope = fanOut.open()) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Supplier&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join();   // 하나라도 실패하면 첫 예외를 그대로 던짐
+ *     ... a.get(), b.get()
+ * }
+ * </pre>
+ * - 작업마다 읽기 전용 트랜잭션(커넥션 하나)을 따로 연다. 결과는 엔티티 대신 DTO나 값으로 돌려받는 게 안전하다.
+ * - 보안 컨텍스트(replica 라우팅의 sticky 판단)와 요청의 쿼리 통계 구간은 작업 스레드로 넘긴다.
+ * - 한 scope의 조회(read, fork)는 처음 정해진 DB(primary/replica)로 모두 보낸다. 앞서 읽은 순번과 뒤의 행이 어긋나지 않게.
+ * - 호출한 쪽이 트랜잭션 안이거나 요청 범위 EntityManager(open-in-view)를 쥐고 있으면 거절한다.
+ *   커넥션 하나를 쥔 채 작업 몫 커넥션을 또 기다리면 풀이 찼을 때 서로 막힌다. (그래서 spring.jpa.open-in-view는 끔)
+ * - 실패하면 나머지 작업은 기다리지 않지만 인터럽트하지도 않는다. (JDBC 소켓이 닫혀 커넥션을 버리게 되므로, 짧은 조회는 그냥 끝나게 둠)
+ */
+@Component
+public class FanOut {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fanout-", 0).factory());
+    private final TransactionTemplate readOnly;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public FanOut(PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Scope open() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("트랜잭션 안에서는 조회를 나눠 실행할 수 없습니다.");
+        }
+        // open-in-view가 묶어 둔 EntityManager는 처음 쓴 뒤로 요청이 끝날 때까지 커넥션을 놓지 않음
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            throw new IllegalStateException("요청 범위 EntityManager가 열려 있으면 조회를 나눠 실행할 수 없습니다.");
+        }
+        return new Scope();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<CompletableFuture<?>> forks = new ArrayList<>();
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        private final ReplicationRoutingDataSource.ReadPin pin = new ReplicationRoutingDataSource.ReadPin();
+        private boolean joined;
+        private boolean closed;
+
+        private Scope() {
+        }
+
+        /**
+         * 호출한 스레드에서 바로 실행하는 조회 (fork 전에 결과가 필요할 때, 이후 fork와 같은 DB에서 읽음)
+         */
+        public <T> T read(Supplier<T> task) {
+            if (closed) {
+                throw new IllegalStateException("닫힌 scope입니다.");
+            }
+            return ReplicationRoutingDataSource.pinned(pin, () -> readOnly.execute(status -> task.get())).get();
+        }
+
+        /**
+         * 작업 시작
+         * @return join() 뒤에만 읽을 수 있는 결과
+         */
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            if (joined || closed) {
+                throw new IllegalStateException("join() 뒤에는 작업을 더 시작할 수 없습니다.");
+            }
+            SecurityContext context = SecurityContextHolder.getContext();
+            Supplier<T> counted = QueryStats.propagate(
+                    ReplicationRoutingDataSource.pinned(pin, () -> readOnly.execute(status -> task.get())));
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                SecurityContextHolder.setContext(context);
+                try {
+                    return counted.get();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }, executor);
+            future.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    firstFailure.completeExceptionally(failure);
+                }
+            });
+            forks.add(future);
+
+            return () -> {
+                if (!joined) {
+                    throw new IllegalStateException("join() 전에는 결과를 읽을 수 없습니다.");
+                }
+                return future.join();
+            };
+        }
+
+        /**
+         * 모든 작업이 끝나거나 하나가 실패할 때까지 대기
+         */
+        public void join() {
+            joined = true;
+            CompletableFuture<Void> all = CompletableFuture.allOf(forks.toArray(CompletableFuture[]::new));
+            try {
+                CompletableFuture.anyOf(all, firstFailure).get();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("조회 결과를 기다리는 중 인터럽트되었습니다.", e);
+            }
+        }
+
+        // join 없이 닫으면(중간에 예외 등) 남은 작업 결과는 버림
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private RuntimeException rethrow(Throwable failure) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException(cause);
+        }
+    }
+}
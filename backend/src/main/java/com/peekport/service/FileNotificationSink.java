@@ -0,0 +1,48 @@
+package com.peekport.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 파일에 한 줄씩 JSON으로 덧붙이는 발송 (로컬 확인/테스트용)
+@Component
+@ConditionalOnProperty(name = "peekport.notification.sink", havingValue = "file")
+@Slf4j
+public class FileNotificationSink implements NotificationSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    // 동시에 보내도 줄이 섞이지 않게 (파일 I/O 동안 잡는 락)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public FileNotificationSink(ObjectMapper objectMapper,
+                                @Value("${peekport.notification.file.path:notifications.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path).toAbsolutePath();
+        log.info("알림 파일 발송 - {}", this.path);
+    }
+
+    @Override
+    public void send(Message message) throws IOException {
+        writeLock.lock();
+        try {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, objectMapper.writeValueAsString(message) + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
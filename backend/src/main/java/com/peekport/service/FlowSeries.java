@@ -0,0 +1,107 @@
+package com.peekport.service;
+
+import com.peekport.model.AssetTransaction;
+import com.peekport.model.PortfolioCashFlow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포트폴리오 외부 자금 흐름 누적 (투입 +, 회수 -)
+ * 거래 내역과 입출금 기록은 추가만 되므로, 마지막으로 읽은 id 이후만 이어 붙이면 처음부터 다시 읽은 것과 같다.
+ * (내역/입출금은 변경 순번을 잡은 뒤 추가되므로 같은 사용자 안에서는 id 순서가 커밋 순서와 같다)
+ * 날짜는 epoch day, 금액은 포트폴리오 통화 기준 double 배열로 들고 있다.
+ */
+final class FlowSeries {
+
+    // 잡은 채로 DB를 읽으므로 synchronized 대신 사용 (가상 스레드가 캐리어 스레드를 붙잡지 않게)
+    final ReentrantLock lock = new ReentrantLock();
+
+    long changeSeq = -1;
+    long ledgerHighWater;
+    long cashHighWater;
+
+    private long[] days = new long[32];
+    private double[] amounts = new double[32];
+    private int size;
+
+    // 종목별 현재 수량/평단 (직접 수정(ADJUST)으로 바뀐 원가를 흐름으로 잡기 위함)
+    private final Map<Long, double[]> positions = new HashMap<>();
+
+    void addCash(PortfolioCashFlow flow) {
+        append(flow.getFlowedAt().toLocalDate(), flow.getAmount().doubleValue());
+        cashHighWater = flow.getId();
+    }
+
+    void addTrade(AssetTransaction tx) {
+        double[] position = positions.computeIfAbsent(tx.getAssetId(), id -> new double[2]);
+        double fee = value(tx.getFee());
+        double flow;
+
+        switch (tx.getType()) {
+            case BUY -> {
+                double cost = position[0] * position[1] + value(tx.getAmount()) + fee;
+                position[0] += tx.getQuantity();
+                position[1] = cost / position[0];
+                flow = value(tx.getAmount()) + fee;
+            }
+            case SELL -> {
+                position[0] -= tx.getQuantity();
+                flow = -(value(tx.getAmount()) - fee);
+            }
+            case DIVIDEND -> flow = -(value(tx.getAmount()) - fee); // 포트폴리오 현금에 자동 반영되지 않으므로 회수로 본다
+            case ADJUST -> {
+                // 직접 수정/삭제는 원가 기준으로 넣고 뺀 것으로 본다
+                double before = position[0] * position[1];
+                position[0] = tx.getQuantity();
+                position[1] = value(tx.getPrice());
+                flow = position[0] * position[1] - before;
+            }
+            default -> flow = 0;
+        }
+
+        if (flow != 0) {
+            // 종목 통화 금액을 기록 시점 환율로 포트폴리오 통화로 바꿈
+            append(tx.getTradedAt().toLocalDate(), flow * (tx.getFxRate() != null ? tx.getFxRate().doubleValue() : 1));
+        }
+        ledgerHighWater = tx.getId();
+    }
+
+    int size() {
+        return size;
+    }
+
+    long day(int i) {
+        return days[i];
+    }
+
+    double amount(int i) {
+        return amounts[i];
+    }
+
+    long earliestDay() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, days[i]);
+        }
+        return min;
+    }
+
+    private void append(LocalDate date, double amount) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        days[size] = date.toEpochDay();
+        amounts[size] = amount;
+        size++;
+    }
+
+    private static double value(BigDecimal decimal) {
+        return decimal != null ? decimal.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,155 @@
+package com.peekport.service;
+
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.FxRate;
+import com.peekport.repository.FxRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 환율 관리
+ * fx_rates 테이블을 메모리 스냅샷(FxRates)으로 올려 두고 평가 시에는 스냅샷만 읽는다. (요청마다 DB 조회 없음)
+ * 테이블이 비어 있으면 시작할 때 파일(peekport.fx.seed-file)에서 채우고,
+ * 관리자 수정은 커밋 후 스냅샷을 새로 만들어 한 번에 바꿔 끼운다.
+ * 다른 서버에서 바꾼 값은 주기적으로 테이블을 다시 읽어 반영한다.
+ */
+@Service
+@Slf4j
+public class FxRateService {
+
+    private static final int SCALE = 8;
+
+    private final FxRateRepository fxRateRepository;
+    private final Resource seedFile;
+    private final AtomicReference<FxRates> current = new AtomicReference<>(FxRates.baseOnly());
+
+    public FxRateService(FxRateRepository fxRateRepository,
+                         @Value("${peekport.fx.seed-file:classpath:fx-rates.csv}") Resource seedFile) {
+        this.fxRateRepository = fxRateRepository;
+        this.seedFile = seedFile;
+    }
+
+    public FxRates current() {
+        return current.get();
+    }
+
+    public long getVersion() {
+        return current.get().getVersion();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (fxRateRepository.count() == 0 && seedFile.exists()) {
+            Map<String, BigDecimal> seed = readSeedFile();
+            fxRateRepository.saveAll(seed.entrySet().stream()
+                    .map(e -> new FxRate(e.getKey(), e.getValue()))
+                    .toList());
+            log.info("환율 초기값 적재 - {}개 통화 ({})", seed.size(), seedFile.getDescription());
+        }
+        reload();
+    }
+
+    // 테이블을 다시 읽어 값이 바뀌었을 때만 스냅샷 교체
+    @Scheduled(initialDelayString = "${peekport.fx.refresh-interval-ms:300000}",
+            fixedDelayString = "${peekport.fx.refresh-interval-ms:300000}")
+    public void reload() {
+        Map<String, BigDecimal> loaded = fxRateRepository.findAll().stream()
+                .collect(Collectors.toMap(FxRate::getCurrency, rate -> rate.getRateToKrw().setScale(SCALE, RoundingMode.HALF_UP)));
+        FxRates before = current.get();
+        FxRates after = current.updateAndGet(old -> {
+            FxRates next = new FxRates(old.getVersion() + 1, loaded);
+            return next.getRates().equals(old.getRates()) ? old : next;
+        });
+        if (after != before) {
+            log.info("환율 스냅샷 갱신 - version {}, {}개 통화", after.getVersion(), after.getRates().size());
+        }
+    }
+
+    /**
+     * 환율 등록/수정 (값은 통화 1단위의 원화 값)
+     * 커밋된 뒤에 스냅샷을 바꾸므로 롤백된 값이 평가에 쓰이지 않는다.
+     */
+    @Transactional
+    public void upsert(Map<String, BigDecimal> rates) {
+        if (rates == null || rates.isEmpty()) {
+            throw new InvalidRequestException("환율 값이 필요합니다.");
+        }
+        Map<String, BigDecimal> changes = new TreeMap<>();
+        rates.forEach((currency, rate) -> {
+            String code = FxRates.normalize(currency);
+            if (code == null || FxRates.BASE.equals(code)) {
+                throw new InvalidRequestException("원화 외 통화만 등록할 수 있습니다: " + currency);
+            }
+            if (rate == null || rate.signum() <= 0) {
+                throw new InvalidRequestException("환율은 0보다 커야 합니다: " + code);
+            }
+            changes.put(code, rate.setScale(SCALE, RoundingMode.HALF_UP));
+        });
+
+        Map<String, FxRate> existing = fxRateRepository.findAllById(changes.keySet()).stream()
+                .collect(Collectors.toMap(FxRate::getCurrency, Function.identity()));
+        List<FxRate> rows = changes.entrySet().stream().map(e -> {
+            FxRate row = existing.getOrDefault(e.getKey(), new FxRate(e.getKey(), e.getValue()));
+            row.setRateToKrw(e.getValue());
+            return row;
+        }).toList();
+        fxRateRepository.saveAll(rows);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                FxRates swapped = current.updateAndGet(old -> {
+                    Map<String, BigDecimal> merged = new HashMap<>(old.getRates());
+                    merged.putAll(changes);
+                    return new FxRates(old.getVersion() + 1, merged);
+                });
+                log.info("환율 수정 - version {}, {}", swapped.getVersion(), changes.keySet());
+            }
+        });
+    }
+
+    // "통화,원화 값" 한 줄씩, #으로 시작하는 줄은 주석
+    private Map<String, BigDecimal> readSeedFile() {
+        Map<String, BigDecimal> rates = new TreeMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(seedFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                String code = FxRates.normalize(parts[0]);
+                if (code == null || FxRates.BASE.equals(code) || parts.length < 2) {
+                    continue;
+                }
+                rates.put(code, new BigDecimal(parts[1].trim()).setScale(SCALE, RoundingMode.HALF_UP));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("환율 파일을 읽을 수 없습니다: " + seedFile.getDescription(), e);
+        }
+        return rates;
+    }
+}
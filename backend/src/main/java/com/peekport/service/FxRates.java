@@ -0,0 +1,148 @@
+package com.peekport.service;
+
+import com.peekport.exception.FxRateUnavailableException;
+import com.peekport.exception.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 환율 스냅샷 (불변)
+ * 통화 1단위의 원화 값만 들고 있고, 두 통화 사이 환율은 원화를 거쳐 계산한다.
+ * FxRateService가 통째로 바꿔 끼우므로 한 요청 안에서는 같은 스냅샷을 계속 쓰면 된다.
+ */
+public final class FxRates {
+
+    public static final String BASE = "KRW";
+
+    private static final int RATE_SCALE = 10;
+    private static final int AMOUNT_SCALE = 4;
+
+    private final long version;
+    private final Map<String, BigDecimal> rates; // 통화 → 1단위 원화 값
+    private final String fingerprint;
+
+    FxRates(long version, Map<String, BigDecimal> rates) {
+        Map<String, BigDecimal> copy = new TreeMap<>(rates);
+        copy.put(BASE, BigDecimal.ONE);
+        this.version = version;
+        this.rates = Collections.unmodifiableMap(copy);
+        this.fingerprint = fingerprint(copy);
+    }
+
+    static FxRates baseOnly() {
+        return new FxRates(0, Map.of());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 환율 값으로 만든 지문 (통화순 "통화=값;" 나열의 SHA-256 앞 16바이트)
+     * version은 인스턴스마다 1부터 다시 세므로, 서버 밖으로 나가는 값(ETag)에는 이쪽을 쓴다.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency);
+    }
+
+    // from 1단위가 to로 얼마인지
+    public BigDecimal rate(String from, String to) {
+        String source = orBase(from);
+        String target = orBase(to);
+        if (source.equals(target)) {
+            return BigDecimal.ONE;
+        }
+        return toBase(source).divide(toBase(target), RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        String source = orBase(from);
+        String target = orBase(to);
+        if (amount == null || source.equals(target)) {
+            return amount;
+        }
+        return amount.multiply(toBase(source)).divide(toBase(target), AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    // 대량 계산(위험 지표, 최적화)용
+    public double factor(String from, String to) {
+        return rate(from, to).doubleValue();
+    }
+
+    private BigDecimal toBase(String currency) {
+        BigDecimal rate = rates.get(currency);
+        if (rate == null) {
+            throw new FxRateUnavailableException("환율 정보가 없는 통화입니다: " + currency);
+        }
+        return rate;
+    }
+
+    private static String orBase(String currency) {
+        return currency != null ? currency : BASE;
+    }
+
+    /**
+     * 통화 코드 정규화 (대문자 ISO 4217 코드, 비어 있으면 null)
+     */
+    public static String normalize(String currency) {
+        if (currency == null || currency.isBlank()) {
+            return null;
+        }
+        String code = currency.trim().toUpperCase(Locale.ROOT);
+        try {
+            Currency.getInstance(code);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("올바르지 않은 통화 코드입니다: " + currency);
+        }
+        return code;
+    }
+
+    /**
+     * 금액 표시 (원화는 "1,234원", 그 외는 통화 소수 자릿수에 맞춰 "1,234.56 USD")
+     */
+    public static String format(BigDecimal amount, String currency) {
+        String code = orBase(currency);
+        if (BASE.equals(code)) {
+            return String.format("%,.0f원", amount);
+        }
+        return String.format("%,." + fractionDigits(code) + "f %s", amount, code);
+    }
+
+    /**
+     * 통화 소수 자릿수 (원화 0, USD 2 등, 비어 있으면 원화)
+     */
+    public static int fractionDigits(String currency) {
+        return Math.max(0, Currency.getInstance(orBase(currency)).getDefaultFractionDigits());
+    }
+
+    // 소수 자릿수만 다른 같은 값은 같은 지문이 되도록 끝의 0을 떼고 나열
+    private static String fingerprint(Map<String, BigDecimal> sorted) {
+        StringBuilder text = new StringBuilder();
+        sorted.forEach((currency, rate) ->
+                text.append(currency).append('=').append(rate.stripTrailingZeros().toPlainString()).append(';'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
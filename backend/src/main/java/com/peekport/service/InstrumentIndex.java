@@ -0,0 +1,228 @@
+package com.peekport.service;
+
+import com.peekport.dto.InstrumentResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 종목 자동완성 색인 (만든 뒤에는 바뀌지 않음, 갱신은 새로 만들어 교체)
+ * 티커/이름/초성 키를 각각 정렬된 배열로 두고, 입력을 이진 탐색해 접두어가 같은 구간만 읽는다. (O(log n + 결과 수))
+ * - 키는 소문자로 바꾸고 글자/숫자만 남김 ("S-Oil" → "soil")
+ * - 이름은 전체와 띄어쓰기 뒤 단어마다 키를 만들어 중간 단어로도 찾음 ("TIGER 미국S&P500" → "미국sp500")
+ * - 입력에 초성(ㄱ~ㅎ)이 있으면 입력도 초성으로 바꿔 초성 키에서 찾음 ("ㅅㅅㅈ" → 삼성전자, "skㅎ" → SK하이닉스)
+ * 결과 순서: 티커 일치 → 이름/초성 일치, 같은 구간 안에서는 짧은 키부터 (길이가 같으면 사전순)
+ */
+final class InstrumentIndex {
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int SYLLABLES_PER_CHOSUNG = 21 * 28;
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private final long version;
+    private final InstrumentResponse[] instruments;
+    private final Keys tickers;
+    private final Keys names;
+    private final Keys chosungs;
+
+    private InstrumentIndex(long version, InstrumentResponse[] instruments, Keys tickers, Keys names, Keys chosungs) {
+        this.version = version;
+        this.instruments = instruments;
+        this.tickers = tickers;
+        this.names = names;
+        this.chosungs = chosungs;
+    }
+
+    static InstrumentIndex empty() {
+        return build(0, List.of());
+    }
+
+    static InstrumentIndex build(long version, List<InstrumentResponse> list) {
+        InstrumentResponse[] instruments = list.toArray(new InstrumentResponse[0]);
+        Keys.Builder tickers = new Keys.Builder();
+        Keys.Builder names = new Keys.Builder();
+        Keys.Builder chosungs = new Keys.Builder();
+        for (int i = 0; i < instruments.length; i++) {
+            tickers.add(normalize(instruments[i].getTicker()), i);
+            for (String word : nameKeys(instruments[i].getName())) {
+                names.add(word, i);
+                String initials = chosung(word);
+                if (!initials.equals(word)) {
+                    chosungs.add(initials, i);
+                }
+            }
+        }
+        return new InstrumentIndex(version, instruments, tickers.build(), names.build(), chosungs.build());
+    }
+
+    List<InstrumentResponse> search(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Integer> hits = new LinkedHashSet<>();
+        tickers.collect(key, hits, limit);
+        if (hasChosung(key)) {
+            chosungs.collect(chosung(key), hits, limit);
+        } else {
+            names.collect(key, hits, limit);
+        }
+        List<InstrumentResponse> result = new ArrayList<>(hits.size());
+        for (int i : hits) {
+            result.add(instruments[i]);
+        }
+        return result;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    int size() {
+        return instruments.length;
+    }
+
+    int keyCount() {
+        return tickers.size() + names.size() + chosungs.size();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    // 한글 음절은 초성으로, 나머지는 그대로 ("sk하이닉스" → "skㅎㅇㄴㅅ")
+    static String chosung(String key) {
+        char[] chars = key.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                chars[i] = CHOSUNG[(c - SYLLABLE_FIRST) / SYLLABLES_PER_CHOSUNG];
+            }
+        }
+        return new String(chars);
+    }
+
+    static boolean hasChosung(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (Arrays.binarySearch(CHOSUNG, key.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 이름 전체 + 띄어쓰기 뒤 단어부터 끝까지
+    private static List<String> nameKeys(String name) {
+        List<String> keys = new ArrayList<>();
+        String[] words = name.trim().split("\\s+");
+        for (int from = 0; from < words.length; from++) {
+            String key = normalize(String.join("", Arrays.copyOfRange(words, from, words.length)));
+            if (!key.isEmpty() && !keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 정렬된 (키, 종목 번호) 배열
+     */
+    private static final class Keys {
+        private final String[] keys;
+        private final int[] refs;
+
+        private Keys(String[] keys, int[] refs) {
+            this.keys = keys;
+            this.refs = refs;
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        // prefix로 시작하는 키의 종목을 limit개가 찰 때까지 추가
+        // 구간 앞쪽 limit * CANDIDATE_FACTOR개만 보고, 그 안에서는 짧은 키(입력과 더 가까운 이름)부터
+        void collect(String prefix, Set<Integer> hits, int limit) {
+            int from = lowerBound(prefix);
+            int to = from;
+            int max = Math.min(keys.length, from + limit * CANDIDATE_FACTOR);
+            while (to < max && keys[to].startsWith(prefix)) {
+                to++;
+            }
+            // 후보가 적으므로 삽입 정렬 (길이가 같으면 원래 순서 유지)
+            int[] candidates = new int[to - from];
+            for (int i = from; i < to; i++) {
+                int j = i - from;
+                while (j > 0 && keys[candidates[j - 1]].length() > keys[i].length()) {
+                    candidates[j] = candidates[j - 1];
+                    j--;
+                }
+                candidates[j] = i;
+            }
+            for (int i = 0; i < candidates.length && hits.size() < limit; i++) {
+                hits.add(refs[candidates[i]]);
+            }
+        }
+
+        // 첫 번째 keys[i] >= key
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private static final class Builder {
+            private final List<Entry> entries = new ArrayList<>();
+
+            void add(String key, int ref) {
+                if (!key.isEmpty()) {
+                    entries.add(new Entry(key, ref));
+                }
+            }
+
+            Keys build() {
+                // 키가 같으면 먼저 들어온 종목이 앞 (List.sort는 안정 정렬)
+                entries.sort(Comparator.comparing(Entry::key));
+                String[] keys = new String[entries.size()];
+                int[] refs = new int[entries.size()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = entries.get(i).key();
+                    refs[i] = entries.get(i).ref();
+                }
+                return new Keys(keys, refs);
+            }
+        }
+
+        private record Entry(String key, int ref) {
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.peekport.service;
+
+import com.peekport.dto.InstrumentIndexResponse;
+import com.peekport.dto.InstrumentResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 종목 검색 (자동완성)
+ * 종목 마스터 파일(peekport.instruments.file)을 읽어 InstrumentIndex를 만들고, 검색은 메모리 색인만 읽는다.
+ * 파일이 바뀌면 새 색인을 다 만든 뒤 한 번에 바꿔 끼우므로 갱신 중에도 검색은 이전 색인으로 계속된다.
+ */
+@Service
+@Slf4j
+public class InstrumentService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final Resource file;
+    private final AtomicReference<InstrumentIndex> current = new AtomicReference<>(InstrumentIndex.empty());
+    private volatile long loadedModified = -1;
+    // 파일을 읽는 동안 잡으므로 synchronized 대신 사용
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public InstrumentService(@Value("${peekport.instruments.file:classpath:instruments.csv}") Resource file) {
+        this.file = file;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    public List<InstrumentResponse> search(String query, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return current.get().search(query, size);
+    }
+
+    public InstrumentIndexResponse getIndexStatus() {
+        InstrumentIndex index = current.get();
+        return new InstrumentIndexResponse(index.getVersion(), index.size(), index.keyCount());
+    }
+
+    // 파일 수정 시각이 바뀌었을 때만 다시 적재 (classpath 안의 파일처럼 시각을 알 수 없으면 건너뜀)
+    @Scheduled(initialDelayString = "${peekport.instruments.refresh-interval-ms:600000}",
+            fixedDelayString = "${peekport.instruments.refresh-interval-ms:600000}")
+    public void refreshIfChanged() {
+        try {
+            if (file.isFile() && file.lastModified() != loadedModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("종목 마스터 갱신 실패 - 이전 색인 유지 ({})", file.getDescription(), e);
+        }
+    }
+
+    /**
+     * 파일을 다시 읽어 색인 교체 (읽기에 실패하면 이전 색인을 그대로 둠)
+     * @return 적재한 종목 수
+     */
+    public int reload() {
+        reloadLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            long modified = lastModified();
+            List<InstrumentResponse> instruments = readFile();
+            InstrumentIndex index = InstrumentIndex.build(current.get().getVersion() + 1, instruments);
+            current.set(index);
+            loadedModified = modified;
+            log.info("종목 검색 색인 적재 - version {}, {}개 종목, 키 {}개, {}ms", index.getVersion(), index.size(),
+                    index.keyCount(), (System.nanoTime() - startedAt) / 1_000_000);
+            return index.size();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return file.isFile() ? file.lastModified() : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // "티커,이름,시장,통화" 한 줄씩, #으로 시작하는 줄은 주석 (같은 티커는 먼저 나온 줄만 사용)
+    private List<InstrumentResponse> readFile() {
+        List<InstrumentResponse> instruments = new ArrayList<>();
+        Set<String> tickers = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",", -1);
+                if (parts.length < 4 || parts[0].isBlank() || parts[1].isBlank()) {
+                    log.warn("종목 마스터 형식 오류 - {}행 건너뜀", lineNumber);
+                    continue;
+                }
+                String ticker = parts[0].trim();
+                if (!tickers.add(ticker)) {
+                    log.warn("종목 마스터 티커 중복 - {} ({}행 건너뜀)", ticker, lineNumber);
+                    continue;
+                }
+                instruments.add(new InstrumentResponse(ticker, parts[1].trim(), parts[2].trim(),
+                        parts[3].trim().toUpperCase(Locale.ROOT)));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("종목 마스터 파일을 읽을 수 없습니다: " + file.getDescription(), e);
+        }
+        return instruments;
+    }
+}
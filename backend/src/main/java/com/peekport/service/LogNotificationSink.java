@@ -0,0 +1,17 @@
+package com.peekport.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 로그로만 남기는 발송 (기본값, 로컬/테스트용)
+@Component
+@ConditionalOnProperty(name = "peekport.notification.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogNotificationSink implements NotificationSink {
+
+    @Override
+    public void send(Message message) {
+        log.info("알림 발송 - user {}, {}건, {}\n{}", message.userId(), message.ids().size(), message.title(), message.body());
+    }
+}
@@ -0,0 +1,150 @@
+package com.peekport.service;
+
+import java.util.Arrays;
+
+/**
+ * 평균-분산 목표 비중 계산
+ * max μ'w − (λ/2) w'Σw  (Σw = 1, lo ≤ w ≤ hi) 를 가속 투영 경사법(FISTA + 재시작)으로 푼다.
+ * 투영은 상하한이 있는 단체(simplex) 위로의 투영으로, 합이 1이 되는 이동량 τ를 이분 탐색으로 찾는다.
+ * 공분산은 행 우선 n × n double[]이고 반복 중에는 새 배열을 만들지 않는다.
+ */
+final class MeanVarianceSolver {
+
+    private static final int PROJECTION_ITERATIONS = 100;
+
+    private MeanVarianceSolver() {
+    }
+
+    /**
+     * @param w 시작점 (실행 가능해야 함), 결과도 여기에 쓴다
+     * @return 반복 횟수
+     */
+    static int solve(double[] cov, double[] mu, int n, double lambda, double spectralRadius,
+                     double[] lo, double[] hi, double[] w, double tolerance, int maxIterations) {
+        double lipschitz = Math.max(lambda * spectralRadius, 1e-12);
+        double step = 1 / lipschitz;
+
+        double[] y = w.clone();
+        double[] next = new double[n];
+        double[] gradient = new double[n];
+        double momentum = 1;
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            // ∇f(y) = λΣy − μ  (f = −목적함수)
+            for (int i = 0; i < n; i++) {
+                int row = i * n;
+                double sum = 0;
+                for (int j = 0; j < n; j++) {
+                    sum += cov[row + j] * y[j];
+                }
+                gradient[i] = lambda * sum - mu[i];
+            }
+            for (int i = 0; i < n; i++) {
+                next[i] = y[i] - step * gradient[i];
+            }
+            project(next, lo, hi, n, next);
+
+            double change = 0;
+            double direction = 0;
+            for (int i = 0; i < n; i++) {
+                double d = next[i] - w[i];
+                change = Math.max(change, Math.abs(d));
+                direction += gradient[i] * d;
+            }
+
+            double nextMomentum = (1 + Math.sqrt(1 + 4 * momentum * momentum)) / 2;
+            double beta = (momentum - 1) / nextMomentum;
+            if (direction > 0) {
+                // 목적함수가 나빠지는 방향이면 관성 초기화
+                nextMomentum = 1;
+                beta = 0;
+            }
+            for (int i = 0; i < n; i++) {
+                double previous = w[i];
+                w[i] = next[i];
+                y[i] = next[i] + beta * (next[i] - previous);
+            }
+            momentum = nextMomentum;
+
+            if (change < tolerance) {
+                return iteration;
+            }
+        }
+        return maxIterations;
+    }
+
+    /**
+     * {w : Σw = 1, lo ≤ w ≤ hi} 위로의 유클리드 투영 (out은 v와 같은 배열이어도 됨)
+     * 해는 w_i = clip(v_i − τ, lo_i, hi_i) 꼴이고, 합은 τ에 대해 감소하므로 이분 탐색한다.
+     */
+    static void project(double[] v, double[] lo, double[] hi, int n, double[] out) {
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            low = Math.min(low, v[i] - hi[i]);
+            high = Math.max(high, v[i] - lo[i]);
+        }
+        for (int k = 0; k < PROJECTION_ITERATIONS && high - low > 1e-15; k++) {
+            double tau = (low + high) / 2;
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += Math.min(hi[i], Math.max(lo[i], v[i] - tau));
+            }
+            if (sum > 1) {
+                low = tau;
+            } else {
+                high = tau;
+            }
+        }
+        double tau = (low + high) / 2;
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.min(hi[i], Math.max(lo[i], v[i] - tau));
+        }
+    }
+
+    /**
+     * 최대 고유값 추정 (Σ는 양의 준정부호) - 스텝 크기 계산용
+     * 거듭제곱법이 수렴하지 않으면 항상 상한인 Gershgorin 값(행 절댓값 합의 최대)을 쓴다.
+     */
+    static double spectralRadius(double[] cov, int n) {
+        double[] x = new double[n];
+        double[] y = new double[n];
+        Arrays.fill(x, 1 / Math.sqrt(n));
+        double estimate = 0;
+        for (int iteration = 0; iteration < 100; iteration++) {
+            for (int i = 0; i < n; i++) {
+                int row = i * n;
+                double sum = 0;
+                for (int j = 0; j < n; j++) {
+                    sum += cov[row + j] * x[j];
+                }
+                y[i] = sum;
+            }
+            double norm = Math.sqrt(RiskMath.dot(y, y, n));
+            if (norm == 0) {
+                return 0;
+            }
+            double previous = estimate;
+            estimate = norm;
+            for (int i = 0; i < n; i++) {
+                x[i] = y[i] / norm;
+            }
+            if (Math.abs(estimate - previous) <= 1e-9 * estimate) {
+                return estimate * 1.01; // 과소 추정 여유
+            }
+        }
+        double bound = 0;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                sum += Math.abs(cov[i * n + j]);
+            }
+            bound = Math.max(bound, sum);
+        }
+        return bound;
+    }
+
+    static double variance(double[] cov, double[] w, int n) {
+        return RiskMath.dot(w, RiskMath.multiply(cov, w, n), n);
+    }
+}
@@ -0,0 +1,152 @@
+package com.peekport.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 포트폴리오 평가액 몬테카를로 시뮬레이션 (월 단위 기하 브라운 운동 + 월 납입)
+ * 경로를 chunk 단위 작업으로 나누고 작업마다 SplittableRandom을 split해 주므로
+ * 같은 seed면 스레드 수와 무관하게 같은 결과가 나온다.
+ * 안쪽 루프는 지역 변수만 쓰고, 관측 시점 값은 (시점 × 경로) float 배열의 자기 구간에만 쓴다.
+ * 마감 시각은 경로마다 확인해 지나면 작업 중간에라도 멈추고 끝난 경로만으로 집계한다 (초과는 경로 하나 길이 정도).
+ * 분위수 정렬도 같은 전용 풀에서 돌려 공용 풀을 쓰지 않는다.
+ */
+final class MonteCarloSimulator {
+
+    static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+
+    private MonteCarloSimulator() {
+    }
+
+    /**
+     * @param checkpoints 값을 기록할 월 (1부터, 오름차순, 마지막은 months)
+     * @param target      목표 금액 (없으면 NaN)
+     */
+    record Params(double startValue, double monthlyContribution, int months, double target,
+                  double expectedReturn, double volatility, int paths, int[] checkpoints,
+                  long seed, int chunkSize) {
+    }
+
+    /**
+     * @param bands 시점별 분위수 값 [checkpoint][PERCENTILES]
+     */
+    record Result(int paths, boolean truncated, double hitAtEnd, double hitAnyTime, double[][] bands) {
+    }
+
+    static Result run(Params params, ForkJoinPool pool, long deadlineNanos) {
+        int paths = params.paths();
+        int chunkSize = params.chunkSize();
+        int chunks = (paths + chunkSize - 1) / chunkSize;
+        int[] checkpoints = params.checkpoints();
+
+        // 연 기대수익률 r, 변동성 s → 월 로그수익률 평균/표준편차 (기대 성장률이 (1+r)^(1/12)이 되도록)
+        double sigma = params.volatility() / Math.sqrt(12);
+        double drift = Math.log1p(params.expectedReturn()) / 12 - sigma * sigma / 2;
+
+        float[] values = new float[checkpoints.length * paths];
+        int[] hitEnd = new int[chunks];
+        int[] hitAny = new int[chunks];
+        int[] finished = new int[chunks]; // 작업별로 끝낸 경로 수 (마감으로 멈추면 chunkSize보다 작음)
+
+        SplittableRandom root = new SplittableRandom(params.seed());
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            SplittableRandom random = root.split();
+            tasks.add(() -> {
+                int from = chunk * chunkSize;
+                int to = Math.min(paths, from + chunkSize);
+                finished[chunk] = simulate(params, drift, sigma, random, from, to, deadlineNanos,
+                        values, hitEnd, hitAny, chunk);
+                return null;
+            });
+        }
+        pool.invokeAll(tasks); // invokeAll이 끝나면 작업 쓰기가 모두 보인다
+
+        int completed = 0;
+        int endHits = 0;
+        int anyHits = 0;
+        for (int c = 0; c < chunks; c++) {
+            completed += finished[c];
+            endHits += hitEnd[c];
+            anyHits += hitAny[c];
+        }
+        if (completed == 0) {
+            return new Result(0, true, Double.NaN, Double.NaN, new double[0][]);
+        }
+
+        int total = completed;
+        double[][] bands = new double[checkpoints.length][];
+        // 풀 안의 작업에서 시작한 병렬 스트림은 그 풀에서 나뉘어 돈다
+        pool.submit(() -> IntStream.range(0, checkpoints.length).parallel().forEach(k -> {
+            float[] column = new float[total];
+            int size = 0;
+            for (int c = 0; c < chunks; c++) {
+                System.arraycopy(values, k * paths + c * chunkSize, column, size, finished[c]);
+                size += finished[c];
+            }
+            Arrays.sort(column);
+            double[] band = new double[PERCENTILES.length];
+            for (int q = 0; q < PERCENTILES.length; q++) {
+                band[q] = column[(int) Math.round(PERCENTILES[q] / 100 * (total - 1))];
+            }
+            bands[k] = band;
+        })).join();
+
+        return new Result(completed, completed < paths,
+                (double) endHits / completed, (double) anyHits / completed, bands);
+    }
+
+    // from부터 차례로 경로를 만들고 끝낸 경로 수를 돌려줌 (마감이 지나면 다음 경로를 시작하지 않음)
+    private static int simulate(Params params, double drift, double sigma, SplittableRandom random,
+                                int from, int to, long deadlineNanos,
+                                float[] values, int[] hitEnd, int[] hitAny, int chunk) {
+        int months = params.months();
+        int[] checkpoints = params.checkpoints();
+        int paths = params.paths();
+        double contribution = params.monthlyContribution();
+        double target = params.target();
+        boolean hasTarget = !Double.isNaN(target);
+
+        int endCount = 0;
+        int anyCount = 0;
+        int p = from;
+        for (; p < to; p++) {
+            if (System.nanoTime() > deadlineNanos) {
+                break;
+            }
+            double value = params.startValue();
+            boolean reached = hasTarget && value >= target;
+            int next = 0;
+            for (int m = 1; m <= months; m++) {
+                value = value * Math.exp(drift + sigma * random.nextGaussian()) + contribution;
+                if (value < 0) {
+                    value = 0;
+                }
+                if (hasTarget && !reached && value >= target) {
+                    reached = true;
+                }
+                if (m == checkpoints[next]) {
+                    values[next * paths + p] = (float) value;
+                    if (next + 1 < checkpoints.length) {
+                        next++;
+                    }
+                }
+            }
+            if (hasTarget && value >= target) {
+                endCount++;
+            }
+            if (reached) {
+                anyCount++;
+            }
+        }
+        hitEnd[chunk] = endCount;
+        hitAny[chunk] = anyCount;
+        return p - from;
+    }
+}
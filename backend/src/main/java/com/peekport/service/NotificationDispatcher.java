@@ -0,0 +1,290 @@
+package com.peekport.service;
+
+import com.peekport.config.NotificationProperties;
+import com.peekport.model.NotificationOutbox;
+import com.peekport.model.NotificationType;
+import com.peekport.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 알림 발송
+ * 차례가 된 알림을 묶음 단위로 점유(SENDING)해 커밋한 뒤, 트랜잭션 밖에서 사용자별로 한 통씩 묶어 발송하고 결과를 기록한다.
+ * - 한 사용자에게 여러 건이면 요약 한 통으로 보냄
+ * - 사용자별 발송 한도를 넘으면 다음 구간으로 미룸 (시도 횟수에 포함하지 않음, 한도는 서버별 메모리 기준)
+ * - 실패하면 지수 백오프로 다시 시도하고, max-attempts를 넘기면 FAILED
+ * 발송이 한 번 이상 갈 수 있으므로(at-least-once) 받는 쪽은 outbox id로 중복을 걸러야 한다.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final EnumSet<NotificationOutbox.Status> UNSENT =
+            EnumSet.of(NotificationOutbox.Status.PENDING, NotificationOutbox.Status.SENDING);
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationSink sink;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer dispatchLatency;
+    private final Timer sinkDuration;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter deferredCounter;
+
+    public NotificationDispatcher(NotificationOutboxRepository notificationOutboxRepository,
+                                  NotificationSink sink,
+                                  NotificationProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("peekport.notification.queue.depth", queueDepth, AtomicLong::get)
+                .description("발송되지 않은 알림 수 (PENDING + SENDING, 발송 주기마다 갱신)")
+                .register(meterRegistry);
+        this.dispatchLatency = Timer.builder("peekport.notification.dispatch.latency")
+                .description("알림이 쌓인 뒤 발송되기까지 걸린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.sinkDuration = Timer.builder("peekport.notification.sink.duration")
+                .description("발송 한 통에 걸린 시간")
+                .register(meterRegistry);
+        this.sentCounter = outcome(meterRegistry, "sent");
+        this.retriedCounter = outcome(meterRegistry, "retried");
+        this.failedCounter = outcome(meterRegistry, "failed");
+        this.deferredCounter = outcome(meterRegistry, "deferred");
+    }
+
+    @Scheduled(initialDelayString = "${peekport.notification.dispatch-interval-ms:1000}",
+            fixedDelayString = "${peekport.notification.dispatch-interval-ms:1000}")
+    public void dispatchScheduled() {
+        dispatch();
+    }
+
+    /**
+     * 차례가 된 알림 발송
+     * @return 발송한 알림 수 (묶음 안의 건수 기준), 이미 실행 중이면 -1
+     */
+    public int dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer released = transactionTemplate.execute(status ->
+                    notificationOutboxRepository.releaseStale(now.minus(properties.getClaimTimeout())));
+            if (released != null && released > 0) {
+                log.warn("발송 중 멈춘 알림 되돌림 - {}건", released);
+            }
+            windows.values().removeIf(window -> window.expired(now, properties.getPerUserWindow()));
+
+            int sent = 0;
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                List<NotificationOutbox> claimed = claim();
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                sent += deliver(claimed);
+                if (claimed.size() < properties.getBatchSize()) {
+                    break;
+                }
+            }
+            queueDepth.set(notificationOutboxRepository.countByStatusIn(UNSENT));
+            return sent;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 발송 완료 알림 정리
+    @Scheduled(cron = "${peekport.notification.cleanup-cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void cleanup() {
+        Integer deleted = transactionTemplate.execute(status ->
+                notificationOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(properties.getRetention())));
+        log.info("발송 완료 알림 정리 - {}건", deleted);
+    }
+
+    private List<NotificationOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> due = notificationOutboxRepository.lockDue(now, PageRequest.of(0, properties.getBatchSize()));
+            for (NotificationOutbox row : due) {
+                row.setStatus(NotificationOutbox.Status.SENDING);
+                row.setClaimedAt(now);
+            }
+            return due;
+        });
+    }
+
+    private int deliver(List<NotificationOutbox> claimed) {
+        Map<Long, List<NotificationOutbox>> byUser = claimed.stream()
+                .collect(Collectors.groupingBy(NotificationOutbox::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Long> sent = new ArrayList<>();
+        Map<Long, LocalDateTime> deferred = new LinkedHashMap<>();
+        Map<Long, String> failed = new LinkedHashMap<>();
+
+        byUser.forEach((userId, rows) -> {
+            List<Long> ids = rows.stream().map(NotificationOutbox::getId).toList();
+            Window window = windows.computeIfAbsent(userId, id -> new Window(LocalDateTime.now()));
+            if (!window.tryAcquire(properties.getPerUserLimit())) {
+                LocalDateTime until = window.endsAt(properties.getPerUserWindow());
+                ids.forEach(id -> deferred.put(id, until));
+                return;
+            }
+            NotificationSink.Message message = toMessage(userId, rows);
+            try {
+                sinkDuration.recordCallable(() -> {
+                    sink.send(message);
+                    return null;
+                });
+                sent.addAll(ids);
+                LocalDateTime sentAt = LocalDateTime.now();
+                rows.forEach(row -> dispatchLatency.record(Duration.between(row.getCreatedAt(), sentAt)));
+            } catch (Exception e) {
+                log.warn("알림 발송 실패 - user {}, {}건: {}", userId, ids.size(), e.toString());
+                ids.forEach(id -> failed.put(id, e.toString()));
+            }
+        });
+
+        recordResults(sent, deferred, failed);
+        return sent.size();
+    }
+
+    private void recordResults(List<Long> sent, Map<Long, LocalDateTime> deferred, Map<Long, String> failed) {
+        List<Long> ids = new ArrayList<>(sent.size() + deferred.size() + failed.size());
+        ids.addAll(sent);
+        ids.addAll(deferred.keySet());
+        ids.addAll(failed.keySet());
+
+        Integer exhausted = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, NotificationOutbox> rows = notificationOutboxRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(NotificationOutbox::getId, Function.identity()));
+            for (Long id : sent) {
+                NotificationOutbox row = rows.get(id);
+                row.setStatus(NotificationOutbox.Status.SENT);
+                row.setSentAt(now);
+            }
+            for (Map.Entry<Long, LocalDateTime> entry : deferred.entrySet()) {
+                NotificationOutbox row = rows.get(entry.getKey());
+                row.setStatus(NotificationOutbox.Status.PENDING);
+                row.setNextAttemptAt(entry.getValue());
+            }
+            int gaveUp = 0;
+            for (Map.Entry<Long, String> entry : failed.entrySet()) {
+                NotificationOutbox row = rows.get(entry.getKey());
+                row.setAttempts(row.getAttempts() + 1);
+                row.setLastError(NotificationOutboxService.truncate(entry.getValue(), 500));
+                if (row.getAttempts() >= properties.getMaxAttempts()) {
+                    row.setStatus(NotificationOutbox.Status.FAILED);
+                    gaveUp++;
+                } else {
+                    row.setStatus(NotificationOutbox.Status.PENDING);
+                    row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                }
+            }
+            return gaveUp;
+        });
+
+        int gaveUp = exhausted != null ? exhausted : 0;
+        sentCounter.increment(sent.size());
+        deferredCounter.increment(deferred.size());
+        retriedCounter.increment(failed.size() - gaveUp);
+        failedCounter.increment(gaveUp);
+        if (gaveUp > 0) {
+            log.error("알림 발송 포기 - {}건 (재시도 {}회 초과)", gaveUp, properties.getMaxAttempts());
+        }
+    }
+
+    // 실패 n번째: retryBackoff * 2^(n-1), 최대 maxBackoff
+    Duration backoff(int attempts) {
+        Duration delay = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    // 한 건이면 그대로, 여러 건이면 제목을 나열한 요약 한 통
+    private NotificationSink.Message toMessage(Long userId, List<NotificationOutbox> rows) {
+        List<Long> ids = rows.stream().map(NotificationOutbox::getId).toList();
+        List<NotificationType> types = rows.stream().map(NotificationOutbox::getType).distinct().toList();
+        LocalDateTime createdAt = rows.get(0).getCreatedAt();
+        if (rows.size() == 1) {
+            NotificationOutbox row = rows.get(0);
+            return new NotificationSink.Message(userId, row.getTitle(), row.getBody(), ids, types, createdAt);
+        }
+
+        int shown = Math.min(rows.size(), properties.getDigestMaxLines());
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < shown; i++) {
+            NotificationOutbox row = rows.get(i);
+            body.append("- ").append(row.getTitle()).append(": ").append(row.getBody()).append('\n');
+        }
+        if (rows.size() > shown) {
+            body.append("외 ").append(rows.size() - shown).append("건\n");
+        }
+        return new NotificationSink.Message(userId, "새 알림 " + rows.size() + "건", body.toString().trim(), ids, types, createdAt);
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("peekport.notification.dispatched")
+                .description("알림 발송 결과별 건수")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // 사용자별 고정 구간 발송 횟수
+    private static final class Window {
+        private final LocalDateTime startedAt;
+        private int count;
+
+        Window(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        synchronized boolean tryAcquire(int limit) {
+            if (count >= limit) {
+                return false;
+            }
+            count++;
+            return true;
+        }
+
+        LocalDateTime endsAt(Duration length) {
+            return startedAt.plus(length);
+        }
+
+        boolean expired(LocalDateTime now, Duration length) {
+            return !endsAt(length).isAfter(now);
+        }
+    }
+}
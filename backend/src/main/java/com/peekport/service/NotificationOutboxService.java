@@ -0,0 +1,37 @@
+package com.peekport.service;
+
+import com.peekport.model.NotificationOutbox;
+import com.peekport.model.NotificationType;
+import com.peekport.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 알림 쌓기
+ * 알림을 일으킨 변경과 같은 트랜잭션에서만 호출한다. (롤백되면 알림도 남지 않고, 커밋되면 발송이 보장됨)
+ * 실제 발송은 NotificationDispatcher가 따로 처리하므로 호출한 요청은 발송을 기다리지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+    private static final int TITLE_LENGTH = 100;
+    private static final int BODY_LENGTH = 500;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long userId, NotificationType type, String title, String body) {
+        notificationOutboxRepository.save(new NotificationOutbox(userId, type,
+                truncate(title, TITLE_LENGTH), truncate(body, BODY_LENGTH)));
+    }
+
+    static String truncate(String text, int length) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= length ? text : text.substring(0, length - 1) + "…";
+    }
+}
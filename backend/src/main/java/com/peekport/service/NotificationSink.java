@@ -0,0 +1,25 @@
+package com.peekport.service;
+
+import com.peekport.model.NotificationType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 알림 발송 대상 (peekport.notification.sink로 선택)
+ * 실패하면 예외를 던진다. 같은 메시지가 재시도로 두 번 갈 수 있으므로 ids로 중복을 걸러낼 수 있게 넘긴다.
+ */
+public interface NotificationSink {
+
+    void send(Message message) throws IOException;
+
+    /**
+     * 사용자 한 명에게 보낼 알림 (여러 건이면 한 통으로 묶은 요약)
+     * @param ids 묶인 outbox id
+     * @param types 묶인 알림 종류
+     */
+    record Message(Long userId, String title, String body, List<Long> ids, List<NotificationType> types,
+                   LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.peekport.service;
+
+import com.peekport.exception.VersionConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락 충돌 시 짧은 지터 후 재시도
+ * 시도마다 새 트랜잭션으로 다시 읽고 쓰므로 행 락을 요청 사이에 잡고 있지 않는다.
+ */
+@Component
+@Slf4j
+public class OptimisticLockRetrier {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticLockRetrier(PlatformTransactionManager transactionManager,
+                                 @Value("${peekport.optimistic-lock.max-attempts:3}") int maxAttempts,
+                                 @Value("${peekport.optimistic-lock.backoff-millis:15}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("낙관적 락 재시도 한도 초과 - {}회", attempt);
+                    throw new VersionConflictException("다른 요청과 동시에 수정되어 저장하지 못했습니다. 다시 시도해주세요.");
+                }
+                log.debug("낙관적 락 충돌, 재시도 {}/{}", attempt, maxAttempts);
+                sleepWithJitter(attempt);
+            }
+        }
+    }
+
+    private void sleepWithJitter(int attempt) {
+        long ceiling = backoffMillis << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VersionConflictException("재시도 중 인터럽트되었습니다.");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.peekport.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peekport.dto.AssetState;
+import com.peekport.dto.PortfolioHistoryResponse;
+import com.peekport.dto.PortfolioImage;
+import com.peekport.dto.PortfolioState;
+import com.peekport.exception.HistoryNotFoundException;
+import com.peekport.model.AssetEvent;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioCheckpoint;
+import com.peekport.model.User;
+import com.peekport.repository.AssetEventRepository;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 포트폴리오 과거 시점 조회
+ * at 이전의 가장 가까운 체크포인트를 읽고 그 뒤 at까지의 변경 이벤트만 덮어써 복원한다.
+ * 체크포인트는 이벤트가 checkpoint-every건 쌓인 포트폴리오만 주기적으로 새로 찍으므로, 복원 비용은 최대 그만큼의 이벤트로 묶인다.
+ */
+@Service
+@Slf4j
+public class PortfolioHistoryService {
+
+    private final AssetEventRepository assetEventRepository;
+    private final PortfolioCheckpointRepository checkpointRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int checkpointEvery;
+    private final int pageSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public PortfolioHistoryService(AssetEventRepository assetEventRepository,
+                                   PortfolioCheckpointRepository checkpointRepository,
+                                   GoalAccountRepository goalAccountRepository,
+                                   AssetRepository assetRepository,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${peekport.history.checkpoint-every:100}") int checkpointEvery,
+                                   @Value("${peekport.history.page-size:500}") int pageSize) {
+        this.assetEventRepository = assetEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.goalAccountRepository = goalAccountRepository;
+        this.assetRepository = assetRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointEvery = checkpointEvery;
+        this.pageSize = pageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public PortfolioHistoryResponse getHistory(Long portfolioId, LocalDateTime at, User user) {
+        Optional<PortfolioCheckpoint> checkpoint = checkpointRepository
+                .findFirstByGoalAccountIdAndTakenAtLessThanEqualOrderByTakenAtDescIdDesc(portfolioId, at);
+
+        Long ownerId = checkpoint.map(PortfolioCheckpoint::getUserId)
+                .or(() -> assetEventRepository.findFirstByGoalAccountIdOrderByIdAsc(portfolioId).map(AssetEvent::getUserId))
+                .orElse(null);
+        if (ownerId == null || !ownerId.equals(user.getId())) {
+            throw new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다.");
+        }
+
+        PortfolioReplay replay;
+        long afterId;
+        if (checkpoint.isPresent()) {
+            replay = PortfolioReplay.from(read(checkpoint.get().getPayload(), PortfolioImage.class));
+            afterId = checkpoint.get().getLastEventId();
+        } else {
+            // 체크포인트 전이면 생성 이벤트부터 (기록을 시작하기 전에 만든 포트폴리오는 첫 체크포인트부터 조회 가능)
+            assetEventRepository.findCreation(portfolioId)
+                    .filter(creation -> !creation.getOccurredAt().isAfter(at))
+                    .orElseThrow(() -> new HistoryNotFoundException("해당 시점의 기록이 없습니다."));
+            replay = PortfolioReplay.empty();
+            afterId = 0;
+        }
+
+        for (AssetEvent event : assetEventRepository.findForReplay(portfolioId, afterId, at)) {
+            if (event.getEntityType() == AssetEvent.EntityType.PORTFOLIO) {
+                replay.applyPortfolio(event.getOp(), readState(event, PortfolioState.class));
+            } else {
+                replay.applyAsset(event.getOp(), event.getEntityId(), readState(event, AssetState.class));
+            }
+        }
+        if (!replay.exists()) {
+            throw new HistoryNotFoundException("해당 시점에는 포트폴리오가 없습니다.");
+        }
+
+        PortfolioImage image = replay.image();
+        return new PortfolioHistoryResponse(at, image.getPortfolio(), image.getAssets(),
+                checkpoint.map(PortfolioCheckpoint::getTakenAt).orElse(null), replay.applied());
+    }
+
+    @Scheduled(cron = "${peekport.history.checkpoint-cron:0 20 * * * *}", zone = "Asia/Seoul")
+    public void checkpointScheduled() {
+        checkpoint();
+    }
+
+    /**
+     * 체크포인트가 필요한 포트폴리오마다 현재 상태를 체크포인트로 저장
+     * @return 저장한 체크포인트 수, 이미 실행 중이면 -1
+     */
+    public int checkpoint() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("체크포인트 작업이 이미 실행 중");
+            return -1;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            int saved = 0;
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = assetEventRepository.findCheckpointCandidates(afterId, checkpointEvery, pageSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Long id : ids) {
+                    try {
+                        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> checkpoint(id)))) {
+                            saved++;
+                        }
+                    } catch (RuntimeException e) {
+                        log.error("체크포인트 저장 실패 - ID: {}", id, e);
+                    }
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+            log.info("포트폴리오 체크포인트 완료 - {}건, {}ms", saved, (System.nanoTime() - startedAt) / 1_000_000);
+            return saved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 포트폴리오 행을 잠가 그 사이 커밋되는 변경이 없게 한 뒤 현재 상태와 마지막 이벤트 id를 함께 기록
+    private boolean checkpoint(Long goalAccountId) {
+        Optional<GoalAccount> locked = goalAccountRepository.lockActive(goalAccountId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        Long lastEventId = Objects.requireNonNullElse(assetEventRepository.findMaxId(goalAccountId), 0L);
+        PortfolioState portfolio = goalAccountRepository.findStates(List.of(goalAccountId)).get(0);
+        PortfolioImage image = new PortfolioImage(portfolio, assetRepository.findStatesByGoalAccountId(goalAccountId));
+        checkpointRepository.save(new PortfolioCheckpoint(locked.get().getUser().getId(), goalAccountId,
+                lastEventId, LocalDateTime.now(), write(image)));
+        return true;
+    }
+
+    private <T> T readState(AssetEvent event, Class<T> type) {
+        return event.getPayload() == null ? null : read(event.getPayload(), type);
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("변경 기록을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("체크포인트를 기록할 수 없습니다.", e);
+        }
+    }
+}
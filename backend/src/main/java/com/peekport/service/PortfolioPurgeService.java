@@ -0,0 +1,129 @@
+package com.peekport.service;
+
+import com.peekport.repository.AssetEventRepository;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.AssetTransactionRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioCashFlowRepository;
+import com.peekport.repository.PortfolioCheckpointRepository;
+import com.peekport.repository.PortfolioSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 삭제 표시된 포트폴리오의 실제 행 정리
+ * 종목은 DELETE ... WHERE goal_account_id = ? LIMIT n 으로 묶음마다 짧은 트랜잭션에서 지우고,
+ * 마지막에 포트폴리오 행을 지운다. 엔티티를 읽지 않으므로 종목 수가 늘어도 문장 수만 늘어난다.
+ */
+@Service
+@Slf4j
+public class PortfolioPurgeService {
+
+    private final AssetRepository assetRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final PortfolioSnapshotRepository portfolioSnapshotRepository;
+    private final AssetTransactionRepository assetTransactionRepository;
+    private final PortfolioCashFlowRepository portfolioCashFlowRepository;
+    private final AssetEventRepository assetEventRepository;
+    private final PortfolioCheckpointRepository checkpointRepository;
+    private final ChangeTracker changeTracker;
+    private final int chunkSize;
+
+    public PortfolioPurgeService(AssetRepository assetRepository,
+                                 GoalAccountRepository goalAccountRepository,
+                                 PortfolioSnapshotRepository portfolioSnapshotRepository,
+                                 AssetTransactionRepository assetTransactionRepository,
+                                 PortfolioCashFlowRepository portfolioCashFlowRepository,
+                                 AssetEventRepository assetEventRepository,
+                                 PortfolioCheckpointRepository checkpointRepository,
+                                 ChangeTracker changeTracker,
+                                 @Value("${peekport.portfolio-purge.chunk-size:5000}") int chunkSize) {
+        this.assetRepository = assetRepository;
+        this.goalAccountRepository = goalAccountRepository;
+        this.portfolioSnapshotRepository = portfolioSnapshotRepository;
+        this.assetTransactionRepository = assetTransactionRepository;
+        this.portfolioCashFlowRepository = portfolioCashFlowRepository;
+        this.assetEventRepository = assetEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.changeTracker = changeTracker;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 삭제 표시 (소유자 확인 포함)
+     * 종목별 삭제 기록은 남기지 않고 포트폴리오 삭제 기록 하나로 동기화한다.
+     */
+    @Transactional
+    public boolean markDeleted(Long portfolioId, Long userId) {
+        if (goalAccountRepository.markDeleted(portfolioId, userId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        changeTracker.portfolioDeleted(userId, portfolioId);
+        return true;
+    }
+
+    public void purge(Long portfolioId) {
+        long startedAt = System.nanoTime();
+        long deletedAssets = 0;
+        int deleted;
+        do {
+            deleted = assetRepository.deleteChunkByGoalAccountId(portfolioId, chunkSize);
+            deletedAssets += deleted;
+        } while (deleted == chunkSize);
+
+        do {
+            deleted = assetTransactionRepository.deleteChunkByGoalAccountId(portfolioId, chunkSize);
+        } while (deleted == chunkSize);
+
+        do {
+            deleted = portfolioCashFlowRepository.deleteChunkByGoalAccountId(portfolioId, chunkSize);
+        } while (deleted == chunkSize);
+
+        do {
+            deleted = portfolioSnapshotRepository.deleteChunkByGoalAccountId(portfolioId, chunkSize);
+        } while (deleted == chunkSize);
+
+        // 삭제한 포트폴리오의 과거 시점 기록도 함께 정리
+        do {
+            deleted = assetEventRepository.deleteChunkByGoalAccountId(portfolioId, chunkSize);
+        } while (deleted == chunkSize);
+        checkpointRepository.deleteByGoalAccountId(portfolioId);
+
+        goalAccountRepository.deleteMarked(portfolioId);
+
+        log.info("포트폴리오 정리 완료 - ID: {}, 종목 {}건, {}ms",
+                portfolioId, deletedAssets, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Async("purgeExecutor")
+    public void purgeAsync(Long portfolioId) {
+        try {
+            purge(portfolioId);
+        } catch (Exception e) {
+            // 삭제 표시는 남아 있으므로 sweepAbandoned가 다시 처리한다
+            log.error("포트폴리오 비동기 정리 실패 - ID: {}", portfolioId, e);
+        }
+    }
+
+    // 삭제 표시만 남고 정리되지 않은 포트폴리오 재처리
+    @Scheduled(initialDelayString = "${peekport.portfolio-purge.sweep-initial-delay-millis:60000}",
+            fixedDelayString = "${peekport.portfolio-purge.sweep-interval-millis:600000}")
+    public void sweepAbandoned() {
+        List<Long> ids = goalAccountRepository.findDeletedIds(PageRequest.of(0, 100));
+        for (Long id : ids) {
+            try {
+                purge(id);
+            } catch (Exception e) {
+                log.error("포트폴리오 정리 재처리 실패 - ID: {}", id, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetState;
+import com.peekport.dto.PortfolioImage;
+import com.peekport.dto.PortfolioState;
+import com.peekport.model.AssetEvent;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 체크포인트(또는 빈 상태)에 변경 이벤트를 순서대로 덮어써 과거 시점 상태를 만든다.
+ * 이벤트에는 변경 후 전체 상태가 들어 있으므로 CREATE/UPDATE는 교체, DELETE는 제거다.
+ */
+final class PortfolioReplay {
+
+    private PortfolioState portfolio;
+    private boolean deleted;
+    private final Map<Long, AssetState> assets = new TreeMap<>();
+    private int applied;
+
+    static PortfolioReplay empty() {
+        return new PortfolioReplay();
+    }
+
+    static PortfolioReplay from(PortfolioImage image) {
+        PortfolioReplay replay = new PortfolioReplay();
+        replay.portfolio = image.getPortfolio();
+        if (image.getAssets() != null) {
+            image.getAssets().forEach(asset -> replay.assets.put(asset.getId(), asset));
+        }
+        return replay;
+    }
+
+    void applyPortfolio(AssetEvent.Op op, PortfolioState state) {
+        applied++;
+        if (op == AssetEvent.Op.DELETE) {
+            deleted = true;
+            return;
+        }
+        portfolio = state;
+        deleted = false;
+    }
+
+    void applyAsset(AssetEvent.Op op, Long assetId, AssetState state) {
+        applied++;
+        if (op == AssetEvent.Op.DELETE) {
+            assets.remove(assetId);
+        } else {
+            assets.put(assetId, state);
+        }
+    }
+
+    // 그 시점에 포트폴리오가 있었는지 (생성 전이거나 삭제된 뒤면 false)
+    boolean exists() {
+        return portfolio != null && !deleted;
+    }
+
+    PortfolioImage image() {
+        return new PortfolioImage(portfolio, new ArrayList<>(assets.values()));
+    }
+
+    int applied() {
+        return applied;
+    }
+}
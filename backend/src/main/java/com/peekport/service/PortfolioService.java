@@ -1,39 +1,83 @@
 package com.peekport.service;
 
+import com.peekport.dto.CurrencyAmount;
 import com.peekport.dto.GoalAccountRequest;
 import com.peekport.dto.GoalAccountResponse;
+import com.peekport.exception.InvalidAdjustmentException;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.exception.VersionConflictException;
 import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioCashFlow;
 import com.peekport.model.PortfolioType;
 import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
 import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioCashFlowRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.nio.file.AccessDeniedException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
+@Timed("peekport.service")
 public class PortfolioService {
 
     private final GoalAccountRepository goalAccountRepository;
     private final AssetService assetService;
-
-    public PortfolioService(GoalAccountRepository goalAccountRepository, AssetService assetService) {
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final PortfolioPurgeService portfolioPurgeService;
+    private final ChangeTracker changeTracker;
+    private final PortfolioCashFlowRepository portfolioCashFlowRepository;
+    private final FxRateService fxRateService;
+    private final AssetRepository assetRepository;
+    private final FanOut fanOut;
+
+    public PortfolioService(GoalAccountRepository goalAccountRepository,
+                            AssetService assetService,
+                            OptimisticLockRetrier optimisticLockRetrier,
+                            PortfolioPurgeService portfolioPurgeService,
+                            ChangeTracker changeTracker,
+                            PortfolioCashFlowRepository portfolioCashFlowRepository,
+                            FxRateService fxRateService,
+                            AssetRepository assetRepository,
+                            FanOut fanOut) {
         this.goalAccountRepository = goalAccountRepository;
         this.assetService = assetService;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.portfolioPurgeService = portfolioPurgeService;
+        this.changeTracker = changeTracker;
+        this.portfolioCashFlowRepository = portfolioCashFlowRepository;
+        this.fxRateService = fxRateService;
+        this.assetRepository = assetRepository;
+        this.fanOut = fanOut;
     }
 
     // 포트폴리오 조회 메서드
+    @Transactional(readOnly = true)
     public List<GoalAccount> getPortfoliosByUserId(Long userId) {
         return goalAccountRepository.findByUserId(userId);
     }
 
     // 포트폴리오 등록 메서드
+    @Transactional
     public GoalAccount savePortfolio(GoalAccount portfolio, User user) {
         portfolio.setUser(user);
-        return goalAccountRepository.save(portfolio);
+        if (portfolio.getId() == null) {
+            changeTracker.newPortfolio(portfolio);
+            return goalAccountRepository.save(portfolio);
+        }
+        GoalAccount saved = goalAccountRepository.save(portfolio);
+        changeTracker.portfolioUpdated(user.getId(), saved.getId());
+        return saved;
     }
 
+    @Transactional
     public GoalAccountResponse createPortfolio(GoalAccountRequest request, User user) {
         GoalAccount portfolio = new GoalAccount();
         portfolio.setUser(user);
@@ -44,78 +88,157 @@ public class PortfolioService {
         portfolio.setPortfolioType(
                 request.getPortfolioType() != null ? request.getPortfolioType() : PortfolioType.BALANCED
         );
+        portfolio.setCurrency(baseCurrencyOf(request));
 
+        changeTracker.newPortfolio(portfolio);
         GoalAccount saved = goalAccountRepository.save(portfolio);
+        recordCashFlow(saved.getId(), saved.getCash());
         BigDecimal calculatedTotal = assetService.calculateTotalAssets(saved);
 
-        return new GoalAccountResponse(
-                saved.getId(),
-                saved.getName(),
-                calculatedTotal,        // ✅ 계산된 총 자산 사용
-                saved.getTargetAmount(),
-                saved.getCash(),
-                saved.getPortfolioType()
-        );
+        return toResponse(saved, calculatedTotal); // ✅ 계산된 총 자산 사용
     }
 
+    // 포트폴리오와 종목은 서로 필요 없이 사용자로 바로 읽을 수 있어 동시에 조회
+    // 작업 안에서 응답 DTO와 포트폴리오별 통화별 평가액으로 바꿔 엔티티는 작업 트랜잭션 밖으로 내보내지 않음
     public List<GoalAccountResponse> getPortfoliosByUser(User user) {
-        List<GoalAccount> list = goalAccountRepository.findByUser(user);
-        return list.stream()
-                .map(p -> {
-                    BigDecimal calculatedTotal = assetService.calculateTotalAssets(p);
-                    return new GoalAccountResponse(
-                            p.getId(),
-                            p.getName(),
-                            calculatedTotal,        // ✅ 계산된 총 자산 사용
-                            p.getTargetAmount(),
-                            p.getCash(),
-                            p.getPortfolioType()
-                    );
-                })
-                .toList();
+        List<GoalAccountResponse> list;
+        Map<Long, List<CurrencyAmount>> values;
+        try (FanOut.Scope scope = fanOut.open()) {
+            Supplier<List<GoalAccountResponse>> portfolios = scope.fork(() -> goalAccountRepository.findByUser(user).stream()
+                    .map(p -> toResponse(p, null))
+                    .toList());
+            Supplier<Map<Long, List<CurrencyAmount>>> marketValues = scope.fork(() ->
+                    assetService.marketValuesByPortfolio(assetRepository.findByUser(user)));
+            scope.join();
+            list = portfolios.get();
+            values = marketValues.get();
+        }
+
+        FxRates fx = fxRateService.current();
+        for (GoalAccountResponse portfolio : list) {
+            portfolio.setTotalAmount(assetService.totalOf(portfolio, values.getOrDefault(portfolio.getId(), List.of()), fx)); // ✅ 계산된 총 자산 사용
+        }
+        return list;
     }
 
-    public GoalAccountResponse updateCash(Long portfolioId, BigDecimal cash, User user) throws AccessDeniedException {
-        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
-                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+    /**
+     * 현금 잔액 덮어쓰기
+     * expectedVersion이 오면 그 버전일 때만 저장하고, 낙관적 락 충돌은 짧게 재시도한다.
+     */
+    public GoalAccountResponse updateCash(Long portfolioId, BigDecimal cash, Long expectedVersion, User user) {
+        return optimisticLockRetrier.execute(() -> {
+            GoalAccount goal = findOwned(portfolioId, user);
+            checkVersion(goal, expectedVersion);
+
+            BigDecimal previous = goal.getCash();
+            goal.setCash(cash);
+            GoalAccount updated = goalAccountRepository.saveAndFlush(goal);
+            recordCashFlow(updated.getId(), cash.subtract(previous));
+            changeTracker.portfolioUpdated(user.getId(), updated.getId());
+            BigDecimal calculatedTotal = assetService.calculateTotalAssets(updated); // ✅ 자동 계산
+
+            return toResponse(updated, calculatedTotal);
+        });
+    }
 
-        goal.setCash(cash);
-        GoalAccount updated = goalAccountRepository.save(goal);
-        BigDecimal calculatedTotal = assetService.calculateTotalAssets(updated); // ✅ 자동 계산
-
-        return new GoalAccountResponse(
-                updated.getId(),
-                updated.getName(),
-                calculatedTotal,        // ✅ 계산된 총 자산 사용
-                updated.getTargetAmount(),
-                updated.getCash(),
-                updated.getPortfolioType()
-        );
+    /**
+     * 현금 증감 (cash += delta)
+     * 읽지 않고 UPDATE 한 번으로 처리하므로 동시 요청끼리 덮어쓰지 않는다.
+     */
+    @Transactional
+    public GoalAccountResponse adjustCash(Long portfolioId, BigDecimal delta, User user) {
+        if (delta == null) {
+            throw new InvalidAdjustmentException("증감액이 필요합니다.");
+        }
+
+        int updated = goalAccountRepository.addCash(portfolioId, user.getId(), delta, LocalDateTime.now());
+        if (updated == 0) {
+            findOwned(portfolioId, user);
+            throw new InvalidAdjustmentException("현금 잔액이 부족합니다.");
+        }
+        changeTracker.portfolioUpdated(user.getId(), portfolioId);
+        recordCashFlow(portfolioId, delta);
+
+        GoalAccount goal = findOwned(portfolioId, user);
+        return toResponse(goal, assetService.calculateTotalAssets(goal));
     }
 
-    public GoalAccountResponse updateTargetAmount(Long portfolioId, Long newTargetAmount, User user) throws AccessDeniedException {
-        GoalAccount account = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
-                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+    public GoalAccountResponse updateTargetAmount(Long portfolioId, Long newTargetAmount, User user) {
+        return optimisticLockRetrier.execute(() -> {
+            GoalAccount account = findOwned(portfolioId, user);
 
-        account.setTargetAmount(newTargetAmount);
-        goalAccountRepository.save(account);
+            account.setTargetAmount(newTargetAmount);
+            goalAccountRepository.saveAndFlush(account);
+            changeTracker.portfolioUpdated(user.getId(), account.getId());
 
-        return new GoalAccountResponse(
-                account.getId(),
-                account.getName(),
-                account.getTotalAmount(),
-                account.getTargetAmount(),
-                account.getCash(),
-                account.getPortfolioType()
-        );
+            return toResponse(account, account.getTotalAmount());
+        });
     }
 
-    // 포트폴리오 삭제 메서드 추가
-    public void deletePortfolio(Long portfolioId, User user) throws AccessDeniedException {
-        GoalAccount portfolio = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+    // 리밸런싱 필요 알림 켜기/끄기 (끄면 마지막 알림 기록도 같은 트랜잭션에서 지움)
+    public GoalAccountResponse updateRebalancingAlert(Long portfolioId, boolean enabled, User user) {
+        return optimisticLockRetrier.execute(() -> {
+            GoalAccount account = findOwned(portfolioId, user);
+
+            account.setRebalancingAlert(enabled);
+            if (!enabled) {
+                account.setRebalancingNotifiedAt(null);
+            }
+            goalAccountRepository.saveAndFlush(account);
+            changeTracker.portfolioUpdated(user.getId(), account.getId());
+
+            return toResponse(account, account.getTotalAmount());
+        });
+    }
+
+    /**
+     * 포트폴리오 삭제
+     * 먼저 삭제 표시를 커밋해 바로 조회에서 빠지게 하고, 종목 행은 묶음 단위 bulk DELETE로 정리한다.
+     * async=true면 정리는 백그라운드에서 진행된다.
+     */
+    public void deletePortfolio(Long portfolioId, User user, boolean async) {
+        if (!portfolioPurgeService.markDeleted(portfolioId, user.getId())) {
+            throw new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다.");
+        }
+
+        if (async) {
+            portfolioPurgeService.purgeAsync(portfolioId);
+        } else {
+            portfolioPurgeService.purge(portfolioId);
+        }
+    }
+
+    // 기준 통화 (환율이 등록된 통화만, 없으면 원화)
+    private String baseCurrencyOf(GoalAccountRequest request) {
+        String currency = FxRates.normalize(request.getCurrency());
+        if (currency == null) {
+            return FxRates.BASE;
+        }
+        if (!fxRateService.current().supports(currency)) {
+            throw new InvalidRequestException("환율이 등록되지 않은 통화입니다: " + currency);
+        }
+        return currency;
+    }
+
+    // 현금 입출금 기록 (수익률 계산의 외부 자금 흐름)
+    private void recordCashFlow(Long portfolioId, BigDecimal amount) {
+        if (amount != null && amount.signum() != 0) {
+            portfolioCashFlowRepository.save(new PortfolioCashFlow(portfolioId, amount));
+        }
+    }
+
+    private GoalAccount findOwned(Long portfolioId, User user) {
+        return goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
                 .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+    }
+
+    private void checkVersion(GoalAccount goal, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(goal.getVersion())) {
+            throw new VersionConflictException("다른 곳에서 먼저 수정되었습니다. 새로고침 후 다시 시도해주세요.");
+        }
+    }
 
-        // 포트폴리오와 관련된 모든 자산 데이터도 함께 삭제됨 (cascade 설정에 따라)
-        goalAccountRepository.delete(portfolio);
+    private GoalAccountResponse toResponse(GoalAccount goal, BigDecimal totalAmount) {
+        return new GoalAccountResponse(goal, totalAmount);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.peekport.service;
+
+import com.peekport.dto.PortfolioSnapshotResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.User;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 포트폴리오 일별 스냅샷
+ * 포트폴리오 id를 keyset으로 page-size개씩 끊고, 구간마다 INSERT ... SELECT 한 문장으로 집계/적재한다.
+ * 구간마다 짧은 트랜잭션이라 중간에 실패해도 다시 돌리면 같은 결과가 된다.
+ */
+@Service
+@Slf4j
+public class PortfolioSnapshotService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final long MAX_RANGE_DAYS = 366 * 5;
+
+    private final PortfolioSnapshotRepository snapshotRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public PortfolioSnapshotService(PortfolioSnapshotRepository snapshotRepository,
+                                    GoalAccountRepository goalAccountRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${peekport.snapshot.page-size:2000}") int pageSize) {
+        this.snapshotRepository = snapshotRepository;
+        this.goalAccountRepository = goalAccountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(cron = "${peekport.snapshot.cron:0 50 23 * * *}", zone = "Asia/Seoul")
+    public void snapshotToday() {
+        snapshot(LocalDate.now(ZONE));
+    }
+
+    /**
+     * 지정한 날짜로 전체 포트폴리오 스냅샷 (같은 날짜를 다시 돌리면 덮어씀)
+     * @return 적재한 행 수, 이미 실행 중이면 -1
+     */
+    public long snapshot(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("스냅샷 작업이 이미 실행 중 - {}", date);
+            return -1;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            long rows = 0;
+            int pages = 0;
+            long afterId = 0;
+
+            while (true) {
+                List<Long> ids = goalAccountRepository.findIdsAfter(afterId, PageRequest.of(0, pageSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Long fromId = ids.get(0);
+                Long toId = ids.get(ids.size() - 1);
+                Integer inserted = transactionTemplate.execute(status -> {
+                    snapshotRepository.deleteRange(date, fromId, toId);
+                    return snapshotRepository.insertRange(date, fromId, toId);
+                });
+                rows += inserted != null ? inserted : 0;
+                pages++;
+                afterId = toId;
+            }
+
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            log.info("포트폴리오 스냅샷 완료 - {}, {}건, 구간 {}개, {}ms", date, rows, pages, elapsedMillis);
+            return rows;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<PortfolioSnapshotResponse> getSnapshots(Long portfolioId, LocalDate from, LocalDate to, User user) {
+        goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+
+        LocalDate end = to != null ? to : LocalDate.now(ZONE);
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            throw new InvalidRequestException("조회 기간이 올바르지 않습니다. (최대 5년)");
+        }
+
+        return snapshotRepository.findByGoalAccountIdAndSnapshotDateBetweenOrderBySnapshotDate(portfolioId, start, end)
+                .stream()
+                .map(PortfolioSnapshotResponse::new)
+                .toList();
+    }
+}
@@ -0,0 +1,265 @@
+package com.peekport.service;
+
+import com.peekport.model.PriceAlert;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 티커별 가격 알림 기준가 색인
+ * 방향별로 (기준가, 알림 id)를 기본형 배열에 정렬해 두고, 가격이 들어오면 이진 탐색으로 넘어선 구간만 잘라낸다.
+ * - BELOW: 기준가 오름차순. 가격 p 이하로 내려가면 기준가 >= p 인 뒤쪽 구간이 모두 발동
+ * - ABOVE: -기준가 오름차순(기준가 내림차순). 기준가 <= p 인 뒤쪽 구간이 모두 발동
+ * 발동 구간이 항상 배열 끝이라 제거는 크기만 줄이면 되고, 가격 한 건 처리는 O(log n + 발동 수)다.
+ * 알림 한 건은 배열 원소 16바이트(double + long)만 쓴다.
+ */
+final class PriceAlertIndex {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final Map<String, Book> books = new ConcurrentHashMap<>();
+
+    // 같은 알림을 두 번 넣어도 한 번만 들어감 (재적재 중 커밋된 알림 등)
+    void add(String ticker, PriceAlert.Direction direction, double threshold, long id) {
+        Book book = books.computeIfAbsent(ticker, t -> new Book());
+        synchronized (book) {
+            book.side(direction).add(key(direction, threshold), id);
+        }
+    }
+
+    boolean remove(String ticker, PriceAlert.Direction direction, double threshold, long id) {
+        Book book = books.get(ticker);
+        if (book == null) {
+            return false;
+        }
+        synchronized (book) {
+            return book.side(direction).remove(key(direction, threshold), id);
+        }
+    }
+
+    /**
+     * 가격 p가 넘어선 알림을 색인에서 빼고 id를 돌려준다.
+     */
+    long[] fire(String ticker, double price) {
+        Book book = books.get(ticker);
+        if (book == null) {
+            return new long[0];
+        }
+        synchronized (book) {
+            long[] below = book.below.cutFrom(price);
+            long[] above = book.above.cutFrom(-price);
+            if (below.length == 0) {
+                return above;
+            }
+            if (above.length == 0) {
+                return below;
+            }
+            long[] fired = Arrays.copyOf(below, below.length + above.length);
+            System.arraycopy(above, 0, fired, below.length, above.length);
+            return fired;
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Book book : books.values()) {
+            synchronized (book) {
+                size += book.below.size + book.above.size;
+            }
+        }
+        return size;
+    }
+
+    int tickerCount() {
+        return books.size();
+    }
+
+    // 배열이 차지하는 바이트 (여유 용량 포함, 객체 헤더 제외)
+    long arrayBytes() {
+        long bytes = 0;
+        for (Book book : books.values()) {
+            synchronized (book) {
+                bytes += book.below.capacityBytes() + book.above.capacityBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // 적재 후 한 번 정렬 (순서 없이 append로 채운 경우)
+    void sortAll() {
+        for (Book book : books.values()) {
+            synchronized (book) {
+                book.below.sort();
+                book.above.sort();
+            }
+        }
+    }
+
+    // 적재용: 정렬 없이 끝에 붙임 (끝나면 sortAll 호출)
+    void append(String ticker, PriceAlert.Direction direction, double threshold, long id) {
+        Book book = books.computeIfAbsent(ticker, t -> new Book());
+        synchronized (book) {
+            book.side(direction).append(key(direction, threshold), id);
+        }
+    }
+
+    private static double key(PriceAlert.Direction direction, double threshold) {
+        return direction == PriceAlert.Direction.ABOVE ? -threshold : threshold;
+    }
+
+    private static final class Book {
+        private final Side below = new Side();
+        private final Side above = new Side();
+
+        Side side(PriceAlert.Direction direction) {
+            return direction == PriceAlert.Direction.ABOVE ? above : below;
+        }
+    }
+
+    /**
+     * 키 오름차순 (키, id) 배열
+     */
+    static final class Side {
+        private double[] keys = new double[INITIAL_CAPACITY];
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void add(double key, long id) {
+            int at = upperBound(key);
+            // 같은 키 구간에서 중복 확인
+            for (int i = at - 1; i >= 0 && keys[i] == key; i--) {
+                if (ids[i] == id) {
+                    return;
+                }
+            }
+            ensureCapacity(size + 1);
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            keys[at] = key;
+            ids[at] = id;
+            size++;
+        }
+
+        void append(double key, long id) {
+            ensureCapacity(size + 1);
+            keys[size] = key;
+            ids[size] = id;
+            size++;
+        }
+
+        boolean remove(double key, long id) {
+            for (int i = lowerBound(key); i < size && keys[i] == key; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                    System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                    size--;
+                    shrinkIfSparse();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // key 이상인 뒤쪽 구간을 잘라 id 반환
+        long[] cutFrom(double key) {
+            int from = lowerBound(key);
+            if (from == size) {
+                return new long[0];
+            }
+            long[] cut = Arrays.copyOfRange(ids, from, size);
+            size = from;
+            shrinkIfSparse();
+            return cut;
+        }
+
+        // 첫 번째 keys[i] >= key
+        private int lowerBound(double key) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // 첫 번째 keys[i] > key
+        private int upperBound(double key) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private void ensureCapacity(int needed) {
+            if (needed > keys.length) {
+                int capacity = Math.max(needed, keys.length * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+        }
+
+        private void shrinkIfSparse() {
+            if (keys.length > INITIAL_CAPACITY && size < keys.length / 4) {
+                int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+        }
+
+        long capacityBytes() {
+            return (long) keys.length * Double.BYTES + (long) ids.length * Long.BYTES;
+        }
+
+        // (키, id) 병합 정렬
+        void sort() {
+            if (size < 2 || isSorted()) {
+                return;
+            }
+            double[] keyBuffer = new double[size];
+            long[] idBuffer = new long[size];
+            for (int width = 1; width < size; width *= 2) {
+                for (int lo = 0; lo < size - width; lo += 2 * width) {
+                    merge(lo, lo + width, Math.min(lo + 2 * width, size), keyBuffer, idBuffer);
+                }
+            }
+        }
+
+        private boolean isSorted() {
+            for (int i = 1; i < size; i++) {
+                if (keys[i - 1] > keys[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void merge(int lo, int mid, int hi, double[] keyBuffer, long[] idBuffer) {
+            System.arraycopy(keys, lo, keyBuffer, lo, hi - lo);
+            System.arraycopy(ids, lo, idBuffer, lo, hi - lo);
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (j >= hi || (i < mid && keyBuffer[i] <= keyBuffer[j])) {
+                    keys[k] = keyBuffer[i];
+                    ids[k] = idBuffer[i++];
+                } else {
+                    keys[k] = keyBuffer[j];
+                    ids[k] = idBuffer[j++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.peekport.service;
+
+import com.peekport.dto.PriceAlertIndexResponse;
+import com.peekport.dto.PriceAlertRequest;
+import com.peekport.dto.PriceAlertResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.NotificationType;
+import com.peekport.model.PriceAlert;
+import com.peekport.model.User;
+import com.peekport.repository.PriceAlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 가격 알림 등록/발동
+ * 활성 알림은 시작할 때 PriceAlertIndex로 올려 두고, 등록/삭제는 커밋 후 색인에 반영한다.
+ * 가격이 들어오면 색인에서 넘어선 알림만 꺼내고(O(log n + 발동 수)), 새 트랜잭션에서 행을 잠가 발동 처리하면서 알림(outbox)을 쌓는다.
+ * 색인은 서버별 메모리라 다른 서버에서 등록한 알림은 재적재(reload) 때 반영된다.
+ */
+@Service
+@Slf4j
+public class PriceAlertService {
+
+    private static final int FIRE_CHUNK = 1000;
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final TransactionTemplate newTransaction;
+    private final int maxPerUser;
+    private final int loadPageSize;
+
+    // 색인 교체 순간에만 변경/발동을 막음 (교체 전 기록한 변경을 새 색인에 다시 적용하는 동안)
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile PriceAlertIndex index = new PriceAlertIndex();
+    // 재적재 중 기존 색인에 반영한 변경 (재적재 중이 아니면 null)
+    private volatile Queue<Function<PriceAlertIndex, Fired>> pending;
+
+    public PriceAlertService(PriceAlertRepository priceAlertRepository,
+                             NotificationOutboxService notificationOutboxService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${peekport.alerts.max-per-user:100}") int maxPerUser,
+                             @Value("${peekport.alerts.load-page-size:5000}") int loadPageSize) {
+        this.priceAlertRepository = priceAlertRepository;
+        this.notificationOutboxService = notificationOutboxService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxPerUser = maxPerUser;
+        this.loadPageSize = loadPageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * 활성 알림 전체를 다시 읽어 색인을 교체
+     * 적재는 잠금 없이 하고(그동안 등록/삭제/발동은 기존 색인에 반영하면서 기록), 교체할 때만 잠가 기록한 변경을 새 색인에 다시 적용한다.
+     * @return 적재한 알림 수
+     */
+    public int reload() {
+        reloadLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            Queue<Function<PriceAlertIndex, Fired>> journal = new ConcurrentLinkedQueue<>();
+            swapLock.writeLock().lock();
+            try {
+                pending = journal;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            PriceAlertIndex loaded;
+            List<Fired> refired = new ArrayList<>();
+            try {
+                loaded = load();
+                swapLock.writeLock().lock();
+                try {
+                    for (Function<PriceAlertIndex, Fired> change : journal) {
+                        Fired fired = change.apply(loaded);
+                        if (fired != null) {
+                            refired.add(fired);
+                        }
+                    }
+                    index = loaded;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            } finally {
+                pending = null;
+            }
+
+            int count = loaded.size();
+            log.info("가격 알림 색인 적재 - {}건, 티커 {}개, 적재 중 변경 {}건, {}ms",
+                    count, loaded.tickerCount(), journal.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            // 적재 중 들어온 가격에 새 색인에서 걸린 알림 (이미 발동 처리된 알림은 markTriggered에서 빠짐)
+            trigger(refired);
+            return count;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private PriceAlertIndex load() {
+        PriceAlertIndex loaded = new PriceAlertIndex();
+        long afterId = 0;
+        while (true) {
+            List<PriceAlert> page = priceAlertRepository.findActiveAfter(afterId, PageRequest.of(0, loadPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (PriceAlert alert : page) {
+                loaded.append(alert.getTicker(), alert.getDirection(), alert.getThreshold().doubleValue(), alert.getId());
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        loaded.sortAll();
+        return loaded;
+    }
+
+    public PriceAlertIndexResponse getIndexStatus() {
+        PriceAlertIndex current = index;
+        return new PriceAlertIndexResponse(current.size(), current.tickerCount(), current.arrayBytes());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceAlertResponse> getAlerts(User user) {
+        return priceAlertRepository.findByUserIdOrderByIdDesc(user.getId()).stream()
+                .map(PriceAlertResponse::new)
+                .toList();
+    }
+
+    @Transactional
+    public PriceAlertResponse create(PriceAlertRequest request, User user) {
+        String ticker = request.getTicker() != null ? request.getTicker().trim() : "";
+        if (ticker.isEmpty() || ticker.length() > 20) {
+            throw new InvalidRequestException("티커가 올바르지 않습니다.");
+        }
+        if (request.getDirection() == null) {
+            throw new InvalidRequestException("알림 방향(BELOW/ABOVE)이 필요합니다.");
+        }
+        if (request.getThreshold() == null || request.getThreshold().signum() <= 0) {
+            throw new InvalidRequestException("기준가는 0보다 커야 합니다.");
+        }
+        if (priceAlertRepository.countByUserIdAndActiveTrue(user.getId()) >= maxPerUser) {
+            throw new InvalidRequestException("활성 알림은 " + maxPerUser + "개까지 등록할 수 있습니다.");
+        }
+
+        PriceAlert alert = new PriceAlert();
+        alert.setUserId(user.getId());
+        alert.setTicker(ticker);
+        alert.setDirection(request.getDirection());
+        alert.setThreshold(request.getThreshold());
+        alert.setMemo(request.getMemo());
+        PriceAlert saved = priceAlertRepository.save(alert);
+
+        afterCommit(() -> withIndex(i -> i.add(saved.getTicker(), saved.getDirection(),
+                saved.getThreshold().doubleValue(), saved.getId())));
+        return new PriceAlertResponse(saved);
+    }
+
+    @Transactional
+    public void delete(Long alertId, User user) {
+        PriceAlert alert = priceAlertRepository.findByIdAndUserId(alertId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 알림에 접근할 수 없습니다."));
+        priceAlertRepository.delete(alert);
+        if (alert.isActive()) {
+            afterCommit(() -> withIndex(i -> i.remove(alert.getTicker(), alert.getDirection(),
+                    alert.getThreshold().doubleValue(), alert.getId())));
+        }
+    }
+
+    /**
+     * 가격 확인 (티커 → 최신 가격)
+     * 호출자의 트랜잭션과 무관하게 발동 처리는 새 트랜잭션에서 커밋된다.
+     * @return 발동한 알림 수
+     */
+    public int onPrices(Map<String, BigDecimal> prices) {
+        List<Fired> fired = new ArrayList<>();
+        prices.forEach((ticker, price) -> {
+            Fired f = apply(i -> fire(i, ticker, price));
+            if (f != null) {
+                fired.add(f);
+            }
+        });
+        return trigger(fired);
+    }
+
+    private int trigger(List<Fired> fired) {
+        if (fired.isEmpty()) {
+            return 0;
+        }
+
+        int triggered = 0;
+        for (Fired f : fired) {
+            for (int from = 0; from < f.ids.length; from += FIRE_CHUNK) {
+                List<Long> chunk = Arrays.stream(f.ids, from, Math.min(from + FIRE_CHUNK, f.ids.length)).boxed().toList();
+                try {
+                    Integer done = newTransaction.execute(status -> markTriggered(chunk, f.price));
+                    triggered += done != null ? done : 0;
+                } catch (RuntimeException e) {
+                    // 색인에서는 이미 빠졌으므로 재적재 전까지 다시 발동하지 않음
+                    log.error("가격 알림 발동 기록 실패 - {} {}건", f.ticker, chunk.size(), e);
+                }
+            }
+        }
+        log.info("가격 알림 발동 - 티커 {}개, {}건", fired.size(), triggered);
+        return triggered;
+    }
+
+    private static Fired fire(PriceAlertIndex index, String ticker, BigDecimal price) {
+        long[] ids = index.fire(ticker, price.doubleValue());
+        return ids.length > 0 ? new Fired(ticker, price, ids) : null;
+    }
+
+    private int markTriggered(List<Long> ids, BigDecimal price) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PriceAlert> alerts = priceAlertRepository.lockActive(ids);
+        for (PriceAlert alert : alerts) {
+            alert.setActive(false);
+            alert.setTriggeredPrice(price);
+            alert.setTriggeredAt(now);
+            notificationOutboxService.enqueue(alert.getUserId(), NotificationType.PRICE_ALERT,
+                    alert.getTicker() + " 가격 알림", describe(alert, price));
+        }
+        return alerts.size();
+    }
+
+    // 예: "AAPL 215 - 기준가 210 이상 도달 (메모)"
+    private static String describe(PriceAlert alert, BigDecimal price) {
+        String condition = alert.getDirection() == PriceAlert.Direction.ABOVE ? "이상" : "이하";
+        String text = alert.getTicker() + " " + price.stripTrailingZeros().toPlainString()
+                + " - 기준가 " + alert.getThreshold().stripTrailingZeros().toPlainString() + " " + condition + " 도달";
+        return alert.getMemo() == null || alert.getMemo().isBlank() ? text : text + " (" + alert.getMemo() + ")";
+    }
+
+    private void withIndex(Consumer<PriceAlertIndex> change) {
+        apply(i -> {
+            change.accept(i);
+            return null;
+        });
+    }
+
+    // 재적재 중이면 변경을 기록해 두었다가 새 색인에도 적용
+    private Fired apply(Function<PriceAlertIndex, Fired> change) {
+        swapLock.readLock().lock();
+        try {
+            Queue<Function<PriceAlertIndex, Fired>> journal = pending;
+            if (journal != null) {
+                journal.add(change);
+            }
+            return change.apply(index);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Fired(String ticker, BigDecimal price, long[] ids) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.peekport.service;
+
+import com.peekport.dto.PriceHistoryImportRequest;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.PriceHistoryVersion;
+import com.peekport.repository.PriceHistoryVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 일별 종가 적재
+ * (티커, 거래일) 기준 upsert를 JDBC batch로 묶어 보낸다. (MySQL은 rewriteBatchedStatements로 한 문장이 됨)
+ * 적재/수정하는 트랜잭션에서 DB 버전(price_history_version)을 함께 올려 가격 이력으로 계산한 캐시가 다시 계산되게 하고,
+ * 다른 서버에서 올린 버전은 주기적으로 읽어 반영한다. (peekport.price-history.refresh-interval-ms)
+ * 최근 종가는 가격 알림 확인에도 넘긴다. (과거 이력 보정으로 알림이 발동하지 않도록 peekport.alerts.max-price-age-days 이내만)
+ */
+@Service
+@Slf4j
+public class PriceHistoryService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String UPSERT =
+            "INSERT INTO price_history (ticker, trade_date, close_price) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE close_price = VALUES(close_price)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceHistoryVersionRepository priceHistoryVersionRepository;
+    private final PriceAlertService priceAlertService;
+    private final int batchSize;
+    private final int maxPriceAgeDays;
+    private final AtomicLong version = new AtomicLong(1);
+
+    public PriceHistoryService(JdbcTemplate jdbcTemplate,
+                               PriceHistoryVersionRepository priceHistoryVersionRepository,
+                               PriceAlertService priceAlertService,
+                               @Value("${peekport.price-history.batch-size:1000}") int batchSize,
+                               @Value("${peekport.alerts.max-price-age-days:5}") int maxPriceAgeDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.priceHistoryVersionRepository = priceHistoryVersionRepository;
+        this.priceAlertService = priceAlertService;
+        this.batchSize = batchSize;
+        this.maxPriceAgeDays = maxPriceAgeDays;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (priceHistoryVersionRepository.findVersion() == null) {
+            try {
+                priceHistoryVersionRepository.saveAndFlush(new PriceHistoryVersion(1));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("가격 이력 버전 행은 다른 서버가 먼저 만듦");
+            }
+        }
+        refresh();
+    }
+
+    // 다른 서버에서 적재/수정해 올린 버전 반영
+    @Scheduled(initialDelayString = "${peekport.price-history.refresh-interval-ms:60000}",
+            fixedDelayString = "${peekport.price-history.refresh-interval-ms:60000}")
+    public void refresh() {
+        Long stored = priceHistoryVersionRepository.findVersion();
+        if (stored != null && advance(stored)) {
+            log.info("가격 이력 버전 갱신 - {}", stored);
+        }
+    }
+
+    // 종가를 직접 고친 경우 (기업 행사 반영) 버전을 올려 커밋 후 수익률 행렬 캐시를 비움
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pricesChanged() {
+        long next = nextVersion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance(next);
+            }
+        });
+    }
+
+    @Transactional
+    public int importPrices(List<PriceHistoryImportRequest.Row> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        for (PriceHistoryImportRequest.Row row : rows) {
+            validate(row);
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.getTicker().trim());
+            ps.setDate(2, Date.valueOf(row.getDate()));
+            ps.setBigDecimal(3, row.getClose());
+        });
+
+        Map<String, BigDecimal> latest = latestCloses(rows);
+        long next = nextVersion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance(next);
+                if (!latest.isEmpty()) {
+                    priceAlertService.onPrices(latest);
+                }
+            }
+        });
+        log.info("가격 이력 적재 - {}건", rows.size());
+        return rows.size();
+    }
+
+    // 커밋 전까지 행이 잠겨 있으므로 같은 값을 두 트랜잭션이 받지 않음
+    private long nextVersion() {
+        if (priceHistoryVersionRepository.increment() == 0) {
+            throw new IllegalStateException("가격 이력 버전 행이 없습니다.");
+        }
+        return priceHistoryVersionRepository.findVersion();
+    }
+
+    // 버전은 앞으로만 감 (주기 갱신과 커밋 후 반영이 엇갈려도)
+    private boolean advance(long stored) {
+        long before = version.getAndAccumulate(stored, Math::max);
+        return stored > before;
+    }
+
+    // 티커별 가장 최근 거래일 종가 (오래된 거래일은 제외)
+    private Map<String, BigDecimal> latestCloses(List<PriceHistoryImportRequest.Row> rows) {
+        LocalDate cutoff = LocalDate.now(ZONE).minusDays(maxPriceAgeDays);
+        Map<String, PriceHistoryImportRequest.Row> latest = new HashMap<>();
+        for (PriceHistoryImportRequest.Row row : rows) {
+            if (row.getDate().isBefore(cutoff)) {
+                continue;
+            }
+            latest.merge(row.getTicker().trim(), row, (a, b) -> b.getDate().isAfter(a.getDate()) ? b : a);
+        }
+        Map<String, BigDecimal> closes = new HashMap<>();
+        latest.forEach((ticker, row) -> closes.put(ticker, row.getClose()));
+        return closes;
+    }
+
+    private void validate(PriceHistoryImportRequest.Row row) {
+        if (row.getTicker() == null || row.getTicker().isBlank() || row.getTicker().trim().length() > 20) {
+            throw new InvalidRequestException("티커가 올바르지 않습니다.");
+        }
+        if (row.getDate() == null) {
+            throw new InvalidRequestException("거래일이 필요합니다: " + row.getTicker());
+        }
+        if (row.getClose() == null || row.getClose().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidRequestException("종가는 0보다 커야 합니다: " + row.getTicker() + " " + row.getDate());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.peekport.service;
+
+import com.peekport.config.ProjectionProperties;
+import com.peekport.dto.ProjectionResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioType;
+import com.peekport.model.User;
+import com.peekport.repository.GoalAccountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 목표 금액 달성 확률 시뮬레이션
+ * 현재 총 자산(종목 평가액 + 현금)에서 출발해 포트폴리오 유형별 기대수익률/변동성 가정으로 월 단위 경로를 만든다.
+ * 시뮬레이션은 전용 ForkJoinPool에서 돌고, 시간 제한을 넘기면 끝난 경로만으로 응답한다.
+ * DB 조회는 시작 전에 끝내므로 계산하는 동안 커넥션을 잡고 있지 않는다.
+ */
+@Service
+@Slf4j
+public class ProjectionService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetService assetService;
+    private final ProjectionProperties properties;
+    private final ForkJoinPool pool;
+
+    public ProjectionService(GoalAccountRepository goalAccountRepository,
+                             AssetService assetService,
+                             ProjectionProperties properties) {
+        this.goalAccountRepository = goalAccountRepository;
+        this.assetService = assetService;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @param targetDate          목표일 (없으면 10년 뒤)
+     * @param monthlyContribution 월 납입액 (음수면 인출)
+     * @param paths               경로 수 (없으면 기본값, 최대 maxPaths)
+     * @param seed                난수 seed (없으면 무작위)
+     */
+    public ProjectionResponse project(Long portfolioId, LocalDate targetDate, BigDecimal monthlyContribution,
+                                      Integer paths, Long seed, User user) {
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+
+        LocalDate today = LocalDate.now(ZONE);
+        LocalDate date = targetDate != null ? targetDate : today.plusYears(10);
+        long months = ChronoUnit.MONTHS.between(today, date);
+        if (months < 1 || months > properties.getMaxMonths()) {
+            throw new InvalidRequestException("목표일은 1개월 뒤부터 " + properties.getMaxMonths() + "개월 이내여야 합니다.");
+        }
+        int pathCount = paths != null ? paths : properties.getDefaultPaths();
+        if (pathCount < 1 || pathCount > properties.getMaxPaths()) {
+            throw new InvalidRequestException("경로 수는 1~" + properties.getMaxPaths() + " 사이여야 합니다.");
+        }
+
+        PortfolioType type = goal.getPortfolioType() != null ? goal.getPortfolioType() : PortfolioType.BALANCED;
+        ProjectionProperties.Assumption assumption = properties.getAssumptions().get(type);
+        if (assumption == null) {
+            throw new IllegalStateException("포트폴리오 유형 가정이 설정되지 않았습니다: " + type);
+        }
+
+        BigDecimal startValue = assetService.calculateTotalAssets(goal);
+        BigDecimal contribution = monthlyContribution != null ? monthlyContribution : BigDecimal.ZERO;
+        long actualSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        int[] checkpoints = checkpoints((int) months);
+
+        MonteCarloSimulator.Params params = new MonteCarloSimulator.Params(
+                startValue.doubleValue(),
+                contribution.doubleValue(),
+                (int) months,
+                goal.getTargetAmount() != null ? goal.getTargetAmount() : Double.NaN,
+                assumption.getExpectedReturn(),
+                assumption.getVolatility(),
+                pathCount,
+                checkpoints,
+                actualSeed,
+                Math.max(1, properties.getChunkSize())
+        );
+
+        long started = System.nanoTime();
+        MonteCarloSimulator.Result result = MonteCarloSimulator.run(
+                params, pool, started + properties.getTimeBudget().toNanos());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        if (result.truncated()) {
+            log.warn("시뮬레이션 시간 제한 초과 - 포트폴리오 {}, {}/{} 경로, {}ms",
+                    portfolioId, result.paths(), pathCount, elapsedMillis);
+        }
+
+        int scale = FxRates.fractionDigits(goal.getCurrency());
+        List<ProjectionResponse.Band> bands = new ArrayList<>(result.bands().length);
+        for (int k = 0; k < result.bands().length; k++) {
+            double[] band = result.bands()[k];
+            bands.add(new ProjectionResponse.Band(today.plusMonths(checkpoints[k]), checkpoints[k],
+                    money(band[0], scale), money(band[1], scale), money(band[2], scale),
+                    money(band[3], scale), money(band[4], scale)));
+        }
+
+        boolean hasTarget = goal.getTargetAmount() != null && result.paths() > 0;
+        return new ProjectionResponse(
+                goal.getId(),
+                type.name(),
+                startValue,
+                goal.getTargetAmount(),
+                date,
+                (int) months,
+                contribution,
+                assumption.getExpectedReturn() * 100,
+                assumption.getVolatility() * 100,
+                pathCount,
+                result.paths(),
+                result.truncated(),
+                actualSeed,
+                elapsedMillis,
+                hasTarget ? percent(result.hitAtEnd()) : null,
+                hasTarget ? percent(result.hitAnyTime()) : null,
+                bands
+        );
+    }
+
+    // 1년 미만은 매월, 그 이상은 매년 + 마지막 달
+    private static int[] checkpoints(int months) {
+        int step = months < 12 ? 1 : 12;
+        int count = months / step + (months % step == 0 ? 0 : 1);
+        int[] checkpoints = new int[count];
+        for (int k = 0; k < count; k++) {
+            checkpoints[k] = Math.min(months, (k + 1) * step);
+        }
+        return checkpoints;
+    }
+
+    private static double percent(double ratio) {
+        return BigDecimal.valueOf(ratio * 100).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    // 포트폴리오 통화의 소수 자릿수로 반올림 (원화는 원 단위, USD는 센트까지)
+    private static BigDecimal money(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+}
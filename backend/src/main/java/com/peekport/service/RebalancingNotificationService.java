@@ -0,0 +1,102 @@
+package com.peekport.service;
+
+import com.peekport.config.NotificationProperties;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.NotificationType;
+import com.peekport.repository.GoalAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 리밸런싱 필요 알림
+ * 알림을 켠 포트폴리오를 하루 한 번 확인해, 리밸런싱이 필요하면 알림 시각 기록과 outbox 적재를 한 트랜잭션으로 처리한다.
+ * 계속 필요한 상태면 rebalancing-renotify 간격으로만 다시 알리고, 균형이 맞으면 기록을 지워 다음 이탈 때 바로 알린다.
+ */
+@Service
+@Slf4j
+public class RebalancingNotificationService {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final GoalAccountRepository goalAccountRepository;
+    private final RebalancingService rebalancingService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public RebalancingNotificationService(GoalAccountRepository goalAccountRepository,
+                                          RebalancingService rebalancingService,
+                                          NotificationOutboxService notificationOutboxService,
+                                          NotificationProperties properties,
+                                          PlatformTransactionManager transactionManager) {
+        this.goalAccountRepository = goalAccountRepository;
+        this.rebalancingService = rebalancingService;
+        this.notificationOutboxService = notificationOutboxService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${peekport.notification.rebalancing-cron:0 0 9 * * *}", zone = "Asia/Seoul")
+    public void checkScheduled() {
+        check();
+    }
+
+    /**
+     * 알림을 켠 전체 포트폴리오 확인
+     * @return 새로 쌓은 알림 수, 이미 실행 중이면 -1
+     */
+    public int check() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("리밸런싱 알림 확인이 이미 실행 중");
+            return -1;
+        }
+        try {
+            int checked = 0;
+            int queued = 0;
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = goalAccountRepository.findRebalancingAlertIdsAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Long id : ids) {
+                    if (Boolean.TRUE.equals(rebalancingService.checkAssetAllocationRebalancing(id))) {
+                        queued += notify(id) ? 1 : 0;
+                    } else {
+                        goalAccountRepository.clearRebalancingNotified(id);
+                    }
+                }
+                checked += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+            log.info("리밸런싱 알림 확인 - 포트폴리오 {}개, 알림 {}건", checked, queued);
+            return queued;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean notify(Long portfolioId) {
+        Boolean queued = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (goalAccountRepository.markRebalancingNotified(portfolioId, now, now.minus(properties.getRebalancingRenotify())) == 0) {
+                return false;
+            }
+            GoalAccount goal = goalAccountRepository.findById(portfolioId).orElseThrow();
+            notificationOutboxService.enqueue(goal.getUser().getId(), NotificationType.REBALANCING,
+                    "리밸런싱 필요 - " + goal.getName(),
+                    "'" + goal.getName() + "' 포트폴리오의 자산 비중이 목표에서 10% 이상 벗어났습니다.");
+            return true;
+        });
+        return Boolean.TRUE.equals(queued);
+    }
+}
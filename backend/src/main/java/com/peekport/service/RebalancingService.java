@@ -1,44 +1,48 @@
 package com.peekport.service;
 
+import com.peekport.config.DiagnosticLogSampler;
 import com.peekport.dto.RebalancingRequest;
 import com.peekport.dto.RebalancingResponse;
 import com.peekport.model.Asset;
 import com.peekport.model.GoalAccount;
 import com.peekport.repository.AssetRepository;
 import com.peekport.repository.GoalAccountRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("peekport.service")
 @RequiredArgsConstructor
 @Slf4j
 public class RebalancingService {
 
     private final AssetRepository assetRepository;
     private final GoalAccountRepository goalAccountRepository;
+    private final FxRateService fxRateService;
 
     private static final BigDecimal DEVIATION_THRESHOLD = new BigDecimal("10.0"); // ±10% 이탈 기준
     private static final BigDecimal TRADING_FEE_RATE = new BigDecimal("0.003"); // 거래수수료 0.3%
 
-    // 기본 목표 자산 배분 (주식 70%, 현금 30%)
+    // 종목 목표 비중이 없을 때의 기본 자산 배분 (주식 70%, 현금 30%)
     private static final Double DEFAULT_STOCK_RATIO = 70.0;
-    private static final Double DEFAULT_CASH_RATIO = 30.0;
 
     /**
      * 자산 배분 리밸런싱 필요 여부 체크
      * 주식 vs 현금 비율을 기준으로 ±10% 이탈 시 true 반환
      */
+    @Transactional(readOnly = true)
     public Boolean checkAssetAllocationRebalancing(Long portfolioId) {
         try {
-            log.info("자산 배분 리밸런싱 체크 시작 - Portfolio ID: {}", portfolioId);
-
             // 1. 포트폴리오 조회
-            Optional<GoalAccount> portfolioOpt = goalAccountRepository.findById(portfolioId);
+            Optional<GoalAccount> portfolioOpt = goalAccountRepository.findById(portfolioId)
+                    .filter(p -> !p.isDeleted());
             if (portfolioOpt.isEmpty()) {
                 log.warn("포트폴리오를 찾을 수 없음 - ID: {}", portfolioId);
                 return false;
@@ -50,19 +54,12 @@ public class RebalancingService {
             List<Asset> assets = assetRepository.findByGoalAccountId(portfolioId);
 
             if (assets.isEmpty()) {
-                log.info("포트폴리오에 자산이 없음 - ID: {}", portfolioId);
+                log.debug("포트폴리오에 자산이 없음 - ID: {}", portfolioId);
                 return false;
             }
 
-            // 3. 주식 총 가치 계산
-            BigDecimal totalStockValue = BigDecimal.ZERO;
-            for (Asset asset : assets) {
-                if (asset.getQuantity() != null && asset.getCurrentPrice() != null) {
-                    BigDecimal assetValue = asset.getCurrentPrice()
-                            .multiply(new BigDecimal(asset.getQuantity()));
-                    totalStockValue = totalStockValue.add(assetValue);
-                }
-            }
+            // 3. 주식 총 가치 계산 (포트폴리오 통화 기준)
+            BigDecimal totalStockValue = totalStockValue(portfolio, assets);
 
             // 4. 현금 잔고 조회 (GoalAccount의 cash)
             BigDecimal cashBalance = portfolio.getCash() != null
@@ -73,7 +70,7 @@ public class RebalancingService {
             BigDecimal totalAssetValue = totalStockValue.add(cashBalance);
 
             if (totalAssetValue.compareTo(BigDecimal.ZERO) == 0) {
-                log.info("총 자산 가치가 0 - Portfolio ID: {}", portfolioId);
+                log.debug("총 자산 가치가 0 - Portfolio ID: {}", portfolioId);
                 return false;
             }
 
@@ -86,9 +83,9 @@ public class RebalancingService {
                     .multiply(new BigDecimal("100"))
                     .divide(totalAssetValue, 2, BigDecimal.ROUND_HALF_UP);
 
-            // 7. 목표 비율 (현재는 하드코딩, 추후 DB에서 조회)
-            BigDecimal targetStockRatio = new BigDecimal(DEFAULT_STOCK_RATIO);
-            BigDecimal targetCashRatio = new BigDecimal(DEFAULT_CASH_RATIO);
+            // 7. 목표 비율 (종목 목표 비중 합, 없으면 기본값)
+            BigDecimal targetStockRatio = targetStockRatio(assets);
+            BigDecimal targetCashRatio = new BigDecimal("100").subtract(targetStockRatio);
 
             // 8. 이탈 정도 계산
             BigDecimal stockDeviation = currentStockRatio.subtract(targetStockRatio).abs();
@@ -98,12 +95,11 @@ public class RebalancingService {
             boolean needsRebalancing = stockDeviation.compareTo(DEVIATION_THRESHOLD) > 0
                     || cashDeviation.compareTo(DEVIATION_THRESHOLD) > 0;
 
-            log.info("자산 배분 분석 결과 - Portfolio ID: {}", portfolioId);
-            log.info("총 자산: {}, 주식: {}, 현금: {}", totalAssetValue, totalStockValue, cashBalance);
-            log.info("현재 비율 - 주식: {}%, 현금: {}%", currentStockRatio, currentCashRatio);
-            log.info("목표 비율 - 주식: {}%, 현금: {}%", targetStockRatio, targetCashRatio);
-            log.info("이탈 정도 - 주식: {}%, 현금: {}%", stockDeviation, cashDeviation);
-            log.info("리밸런싱 필요: {}", needsRebalancing);
+            // 호출마다 남는 진단 로그라 한 줄로 (prod에서는 표본만 남김)
+            log.info(DiagnosticLogSampler.DIAGNOSTIC,
+                    "자산 배분 분석 - Portfolio ID: {}, 총 자산: {}, 주식 {}% (목표 {}%), 현금 {}% (목표 {}%), 리밸런싱 필요: {}",
+                    portfolioId, totalAssetValue, currentStockRatio, targetStockRatio,
+                    currentCashRatio, targetCashRatio, needsRebalancing);
 
             return needsRebalancing;
 
@@ -117,10 +113,12 @@ public class RebalancingService {
      * 자산 배분 상세 분석
      * 주식/현금 비율 기반 리밸런싱 추천사항 제공
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> analyzeAssetAllocation(Long portfolioId) {
         try {
             // 포트폴리오 조회
-            Optional<GoalAccount> portfolioOpt = goalAccountRepository.findById(portfolioId);
+            Optional<GoalAccount> portfolioOpt = goalAccountRepository.findById(portfolioId)
+                    .filter(p -> !p.isDeleted());
             if (portfolioOpt.isEmpty()) {
                 throw new RuntimeException("포트폴리오를 찾을 수 없습니다: " + portfolioId);
             }
@@ -128,11 +126,8 @@ public class RebalancingService {
             GoalAccount portfolio = portfolioOpt.get();
             List<Asset> assets = assetRepository.findByGoalAccountId(portfolioId);
 
-            // 주식 총 가치 계산
-            BigDecimal totalStockValue = assets.stream()
-                    .filter(asset -> asset.getQuantity() != null && asset.getCurrentPrice() != null)
-                    .map(asset -> asset.getCurrentPrice().multiply(new BigDecimal(asset.getQuantity())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // 주식 총 가치 계산 (포트폴리오 통화 기준)
+            BigDecimal totalStockValue = totalStockValue(portfolio, assets);
 
             BigDecimal cashBalance = portfolio.getCash() != null
                     ? portfolio.getCash() : BigDecimal.ZERO;
@@ -146,9 +141,9 @@ public class RebalancingService {
                     .multiply(new BigDecimal("100"))
                     .divide(totalAssetValue, 2, BigDecimal.ROUND_HALF_UP);
 
-            // 목표 비율
-            BigDecimal targetStockRatio = new BigDecimal(DEFAULT_STOCK_RATIO);
-            BigDecimal targetCashRatio = new BigDecimal(DEFAULT_CASH_RATIO);
+            // 목표 비율 (종목 목표 비중 합, 없으면 기본값)
+            BigDecimal targetStockRatio = targetStockRatio(assets);
+            BigDecimal targetCashRatio = new BigDecimal("100").subtract(targetStockRatio);
 
             // 이탈 정도
             BigDecimal stockDeviation = currentStockRatio.subtract(targetStockRatio);
@@ -167,9 +162,10 @@ public class RebalancingService {
 
             // 추천사항 생성
             String recommendation = generateAssetAllocationRecommendation(
-                    stockDeviation, cashDeviation, stockAdjustment);
+                    stockDeviation, cashDeviation, stockAdjustment, portfolio.getCurrency());
 
             Map<String, Object> result = new HashMap<>();
+            result.put("currency", portfolio.getCurrency());
             result.put("totalAssetValue", totalAssetValue);
             result.put("currentStockValue", totalStockValue);
             result.put("currentCashValue", cashBalance);
@@ -192,8 +188,30 @@ public class RebalancingService {
         }
     }
 
+    // 종목 평가액 합 (종목 통화 → 포트폴리오 통화)
+    private BigDecimal totalStockValue(GoalAccount portfolio, List<Asset> assets) {
+        FxRates fx = fxRateService.current();
+        return assets.stream()
+                .filter(asset -> asset.getQuantity() != null && asset.getCurrentPrice() != null)
+                .map(asset -> fx.convert(asset.getCurrentPrice().multiply(new BigDecimal(asset.getQuantity())),
+                        asset.getCurrency(), portfolio.getCurrency()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * 주식 목표 비율
+     * 종목별 목표 비중(총 자산 대비 %)이 있으면 그 합을, 없으면 기본 70%를 쓴다.
+     */
+    private BigDecimal targetStockRatio(List<Asset> assets) {
+        BigDecimal sum = assets.stream()
+                .map(Asset::getTargetRatio)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return sum.signum() > 0 ? sum.min(new BigDecimal("100")) : new BigDecimal(DEFAULT_STOCK_RATIO);
+    }
+
     private String generateAssetAllocationRecommendation(
-            BigDecimal stockDeviation, BigDecimal cashDeviation, BigDecimal stockAdjustment) {
+            BigDecimal stockDeviation, BigDecimal cashDeviation, BigDecimal stockAdjustment, String currency) {
 
         if (stockDeviation.abs().compareTo(DEVIATION_THRESHOLD) <= 0) {
             return "현재 자산 배분이 적정 수준입니다.";
@@ -201,20 +219,18 @@ public class RebalancingService {
 
         if (stockDeviation.compareTo(BigDecimal.ZERO) > 0) {
             // 주식 비중이 과도함
-            return String.format("주식 비중이 %.1f%% 초과되었습니다. %.0f원 상당의 주식을 매도하여 현금을 늘리는 것을 권장합니다.",
-                    stockDeviation, stockAdjustment.abs());
+            return String.format("주식 비중이 %.1f%% 초과되었습니다. %s 상당의 주식을 매도하여 현금을 늘리는 것을 권장합니다.",
+                    stockDeviation, FxRates.format(stockAdjustment.abs(), currency));
         } else {
             // 주식 비중이 부족함
-            return String.format("주식 비중이 %.1f%% 부족합니다. %.0f원 상당의 주식을 추가 매수하는 것을 권장합니다.",
-                    stockDeviation.abs(), stockAdjustment.abs());
+            return String.format("주식 비중이 %.1f%% 부족합니다. %s 상당의 주식을 추가 매수하는 것을 권장합니다.",
+                    stockDeviation.abs(), FxRates.format(stockAdjustment.abs(), currency));
         }
     }
 
     // 기존 메서드들은 그대로 유지
     public RebalancingResponse analyzeRebalancing(RebalancingRequest request) {
         try {
-            log.info("리밸런싱 분석 시작 - Portfolio ID: {}", request.getPortfolioId());
-
             // 1. 현재 비중과 목표 비중 매핑
             Map<String, BigDecimal> currentRatios = getCurrentRatioMap(request.getCurrentHoldings());
             Map<String, BigDecimal> targetRatios = getTargetRatioMap(request.getTargetAllocations());
@@ -254,8 +270,8 @@ public class RebalancingService {
             BigDecimal estimatedCost = calculateEstimatedCost(recommendations);
             BigDecimal cashRequirement = calculateCashRequirement(recommendations);
 
-            log.info("리밸런싱 분석 완료 - 필요여부: {}, 총 이탈정도: {}%",
-                    needsRebalancing, totalDeviation);
+            log.info(DiagnosticLogSampler.DIAGNOSTIC, "리밸런싱 분석 - Portfolio ID: {}, 필요여부: {}, 총 이탈정도: {}%",
+                    request.getPortfolioId(), needsRebalancing, totalDeviation);
 
             return new RebalancingResponse(
                     needsRebalancing,
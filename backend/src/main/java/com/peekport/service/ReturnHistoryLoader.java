@@ -0,0 +1,198 @@
+package com.peekport.service;
+
+import com.peekport.dto.PricePoint;
+import com.peekport.repository.PriceHistoryRepository;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 일별 종가를 공통 날짜축의 일간 수익률 행렬로 변환
+ * 날짜축은 종목들 거래일의 합집합이고, 어떤 종목의 값이 없는 날은 직전 종가를 그대로 쓴다.
+ * 기간 시작은 가장 늦게 시작한 종목의 첫 거래일이며, 그 뒤로 가격이 부족한 종목은 제외한다.
+ * 수익률은 (종목 × 날짜) 행 우선 double[]로, 종목 하나의 시계열이 한 행에 연속으로 놓인다.
+ * 결과는 (종목 목록, 기간, 날짜)별로 캐시하고 가격 이력 버전이 바뀌면 다시 읽는다. 캐시된 배열은 읽기만 해야 한다.
+ */
+@Component
+public class ReturnHistoryLoader {
+
+    public static final int MIN_OBSERVATIONS = 20;
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceHistoryService priceHistoryService;
+
+    private final BoundedCache<MatrixKey, CachedMatrix> cache;
+
+    public ReturnHistoryLoader(PriceHistoryRepository priceHistoryRepository,
+                               PriceHistoryService priceHistoryService,
+                               @Value("${peekport.price-history.max-cached-matrices:256}") int maxCachedMatrices) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.priceHistoryService = priceHistoryService;
+        this.cache = new BoundedCache<>(maxCachedMatrices);
+    }
+
+    /**
+     * @param tickers 종목 순서가 결과 행 순서가 된다 (제외된 종목은 빠짐)
+     * @param days    사용할 일간 수익률 최대 개수
+     */
+    public ReturnMatrix load(Collection<String> tickers, int days, LocalDate today) {
+        long version = priceHistoryService.getVersion();
+        MatrixKey key = new MatrixKey(List.copyOf(tickers), days, today);
+        CachedMatrix cached = cache.get(key);
+        if (cached != null && cached.version == version) {
+            return cached.matrix;
+        }
+
+        ReturnMatrix matrix = build(key.tickers(), days, today);
+        cache.put(key, new CachedMatrix(version, matrix));
+        return matrix;
+    }
+
+    private ReturnMatrix build(List<String> tickers, int days, LocalDate today) {
+        Map<String, Series> byTicker = new LinkedHashMap<>();
+        for (String ticker : tickers) {
+            byTicker.put(ticker, new Series());
+        }
+        if (!byTicker.isEmpty()) {
+            LocalDate from = today.minusDays(days * 7L / 5 + 14); // 주말/휴장일 여유
+            fill(byTicker, from, today);
+        }
+
+        long start = byTicker.values().stream()
+                .filter(s -> s.count > MIN_OBSERVATIONS)
+                .mapToLong(s -> s.days[0])
+                .max().orElse(Long.MAX_VALUE);
+        List<String> covered = new ArrayList<>();
+        List<Series> coveredSeries = new ArrayList<>();
+        List<String> insufficient = new ArrayList<>();
+        byTicker.forEach((ticker, series) -> {
+            if (series.countFrom(start) > MIN_OBSERVATIONS) {
+                covered.add(ticker);
+                coveredSeries.add(series);
+            } else {
+                insufficient.add(ticker);
+            }
+        });
+        if (covered.isEmpty()) {
+            return new ReturnMatrix(covered, insufficient, 0, new double[0], null, null);
+        }
+
+        long[] grid = grid(coveredSeries, start, days + 1);
+        int n = covered.size();
+        int points = grid.length;
+
+        double[] closes = new double[n * points];
+        for (int i = 0; i < n; i++) {
+            Series series = coveredSeries.get(i);
+            int row = i * points;
+            int pointer = 0;
+            for (int k = 0; k < points; k++) {
+                while (pointer + 1 < series.count && series.days[pointer + 1] <= grid[k]) {
+                    pointer++;
+                }
+                closes[row + k] = series.closes[pointer];
+            }
+        }
+
+        return new ReturnMatrix(covered, insufficient, points - 1, RiskMath.simpleReturns(closes, n, points),
+                LocalDate.ofEpochDay(grid[0]), LocalDate.ofEpochDay(grid[points - 1]));
+    }
+
+    // 티커/날짜순으로 정렬된 종가를 종목별 배열로 옮김
+    private void fill(Map<String, Series> byTicker, LocalDate from, LocalDate to) {
+        List<PricePoint> rows = priceHistoryRepository.findPoints(byTicker.keySet(), from, to);
+
+        for (PricePoint row : rows) {
+            byTicker.get(row.getTicker()).count++;
+        }
+        for (Series series : byTicker.values()) {
+            series.days = new long[series.count];
+            series.closes = new double[series.count];
+            series.count = 0;
+        }
+        for (PricePoint row : rows) {
+            Series series = byTicker.get(row.getTicker());
+            series.days[series.count] = row.getTradeDate().toEpochDay();
+            series.closes[series.count] = row.getClosePrice().doubleValue();
+            series.count++;
+        }
+    }
+
+    // start 이후 종목들 거래일의 합집합 중 마지막 maxPoints개
+    private long[] grid(List<Series> covered, long start, int maxPoints) {
+        int total = 0;
+        for (Series series : covered) {
+            total += series.count;
+        }
+        long[] all = new long[total];
+        int size = 0;
+        for (Series series : covered) {
+            for (int k = 0; k < series.count; k++) {
+                if (series.days[k] >= start) {
+                    all[size++] = series.days[k];
+                }
+            }
+        }
+        Arrays.sort(all, 0, size);
+
+        int unique = 0;
+        for (int k = 0; k < size; k++) {
+            if (unique == 0 || all[unique - 1] != all[k]) {
+                all[unique++] = all[k];
+            }
+        }
+        return Arrays.copyOfRange(all, Math.max(0, unique - maxPoints), unique);
+    }
+
+    /**
+     * 일간 수익률 행렬 (tickers.size() 행 × observations 열)
+     */
+    @Getter
+    public static class ReturnMatrix {
+        private final List<String> tickers;
+        private final List<String> insufficient; // 가격 이력이 부족해 빠진 종목
+        private final int observations;
+        private final double[] returns;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        ReturnMatrix(List<String> tickers, List<String> insufficient, int observations, double[] returns,
+                     LocalDate from, LocalDate to) {
+            this.tickers = tickers;
+            this.insufficient = insufficient;
+            this.observations = observations;
+            this.returns = returns;
+            this.from = from;
+            this.to = to;
+        }
+
+        public int size() {
+            return tickers.size();
+        }
+    }
+
+    private record MatrixKey(List<String> tickers, int days, LocalDate today) {
+    }
+
+    private record CachedMatrix(long version, ReturnMatrix matrix) {
+    }
+
+    private static class Series {
+        long[] days = new long[0];
+        double[] closes = new double[0];
+        int count;
+
+        int countFrom(long day) {
+            int index = Arrays.binarySearch(days, 0, count, day);
+            return count - (index >= 0 ? index : -index - 1);
+        }
+    }
+}
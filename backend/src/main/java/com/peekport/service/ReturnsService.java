@@ -0,0 +1,237 @@
+package com.peekport.service;
+
+import com.peekport.dto.ReturnsResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioSnapshot;
+import com.peekport.model.ReturnPeriod;
+import com.peekport.model.User;
+import com.peekport.repository.AssetTransactionRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioCashFlowRepository;
+import com.peekport.repository.PortfolioSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 포트폴리오 수익률 (TWR / XIRR)
+ * - TWR: 일별 스냅샷 사이 구간 수익률을 곱해 입출금 영향을 제거 (흐름은 그날 종가 이후 발생으로 가정)
+ * - XIRR: 시작 평가액, 기간 중 입출금/거래 흐름, 현재 평가액으로 연 환산 내부수익률을 푼다
+ * 흐름은 포트폴리오별로 누적해 두고 새로 추가된 행만 이어 읽는다.
+ * 결과는 (포트폴리오, 기간)별로 캐시하고 포트폴리오 변경 순번, 환율 버전, 날짜가 바뀌면 다시 계산한다.
+ */
+@Service
+@Slf4j
+public class ReturnsService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final double DAYS_PER_YEAR = 365.0;
+
+    private final GoalAccountRepository goalAccountRepository;
+    private final PortfolioSnapshotRepository snapshotRepository;
+    private final AssetTransactionRepository transactionRepository;
+    private final PortfolioCashFlowRepository cashFlowRepository;
+    private final AssetService assetService;
+    private final FxRateService fxRateService;
+
+    private final BoundedCache<Long, FlowSeries> flowCache;
+    private final BoundedCache<ResultKey, CachedResult> resultCache;
+
+    public ReturnsService(GoalAccountRepository goalAccountRepository,
+                          PortfolioSnapshotRepository snapshotRepository,
+                          AssetTransactionRepository transactionRepository,
+                          PortfolioCashFlowRepository cashFlowRepository,
+                          AssetService assetService,
+                          FxRateService fxRateService,
+                          @Value("${peekport.returns.max-cached-portfolios:10000}") int maxCachedPortfolios) {
+        this.goalAccountRepository = goalAccountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionRepository = transactionRepository;
+        this.cashFlowRepository = cashFlowRepository;
+        this.assetService = assetService;
+        this.fxRateService = fxRateService;
+        this.flowCache = new BoundedCache<>(maxCachedPortfolios);
+        this.resultCache = new BoundedCache<>(maxCachedPortfolios);
+    }
+
+    @Transactional(readOnly = true)
+    public ReturnsResponse getReturns(Long portfolioId, String periodCode, User user) {
+        ReturnPeriod period = ReturnPeriod.fromCode(periodCode);
+        if (period == null) {
+            throw new InvalidRequestException("지원하지 않는 기간입니다: " + periodCode);
+        }
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+
+        LocalDate today = LocalDate.now(ZONE);
+        ResultKey key = new ResultKey(portfolioId, period);
+        CachedResult cached = resultCache.get(key);
+        long fxVersion = fxRateService.getVersion(); // 현재 평가액이 환율에 따라 달라짐
+        if (cached != null && cached.changeSeq == goal.getChangeSeq() && cached.fxVersion == fxVersion
+                && cached.asOf.equals(today)) {
+            return cached.response;
+        }
+
+        FlowSeries series = catchUp(goal);
+        double guess = cached != null ? cached.rate : Double.NaN;
+        CachedResult computed;
+        series.lock.lock();
+        try {
+            computed = compute(goal, period, today, fxVersion, series, guess);
+        } finally {
+            series.lock.unlock();
+        }
+
+        resultCache.put(key, computed);
+        return computed.response;
+    }
+
+    // 새로 추가된 거래/입출금만 읽어 흐름 누적에 붙임
+    private FlowSeries catchUp(GoalAccount goal) {
+        FlowSeries series = flowCache.computeIfAbsent(goal.getId(), id -> new FlowSeries());
+        series.lock.lock();
+        try {
+            if (series.changeSeq != goal.getChangeSeq()) {
+                transactionRepository.findByGoalAccountIdAndIdGreaterThanOrderById(goal.getId(), series.ledgerHighWater)
+                        .forEach(series::addTrade);
+                cashFlowRepository.findByGoalAccountIdAndIdGreaterThanOrderById(goal.getId(), series.cashHighWater)
+                        .forEach(series::addCash);
+                series.changeSeq = goal.getChangeSeq();
+            }
+        } finally {
+            series.lock.unlock();
+        }
+        return series;
+    }
+
+    private CachedResult compute(GoalAccount goal, ReturnPeriod period, LocalDate today, long fxVersion,
+                                 FlowSeries series, double guess) {
+        double endValue = assetService.calculateTotalAssets(goal).doubleValue();
+        long endDay = today.toEpochDay();
+
+        // 시작점: 기준일 이전 마지막 스냅샷, 없으면 첫 기록 전날부터 0원으로 시작
+        LocalDate requestedStart = period.startDate(today);
+        PortfolioSnapshot startSnapshot = requestedStart == null ? null
+                : snapshotRepository.findFirstByGoalAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+                        goal.getId(), requestedStart).orElse(null);
+
+        long startDay;
+        double startValue;
+        if (startSnapshot != null) {
+            startDay = startSnapshot.getSnapshotDate().toEpochDay();
+            startValue = totalOf(startSnapshot);
+        } else {
+            long earliest = Math.min(series.earliestDay(), goal.getCreatedAt() != null
+                    ? goal.getCreatedAt().toLocalDate().toEpochDay() : endDay);
+            startDay = Math.min(earliest, endDay) - 1;
+            startValue = 0;
+        }
+
+        List<PortfolioSnapshot> snapshots = snapshotRepository.findByGoalAccountIdAndSnapshotDateBetweenOrderBySnapshotDate(
+                goal.getId(), LocalDate.ofEpochDay(startDay + 1), today.minusDays(1));
+
+        // 평가 시점 (시작, 스냅샷들, 현재)
+        int points = snapshots.size() + 2;
+        long[] pointDays = new long[points];
+        double[] pointValues = new double[points];
+        pointDays[0] = startDay;
+        pointValues[0] = startValue;
+        for (int i = 0; i < snapshots.size(); i++) {
+            pointDays[i + 1] = snapshots.get(i).getSnapshotDate().toEpochDay();
+            pointValues[i + 1] = totalOf(snapshots.get(i));
+        }
+        pointDays[points - 1] = endDay;
+        pointValues[points - 1] = endValue;
+
+        // 기간 안의 흐름을 구간별로 모으고, XIRR용 배열도 같이 채움
+        double[] bucketFlows = new double[points];
+        double[] years = new double[series.size() + 2];
+        double[] amounts = new double[series.size() + 2];
+        int n = 0;
+        years[n] = 0;
+        amounts[n++] = -startValue;
+        double netContribution = 0;
+
+        for (int i = 0; i < series.size(); i++) {
+            long day = series.day(i);
+            if (day <= startDay || day > endDay) {
+                continue;
+            }
+            double amount = series.amount(i);
+            int bucket = Arrays.binarySearch(pointDays, 1, points, day);
+            bucketFlows[bucket >= 0 ? bucket : -bucket - 1] += amount;
+            netContribution += amount;
+            years[n] = (day - startDay) / DAYS_PER_YEAR;
+            amounts[n++] = -amount;
+        }
+        years[n] = (endDay - startDay) / DAYS_PER_YEAR;
+        amounts[n++] = endValue;
+
+        Double twr = null;
+        double growth = 1;
+        boolean measured = false;
+        for (int i = 1; i < points; i++) {
+            if (pointValues[i - 1] > 0) {
+                growth *= (pointValues[i] - bucketFlows[i]) / pointValues[i - 1];
+                measured = true;
+            }
+        }
+        if (measured) {
+            twr = growth - 1;
+        }
+
+        long days = endDay - startDay;
+        Double twrAnnualized = twr != null && days >= DAYS_PER_YEAR
+                ? Math.pow(1 + twr, DAYS_PER_YEAR / days) - 1
+                : null;
+
+        double rate = XirrSolver.solve(years, amounts, n, guess);
+        Double xirr = Double.isFinite(rate) ? rate : null;
+
+        ReturnsResponse response = new ReturnsResponse(
+                goal.getId(),
+                period.getCode(),
+                LocalDate.ofEpochDay(startDay),
+                today,
+                money(startValue),
+                money(endValue),
+                money(netContribution),
+                money(endValue - startValue - netContribution),
+                percent(twr),
+                percent(twrAnnualized),
+                percent(xirr)
+        );
+        return new CachedResult(goal.getChangeSeq(), fxVersion, today, response, rate);
+    }
+
+    private static double totalOf(PortfolioSnapshot snapshot) {
+        return snapshot.getMarketValue().add(snapshot.getCash()).doubleValue();
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Double percent(Double ratio) {
+        if (ratio == null || !Double.isFinite(ratio)) {
+            return null;
+        }
+        return BigDecimal.valueOf(ratio * 100).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private record ResultKey(Long portfolioId, ReturnPeriod period) {
+    }
+
+    private record CachedResult(long changeSeq, long fxVersion, LocalDate asOf, ReturnsResponse response, double rate) {
+    }
+}
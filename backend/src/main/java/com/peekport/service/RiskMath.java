@@ -0,0 +1,145 @@
+package com.peekport.service;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * 위험 지표 계산 (공분산, 상관계수, 포트폴리오 분산, 과거 VaR/CVaR)
+ * 행렬은 모두 행 우선 1차원 double[] 이다. 수익률은 종목 하나의 시계열이 한 행에 연속으로 놓여
+ * 두 종목의 공분산이 연속 메모리 두 줄의 내적이 된다.
+ * 종목 수가 많으면 공분산 행 단위로 병렬 계산한다.
+ */
+final class RiskMath {
+
+    static final int PARALLEL_THRESHOLD = 32;
+
+    private RiskMath() {
+    }
+
+    /**
+     * @param closes 종가 (n행 × points열)
+     * @return 일간 단순 수익률 (n행 × (points - 1)열)
+     */
+    static double[] simpleReturns(double[] closes, int n, int points) {
+        int t = points - 1;
+        double[] returns = new double[n * t];
+        for (int i = 0; i < n; i++) {
+            int c = i * points;
+            int r = i * t;
+            for (int k = 0; k < t; k++) {
+                returns[r + k] = closes[c + k + 1] / closes[c + k] - 1;
+            }
+        }
+        return returns;
+    }
+
+    /**
+     * 표본 공분산 (n × n)
+     * 행마다 평균을 뺀 사본을 만든 뒤 위쪽 삼각형만 내적으로 채우고 대칭으로 복사한다.
+     */
+    static double[] covariance(double[] returns, int n, int t) {
+        double[] centered = new double[n * t];
+        rows(n).forEach(i -> {
+            int r = i * t;
+            double sum = 0;
+            for (int k = 0; k < t; k++) {
+                sum += returns[r + k];
+            }
+            double mean = sum / t;
+            for (int k = 0; k < t; k++) {
+                centered[r + k] = returns[r + k] - mean;
+            }
+        });
+
+        double[] cov = new double[n * n];
+        double denominator = t - 1;
+        // 행 i 작업은 (i, j>=i)와 그 대칭 칸만 쓰므로 행끼리 겹치지 않는다
+        rows(n).forEach(i -> {
+            int ri = i * t;
+            for (int j = i; j < n; j++) {
+                int rj = j * t;
+                double dot = 0;
+                for (int k = 0; k < t; k++) {
+                    dot += centered[ri + k] * centered[rj + k];
+                }
+                double value = dot / denominator;
+                cov[i * n + j] = value;
+                cov[j * n + i] = value;
+            }
+        });
+        return cov;
+    }
+
+    // 분산이 0인 종목(가격 변동 없음)과의 상관계수는 0으로 둔다
+    static double[] correlation(double[] cov, int n) {
+        double[] sd = new double[n];
+        for (int i = 0; i < n; i++) {
+            sd[i] = Math.sqrt(cov[i * n + i]);
+        }
+        double[] corr = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double denominator = sd[i] * sd[j];
+                corr[i * n + j] = i == j ? 1.0 : denominator > 0 ? cov[i * n + j] / denominator : 0.0;
+            }
+        }
+        return corr;
+    }
+
+    // Σw (종목별 위험 기여도 계산에 같이 쓰임)
+    static double[] multiply(double[] cov, double[] weights, int n) {
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                sum += cov[row + j] * weights[j];
+            }
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    static double dot(double[] a, double[] b, int n) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    // 날짜별 포트폴리오 수익률 (종목 행을 차례로 훑으며 누적)
+    static double[] portfolioReturns(double[] returns, double[] weights, int n, int t) {
+        double[] portfolio = new double[t];
+        for (int i = 0; i < n; i++) {
+            int r = i * t;
+            double w = weights[i];
+            for (int k = 0; k < t; k++) {
+                portfolio[k] += w * returns[r + k];
+            }
+        }
+        return portfolio;
+    }
+
+    /**
+     * 과거 시뮬레이션 VaR / CVaR
+     * 하위 (1 - confidence) 꼬리의 경계 손실과 꼬리 평균 손실을 양수 비율로 돌려준다.
+     *
+     * @return {VaR, CVaR}
+     */
+    static double[] historicalTail(double[] portfolioReturns, double confidence) {
+        double[] sorted = portfolioReturns.clone();
+        Arrays.sort(sorted);
+        int tail = Math.max(1, (int) Math.ceil((1 - confidence) * sorted.length - 1e-9));
+        double sum = 0;
+        for (int k = 0; k < tail; k++) {
+            sum += sorted[k];
+        }
+        return new double[]{Math.max(0, -sorted[tail - 1]), Math.max(0, -sum / tail)};
+    }
+
+    private static IntStream rows(int n) {
+        IntStream rows = IntStream.range(0, n);
+        return n >= PARALLEL_THRESHOLD ? rows.parallel() : rows;
+    }
+}
@@ -0,0 +1,215 @@
+package com.peekport.service;
+
+import com.peekport.dto.RiskResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.Asset;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포트폴리오 위험 지표 (종목별 변동성, 상관/공분산 행렬, 포트폴리오 변동성, 과거 VaR/CVaR)
+ * 보유 종목의 일간 수익률 행렬(ReturnHistoryLoader)을 받아 RiskMath로 계산한다.
+ * 결과는 (포트폴리오, 기간)별로 캐시하고 포트폴리오 변경 순번, 가격 이력/환율 버전, 날짜가 바뀌면 다시 계산한다.
+ */
+@Service
+public class RiskService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final int TRADING_DAYS_PER_YEAR = 252;
+    private static final int MIN_OBSERVATIONS = ReturnHistoryLoader.MIN_OBSERVATIONS;
+    private static final int MAX_OBSERVATIONS = 1260;
+
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final ReturnHistoryLoader returnHistoryLoader;
+    private final PriceHistoryService priceHistoryService;
+    private final FxRateService fxRateService;
+
+    private final BoundedCache<ResultKey, CachedResult> resultCache;
+
+    public RiskService(GoalAccountRepository goalAccountRepository,
+                       AssetRepository assetRepository,
+                       ReturnHistoryLoader returnHistoryLoader,
+                       PriceHistoryService priceHistoryService,
+                       FxRateService fxRateService,
+                       @Value("${peekport.risk.max-cached-portfolios:10000}") int maxCachedPortfolios) {
+        this.goalAccountRepository = goalAccountRepository;
+        this.assetRepository = assetRepository;
+        this.returnHistoryLoader = returnHistoryLoader;
+        this.priceHistoryService = priceHistoryService;
+        this.fxRateService = fxRateService;
+        this.resultCache = new BoundedCache<>(maxCachedPortfolios);
+    }
+
+    /**
+     * @param days              사용할 일간 수익률 개수 (거래일 기준)
+     * @param includeCovariance 공분산 행렬 포함 여부 (종목이 많으면 응답이 커짐)
+     */
+    @Transactional(readOnly = true)
+    public RiskResponse getRisk(Long portfolioId, int days, boolean includeCovariance, User user) {
+        if (days < MIN_OBSERVATIONS || days > MAX_OBSERVATIONS) {
+            throw new InvalidRequestException("조회 기간은 " + MIN_OBSERVATIONS + "~" + MAX_OBSERVATIONS + " 거래일이어야 합니다.");
+        }
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+
+        LocalDate today = LocalDate.now(ZONE);
+        long priceVersion = priceHistoryService.getVersion(); // 계산 전에 읽어야 도중 적재분을 놓치지 않음
+        FxRates fx = fxRateService.current();
+        ResultKey key = new ResultKey(portfolioId, days);
+        CachedResult cached = resultCache.get(key);
+
+        RiskResponse response;
+        if (cached != null && cached.changeSeq == goal.getChangeSeq() && cached.priceVersion == priceVersion
+                && cached.fxVersion == fx.getVersion() && cached.asOf.equals(today)) {
+            response = cached.response;
+        } else {
+            response = compute(goal, days, today, fx);
+            resultCache.put(key, new CachedResult(goal.getChangeSeq(), priceVersion, fx.getVersion(), today, response));
+        }
+        return includeCovariance ? response : response.withoutCovariance();
+    }
+
+    private RiskResponse compute(GoalAccount goal, int days, LocalDate today, FxRates fx) {
+        // 티커별 평가액 합산 (같은 티커를 여러 줄로 들고 있을 수 있음, 포트폴리오 통화 기준)
+        // 수익률은 종목 통화 그대로 쓰므로 환율 변동 위험은 반영하지 않는다
+        Map<String, Holding> byTicker = new LinkedHashMap<>();
+        List<RiskResponse.Uncovered> uncovered = new ArrayList<>();
+        double totalValue = 0;
+        for (Asset asset : assetRepository.findByGoalAccountId(goal.getId())) {
+            BigDecimal price = asset.getCurrentPrice() != null ? asset.getCurrentPrice() : asset.getPurchasePrice();
+            if (asset.getQuantity() == null || asset.getQuantity() <= 0 || price == null) {
+                continue;
+            }
+            double value = asset.getQuantity() * price.doubleValue() * fx.factor(asset.getCurrency(), goal.getCurrency());
+            totalValue += value;
+
+            String ticker = asset.getTicker() != null ? asset.getTicker().trim() : "";
+            if (ticker.isEmpty()) {
+                uncovered.add(new RiskResponse.Uncovered(asset.getName(), asset.getName(), money(value), "티커 없음"));
+                continue;
+            }
+            byTicker.computeIfAbsent(ticker, t -> new Holding(asset.getName())).value += value;
+        }
+
+        // 평가액 큰 순서로 행을 배치
+        List<String> tickers = new ArrayList<>(byTicker.keySet());
+        tickers.sort(Comparator.comparingDouble((String t) -> byTicker.get(t).value).reversed());
+        ReturnHistoryLoader.ReturnMatrix matrix = returnHistoryLoader.load(tickers, days, today);
+        for (String ticker : matrix.getInsufficient()) {
+            Holding holding = byTicker.get(ticker);
+            uncovered.add(new RiskResponse.Uncovered(ticker, holding.name, money(holding.value), "가격 이력 부족"));
+        }
+
+        String portfolioType = goal.getPortfolioType() != null ? goal.getPortfolioType().name() : null;
+        Double limit = goal.getPortfolioType() != null ? goal.getPortfolioType().getMaxVolatility() : null;
+        int n = matrix.size();
+        if (n == 0) {
+            return new RiskResponse(goal.getId(), portfolioType, null, null, 0, money(0), 0.0,
+                    null, limit, null, null, null, null, null,
+                    List.of(), uncovered, new double[0][], new double[0][]);
+        }
+
+        int t = matrix.getObservations();
+        double coveredValue = 0;
+        for (String ticker : matrix.getTickers()) {
+            coveredValue += byTicker.get(ticker).value;
+        }
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = byTicker.get(matrix.getTickers().get(i)).value / coveredValue;
+        }
+
+        double[] returns = matrix.getReturns();
+        double[] cov = RiskMath.covariance(returns, n, t);
+        double[] corr = RiskMath.correlation(cov, n);
+        double[] covWeights = RiskMath.multiply(cov, weights, n);
+        double variance = RiskMath.dot(weights, covWeights, n);
+        double volatility = Math.sqrt(variance * TRADING_DAYS_PER_YEAR) * 100;
+
+        double[] portfolioReturns = RiskMath.portfolioReturns(returns, weights, n, t);
+        double[] tail95 = RiskMath.historicalTail(portfolioReturns, 0.95);
+        double[] tail99 = RiskMath.historicalTail(portfolioReturns, 0.99);
+
+        List<RiskResponse.Holding> holdings = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String ticker = matrix.getTickers().get(i);
+            Holding holding = byTicker.get(ticker);
+            double holdingVolatility = Math.sqrt(cov[i * n + i] * TRADING_DAYS_PER_YEAR) * 100;
+            double contribution = variance > 0 ? weights[i] * covWeights[i] / variance * 100 : 0;
+            holdings.add(new RiskResponse.Holding(ticker, holding.name, money(holding.value),
+                    round(weights[i] * 100, 2), round(holdingVolatility, 2), round(contribution, 2)));
+        }
+
+        return new RiskResponse(
+                goal.getId(),
+                portfolioType,
+                matrix.getFrom(),
+                matrix.getTo(),
+                t,
+                money(coveredValue),
+                totalValue > 0 ? round(coveredValue / totalValue * 100, 2) : 0.0,
+                round(volatility, 2),
+                limit,
+                limit != null ? volatility <= limit : null,
+                money(tail95[0] * coveredValue),
+                money(tail95[1] * coveredValue),
+                money(tail99[0] * coveredValue),
+                money(tail99[1] * coveredValue),
+                holdings,
+                uncovered,
+                toRows(corr, n, 1, 4),
+                toRows(cov, n, TRADING_DAYS_PER_YEAR, -1)
+        );
+    }
+
+    private static double[][] toRows(double[] matrix, int n, double scale, int decimals) {
+        double[][] rows = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double value = matrix[i * n + j] * scale;
+                rows[i][j] = decimals >= 0 ? round(value, decimals) : value;
+            }
+        }
+        return rows;
+    }
+
+    private static double round(double value, int decimals) {
+        return BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static class Holding {
+        final String name;
+        double value;
+
+        Holding(String name) {
+            this.name = name;
+        }
+    }
+
+    private record ResultKey(Long portfolioId, int days) {
+    }
+
+    private record CachedResult(long changeSeq, long priceVersion, long fxVersion, LocalDate asOf, RiskResponse response) {
+    }
+}
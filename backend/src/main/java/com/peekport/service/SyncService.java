@@ -0,0 +1,110 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.dto.SyncResponse;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.SyncTombstoneRepository;
+import com.peekport.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 변경분 동기화
+ * since 이후에 바뀐 포트폴리오/종목과 삭제 기록만 내려준다.
+ * 변경이 없으면 사용자 순번 한 번만 조회하고 끝낸다.
+ * 삭제 기록은 tombstone-retention 동안만 보관하므로, 지운 기록보다 오래된 since는 전체 재동기화로 돌린다.
+ */
+@Service
+@Slf4j
+public class SyncService {
+
+    private final UserRepository userRepository;
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final AssetService assetService;
+    private final FanOut fanOut;
+    private final Duration tombstoneRetention;
+
+    public SyncService(UserRepository userRepository,
+                       GoalAccountRepository goalAccountRepository,
+                       AssetRepository assetRepository,
+                       SyncTombstoneRepository syncTombstoneRepository,
+                       AssetService assetService,
+                       FanOut fanOut,
+                       @Value("${peekport.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.userRepository = userRepository;
+        this.goalAccountRepository = goalAccountRepository;
+        this.assetRepository = assetRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.assetService = assetService;
+        this.fanOut = fanOut;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * 순번을 먼저 읽고 포트폴리오/종목/삭제 기록은 나눠서 동시에 조회한다. (각자 다른 트랜잭션)
+     * 순번과 행은 scope가 같은 DB로 묶어 읽으므로, 순번은 primary에서·행은 뒤처진 replica에서 읽어 빠지는 일은 없다.
+     * 그 사이에 생긴 변경은 순번이 current보다 커서 다음 동기화에서 다시 내려가므로 빠지지 않는다.
+     */
+    public SyncResponse changesSince(long since, User user) {
+        try (FanOut.Scope scope = fanOut.open()) {
+            long current = scope.read(() -> userRepository.findChangeSeq(user.getId()));
+            if (since == current) {
+                return new SyncResponse(current, false, false, List.of(), List.of(), List.of());
+            }
+
+            // 서버보다 앞선 순번(다른 DB, 초기화 등)이거나 그 뒤의 삭제 기록이 이미 지워졌으면 처음부터 다시 받게 한다
+            boolean fullResync = since <= 0 || since > current
+                    || since < scope.read(() -> userRepository.findTombstonePurgedSeq(user.getId()));
+            long from = fullResync ? 0 : since;
+
+            Supplier<List<GoalAccountResponse>> portfolios = scope.fork(() -> {
+                List<GoalAccount> changed = goalAccountRepository.findChangedSince(user.getId(), from);
+                Map<Long, BigDecimal> totals = assetService.calculateTotalAssets(changed);
+                return changed.stream()
+                        .map(goal -> new GoalAccountResponse(goal, totals.get(goal.getId())))
+                        .toList();
+            });
+            Supplier<List<AssetResponse>> stocks = scope.fork(() -> assetRepository.findChangedSince(user.getId(), from).stream()
+                    .map(AssetResponse::new)
+                    .toList());
+            Supplier<List<SyncResponse.Deleted>> deleted = fullResync
+                    ? List::of
+                    : scope.fork(() -> syncTombstoneRepository.findByUserIdAndSeqGreaterThanOrderBySeq(user.getId(), from).stream()
+                            .map(SyncResponse.Deleted::new)
+                            .toList());
+            scope.join();
+
+            return new SyncResponse(current, true, fullResync, portfolios.get(), stocks.get(), deleted.get());
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 삭제 기록 정리
+     * 지우기 전에 사용자별로 지운 최대 순번을 남겨, 그보다 오래된 since는 전체 재동기화하게 한다.
+     */
+    @Transactional
+    @Scheduled(cron = "${peekport.sync.tombstone-cleanup-cron:0 40 4 * * *}", zone = "Asia/Seoul")
+    public int purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        userRepository.advanceTombstonePurgedSeq(cutoff);
+        int deleted = syncTombstoneRepository.deleteCreatedBefore(cutoff);
+        log.info("삭제 기록 정리 - {}건", deleted);
+        return deleted;
+    }
+}
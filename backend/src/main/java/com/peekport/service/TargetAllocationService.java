@@ -0,0 +1,368 @@
+package com.peekport.service;
+
+import com.peekport.dto.TargetAllocationRequest;
+import com.peekport.dto.TargetAllocationResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.Asset;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.PortfolioType;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 평균-분산 목표 비중 생성
+ * 보유 종목(가격 이력이 있는 것)과 현금(무위험, 가정 수익률)을 대상으로 위험 수준별 허용 변동성
+ * (PortfolioType.maxVolatility) 안에서 기대수익률이 가장 높은 비중을 찾는다.
+ * 위험 회피 계수 λ를 이분 탐색하며 MeanVarianceSolver를 직전 해에서 이어 풀고, 세 위험 수준은 병렬로 계산한다.
+ * 결과는 (종목 구성, 기간, 상하한)별로 캐시하고 가격 이력 버전이나 날짜가 바뀌면 다시 계산한다.
+ * 계산 중에는 트랜잭션을 열지 않고, 적용할 때만 짧은 쓰기 트랜잭션으로 targetRatio를 저장한다.
+ */
+@Service
+@Slf4j
+public class TargetAllocationService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final int TRADING_DAYS_PER_YEAR = 252;
+    private static final int MAX_OBSERVATIONS = 1260;
+    private static final double MEAN_SHRINKAGE = 0.5;   // 표본 평균을 전체 평균 쪽으로 당기는 비율 (추정 잡음 완화)
+    private static final double MIN_LAMBDA = 1e-3;
+    private static final double MAX_LAMBDA = 1e5;
+    private static final int BISECTION_STEPS = 40;
+    private static final double VOLATILITY_TOLERANCE = 1e-4; // 연 변동성 0.01%p
+    private static final double SOLVER_TOLERANCE = 1e-7;
+    private static final int MAX_ITERATIONS = 5_000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final GoalAccountRepository goalAccountRepository;
+    private final AssetRepository assetRepository;
+    private final ReturnHistoryLoader returnHistoryLoader;
+    private final PriceHistoryService priceHistoryService;
+    private final FxRateService fxRateService;
+    private final ChangeTracker changeTracker;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final double cashReturn;
+
+    private final BoundedCache<FrontierKey, CachedFrontier> cache;
+
+    public TargetAllocationService(GoalAccountRepository goalAccountRepository,
+                                   AssetRepository assetRepository,
+                                   ReturnHistoryLoader returnHistoryLoader,
+                                   PriceHistoryService priceHistoryService,
+                                   FxRateService fxRateService,
+                                   ChangeTracker changeTracker,
+                                   OptimisticLockRetrier optimisticLockRetrier,
+                                   @Value("${peekport.optimizer.cash-return:0.03}") double cashReturn,
+                                   @Value("${peekport.optimizer.max-cached-results:1000}") int maxCachedResults) {
+        this.goalAccountRepository = goalAccountRepository;
+        this.assetRepository = assetRepository;
+        this.returnHistoryLoader = returnHistoryLoader;
+        this.priceHistoryService = priceHistoryService;
+        this.fxRateService = fxRateService;
+        this.changeTracker = changeTracker;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.cashReturn = cashReturn;
+        this.cache = new BoundedCache<>(maxCachedResults);
+    }
+
+    public TargetAllocationResponse optimize(Long portfolioId, TargetAllocationRequest request, User user) {
+        GoalAccount goal = goalAccountRepository.findByIdAndUserId(portfolioId, user.getId())
+                .orElseThrow(() -> new AccessDeniedException("해당 포트폴리오에 접근할 수 없습니다."));
+
+        int days = request.getDays() != null ? request.getDays() : 252;
+        if (days < ReturnHistoryLoader.MIN_OBSERVATIONS || days > MAX_OBSERVATIONS) {
+            throw new InvalidRequestException("조회 기간은 " + ReturnHistoryLoader.MIN_OBSERVATIONS + "~" + MAX_OBSERVATIONS + " 거래일이어야 합니다.");
+        }
+        PortfolioType profile = request.getProfile() != null ? request.getProfile()
+                : goal.getPortfolioType() != null ? goal.getPortfolioType() : PortfolioType.BALANCED;
+
+        // 티커별 평가액 (포트폴리오 통화 기준, 정렬해 두어 같은 종목 구성이면 같은 캐시 키가 되게 함)
+        FxRates fx = fxRateService.current();
+        Map<String, Holding> byTicker = new TreeMap<>();
+        List<String> excluded = new ArrayList<>();
+        List<Asset> untracked = new ArrayList<>();
+        double cash = goal.getCash() != null ? goal.getCash().doubleValue() : 0;
+        double total = cash;
+        double excludedValue = 0;
+        for (Asset asset : assetRepository.findByGoalAccountId(goal.getId())) {
+            BigDecimal price = asset.getCurrentPrice() != null ? asset.getCurrentPrice() : asset.getPurchasePrice();
+            if (asset.getQuantity() == null || asset.getQuantity() <= 0 || price == null) {
+                continue;
+            }
+            double value = value(asset, goal, fx);
+            total += value;
+            String ticker = asset.getTicker() != null ? asset.getTicker().trim() : "";
+            if (ticker.isEmpty()) {
+                excluded.add(asset.getName());
+                untracked.add(asset);
+                excludedValue += value;
+                continue;
+            }
+            Holding holding = byTicker.computeIfAbsent(ticker, t -> new Holding(asset.getName()));
+            holding.value += value;
+            holding.assets.add(asset);
+        }
+        if (total <= 0) {
+            throw new InvalidRequestException("평가할 자산이 없습니다.");
+        }
+
+        LocalDate today = LocalDate.now(ZONE);
+        long priceVersion = priceHistoryService.getVersion();
+        ReturnHistoryLoader.ReturnMatrix matrix = returnHistoryLoader.load(byTicker.keySet(), days, today);
+        for (String ticker : matrix.getInsufficient()) {
+            excluded.add(ticker);
+            excludedValue += byTicker.get(ticker).value;
+            untracked.addAll(byTicker.get(ticker).assets);
+        }
+        int n = matrix.size();
+        if (n == 0) {
+            throw new InvalidRequestException("가격 이력이 있는 종목이 없습니다.");
+        }
+
+        // 제외 종목 몫을 뺀 나머지(free)를 종목 + 현금에 배분. 상하한은 free 대비 비율로 바꿔 푼다
+        double free = 1 - excludedValue / total;
+        double[] lo = new double[n + 1];
+        double[] hi = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            TargetAllocationRequest.Bound bound = request.getBounds() != null
+                    ? request.getBounds().get(matrix.getTickers().get(i)) : null;
+            lo[i] = share(bound != null && bound.getMin() != null ? bound.getMin() : request.getMinWeight(), 0, free);
+            hi[i] = share(bound != null && bound.getMax() != null ? bound.getMax() : request.getMaxWeight(), 100, free);
+        }
+        TargetAllocationRequest.Bound cashBound = request.getCash();
+        lo[n] = share(cashBound != null ? cashBound.getMin() : null, 0, free);
+        hi[n] = share(cashBound != null ? cashBound.getMax() : null, 100, free);
+        checkFeasible(lo, hi);
+
+        FrontierKey key = new FrontierKey(matrix.getTickers(), days, toList(lo), toList(hi));
+        CachedFrontier cached = cache.get(key);
+        Map<PortfolioType, Solution> solutions;
+        if (cached != null && cached.priceVersion == priceVersion && cached.asOf.equals(today)) {
+            solutions = cached.solutions;
+        } else {
+            long started = System.nanoTime();
+            solutions = frontier(matrix, lo, hi);
+            log.debug("목표 비중 계산 - 종목 {}개, {}ms", n, (System.nanoTime() - started) / 1_000_000);
+            cache.put(key, new CachedFrontier(priceVersion, today, solutions));
+        }
+
+        if (request.isApply()) {
+            apply(goal, user, matrix, byTicker, untracked, solutions.get(profile), free, total, fx);
+        }
+
+        List<TargetAllocationResponse.Frontier> frontiers = new ArrayList<>();
+        for (PortfolioType type : PortfolioType.values()) {
+            Solution solution = solutions.get(type);
+            List<TargetAllocationResponse.Weight> weights = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                String ticker = matrix.getTickers().get(i);
+                weights.add(new TargetAllocationResponse.Weight(ticker, byTicker.get(ticker).name,
+                        round(solution.weights[i] * free * 100)));
+            }
+            frontiers.add(new TargetAllocationResponse.Frontier(type.name(), type.getMaxVolatility(),
+                    round(solution.expectedReturn * 100), round(solution.volatility * 100), solution.reached,
+                    round(solution.weights[n] * free * 100), weights));
+        }
+
+        return new TargetAllocationResponse(goal.getId(), profile.name(), request.isApply(),
+                matrix.getFrom(), matrix.getTo(), matrix.getObservations(), round(cashReturn * 100),
+                round((1 - free) * 100), excluded, frontiers);
+    }
+
+    // 위험 수준별 해 (마지막 원소는 현금)
+    private Map<PortfolioType, Solution> frontier(ReturnHistoryLoader.ReturnMatrix matrix, double[] lo, double[] hi) {
+        int n = matrix.size();
+        int t = matrix.getObservations();
+        int m = n + 1;
+
+        double[] sampleCov = RiskMath.covariance(matrix.getReturns(), n, t);
+        double[] cov = new double[m * m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                cov[i * m + j] = sampleCov[i * n + j] * TRADING_DAYS_PER_YEAR;
+            }
+        }
+
+        double[] mu = new double[m];
+        double grandMean = 0;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            int row = i * t;
+            for (int k = 0; k < t; k++) {
+                sum += matrix.getReturns()[row + k];
+            }
+            mu[i] = sum / t * TRADING_DAYS_PER_YEAR;
+            grandMean += mu[i] / n;
+        }
+        for (int i = 0; i < n; i++) {
+            mu[i] = (1 - MEAN_SHRINKAGE) * mu[i] + MEAN_SHRINKAGE * grandMean;
+        }
+        mu[n] = cashReturn;
+
+        double spectralRadius = MeanVarianceSolver.spectralRadius(cov, m);
+        Map<PortfolioType, Solution> solutions = new EnumMap<>(PortfolioType.class);
+        Arrays.stream(PortfolioType.values()).parallel()
+                .map(type -> Map.entry(type, solveForVolatility(cov, mu, m, spectralRadius, lo, hi,
+                        type.getMaxVolatility() / 100)))
+                .toList()
+                .forEach(entry -> solutions.put(entry.getKey(), entry.getValue()));
+        return solutions;
+    }
+
+    /**
+     * 변동성이 target 이하인 해 중 기대수익률이 가장 높은 해
+     * λ가 커질수록 변동성이 줄어드므로 log λ를 이분 탐색한다.
+     */
+    private Solution solveForVolatility(double[] cov, double[] mu, int m, double spectralRadius,
+                                        double[] lo, double[] hi, double target) {
+        double[] start = new double[m];
+        Arrays.fill(start, 1.0 / m);
+        MeanVarianceSolver.project(start, lo, hi, m, start);
+
+        double[] minRisk = start.clone();
+        MeanVarianceSolver.solve(cov, mu, m, MAX_LAMBDA, spectralRadius, lo, hi, minRisk, SOLVER_TOLERANCE, MAX_ITERATIONS);
+        double minVolatility = volatility(cov, minRisk, m);
+        if (minVolatility >= target) {
+            return new Solution(minRisk, RiskMath.dot(mu, minRisk, m), minVolatility, minVolatility <= target + VOLATILITY_TOLERANCE);
+        }
+
+        double[] maxReturn = minRisk.clone();
+        MeanVarianceSolver.solve(cov, mu, m, MIN_LAMBDA, spectralRadius, lo, hi, maxReturn, SOLVER_TOLERANCE, MAX_ITERATIONS);
+        double maxVolatility = volatility(cov, maxReturn, m);
+        if (maxVolatility <= target) {
+            return new Solution(maxReturn, RiskMath.dot(mu, maxReturn, m), maxVolatility, true);
+        }
+
+        double low = Math.log(MIN_LAMBDA);
+        double high = Math.log(MAX_LAMBDA);
+        double[] best = minRisk;
+        double bestVolatility = minVolatility;
+        double[] w = maxReturn;
+        for (int step = 0; step < BISECTION_STEPS; step++) {
+            double lambda = Math.exp((low + high) / 2);
+            MeanVarianceSolver.solve(cov, mu, m, lambda, spectralRadius, lo, hi, w, SOLVER_TOLERANCE, MAX_ITERATIONS);
+            double vol = volatility(cov, w, m);
+            if (vol <= target) {
+                high = (low + high) / 2;
+                best = w.clone();
+                bestVolatility = vol;
+                if (target - vol < VOLATILITY_TOLERANCE) {
+                    break;
+                }
+            } else {
+                low = (low + high) / 2;
+            }
+        }
+        return new Solution(best, RiskMath.dot(mu, best, m), bestVolatility, true);
+    }
+
+    /**
+     * 최적화한 종목은 해의 비중을, 제외한 종목(티커 없음, 이력 부족)은 현재 비중을 목표로 저장한다.
+     * 제외 종목 몫(1 - free)은 계산에서 그대로 두었으므로, 예전 값이 남으면 주식 목표 합계가 어긋난다.
+     */
+    private void apply(GoalAccount goal, User user, ReturnHistoryLoader.ReturnMatrix matrix,
+                       Map<String, Holding> byTicker, List<Asset> untracked, Solution solution,
+                       double free, double total, FxRates fx) {
+        // 같은 티커를 여러 줄로 들고 있으면 평가액 비율로 나눔
+        Map<Long, BigDecimal> ratios = new HashMap<>();
+        for (int i = 0; i < matrix.size(); i++) {
+            Holding holding = byTicker.get(matrix.getTickers().get(i));
+            double tickerWeight = solution.weights[i] * free * 100;
+            for (Asset asset : holding.assets) {
+                ratios.put(asset.getId(), percent(tickerWeight * value(asset, goal, fx) / holding.value));
+            }
+        }
+        for (Asset asset : untracked) {
+            ratios.put(asset.getId(), percent(value(asset, goal, fx) / total * 100));
+        }
+
+        optimisticLockRetrier.execute(() -> {
+            List<Asset> assets = assetRepository.findByGoalAccountIdAndIdIn(goal.getId(), ratios.keySet());
+            assets.forEach(asset -> asset.setTargetRatio(ratios.get(asset.getId()).min(HUNDRED)));
+            assetRepository.saveAllAndFlush(assets);
+            changeTracker.assetsUpdated(user.getId(), goal.getId(), ratios.keySet());
+            return null;
+        });
+    }
+
+    // 포트폴리오 통화 기준 평가액 (현재가가 없으면 매수가)
+    private static double value(Asset asset, GoalAccount goal, FxRates fx) {
+        BigDecimal price = asset.getCurrentPrice() != null ? asset.getCurrentPrice() : asset.getPurchasePrice();
+        return asset.getQuantity() * price.doubleValue() * fx.factor(asset.getCurrency(), goal.getCurrency());
+    }
+
+    private static BigDecimal percent(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // 총 자산 대비 % → free 대비 비율
+    private static double share(BigDecimal percent, double defaultPercent, double free) {
+        double value = percent != null ? percent.doubleValue() : defaultPercent;
+        if (value < 0 || value > 100) {
+            throw new InvalidRequestException("비중 상하한은 0~100% 사이여야 합니다.");
+        }
+        return free > 0 ? Math.min(1, value / 100 / free) : 0;
+    }
+
+    private static void checkFeasible(double[] lo, double[] hi) {
+        double minSum = 0;
+        double maxSum = 0;
+        for (int i = 0; i < lo.length; i++) {
+            if (lo[i] > hi[i]) {
+                throw new InvalidRequestException("비중 하한이 상한보다 큽니다.");
+            }
+            minSum += lo[i];
+            maxSum += hi[i];
+        }
+        if (minSum > 1 + 1e-9 || maxSum < 1 - 1e-9) {
+            throw new InvalidRequestException("비중 상하한을 동시에 만족하는 배분이 없습니다.");
+        }
+    }
+
+    private static double volatility(double[] cov, double[] w, int m) {
+        return Math.sqrt(Math.max(0, MeanVarianceSolver.variance(cov, w, m)));
+    }
+
+    private static List<Double> toList(double[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+
+    private static double round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static class Holding {
+        final String name;
+        final List<Asset> assets = new ArrayList<>();
+        double value;
+
+        Holding(String name) {
+            this.name = name;
+        }
+    }
+
+    private record Solution(double[] weights, double expectedReturn, double volatility, boolean reached) {
+    }
+
+    private record FrontierKey(List<String> tickers, int days, List<Double> lo, List<Double> hi) {
+    }
+
+    private record CachedFrontier(long priceVersion, LocalDate asOf, Map<PortfolioType, Solution> solutions) {
+    }
+}
@@ -4,6 +4,7 @@ import com.peekport.exception.DuplicateEmailException;
 import com.peekport.model.User;
 import com.peekport.model.Role;
 import com.peekport.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 
 @Service
+@Timed("peekport.service")
 @RequiredArgsConstructor
 public class UserService {
 
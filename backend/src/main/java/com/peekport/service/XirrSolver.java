@@ -0,0 +1,157 @@
+package com.peekport.service;
+
+/**
+ * XIRR 계산 (연 환산 내부수익률)
+ * Newton 반복으로 먼저 풀고, 발산하거나 범위를 벗어나면 부호가 바뀌는 구간을 찾아 Brent 법으로 푼다.
+ * 현금흐름은 (연 단위 시점, 금액) 배열로 받는다. 금액은 투자자 기준 (납입 -, 회수/평가액 +).
+ */
+final class XirrSolver {
+
+    private static final double TOLERANCE = 1e-10;
+    private static final int MAX_NEWTON_ITERATIONS = 50;
+    private static final int MAX_BRENT_ITERATIONS = 200;
+    private static final double MIN_RATE = -0.999999;
+    private static final double[] BRACKET_POINTS = {-0.9999, -0.99, -0.9, -0.5, -0.2, 0.0, 0.1, 0.25, 0.5, 1, 2, 5, 10, 100, 1000};
+
+    private XirrSolver() {
+    }
+
+    /**
+     * @param years   첫 흐름 기준 경과 연수
+     * @param amounts 금액
+     * @param n       사용할 원소 수
+     * @param guess   시작값 (직전 결과를 주면 몇 번 만에 수렴)
+     * @return 연 수익률, 해가 없으면 NaN
+     */
+    static double solve(double[] years, double[] amounts, int n, double guess) {
+        if (!hasBothSigns(amounts, n)) {
+            return Double.NaN;
+        }
+
+        double rate = Double.isFinite(guess) && guess > MIN_RATE ? guess : 0.1;
+        for (int i = 0; i < MAX_NEWTON_ITERATIONS; i++) {
+            double npv = 0;
+            double derivative = 0;
+            double log1p = Math.log1p(rate);
+            for (int k = 0; k < n; k++) {
+                double discounted = amounts[k] * Math.exp(-years[k] * log1p);
+                npv += discounted;
+                derivative -= years[k] * discounted / (1 + rate);
+            }
+            if (derivative == 0 || !Double.isFinite(npv)) {
+                break;
+            }
+            double next = rate - npv / derivative;
+            if (!Double.isFinite(next) || next <= MIN_RATE) {
+                break;
+            }
+            if (Math.abs(next - rate) <= TOLERANCE * (1 + Math.abs(rate))) {
+                return next;
+            }
+            rate = next;
+        }
+
+        return bracketAndSolve(years, amounts, n);
+    }
+
+    static double npv(double[] years, double[] amounts, int n, double rate) {
+        double log1p = Math.log1p(rate);
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += amounts[k] * Math.exp(-years[k] * log1p);
+        }
+        return sum;
+    }
+
+    private static double bracketAndSolve(double[] years, double[] amounts, int n) {
+        double a = BRACKET_POINTS[0];
+        double fa = npv(years, amounts, n, a);
+        for (int i = 1; i < BRACKET_POINTS.length; i++) {
+            double b = BRACKET_POINTS[i];
+            double fb = npv(years, amounts, n, b);
+            if (Double.isFinite(fa) && Double.isFinite(fb) && (fa == 0 || fa * fb < 0)) {
+                return fa == 0 ? a : brent(years, amounts, n, a, b, fa, fb);
+            }
+            a = b;
+            fa = fb;
+        }
+        return Double.NaN;
+    }
+
+    // Brent 법 (이분법 + 할선법 + 역2차 보간)
+    private static double brent(double[] years, double[] amounts, int n, double a, double b, double fa, double fb) {
+        double c = b;
+        double fc = fb;
+        double d = b - a;
+        double e = d;
+
+        for (int i = 0; i < MAX_BRENT_ITERATIONS; i++) {
+            if (fb * fc > 0) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+
+            double tol = 2 * Math.ulp(b) + 0.5 * TOLERANCE;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || fb == 0) {
+                return b;
+            }
+
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    double r1 = fa / fc;
+                    double r2 = fb / fc;
+                    p = s * (2 * m * r1 * (r1 - r2) - (b - a) * (r2 - 1));
+                    q = (r1 - 1) * (r2 - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            } else {
+                d = m;
+                e = m;
+            }
+
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : Math.copySign(tol, m);
+            fb = npv(years, amounts, n, b);
+        }
+        return b;
+    }
+
+    private static boolean hasBothSigns(double[] amounts, int n) {
+        boolean positive = false;
+        boolean negative = false;
+        for (int k = 0; k < n; k++) {
+            positive |= amounts[k] > 0;
+            negative |= amounts[k] < 0;
+        }
+        return positive && negative;
+    }
+}
@@ -0,0 +1,86 @@
+-- portfolio_snapshots 월별 파티션 (MySQL 8)
+-- ddl-auto가 만든 테이블을 한 번 변환한다. PK (snapshot_date, goal_account_id)에
+-- 파티션 키가 포함되어 있어 그대로 적용 가능하며, 오래된 달은 DROP PARTITION으로 바로 지운다.
+-- 파티션 이름은 p{yyyy}_{MM}(그 달의 행), 마지막은 p_future(아직 파티션이 없는 미래 날짜)이다.
+-- 날짜를 적어 두지 않고 실행 시점(CURDATE) 기준으로 만들므로 언제 적용해도 이번 달 행이 제 파티션에 들어간다.
+-- (mysql 클라이언트로 실행: mysql peekport < portfolio_snapshots_partitioning.sql)
+
+DELIMITER //
+
+-- 1) 최초 변환: 기존 행의 첫 달(없으면 이번 달)부터 다음 달까지 월별 파티션 + p_future
+DROP PROCEDURE IF EXISTS partition_portfolio_snapshots //
+CREATE PROCEDURE partition_portfolio_snapshots()
+BEGIN
+    DECLARE month_start DATE;
+    DECLARE last_month DATE DEFAULT DATE_FORMAT(CURDATE() + INTERVAL 1 MONTH, '%Y-%m-01');
+    DECLARE parts TEXT DEFAULT '';
+
+    SELECT DATE_FORMAT(LEAST(COALESCE(MIN(snapshot_date), CURDATE()), CURDATE()), '%Y-%m-01')
+    INTO month_start
+    FROM portfolio_snapshots;
+
+    WHILE month_start <= last_month DO
+        SET parts = CONCAT(parts, 'PARTITION p', DATE_FORMAT(month_start, '%Y_%m'),
+                           ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, '''), ');
+        SET month_start = month_start + INTERVAL 1 MONTH;
+    END WHILE;
+
+    SET @ddl = CONCAT('ALTER TABLE portfolio_snapshots PARTITION BY RANGE COLUMNS (snapshot_date) (',
+                      parts, 'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+    PREPARE stmt FROM @ddl;
+    EXECUTE stmt;
+    DEALLOCATE PREPARE stmt;
+END //
+
+-- 2) 순환: 이번 달 ~ months_ahead달 뒤까지 없는 파티션을 p_future에서 쪼개 만들고,
+--    keep_months달보다 오래된 파티션은 지운다. 몇 번을 돌려도 결과가 같다.
+DROP PROCEDURE IF EXISTS roll_portfolio_snapshot_partitions //
+CREATE PROCEDURE roll_portfolio_snapshot_partitions(IN months_ahead INT, IN keep_months INT)
+BEGIN
+    DECLARE month_start DATE DEFAULT DATE_FORMAT(CURDATE(), '%Y-%m-01');
+    DECLARE last_month DATE DEFAULT DATE_FORMAT(CURDATE() + INTERVAL months_ahead MONTH, '%Y-%m-01');
+    DECLARE cutoff VARCHAR(16) DEFAULT CONCAT('p', DATE_FORMAT(CURDATE() - INTERVAL keep_months MONTH, '%Y_%m'));
+    DECLARE expired VARCHAR(64);
+
+    WHILE month_start <= last_month DO
+        IF NOT EXISTS (SELECT 1 FROM information_schema.PARTITIONS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'portfolio_snapshots'
+                         AND PARTITION_NAME = CONCAT('p', DATE_FORMAT(month_start, '%Y_%m'))) THEN
+            SET @ddl = CONCAT('ALTER TABLE portfolio_snapshots REORGANIZE PARTITION p_future INTO (',
+                              'PARTITION p', DATE_FORMAT(month_start, '%Y_%m'),
+                              ' VALUES LESS THAN (''', month_start + INTERVAL 1 MONTH, '''), ',
+                              'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+            PREPARE stmt FROM @ddl;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END IF;
+        SET month_start = month_start + INTERVAL 1 MONTH;
+    END WHILE;
+
+    -- p{yyyy}_{MM}은 이름 순서가 날짜 순서와 같다
+    expire_loop: LOOP
+        SET expired = NULL;
+        SELECT MIN(PARTITION_NAME) INTO expired FROM information_schema.PARTITIONS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'portfolio_snapshots'
+          AND PARTITION_NAME <> 'p_future' AND PARTITION_NAME < cutoff;
+        IF expired IS NULL THEN
+            LEAVE expire_loop;
+        END IF;
+        SET @ddl = CONCAT('ALTER TABLE portfolio_snapshots DROP PARTITION ', expired);
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END LOOP;
+END //
+
+DELIMITER ;
+
+CALL partition_portfolio_snapshots();
+
+-- 매일 새벽 순환 (이벤트 스케줄러를 끈 서버는 같은 CALL을 cron 등에서 매일 실행)
+-- 3달 앞까지 미리 만들고, 10년 수익률(10Y) 시작점이 남도록 120달 보관
+CREATE EVENT IF NOT EXISTS roll_portfolio_snapshot_partitions
+    ON SCHEDULE EVERY 1 DAY STARTS CURRENT_DATE + INTERVAL 1 DAY + INTERVAL 3 HOUR
+    DO CALL roll_portfolio_snapshot_partitions(3, 120);
+
+CALL roll_portfolio_snapshot_partitions(3, 120);
@@ -0,0 +1,61 @@
+package com.peekport.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peekport.model.Role;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 가입만 한 사용자는 내부 지표를 볼 수 없음
+@AutoConfigureObservability
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,prometheus")
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void metricsRequireAdmin() throws Exception {
+        String user = login(false);
+        mvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + user)).andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + user)).andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/health").header("Authorization", "Bearer " + user)).andExpect(status().isOk());
+
+        String admin = login(true);
+        mvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + admin)).andExpect(status().isOk());
+        mvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + admin)).andExpect(status().isOk());
+    }
+
+    private String login(boolean admin) throws Exception {
+        String email = "actuator-" + UUID.randomUUID() + "@test.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"pw\"}";
+        mvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"a\"," + credentials.substring(1)));
+        if (admin) {
+            User user = userRepository.findByEmail(email).orElseThrow();
+            user.setRole(Role.ADMIN);
+            userRepository.save(user);
+        }
+        String body = mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+}
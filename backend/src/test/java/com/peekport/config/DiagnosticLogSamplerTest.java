@@ -0,0 +1,57 @@
+package com.peekport.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiagnosticLogSamplerTest {
+
+    private final Logger logger = new LoggerContext().getLogger("sample");
+
+    @Test
+    void keepsOneInRateDiagnosticEvents() {
+        DiagnosticLogSampler sampler = new DiagnosticLogSampler();
+        sampler.setRate(10);
+        logger.setLevel(Level.INFO);
+
+        int passed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.decide(DiagnosticLogSampler.DIAGNOSTIC, logger, Level.INFO, "m", null, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        assertThat(passed).isEqualTo(10);
+    }
+
+    @Test
+    void leavesOtherEventsAlone() {
+        DiagnosticLogSampler sampler = new DiagnosticLogSampler();
+        sampler.setRate(10);
+        logger.setLevel(Level.INFO);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(sampler.decide(null, logger, Level.INFO, "m", null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(sampler.decide(MarkerFactory.getMarker("OTHER"), logger, Level.INFO, "m", null, null))
+                    .isEqualTo(FilterReply.NEUTRAL);
+            assertThat(sampler.decide(DiagnosticLogSampler.DIAGNOSTIC, logger, Level.WARN, "m", null, null))
+                    .isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void disabledLevelsDoNotConsumeSamples() {
+        DiagnosticLogSampler sampler = new DiagnosticLogSampler();
+        sampler.setRate(2);
+        logger.setLevel(Level.INFO);
+
+        sampler.decide(DiagnosticLogSampler.DIAGNOSTIC, logger, Level.DEBUG, "m", null, null);
+
+        assertThat(sampler.decide(DiagnosticLogSampler.DIAGNOSTIC, logger, Level.INFO, "m", null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+}
@@ -0,0 +1,56 @@
+package com.peekport.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRejectsWithWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("a", 1, 0)).isZero();
+        }
+        // 토큰 하나가 차는 0.1초를 기다려야 함
+        assertThat(limiter.tryAcquire("a", 1, 0)).isEqualTo(SECOND / 10);
+        // 다른 사용자는 영향 없음
+        assertThat(limiter.tryAcquire("b", 1, 0)).isZero();
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a", 1, 0);
+        }
+
+        assertThat(limiter.tryAcquire("a", 1, SECOND / 10)).isZero();
+        assertThat(limiter.tryAcquire("a", 1, SECOND / 10)).isPositive();
+        assertThat(limiter.tryAcquire("a", 5, 2 * SECOND)).isZero();
+    }
+
+    @Test
+    void costWeighsAgainstBurst() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100);
+
+        assertThat(limiter.tryAcquire("a", 3, 0)).isZero();
+        assertThat(limiter.tryAcquire("a", 3, 0)).isEqualTo(SECOND / 10);
+        assertThat(limiter.tryAcquire("a", 2, 0)).isZero();
+        assertThat(limiter.fits(5)).isTrue();
+        assertThat(limiter.fits(6)).isFalse();
+    }
+
+    @Test
+    void purgesFullBucketsWhenTooManyKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 2);
+        limiter.tryAcquire("a", 1, 0);
+        limiter.tryAcquire("b", 1, 0);
+
+        limiter.tryAcquire("c", 1, SECOND);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.peekport.config.datasource;
+
+import com.peekport.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class ConnectionGuardDataSourceTest {
+
+    private final DriverManagerDataSource target = new DriverManagerDataSource(
+            "jdbc:h2:mem:connection_guard;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void waiterGetsConnectionWhenOneIsClosed() throws Exception {
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(target, 1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        Connection first = guard.getConnection();
+
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return guard.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await().atMost(5, TimeUnit.SECONDS).until(() -> guard.waiting() == 1);
+        assertThat(second).isNotDone();
+
+        first.close();
+        first.close(); // 두 번 닫아도 자리는 하나만 돌려줌
+        try (Connection connection = second.get(5, TimeUnit.SECONDS)) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsWhenTooManyAreWaitingOrWaitTimesOut() throws Exception {
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(target, 1, 0, Duration.ofMillis(50), new SimpleMeterRegistry());
+        try (Connection ignored = guard.getConnection()) {
+            assertThatThrownBy(guard::getConnection).isInstanceOf(DatabaseBusyException.class);
+        }
+
+        ConnectionGuardDataSource patient = new ConnectionGuardDataSource(target, 1, 1, Duration.ofMillis(50), new SimpleMeterRegistry());
+        try (Connection ignored = patient.getConnection()) {
+            assertThatThrownBy(patient::getConnection).isInstanceOf(DatabaseBusyException.class);
+        }
+        try (Connection connection = patient.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.peekport.config.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:query_stats;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(target));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS item");
+        jdbcTemplate.execute("CREATE TABLE item (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO item VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+
+    @Test
+    void countsStatementsRowsAndRepeatedSql() {
+        try (QueryStats stats = QueryStats.start()) {
+            jdbcTemplate.queryForList("SELECT name FROM item ORDER BY id", String.class);
+            for (long id = 1; id <= 3; id++) {
+                jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id);
+            }
+            jdbcTemplate.update("UPDATE item SET name = 'z' WHERE id > ?", 1);
+
+            assertThat(stats.getStatements()).isEqualTo(5);
+            // 읽은 행 3 + 1 * 3, 바꾼 행 2
+            assertThat(stats.getRows()).isEqualTo(8);
+            assertThat(stats.getJdbcNanos()).isPositive();
+            assertThat(stats.repeated(3)).containsExactly(Map.entry("SELECT name FROM item WHERE id = ?", 3));
+            assertThat(stats.repeated(4)).isEmpty();
+        }
+    }
+
+    @Test
+    void nestedScopeAddsToOuterScope() {
+        try (QueryStats outer = QueryStats.start()) {
+            jdbcTemplate.queryForList("SELECT id FROM item", Long.class);
+            try (QueryStats inner = QueryStats.start()) {
+                jdbcTemplate.queryForList("SELECT id FROM item", Long.class);
+                assertThat(inner.getStatements()).isEqualTo(1);
+            }
+            assertThat(outer.getStatements()).isEqualTo(2);
+            assertThat(outer.repeated(2)).containsKey("SELECT id FROM item");
+        }
+    }
+
+    @Test
+    void statementsOutsideScopeAreNotCounted() {
+        jdbcTemplate.queryForList("SELECT id FROM item", Long.class);
+
+        try (QueryStats stats = QueryStats.start()) {
+            assertThat(stats.getStatements()).isZero();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.peekport.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embedded("routing_primary");
+        DataSource replica = embedded("routing_replica");
+
+        meterRegistry = new SimpleMeterRegistry();
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(
+                new ReadYourWritesTracker(Duration.ofSeconds(5)), meterRegistry);
+        routing.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.Target.PRIMARY, primary,
+                ReplicationRoutingDataSource.Target.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(txManager);
+        readTx = new TransactionTemplate(txManager);
+        readTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        assertThat(readInTransaction()).isEqualTo("routing_replica");
+        assertThat(routeCount("replica", "read")).isEqualTo(1.0);
+    }
+
+    @Test
+    void writeTransactionGoesToPrimary() {
+        assertThat(writeInTransaction()).isEqualTo("routing_primary");
+        assertThat(routeCount("primary", "write")).isEqualTo(1.0);
+    }
+
+    @Test
+    void readsStickToPrimaryRightAfterOwnWrite() {
+        login("writer@test.com");
+        writeInTransaction();
+
+        assertThat(readInTransaction()).isEqualTo("routing_primary");
+        assertThat(routeCount("primary", "sticky")).isEqualTo(1.0);
+
+        // 다른 사용자는 영향 없음
+        login("reader@test.com");
+        assertThat(readInTransaction()).isEqualTo("routing_replica");
+    }
+
+    // 같은 pin 안에서는 sticky가 풀리거나 다른 스레드(보안 컨텍스트 없음)에서 읽어도 처음 대상 그대로
+    @Test
+    void pinnedReadsStayOnFirstTarget() throws Exception {
+        login("writer@test.com");
+        writeInTransaction();
+
+        ReplicationRoutingDataSource.ReadPin pin = new ReplicationRoutingDataSource.ReadPin();
+        assertThat(ReplicationRoutingDataSource.pinned(pin, this::readInTransaction).get()).isEqualTo("routing_primary");
+
+        String forked = CompletableFuture.supplyAsync(
+                ReplicationRoutingDataSource.pinned(pin, this::readInTransaction)).get(5, TimeUnit.SECONDS);
+        assertThat(forked).isEqualTo("routing_primary");
+        assertThat(routeCount("primary", "pinned")).isEqualTo(2.0);
+
+        // pin 밖에서는 평소대로
+        String unpinned = CompletableFuture.supplyAsync(this::readInTransaction).get(5, TimeUnit.SECONDS);
+        assertThat(unpinned).isEqualTo("routing_replica");
+    }
+
+    private String readInTransaction() {
+        return readTx.execute(status -> whoAmI());
+    }
+
+    private String writeInTransaction() {
+        return writeTx.execute(status -> whoAmI());
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private double routeCount(String target, String reason) {
+        return meterRegistry.get("peekport.datasource.routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private void login(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource embedded(String name) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(32))");
+        jdbc.execute("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,113 @@
+package com.peekport.controller.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AssetBatchTest {
+
+    private static final String ADD = "{\"type\":\"ADD\",\"asset\":{\"name\":\"s\",\"quantity\":1,\"purchasePrice\":10}}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String token;
+    private long portfolioId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String email = "batch-" + UUID.randomUUID() + "@test.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"pw\"}";
+        mvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"b\"," + credentials.substring(1)));
+        String body = mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).get("token").asText();
+
+        String created = mvc.perform(post("/api/portfolios").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"p\",\"targetAmount\":1000000,\"cash\":1000}"))
+                .andReturn().getResponse().getContentAsString();
+        portfolioId = objectMapper.readTree(created).get("id").asLong();
+    }
+
+    // 작업 하나가 실패하면 앞의 추가와 현금 증감까지 모두 되돌림
+    @Test
+    void failedOperationRollsBackWholeBatch() throws Exception {
+        JsonNode response = batch("{\"operations\":[" + ADD + ",{\"type\":\"DELETE\",\"stockId\":999999}],\"cashDelta\":-100}", 422);
+
+        assertThat(response.get("applied").asBoolean()).isFalse();
+        assertThat(response.get("results").get(0).get("status").asText()).isEqualTo("ROLLED_BACK");
+        assertThat(response.get("results").get(1).get("status").asText()).isEqualTo("NOT_FOUND");
+        assertThat(stocks().size()).isZero();
+        assertThat(cash()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void rejectsBatchOverOperationLimit() throws Exception {
+        String operations = String.join(",", Collections.nCopies(501, ADD));
+        batch("{\"operations\":[" + operations + "]}", 400);
+        assertThat(stocks().size()).isZero();
+    }
+
+    // 현금은 읽은 값이 아니라 현재 잔액에 더해짐 (사이에 들어온 입금이 사라지지 않음)
+    @Test
+    void cashDeltaAddsToCurrentBalance() throws Exception {
+        mvc.perform(post("/api/portfolios/" + portfolioId + "/cash/adjust").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"delta\":200}"))
+                .andExpect(status().isOk());
+
+        JsonNode response = batch("{\"operations\":[" + ADD + "],\"cashDelta\":-300}", 200);
+        assertThat(response.get("portfolio").get("cash").decimalValue()).isEqualByComparingTo("900");
+        assertThat(cash()).isEqualByComparingTo("900");
+        assertThat(stocks().size()).isEqualTo(1);
+
+        batch("{\"operations\":[" + ADD + "],\"cashDelta\":-901}", 422);
+        assertThat(cash()).isEqualByComparingTo("900");
+        assertThat(stocks().size()).isEqualTo(1);
+    }
+
+    private JsonNode batch(String body, int expectedStatus) throws Exception {
+        String response = mvc.perform(post("/api/portfolios/" + portfolioId + "/stocks/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        return response.isEmpty() ? null : objectMapper.readTree(response);
+    }
+
+    private JsonNode stocks() throws Exception {
+        return objectMapper.readTree(mvc.perform(get("/api/portfolios/" + portfolioId + "/stocks")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private BigDecimal cash() throws Exception {
+        JsonNode portfolios = objectMapper.readTree(mvc.perform(get("/api/portfolios").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString());
+        for (JsonNode portfolio : portfolios) {
+            if (portfolio.get("id").asLong() == portfolioId) {
+                return portfolio.get("cash").decimalValue();
+            }
+        }
+        throw new AssertionError("portfolio not found");
+    }
+}
@@ -0,0 +1,90 @@
+package com.peekport.controller.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.peekport.support.QueryCountAssertions.assertMaxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void returnsNotModifiedUntilPortfolioChanges() throws Exception {
+        String token = login();
+        long portfolioId = createPortfolio(token);
+        addStock(token, portfolioId);
+        String stocks = "/api/portfolios/" + portfolioId + "/stocks";
+
+        String etag = mvc.perform(get(stocks).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isNotBlank();
+
+        // 304는 JWT 사용자 조회 + 순번 한 줄만
+        assertMaxQueries(2, () -> mvc.perform(get(stocks).header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified()));
+
+        addStock(token, portfolioId);
+        String changed = mvc.perform(get(stocks).header("Authorization", "Bearer " + token).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void otherUsersPortfolioIsNotAnsweredWithNotModified() throws Exception {
+        String owner = login();
+        long portfolioId = createPortfolio(owner);
+        String summary = "/api/portfolios/" + portfolioId + "/summary";
+        String etag = mvc.perform(get(summary).header("Authorization", "Bearer " + owner))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String other = login();
+        mvc.perform(get(summary).header("Authorization", "Bearer " + other).header("If-None-Match", etag))
+                .andExpect(status().isForbidden());
+    }
+
+    private String login() throws Exception {
+        String email = "etag-" + UUID.randomUUID() + "@test.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"pw\"}";
+        mvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"e\"," + credentials.substring(1)));
+        String body = mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private long createPortfolio(String token) throws Exception {
+        String created = mvc.perform(post("/api/portfolios").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"p\",\"targetAmount\":1000000,\"cash\":1000}"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    private void addStock(String token, long portfolioId) throws Exception {
+        mvc.perform(post("/api/portfolios/" + portfolioId + "/stocks/add").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"s\",\"quantity\":1,\"purchasePrice\":10}"))
+                .andExpect(status().is2xxSuccessful());
+    }
+}
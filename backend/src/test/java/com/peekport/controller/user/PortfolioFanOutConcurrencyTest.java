@@ -0,0 +1,92 @@
+package com.peekport.controller.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// 풀보다 훨씬 많은 요청이 동시에 목록을 읽어도 커넥션을 쥔 채 작업 몫 커넥션을 기다리며 막히지 않아야 함
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.minimum-idle=4",
+        "peekport.datasource.guard.max-wait=1s",
+        "peekport.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class PortfolioFanOutConcurrencyTest {
+
+    private static final int CONCURRENCY = 32;
+    private static final int ROUNDS = 4;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void portfolioListDoesNotExhaustPoolUnderConcurrency() throws Exception {
+        String token = login();
+        createPortfolio(token);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                results.add(clients.submit(() -> {
+                    start.await();
+                    int failures = 0;
+                    for (int round = 0; round < ROUNDS; round++) {
+                        int status = mvc.perform(get("/api/portfolios").header("Authorization", "Bearer " + token))
+                                .andReturn().getResponse().getStatus();
+                        if (status != 200) {
+                            failures++;
+                        }
+                    }
+                    return failures;
+                }));
+            }
+            start.countDown();
+
+            int failures = 0;
+            for (Future<Integer> result : results) {
+                failures += result.get(60, TimeUnit.SECONDS);
+            }
+            assertThat(failures).isZero();
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private String login() throws Exception {
+        String email = "fanout-" + UUID.randomUUID() + "@test.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"pw\"}";
+        mvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"f\"," + credentials.substring(1)));
+        String body = mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private void createPortfolio(String token) throws Exception {
+        mvc.perform(post("/api/portfolios").header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"p\",\"targetAmount\":1000000,\"cash\":1000}"));
+    }
+}
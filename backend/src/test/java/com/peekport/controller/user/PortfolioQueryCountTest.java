@@ -0,0 +1,72 @@
+package com.peekport.controller.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peekport.config.datasource.QueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.peekport.support.QueryCountAssertions.assertMaxQueries;
+import static com.peekport.support.QueryCountAssertions.count;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PortfolioQueryCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String token;
+
+    @BeforeEach
+    void login() throws Exception {
+        String email = "query-" + UUID.randomUUID() + "@test.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"pw\"}";
+        mvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"q\"," + credentials.substring(1)));
+        String body = mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).get("token").asText();
+    }
+
+    // 포트폴리오/종목 수와 관계없이 목록 조회 쿼리 수는 같아야 함 (포트폴리오마다 종목 조회 X)
+    @Test
+    void portfolioListDoesNotQueryPerPortfolio() throws Exception {
+        addPortfolioWithStocks(2);
+        QueryStats one = count(this::listPortfolios);
+
+        for (int i = 0; i < 4; i++) {
+            addPortfolioWithStocks(3);
+        }
+        assertMaxQueries(one.getStatements(), this::listPortfolios);
+    }
+
+    private void listPortfolios() throws Exception {
+        mvc.perform(get("/api/portfolios").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private void addPortfolioWithStocks(int stocks) throws Exception {
+        String created = mvc.perform(post("/api/portfolios").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"p\",\"targetAmount\":1000000,\"cash\":1000}"))
+                .andReturn().getResponse().getContentAsString();
+        long portfolioId = objectMapper.readTree(created).get("id").asLong();
+        for (int i = 0; i < stocks; i++) {
+            mvc.perform(post("/api/portfolios/" + portfolioId + "/stocks/add").header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"s" + i + "\",\"quantity\":1,\"purchasePrice\":10}"))
+                    .andExpect(status().is2xxSuccessful());
+        }
+    }
+}
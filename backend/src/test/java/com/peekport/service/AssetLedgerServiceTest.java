@@ -0,0 +1,166 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.AssetTransactionRequest;
+import com.peekport.dto.AssetTransactionResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.dto.LedgerRebuildResponse;
+import com.peekport.exception.InvalidAdjustmentException;
+import com.peekport.model.Asset;
+import com.peekport.model.AssetTransaction;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AssetLedgerServiceTest {
+
+    @Autowired
+    private AssetLedgerService assetLedgerService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private GoalAccountResponse portfolio;
+    private AssetResponse stock;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("l");
+        created.setEmail("ledger-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        portfolio = portfolioService.createPortfolio(request, user);
+
+        AssetRequest asset = new AssetRequest();
+        asset.setName("s");
+        asset.setQuantity(10);
+        asset.setPurchasePrice(new BigDecimal("100"));
+        stock = assetService.addAsset(portfolio.getId(), asset, user);
+    }
+
+    // 기초 10주 @100 → 매수/매도/배당/수량 조정/매수를 거치며 평단과 실현 손익을 거래 하나씩 반영
+    @Test
+    void tradesUpdateAverageCostAndRealizedProfit() {
+        // (10×100 + 10×120 + 수수료 10) / 20 = 110.50
+        AssetTransactionResponse buy = trade(AssetTransaction.Type.BUY, 10, "120", null, "10");
+        assertThat(buy.getPosition().getQuantity()).isEqualTo(20);
+        assertThat(buy.getPosition().getPurchasePrice()).isEqualByComparingTo("110.50");
+        assertThat(buy.getRealizedProfitLoss()).isEqualByComparingTo("0");
+
+        // (130 - 110.50) × 5 - 수수료 5 = 92.50
+        AssetTransactionResponse sell = trade(AssetTransaction.Type.SELL, 5, "130", null, "5");
+        assertThat(sell.getRealizedProfitLoss()).isEqualByComparingTo("92.50");
+        assertThat(sell.getPosition().getQuantity()).isEqualTo(15);
+        assertThat(sell.getPosition().getPurchasePrice()).isEqualByComparingTo("110.50");
+
+        // 30 - 세금 3 = 27, 수량/평단은 그대로
+        AssetTransactionResponse dividend = trade(AssetTransaction.Type.DIVIDEND, null, null, "30", "3");
+        assertThat(dividend.getRealizedProfitLoss()).isEqualByComparingTo("27.00");
+        assertThat(dividend.getPosition().getQuantity()).isEqualTo(15);
+        assertThat(dividend.getPosition().getRealizedProfitLoss()).isEqualByComparingTo("119.50");
+
+        // 수량만 직접 바꾸면 ADJUST로 남고, 이후 매수는 그 값을 기준으로 이어 계산
+        assetService.adjustQuantity(portfolio.getId(), stock.getId(), 5, user);
+        // (20 × 110.50 + 20 × 100) / 40 = 105.25
+        AssetTransactionResponse after = trade(AssetTransaction.Type.BUY, 20, "100", null, null);
+        assertThat(after.getPosition().getQuantity()).isEqualTo(40);
+        assertThat(after.getPosition().getPurchasePrice()).isEqualByComparingTo("105.25");
+        assertThat(after.getPosition().getRealizedProfitLoss()).isEqualByComparingTo("119.50");
+
+        assertThat(assetLedgerService.getTransactions(portfolio.getId(), stock.getId(), user))
+                .extracting(AssetTransactionResponse::getType)
+                .containsExactly(AssetTransaction.Type.ADJUST, AssetTransaction.Type.BUY, AssetTransaction.Type.SELL,
+                        AssetTransaction.Type.DIVIDEND, AssetTransaction.Type.ADJUST, AssetTransaction.Type.BUY);
+
+        LedgerRebuildResponse verified = assetLedgerService.verify(portfolio.getId(), stock.getId(), user);
+        assertThat(verified.isConsistent()).isTrue();
+        assertThat(verified.getEntries()).isEqualTo(6);
+        assertThat(verified.getRebuiltAvgPrice()).isEqualByComparingTo("105.25");
+    }
+
+    @Test
+    void oversellIsRejectedWithoutRecording() {
+        trade(AssetTransaction.Type.SELL, 4, "110", null, null);
+
+        assertThatThrownBy(() -> trade(AssetTransaction.Type.SELL, 7, "110", null, null))
+                .isInstanceOf(InvalidAdjustmentException.class);
+
+        Asset asset = asset();
+        assertThat(asset.getQuantity()).isEqualTo(6);
+        assertThat(asset.getRealizedProfitLoss()).isEqualByComparingTo("40.00");
+        assertThat(assetLedgerService.getTransactions(portfolio.getId(), stock.getId(), user)).hasSize(2);
+    }
+
+    // 저장된 값이 내역과 어긋나면 verify는 보고만 하고, rebuild가 내역 기준 값으로 덮어씀
+    @Test
+    void rebuildOverwritesMismatchedAsset() {
+        trade(AssetTransaction.Type.BUY, 10, "120", null, null);
+        trade(AssetTransaction.Type.SELL, 5, "130", null, null);
+        jdbcTemplate.update("UPDATE asset SET quantity = 99, purchase_price = 1, realized_profit_loss = 0 WHERE id = ?",
+                stock.getId());
+
+        LedgerRebuildResponse verified = assetLedgerService.verify(portfolio.getId(), stock.getId(), user);
+        assertThat(verified.isConsistent()).isFalse();
+        assertThat(verified.isApplied()).isFalse();
+        assertThat(verified.getStoredQuantity()).isEqualTo(99);
+        assertThat(asset().getQuantity()).isEqualTo(99);
+
+        LedgerRebuildResponse rebuilt = assetLedgerService.rebuild(portfolio.getId(), stock.getId(), user);
+        assertThat(rebuilt.isConsistent()).isFalse();
+        assertThat(rebuilt.isApplied()).isTrue();
+        assertThat(rebuilt.getRebuiltQuantity()).isEqualTo(15);
+
+        Asset asset = asset();
+        assertThat(asset.getQuantity()).isEqualTo(15);
+        assertThat(asset.getPurchasePrice()).isEqualByComparingTo("110.00");
+        assertThat(asset.getRealizedProfitLoss()).isEqualByComparingTo("100.00");
+        assertThat(assetLedgerService.verify(portfolio.getId(), stock.getId(), user).isConsistent()).isTrue();
+    }
+
+    private AssetTransactionResponse trade(AssetTransaction.Type type, Integer quantity, String price,
+                                           String amount, String fee) {
+        AssetTransactionRequest request = new AssetTransactionRequest();
+        request.setType(type);
+        request.setQuantity(quantity);
+        request.setPrice(price != null ? new BigDecimal(price) : null);
+        request.setAmount(amount != null ? new BigDecimal(amount) : null);
+        request.setFee(fee != null ? new BigDecimal(fee) : null);
+        return assetLedgerService.appendTrade(portfolio.getId(), stock.getId(), request, user);
+    }
+
+    private Asset asset() {
+        return assetRepository.findById(stock.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.peekport.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryOnly() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a"); // a를 최근에 씀
+
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void computeIfAbsentKeepsExistingValue() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        assertThat(cache.computeIfAbsent("a", k -> 1)).isEqualTo(1);
+        assertThat(cache.computeIfAbsent("a", k -> 2)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,164 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.BreakdownResponse;
+import com.peekport.dto.BreakdownResponse.Slice;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 원화 포트폴리오 (현금 100,000)
+ *   A(KRW, 국내주식, 장기) 10주 @10,000 (매수 8,000), A(KRW, 국내주식, 단기) 5주 @10,000 (매수 10,000),
+ *   B(KRW, 국내주식, 단기) 5주 @20,000 (매수 20,000), C(USD, 해외주식, 장기) 1주 @100 (매수 50)
+ * USD 포트폴리오 (현금 10)
+ *   C(USD, 해외주식, 장기) 2주 @100 (매수 100)
+ */
+@SpringBootTest
+class BreakdownServiceTest {
+
+    @Autowired
+    private BreakdownService breakdownService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private GoalAccountResponse won;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("b");
+        created.setEmail("breakdown-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+
+        won = portfolio("KRW", "100000");
+        GoalAccountResponse dollar = portfolio("USD", "10");
+        add(won, "A", "KRW", "국내주식", "장기", 10, "8000", "10000");
+        add(won, "A", "KRW", "국내주식", "단기", 5, "10000", "10000");
+        add(won, "B", "KRW", "국내주식", "단기", 5, "20000", "20000");
+        add(won, "C", "USD", "해외주식", "장기", 1, "50", "100");
+        add(dollar, "C", "USD", "해외주식", "장기", 2, "100", "100");
+    }
+
+    // 포트폴리오 통화(원화)로 환산해 분류/기간/종목별로 접음
+    @Test
+    void portfolioBreakdownSumsByCategoryTermAndTicker() {
+        FxRates fx = fxRateService.current();
+        BigDecimal usdValue = fx.convert(new BigDecimal("100"), "USD", "KRW");
+        BigDecimal usdInvestment = fx.convert(new BigDecimal("50"), "USD", "KRW");
+        BigDecimal total = new BigDecimal("350000").add(usdValue);
+
+        BreakdownResponse response = breakdownService.getPortfolioBreakdown(won.getId(), user);
+
+        assertThat(response.getCurrency()).isEqualTo("KRW");
+        assertThat(response.getTotalValue()).isEqualByComparingTo(total);
+        assertThat(response.getCash()).isEqualByComparingTo("100000");
+        assertThat(response.getCashWeight()).isEqualTo(weight(new BigDecimal("100000"), total));
+        assertThat(sums(response.getCategories())).containsExactlyInAnyOrder(
+                row("국내주식", 3L, new BigDecimal("250000"), new BigDecimal("230000")),
+                row("해외주식", 1L, usdValue, usdInvestment));
+        assertThat(sums(response.getTerms())).containsExactlyInAnyOrder(
+                row("장기", 2L, new BigDecimal("100000").add(usdValue), new BigDecimal("80000").add(usdInvestment)),
+                row("단기", 2L, new BigDecimal("150000"), new BigDecimal("150000")));
+        assertThat(sums(response.getTickers())).containsExactlyInAnyOrder(
+                row("A", 2L, new BigDecimal("150000"), new BigDecimal("130000")),
+                row("B", 1L, new BigDecimal("100000"), new BigDecimal("100000")),
+                row("C", 1L, usdValue, usdInvestment));
+
+        Slice a = slice(response.getTickers(), "A");
+        assertThat(a.getTerm()).isEqualTo("장기");
+        assertThat(a.getProfitLoss()).isEqualByComparingTo("20000");
+        assertThat(a.getReturnRate()).isEqualTo(15.38);
+        assertThat(a.getWeight()).isEqualTo(weight(new BigDecimal("150000"), total));
+    }
+
+    // 전체 합산은 요청 통화(USD)로 환산: 원화 행과 현금은 바꾸고 USD 행은 그대로 더함
+    @Test
+    void userBreakdownConvertsToRequestedCurrency() {
+        FxRates fx = fxRateService.current();
+        BigDecimal a = fx.convert(new BigDecimal("100000"), "KRW", "USD")
+                .add(fx.convert(new BigDecimal("50000"), "KRW", "USD"));
+        BigDecimal b = fx.convert(new BigDecimal("100000"), "KRW", "USD");
+        BigDecimal cash = fx.convert(new BigDecimal("100000"), "KRW", "USD").add(BigDecimal.TEN);
+
+        BreakdownResponse response = breakdownService.getUserBreakdown(user, "usd");
+
+        assertThat(response.getCurrency()).isEqualTo("USD");
+        assertThat(response.getCash()).isEqualByComparingTo(cash);
+        assertThat(response.getTotalValue()).isEqualByComparingTo(cash.add(a).add(b).add(new BigDecimal("300")));
+        assertThat(sums(response.getTickers())).containsExactlyInAnyOrder(
+                row("A", 2L, a, fx.convert(new BigDecimal("80000"), "KRW", "USD")
+                        .add(fx.convert(new BigDecimal("50000"), "KRW", "USD"))),
+                row("B", 1L, b, b),
+                row("C", 2L, new BigDecimal("300"), new BigDecimal("250")));
+        assertThat(slice(response.getCategories(), "해외주식").getValue()).isEqualByComparingTo("300");
+    }
+
+    private static List<Tuple> sums(List<Slice> slices) {
+        return slices.stream()
+                .map(slice -> row(slice.getKey(), slice.getCount(), slice.getValue(), slice.getInvestment()))
+                .toList();
+    }
+
+    // 금액은 자릿수(scale)와 상관없이 비교
+    private static Tuple row(String key, long count, BigDecimal value, BigDecimal investment) {
+        return tuple(key, count, value.stripTrailingZeros(), investment.stripTrailingZeros());
+    }
+
+    private static Slice slice(List<Slice> slices, String key) {
+        return slices.stream().filter(slice -> key.equals(slice.getKey())).findFirst().orElseThrow();
+    }
+
+    private static double weight(BigDecimal value, BigDecimal total) {
+        return value.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private GoalAccountResponse portfolio(String currency, String cash) {
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName(currency);
+        request.setTargetAmount(1_000_000L);
+        request.setCurrency(currency);
+        request.setCash(new BigDecimal(cash));
+        return portfolioService.createPortfolio(request, user);
+    }
+
+    private void add(GoalAccountResponse portfolio, String ticker, String currency, String category, String term,
+                     int quantity, String purchasePrice, String currentPrice) {
+        AssetRequest request = new AssetRequest();
+        request.setName(ticker);
+        request.setTicker(ticker);
+        request.setCurrency(currency);
+        request.setCategory(category);
+        request.setTerm(term);
+        request.setQuantity(quantity);
+        request.setPurchasePrice(new BigDecimal(purchasePrice));
+        request.setCurrentPrice(new BigDecimal(currentPrice));
+        assetService.addAsset(portfolio.getId(), request, user);
+    }
+}
@@ -0,0 +1,222 @@
+package com.peekport.service;
+
+import com.peekport.dto.CorporateActionRequest;
+import com.peekport.dto.CorporateActionResponse;
+import com.peekport.exception.InvalidRequestException;
+import com.peekport.model.Asset;
+import com.peekport.model.CorporateAction;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.CorporateActionRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.AopTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = "peekport.corporate-action.chunk-size=2")
+class CorporateActionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+    @Autowired
+    private CorporateActionService corporateActionService;
+
+    @Autowired
+    private CorporateActionRepository corporateActionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalAccountRepository goalAccountRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private ChangeTracker changeTracker;
+
+    @Test
+    void splitMultipliesQuantityAndDividesPrices() {
+        String ticker = ticker();
+        GoalAccount goal = portfolio();
+        Asset asset = holding(goal, ticker, 10, "100", "120");
+
+        CorporateActionResponse response = corporateActionService.apply(split(CorporateAction.Type.SPLIT, ticker, 1, 4));
+
+        Asset adjusted = assetRepository.findById(asset.getId()).orElseThrow();
+        assertThat(adjusted.getQuantity()).isEqualTo(40);
+        assertThat(adjusted.getPurchasePrice()).isEqualByComparingTo("25");
+        assertThat(adjusted.getCurrentPrice()).isEqualByComparingTo("30");
+        assertThat(response.getAssetsAdjusted()).isEqualTo(1);
+        assertThat(response.getFractionalHoldings()).isZero();
+        assertThat(response.getStatus()).isEqualTo(CorporateAction.Status.COMPLETED);
+    }
+
+    // 3주 → 1주 병합: 10주는 3주가 되고 남는 1/3주는 변경 이벤트에 기록
+    @Test
+    void reverseSplitFloorsQuantityAndRecordsDroppedFraction() {
+        String ticker = ticker();
+        GoalAccount goal = portfolio();
+        Asset asset = holding(goal, ticker, 10, "30", "33");
+
+        CorporateActionResponse response = corporateActionService.apply(split(CorporateAction.Type.REVERSE_SPLIT, ticker, 3, 1));
+
+        Asset adjusted = assetRepository.findById(asset.getId()).orElseThrow();
+        assertThat(adjusted.getQuantity()).isEqualTo(3);
+        assertThat(adjusted.getPurchasePrice()).isEqualByComparingTo("90");
+        assertThat(adjusted.getCurrentPrice()).isEqualByComparingTo("99");
+        assertThat(response.getFractionalHoldings()).isEqualTo(1);
+
+        String detail = jdbcTemplate.queryForObject(
+                "SELECT detail FROM asset_events WHERE entity_type = 'ASSET' AND entity_id = ? AND detail IS NOT NULL",
+                String.class, asset.getId());
+        assertThat(detail).contains("\"droppedQuantity\":0.333333").contains("\"valueAtAdjustedPrice\":33.00");
+    }
+
+    @Test
+    void renameChangesTickerAndName() {
+        String ticker = ticker();
+        String newTicker = ticker();
+        GoalAccount goal = portfolio();
+        Asset asset = holding(goal, ticker, 5, "10", "10");
+
+        CorporateActionRequest request = new CorporateActionRequest();
+        request.setType(CorporateAction.Type.RENAME);
+        request.setTicker(ticker);
+        request.setNewTicker(newTicker);
+        request.setNewName("renamed");
+        request.setEffectiveDate(TODAY);
+        corporateActionService.apply(request);
+
+        Asset renamed = assetRepository.findById(asset.getId()).orElseThrow();
+        assertThat(renamed.getTicker()).isEqualTo(newTicker);
+        assertThat(renamed.getName()).isEqualTo("renamed");
+        assertThat(renamed.getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void sameActionIsAppliedOnce() {
+        String ticker = ticker();
+        GoalAccount goal = portfolio();
+        Asset asset = holding(goal, ticker, 10, "100", "100");
+
+        corporateActionService.apply(split(CorporateAction.Type.SPLIT, ticker, 1, 2));
+        CorporateActionResponse again = corporateActionService.apply(split(CorporateAction.Type.SPLIT, ticker, 1, 2));
+
+        assertThat(again.isAlreadyApplied()).isTrue();
+        assertThat(assetRepository.findById(asset.getId()).orElseThrow().getQuantity()).isEqualTo(20);
+
+        // 같은 날짜에 비율만 다른 요청은 거절
+        assertThatThrownBy(() -> corporateActionService.apply(split(CorporateAction.Type.SPLIT, ticker, 1, 3)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    // 두 번째 묶음에서 실패해도 첫 묶음은 커밋되어 있고, 다시 요청하면 남은 종목만 반영
+    @Test
+    void resumesAfterPartialRun() {
+        String ticker = ticker();
+        GoalAccount goal = portfolio();
+        List<Asset> holdings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            holdings.add(holding(goal, ticker, 10, "100", "100"));
+        }
+
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (chunks.incrementAndGet() == 2) {
+                throw new IllegalStateException("중단");
+            }
+            return invocation.callRealMethod();
+        }).when(AopTestUtils.<ChangeTracker>getTargetObject(changeTracker)).assetsUpdated(anyLong(), anyLong(), anyCollection(), any());
+        try {
+            assertThatThrownBy(() -> corporateActionService.apply(split(CorporateAction.Type.SPLIT, ticker, 1, 2)))
+                    .hasMessage("중단");
+        } finally {
+            reset(AopTestUtils.<ChangeTracker>getTargetObject(changeTracker));
+        }
+
+        CorporateAction running = corporateActionRepository
+                .findByTypeAndTickerAndEffectiveDate(CorporateAction.Type.SPLIT, ticker, TODAY).orElseThrow();
+        assertThat(running.getStatus()).isEqualTo(CorporateAction.Status.RUNNING);
+        assertThat(running.getLastAssetId()).isEqualTo(holdings.get(1).getId());
+        assertThat(quantities(holdings)).containsExactly(20, 20, 10, 10, 10);
+
+        CorporateActionResponse resumed = corporateActionService.apply(split(CorporateAction.Type.SPLIT, ticker, 1, 2));
+
+        assertThat(resumed.getStatus()).isEqualTo(CorporateAction.Status.COMPLETED);
+        assertThat(resumed.getAssetsAdjusted()).isEqualTo(5);
+        assertThat(quantities(holdings)).containsExactly(20, 20, 20, 20, 20);
+    }
+
+    private List<Integer> quantities(List<Asset> holdings) {
+        return holdings.stream()
+                .map(h -> assetRepository.findById(h.getId()).orElseThrow().getQuantity())
+                .toList();
+    }
+
+    private static CorporateActionRequest split(CorporateAction.Type type, String ticker, int from, int to) {
+        CorporateActionRequest request = new CorporateActionRequest();
+        request.setType(type);
+        request.setTicker(ticker);
+        request.setRatioFrom(from);
+        request.setRatioTo(to);
+        request.setEffectiveDate(TODAY);
+        return request;
+    }
+
+    private GoalAccount portfolio() {
+        User user = new User();
+        user.setName("c");
+        user.setEmail("corporate-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("pw");
+        user = userRepository.save(user);
+
+        GoalAccount goal = new GoalAccount();
+        goal.setUser(user);
+        goal.setName("p");
+        goal.setTargetAmount(1_000_000L);
+        return goalAccountRepository.save(goal);
+    }
+
+    private Asset holding(GoalAccount goal, String ticker, int quantity, String purchasePrice, String currentPrice) {
+        Asset asset = new Asset();
+        asset.setUser(goal.getUser());
+        asset.setGoalAccount(goal);
+        asset.setName(ticker);
+        asset.setTicker(ticker);
+        asset.setQuantity(quantity);
+        asset.setPurchasePrice(new BigDecimal(purchasePrice));
+        asset.setCurrentPrice(new BigDecimal(currentPrice));
+        asset.setCurrency("KRW");
+        return assetRepository.save(asset);
+    }
+
+    private static String ticker() {
+        return "T" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,147 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.ExposureResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 원화 포트폴리오: AAPL(USD) 2주 @100 (매수 80), 005930(KRW) 10주 @70,000 (매수 60,000)
+ * USD 포트폴리오: AAPL(USD) 3주 @100 (매수 90)
+ */
+@SpringBootTest
+class ExposureServiceTest {
+
+    @Autowired
+    private ExposureService exposureService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private GoalAccountResponse won;
+    private AssetResponse apple;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("e");
+        created.setEmail("exposure-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+
+        won = portfolio("KRW");
+        GoalAccountResponse dollar = portfolio("USD");
+        apple = assetService.addAsset(won.getId(), stock("AAPL", "USD", "해외주식", 2, "80", "100"), user);
+        assetService.addAsset(won.getId(), stock("005930", "KRW", "국내주식", 10, "60000", "70000"), user);
+        assetService.addAsset(dollar.getId(), stock("AAPL", "USD", "해외주식", 3, "90", "100"), user);
+    }
+
+    // 두 포트폴리오의 같은 티커는 한 줄로 합치고, 통화가 다른 종목은 요청 통화로 환산해 더함
+    @Test
+    void sumsAcrossPortfoliosInRequestedCurrency() {
+        FxRates fx = fxRateService.current();
+        BigDecimal appleWon = fx.convert(new BigDecimal("500"), "USD", "KRW");
+
+        ExposureResponse krw = exposureService.getExposure(user, null);
+
+        assertThat(krw.getCurrency()).isEqualTo("KRW");
+        assertThat(krw.getTotalValue()).isEqualByComparingTo(appleWon.add(new BigDecimal("700000")));
+        assertThat(krw.getTotalInvestment())
+                .isEqualByComparingTo(fx.convert(new BigDecimal("430"), "USD", "KRW").add(new BigDecimal("600000")));
+        assertThat(krw.getTickers())
+                .extracting(ExposureResponse.Item::getKey, ExposureResponse.Item::getQuantity,
+                        ExposureResponse.Item::getPortfolioCount)
+                .containsExactlyInAnyOrder(tuple("AAPL", 5L, 2L), tuple("005930", 10L, 1L));
+        assertThat(item(krw, "AAPL").getValue()).isEqualByComparingTo(appleWon);
+        assertThat(krw.getCategories())
+                .extracting(ExposureResponse.Item::getKey)
+                .containsExactlyInAnyOrder("해외주식", "국내주식");
+
+        ExposureResponse usd = exposureService.getExposure(user, "usd");
+
+        assertThat(usd.getCurrency()).isEqualTo("USD");
+        assertThat(item(usd, "AAPL").getValue()).isEqualByComparingTo("500");
+        assertThat(item(usd, "AAPL").getInvestment()).isEqualByComparingTo("430");
+        assertThat(item(usd, "005930").getValue())
+                .isEqualByComparingTo(fx.convert(new BigDecimal("700000"), "KRW", "USD"));
+        assertThat(usd.getTickers().get(0).getWeight() + usd.getTickers().get(1).getWeight())
+                .isCloseTo(100.0, within(0.02));
+    }
+
+    // 종목을 고치면 사용자 변경 순번이, 환율을 고치면 환율 버전이 바뀌어 다시 계산
+    @Test
+    void recomputedAfterHoldingOrRateChange() {
+        ExposureResponse before = exposureService.getExposure(user, "USD");
+        assertThat(exposureService.getExposure(user, "USD")).isSameAs(before);
+
+        assetService.adjustQuantity(won.getId(), apple.getId(), 1, user);
+
+        ExposureResponse edited = exposureService.getExposure(user, "USD");
+        assertThat(edited).isNotSameAs(before);
+        assertThat(item(edited, "AAPL").getQuantity()).isEqualTo(6L);
+        assertThat(item(edited, "AAPL").getValue()).isEqualByComparingTo("600");
+
+        BigDecimal usdRate = fxRateService.current().getRates().get("USD");
+        try {
+            fxRateService.upsert(Map.of("USD", usdRate.multiply(BigDecimal.valueOf(2))));
+
+            ExposureResponse repriced = exposureService.getExposure(user, "USD");
+            assertThat(repriced).isNotSameAs(edited);
+            assertThat(item(repriced, "005930").getValue())
+                    .isEqualByComparingTo(fxRateService.current().convert(new BigDecimal("700000"), "KRW", "USD"));
+            assertThat(item(repriced, "005930").getValue()).isLessThan(item(edited, "005930").getValue());
+        } finally {
+            fxRateService.upsert(Map.of("USD", usdRate));
+        }
+    }
+
+    private static ExposureResponse.Item item(ExposureResponse response, String key) {
+        return response.getTickers().stream().filter(item -> item.getKey().equals(key)).findFirst().orElseThrow();
+    }
+
+    private GoalAccountResponse portfolio(String currency) {
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName(currency);
+        request.setTargetAmount(1_000_000L);
+        request.setCurrency(currency);
+        return portfolioService.createPortfolio(request, user);
+    }
+
+    private static AssetRequest stock(String ticker, String currency, String category, int quantity,
+                                      String purchasePrice, String currentPrice) {
+        AssetRequest request = new AssetRequest();
+        request.setName(ticker);
+        request.setTicker(ticker);
+        request.setCurrency(currency);
+        request.setCategory(category);
+        request.setQuantity(quantity);
+        request.setPurchasePrice(new BigDecimal(purchasePrice));
+        request.setCurrentPrice(new BigDecimal(currentPrice));
+        return request;
+    }
+}
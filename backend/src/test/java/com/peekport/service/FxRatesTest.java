@@ -0,0 +1,62 @@
+package com.peekport.service;
+
+import com.peekport.exception.FxRateUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FxRatesTest {
+
+    private final FxRates rates = new FxRates(1, Map.of(
+            "USD", new BigDecimal("1380"),
+            "JPY", new BigDecimal("9.2")));
+
+    @Test
+    void convertsThroughBaseCurrency() {
+        assertThat(rates.convert(new BigDecimal("10"), "USD", "KRW")).isEqualByComparingTo("13800");
+        assertThat(rates.convert(new BigDecimal("13800"), "KRW", "USD")).isEqualByComparingTo("10");
+        assertThat(rates.convert(new BigDecimal("100"), "USD", "JPY")).isEqualByComparingTo("15000");
+    }
+
+    @Test
+    void sameCurrencyKeepsAmountAsIs() {
+        BigDecimal amount = new BigDecimal("123.456789");
+
+        assertThat(rates.convert(amount, "USD", "USD")).isSameAs(amount);
+        assertThat(rates.convert(amount, null, "KRW")).isSameAs(amount);
+    }
+
+    @Test
+    void unknownCurrencyFails() {
+        assertThatThrownBy(() -> rates.convert(BigDecimal.ONE, "EUR", "KRW"))
+                .isInstanceOf(FxRateUnavailableException.class);
+    }
+
+    @Test
+    void formatsByCurrency() {
+        assertThat(FxRates.format(new BigDecimal("1234567.4"), "KRW")).isEqualTo("1,234,567원");
+        assertThat(FxRates.format(new BigDecimal("1234.5"), "USD")).isEqualTo("1,234.50 USD");
+        assertThat(FxRates.format(new BigDecimal("1234.5"), "JPY")).isEqualTo("1,235 JPY");
+        assertThat(FxRates.fractionDigits("USD")).isEqualTo(2);
+        assertThat(FxRates.fractionDigits(null)).isZero();
+    }
+
+    // 버전이나 소수 자릿수와 무관하게 값이 같으면 같은 지문, 값이 하나라도 다르면 다른 지문
+    @Test
+    void fingerprintDependsOnValuesOnly() {
+        FxRates rescaled = new FxRates(7, Map.of(
+                "USD", new BigDecimal("1380.00000000"),
+                "JPY", new BigDecimal("9.20")));
+        FxRates swapped = new FxRates(1, Map.of(
+                "USD", new BigDecimal("9.2"),
+                "JPY", new BigDecimal("1380")));
+
+        assertThat(rescaled.getFingerprint()).isEqualTo(rates.getFingerprint()).hasSize(32);
+        assertThat(swapped.getFingerprint()).isNotEqualTo(rates.getFingerprint());
+        assertThat(FxRates.baseOnly().getFingerprint()).isNotEqualTo(rates.getFingerprint());
+    }
+}
@@ -0,0 +1,76 @@
+package com.peekport.service;
+
+import com.peekport.dto.InstrumentResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 종목 20만 개 자동완성 색인 적재/검색 지연 측정 (gradle benchmark 로만 실행)
+ */
+@Tag("benchmark")
+class InstrumentIndexBenchmarkTest {
+
+    private static final int INSTRUMENTS = 200_000;
+    private static final int QUERIES = 50_000;
+
+    @Test
+    void twoHundredThousandInstruments() {
+        Random random = new Random(42);
+        List<InstrumentResponse> instruments = new ArrayList<>(INSTRUMENTS);
+        for (int i = 0; i < INSTRUMENTS; i++) {
+            instruments.add(new InstrumentResponse(String.format("%06d", i), randomName(random), "KOSPI", "KRW"));
+        }
+
+        long startedAt = System.nanoTime();
+        InstrumentIndex index = InstrumentIndex.build(1, instruments);
+        long buildMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // 실제 이름/티커의 앞 1~4글자, 절반은 초성으로
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            InstrumentResponse target = instruments.get(random.nextInt(INSTRUMENTS));
+            String source = switch (i % 3) {
+                case 0 -> target.getTicker();
+                case 1 -> target.getName();
+                default -> InstrumentIndex.chosung(target.getName());
+            };
+            queries[i] = source.substring(0, 1 + random.nextInt(Math.min(4, source.length())));
+        }
+
+        long[] latencies = new long[QUERIES];
+        long results = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long queryStartedAt = System.nanoTime();
+            results += index.search(queries[i], 10).size();
+            latencies[i] = System.nanoTime() - queryStartedAt;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("[benchmark] instruments=%d keys=%d build=%dms%n", index.size(), index.keyCount(), buildMillis);
+        System.out.printf("[benchmark] queries=%d results=%d p50=%dns p99=%dns p999=%dns max=%dns%n",
+                QUERIES, results, latencies[QUERIES / 2], latencies[QUERIES * 99 / 100],
+                latencies[QUERIES * 999 / 1000], latencies[QUERIES - 1]);
+
+        assertThat(results).isPositive();
+    }
+
+    // 2~6음절 한글 이름, 가끔 두 단어
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(5);
+        for (int i = 0; i < syllables; i++) {
+            if (i == 2 && random.nextInt(4) == 0) {
+                name.append(' ');
+            }
+            name.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.peekport.service;
+
+import com.peekport.dto.InstrumentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentIndexTest {
+
+    private final InstrumentIndex index = InstrumentIndex.build(1, List.of(
+            new InstrumentResponse("005930", "삼성전자", "KOSPI", "KRW"),
+            new InstrumentResponse("005935", "삼성전자우", "KOSPI", "KRW"),
+            new InstrumentResponse("000660", "SK하이닉스", "KOSPI", "KRW"),
+            new InstrumentResponse("360750", "TIGER 미국S&P500", "ETF", "KRW"),
+            new InstrumentResponse("AAPL", "Apple Inc.", "NASDAQ", "USD"),
+            new InstrumentResponse("AMD", "Advanced Micro Devices Inc.", "NASDAQ", "USD")));
+
+    @Test
+    void matchesTickerPrefixBeforeNames() {
+        assertThat(tickers("0059")).containsExactly("005930", "005935");
+        assertThat(tickers("a")).containsExactly("AMD", "AAPL");
+        assertThat(tickers("aapl")).containsExactly("AAPL");
+    }
+
+    @Test
+    void matchesNamePrefixAndLaterWords() {
+        assertThat(tickers("삼성")).containsExactly("005930", "005935");
+        assertThat(tickers("s")).containsExactly("000660");
+        assertThat(tickers("apple")).containsExactly("AAPL");
+        assertThat(tickers("미국s&p")).containsExactly("360750");
+        assertThat(tickers("micro")).containsExactly("AMD");
+    }
+
+    @Test
+    void matchesChosung() {
+        assertThat(tickers("ㅅㅅㅈㅈ")).containsExactly("005930", "005935");
+        assertThat(tickers("ㅅㅅㅈㅈㅇ")).containsExactly("005935");
+        assertThat(tickers("skㅎㅇ")).containsExactly("000660");
+        assertThat(tickers("ㅁㄱ")).containsExactly("360750");
+    }
+
+    @Test
+    void respectsLimitAndIgnoresBlankQuery() {
+        assertThat(index.search("0", 1)).hasSize(1);
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void chosungConvertsOnlyHangulSyllables() {
+        assertThat(InstrumentIndex.chosung("sk하이닉스")).isEqualTo("skㅎㅇㄴㅅ");
+        assertThat(InstrumentIndex.normalize("S-Oil")).isEqualTo("soil");
+    }
+
+    private List<String> tickers(String query) {
+        return index.search(query, 10).stream().map(InstrumentResponse::getTicker).toList();
+    }
+}
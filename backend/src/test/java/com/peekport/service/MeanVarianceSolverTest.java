@@ -0,0 +1,84 @@
+package com.peekport.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MeanVarianceSolverTest {
+
+    @Test
+    void projectionRespectsBoxAndBudget() {
+        double[] v = {0.9, 0.5, -0.3, 0.1};
+        double[] lo = {0.0, 0.1, 0.05, 0.0};
+        double[] hi = {0.4, 1.0, 1.0, 1.0};
+        double[] out = new double[4];
+
+        MeanVarianceSolver.project(v, lo, hi, 4, out);
+
+        assertThat(Arrays.stream(out).sum()).isCloseTo(1.0, within(1e-12));
+        assertThat(out[0]).isCloseTo(0.4, within(1e-12));
+        assertThat(out[2]).isCloseTo(0.05, within(1e-12));
+        // 상하한에 걸리지 않은 원소는 같은 τ만큼 이동
+        assertThat(v[1] - out[1]).isCloseTo(v[3] - out[3], within(1e-12));
+    }
+
+    @Test
+    void twoAssetMinimumVarianceMatchesClosedForm() {
+        // 분산 0.04, 0.09, 공분산 0.006 → w1 = (σ2² − σ12) / (σ1² + σ2² − 2σ12)
+        double[] cov = {0.04, 0.006, 0.006, 0.09};
+        double[] mu = {0.05, 0.05};
+        double[] w = {0.5, 0.5};
+
+        MeanVarianceSolver.solve(cov, mu, 2, 1e4, MeanVarianceSolver.spectralRadius(cov, 2),
+                new double[]{0, 0}, new double[]{1, 1}, w, 1e-12, 10_000);
+
+        assertThat(w[0]).isCloseTo((0.09 - 0.006) / (0.04 + 0.09 - 0.012), within(1e-6));
+    }
+
+    @Test
+    void solvesThreeHundredAssetsToFixedPoint() {
+        int n = 300;
+        Random random = new Random(3);
+        // 요인 2개 + 개별 위험
+        double[] loadings = new double[n * 2];
+        double[] mu = new double[n];
+        for (int i = 0; i < n; i++) {
+            loadings[i * 2] = 0.15 + random.nextDouble() * 0.1;
+            loadings[i * 2 + 1] = random.nextGaussian() * 0.1;
+            mu[i] = 0.03 + random.nextDouble() * 0.08;
+        }
+        double[] cov = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                cov[i * n + j] = loadings[i * 2] * loadings[j * 2] + loadings[i * 2 + 1] * loadings[j * 2 + 1]
+                        + (i == j ? 0.02 + random.nextDouble() * 0.05 : 0);
+            }
+        }
+        double[] lo = new double[n];
+        double[] hi = new double[n];
+        Arrays.fill(hi, 0.05);
+        double[] w = new double[n];
+        Arrays.fill(w, 1.0 / n);
+        double radius = MeanVarianceSolver.spectralRadius(cov, n);
+        double lambda = 4;
+
+        MeanVarianceSolver.solve(cov, mu, n, lambda, radius, lo, hi, w, 1e-10, 20_000);
+
+        // 최적점은 투영 경사 한 스텝의 고정점
+        double[] gradient = RiskMath.multiply(cov, w, n);
+        double[] stepped = new double[n];
+        for (int i = 0; i < n; i++) {
+            stepped[i] = w[i] - (lambda * gradient[i] - mu[i]) / (lambda * radius);
+        }
+        MeanVarianceSolver.project(stepped, lo, hi, n, stepped);
+        for (int i = 0; i < n; i++) {
+            assertThat(stepped[i]).isCloseTo(w[i], within(1e-8));
+            assertThat(w[i]).isBetween(-1e-12, 0.05 + 1e-12);
+        }
+        assertThat(Arrays.stream(w).sum()).isCloseTo(1.0, within(1e-9));
+    }
+}
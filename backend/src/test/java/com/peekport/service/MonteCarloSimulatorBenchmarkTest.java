@@ -0,0 +1,65 @@
+package com.peekport.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 최대 요청(경로 10만 × 360개월) 시뮬레이션 시간 측정 (gradle benchmark 로만 실행)
+ * 코어 8개 이상에서는 기본 시간 제한(200ms) 안에 잘리지 않고 끝나야 한다.
+ */
+@Tag("benchmark")
+class MonteCarloSimulatorBenchmarkTest {
+
+    private static final int PATHS = 100_000;
+    private static final int MONTHS = 360;
+    private static final int PARALLELISM = 8;
+    private static final long BUDGET_NANOS = 200_000_000L;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 10;
+
+    @Test
+    void hundredThousandPathsOverThirtyYears() {
+        int[] checkpoints = new int[MONTHS / 12];
+        for (int k = 0; k < checkpoints.length; k++) {
+            checkpoints[k] = (k + 1) * 12;
+        }
+        MonteCarloSimulator.Params params = new MonteCarloSimulator.Params(10_000_000, 500_000, MONTHS, 300_000_000,
+                0.06, 0.12, PATHS, checkpoints, 42L, 2_048);
+
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                MonteCarloSimulator.run(params, pool, Long.MAX_VALUE);
+            }
+
+            long[] elapsed = new long[RUNS];
+            int truncatedRuns = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long startedAt = System.nanoTime();
+                MonteCarloSimulator.Result result = MonteCarloSimulator.run(params, pool, startedAt + BUDGET_NANOS);
+                elapsed[i] = System.nanoTime() - startedAt;
+                if (result.truncated()) {
+                    truncatedRuns++;
+                }
+            }
+            Arrays.sort(elapsed);
+
+            int cores = Runtime.getRuntime().availableProcessors();
+            System.out.printf("[benchmark] paths=%d months=%d cores=%d parallelism=%d p50=%dms max=%dms truncated=%d/%d%n",
+                    PATHS, MONTHS, cores, PARALLELISM, elapsed[RUNS / 2] / 1_000_000, elapsed[RUNS - 1] / 1_000_000,
+                    truncatedRuns, RUNS);
+
+            assumeTrue(cores >= PARALLELISM, "코어 " + PARALLELISM + "개 미만에서는 측정값만 출력");
+            assertThat(truncatedRuns).isZero();
+            assertThat(elapsed[RUNS / 2]).isLessThan(BUDGET_NANOS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.peekport.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MonteCarloSimulatorTest {
+
+    private final ForkJoinPool single = new ForkJoinPool(1);
+    private final ForkJoinPool multi = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        single.shutdownNow();
+        multi.shutdownNow();
+    }
+
+    @Test
+    void sameSeedGivesSameResultRegardlessOfParallelism() {
+        MonteCarloSimulator.Params params = params(0.06, 0.15, 5_000, 1_500_000);
+
+        MonteCarloSimulator.Result a = MonteCarloSimulator.run(params, single, Long.MAX_VALUE);
+        MonteCarloSimulator.Result b = MonteCarloSimulator.run(params, multi, Long.MAX_VALUE);
+
+        assertThat(a.paths()).isEqualTo(5_000);
+        assertThat(a.truncated()).isFalse();
+        assertThat(a.hitAtEnd()).isEqualTo(b.hitAtEnd());
+        assertThat(a.bands()).isDeepEqualTo(b.bands());
+        assertThat(a.hitAnyTime()).isGreaterThanOrEqualTo(a.hitAtEnd());
+    }
+
+    @Test
+    void zeroVolatilityCompoundsExpectedReturn() {
+        // 1,000,000원, 연 6%, 납입 없음, 24개월 → 1,000,000 × 1.06²
+        MonteCarloSimulator.Result result = MonteCarloSimulator.run(
+                params(0.06, 0.0, 100, 1_123_000), multi, Long.MAX_VALUE);
+
+        double[] end = result.bands()[1];
+        assertThat(end[0]).isCloseTo(1_123_600, within(1.0));
+        assertThat(end[4]).isCloseTo(1_123_600, within(1.0));
+        assertThat(result.hitAtEnd()).isEqualTo(1.0);
+    }
+
+    @Test
+    void expiredDeadlineSkipsRemainingChunks() {
+        MonteCarloSimulator.Result result = MonteCarloSimulator.run(
+                params(0.06, 0.15, 5_000, 1_500_000), multi, System.nanoTime() - 1);
+
+        assertThat(result.paths()).isZero();
+        assertThat(result.truncated()).isTrue();
+    }
+
+    // 작업이 하나뿐이어도 마감이 지나면 경로 사이에서 멈추고 끝낸 경로로 집계
+    @Test
+    void deadlineStopsInsideRunningChunk() {
+        MonteCarloSimulator.Params params = new MonteCarloSimulator.Params(1_000_000, 0, 600, 1_500_000, 0.06, 0.15,
+                1_000_000, new int[]{600}, 42L, 1_000_000);
+
+        MonteCarloSimulator.Result result = MonteCarloSimulator.run(params, single, System.nanoTime() + 20_000_000);
+
+        assertThat(result.truncated()).isTrue();
+        assertThat(result.paths()).isBetween(1, 999_999);
+        assertThat(result.bands()[0][0]).isLessThanOrEqualTo(result.bands()[0][4]);
+    }
+
+    private static MonteCarloSimulator.Params params(double expectedReturn, double volatility, int paths, double target) {
+        return new MonteCarloSimulator.Params(1_000_000, 0, 24, target, expectedReturn, volatility,
+                paths, new int[]{12, 24}, 42L, 256);
+    }
+}
@@ -0,0 +1,169 @@
+package com.peekport.service;
+
+import com.peekport.config.NotificationProperties;
+import com.peekport.model.NotificationOutbox;
+import com.peekport.model.NotificationType;
+import com.peekport.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+// 다른 테스트 컨텍스트의 발송 주기가 같은 행을 가져가지 않도록 DB를 따로 쓰고, 주기 발송은 사실상 끔
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notifications;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "peekport.notification.dispatch-interval-ms=3600000",
+        "peekport.notification.batch-size=5",
+        "peekport.notification.per-user-limit=1000",
+        "peekport.notification.max-attempts=3"
+})
+class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private NotificationProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private NotificationSink sink;
+
+    @BeforeEach
+    void setUp() {
+        notificationOutboxRepository.deleteAll();
+        reset(sink);
+    }
+
+    // 두 서버가 동시에 돌아도 한 알림은 한 쪽만 점유해 한 번만 발송
+    @Test
+    void concurrentDispatchersClaimEachRowOnce() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            notificationOutboxRepository.save(new NotificationOutbox((long) (i % 8) + 1, NotificationType.PRICE_ALERT, "t" + i, "b"));
+        }
+        Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+        doAnswer(invocation -> {
+            delivered.addAll(invocation.<NotificationSink.Message>getArgument(0).ids());
+            return null;
+        }).when(sink).send(any());
+
+        NotificationDispatcher other = new NotificationDispatcher(notificationOutboxRepository, sink, properties,
+                transactionManager, new SimpleMeterRegistry());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> runs = new ArrayList<>();
+            for (NotificationDispatcher dispatcher : List.of(notificationDispatcher, other)) {
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    return dispatcher.dispatch();
+                }));
+            }
+            start.countDown();
+            int sent = 0;
+            for (Future<Integer> run : runs) {
+                sent += run.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(sent).isEqualTo(40);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(delivered).hasSize(40).doesNotHaveDuplicates();
+        assertThat(notificationOutboxRepository.countByStatus(NotificationOutbox.Status.SENT)).isEqualTo(40);
+    }
+
+    // 실패할 때마다 시도 횟수를 올리고 다음 시도를 두 배씩 늦춤
+    @Test
+    void failedSendIsRetriedWithBackoff() throws Exception {
+        NotificationOutbox row = enqueue();
+        doThrow(new IOException("down")).when(sink).send(any());
+
+        notificationDispatcher.dispatch();
+        NotificationOutbox first = reload(row);
+        assertThat(first.getStatus()).isEqualTo(NotificationOutbox.Status.PENDING);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getLastError()).contains("down");
+        assertThat(Duration.between(LocalDateTime.now(), first.getNextAttemptAt()).toSeconds()).isCloseTo(30, within(2L));
+
+        // 아직 차례가 아니면 다시 보내지 않음
+        notificationDispatcher.dispatch();
+        assertThat(reload(row).getAttempts()).isEqualTo(1);
+
+        makeDue(row);
+        notificationDispatcher.dispatch();
+        NotificationOutbox second = reload(row);
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(Duration.between(LocalDateTime.now(), second.getNextAttemptAt()).toSeconds()).isCloseTo(60, within(2L));
+
+        assertThat(notificationDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(notificationDispatcher.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(notificationDispatcher.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    // max-attempts번 실패하면 FAILED로 남고 더는 점유하지 않음
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        NotificationOutbox row = enqueue();
+        List<Long> attempts = new ArrayList<>();
+        doAnswer(invocation -> {
+            attempts.add(invocation.<NotificationSink.Message>getArgument(0).ids().get(0));
+            throw new IOException("down");
+        }).when(sink).send(any());
+
+        for (int i = 0; i < 3; i++) {
+            makeDue(row);
+            notificationDispatcher.dispatch();
+        }
+        NotificationOutbox failed = reload(row);
+        assertThat(failed.getStatus()).isEqualTo(NotificationOutbox.Status.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(3);
+
+        makeDue(row);
+        notificationDispatcher.dispatch();
+        assertThat(attempts).hasSize(3);
+        assertThat(reload(row).getStatus()).isEqualTo(NotificationOutbox.Status.FAILED);
+    }
+
+    private NotificationOutbox enqueue() {
+        return notificationOutboxRepository.save(new NotificationOutbox(1L, NotificationType.PRICE_ALERT, "t", "b"));
+    }
+
+    private NotificationOutbox reload(NotificationOutbox row) {
+        return notificationOutboxRepository.findById(row.getId()).orElseThrow();
+    }
+
+    private void makeDue(NotificationOutbox row) {
+        NotificationOutbox current = reload(row);
+        current.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        notificationOutboxRepository.save(current);
+    }
+}
@@ -0,0 +1,161 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.dto.PortfolioHistoryResponse;
+import com.peekport.exception.HistoryNotFoundException;
+import com.peekport.model.User;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PortfolioHistoryServiceTest {
+
+    @Autowired
+    private PortfolioHistoryService portfolioHistoryService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("h");
+        created.setEmail("history-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+    }
+
+    // 한 트랜잭션 안의 여러 변경은 커밋 직전에 엔티티당 한 건으로 합쳐짐 (생성 후 수정은 CREATE, 삭제가 끼면 DELETE)
+    @Test
+    void changesInOneTransactionAreCoalesced() {
+        GoalAccountResponse portfolio = portfolio();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        AssetResponse created = tx.execute(status -> {
+            AssetResponse stock = assetService.addAsset(portfolio.getId(), stock("A", 3), user);
+            assetService.adjustQuantity(portfolio.getId(), stock.getId(), 2, user);
+            return stock;
+        });
+
+        assertThat(ops(created.getId())).containsExactly("CREATE");
+        assertThat(payload(created.getId())).contains("\"quantity\":5");
+
+        AssetResponse deleted = assetService.addAsset(portfolio.getId(), stock("B", 1), user);
+        tx.executeWithoutResult(status -> {
+            assetService.adjustQuantity(portfolio.getId(), deleted.getId(), 4, user);
+            assetService.deleteAsset(portfolio.getId(), deleted.getId(), user);
+        });
+
+        assertThat(ops(deleted.getId())).containsExactly("CREATE", "DELETE");
+    }
+
+    // 체크포인트 전에는 생성 이벤트부터, 뒤에는 체크포인트에서 이후 이벤트만 다시 적용해 그 시점 상태를 복원
+    @Test
+    void historyIsRestoredBeforeAtAndAfterCheckpoint() throws InterruptedException {
+        LocalDateTime beforeCreation = tick();
+        GoalAccountResponse portfolio = portfolio();
+        AssetResponse a = assetService.addAsset(portfolio.getId(), stock("A", 10), user);
+        LocalDateTime first = tick();
+
+        assetService.adjustQuantity(portfolio.getId(), a.getId(), 10, user);
+        assertThat(portfolioHistoryService.checkpoint()).isPositive();
+        LocalDateTime checkpointed = tick();
+
+        assetService.adjustQuantity(portfolio.getId(), a.getId(), 10, user);
+        AssetResponse b = assetService.addAsset(portfolio.getId(), stock("B", 1), user);
+        portfolioService.adjustCash(portfolio.getId(), new BigDecimal("500"), user);
+        LocalDateTime latest = tick();
+
+        assertThatThrownBy(() -> portfolioHistoryService.getHistory(portfolio.getId(), beforeCreation, user))
+                .isInstanceOf(HistoryNotFoundException.class);
+
+        PortfolioHistoryResponse before = portfolioHistoryService.getHistory(portfolio.getId(), first, user);
+        assertThat(before.getCheckpointAt()).isNull();
+        assertThat(quantities(before)).containsExactly(a.getId() + "=10");
+        assertThat(before.getPortfolio().getCash()).isEqualByComparingTo("1000");
+
+        PortfolioHistoryResponse between = portfolioHistoryService.getHistory(portfolio.getId(), checkpointed, user);
+        assertThat(between.getCheckpointAt()).isNotNull().isBefore(checkpointed);
+        assertThat(between.getEventsReplayed()).isZero();
+        assertThat(quantities(between)).containsExactly(a.getId() + "=20");
+
+        PortfolioHistoryResponse after = portfolioHistoryService.getHistory(portfolio.getId(), latest, user);
+        assertThat(after.getCheckpointAt()).isEqualTo(between.getCheckpointAt());
+        assertThat(after.getEventsReplayed()).isPositive();
+        assertThat(quantities(after)).containsExactlyInAnyOrder(a.getId() + "=30", b.getId() + "=1");
+        assertThat(after.getPortfolio().getCash()).isEqualByComparingTo("1500");
+    }
+
+    // 이벤트 시각과 구분되도록 잠깐 쉰 뒤의 시각
+    private static LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(20);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(20);
+        return now;
+    }
+
+    private static List<String> quantities(PortfolioHistoryResponse response) {
+        return response.getAssets().stream()
+                .map(asset -> asset.getId() + "=" + asset.getQuantity())
+                .toList();
+    }
+
+    private List<String> ops(Long assetId) {
+        return jdbcTemplate.queryForList(
+                "SELECT op FROM asset_events WHERE entity_type = 'ASSET' AND entity_id = ? ORDER BY id",
+                String.class, assetId);
+    }
+
+    private String payload(Long assetId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT payload FROM asset_events WHERE entity_type = 'ASSET' AND entity_id = ?",
+                String.class, assetId);
+    }
+
+    private GoalAccountResponse portfolio() {
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("h");
+        request.setTargetAmount(1_000_000L);
+        request.setCash(new BigDecimal("1000"));
+        return portfolioService.createPortfolio(request, user);
+    }
+
+    private static AssetRequest stock(String name, int quantity) {
+        AssetRequest request = new AssetRequest();
+        request.setName(name);
+        request.setQuantity(quantity);
+        request.setPurchasePrice(new BigDecimal("10"));
+        return request;
+    }
+}
@@ -0,0 +1,162 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "peekport.portfolio-purge.chunk-size=2")
+class PortfolioPurgeServiceTest {
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioPurgeService portfolioPurgeService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalAccountRepository goalAccountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private AssetRepository assetRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("d");
+        created.setEmail("purge-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+        clearInvocations(assetRepository);
+    }
+
+    // 종목 5건을 2건씩 세 번에 나눠 지우고, 딸린 거래/현금 흐름과 포트폴리오 행까지 정리
+    @Test
+    void deletesRowsInChunks() {
+        GoalAccountResponse removed = portfolio();
+        GoalAccountResponse kept = portfolio();
+        for (int i = 0; i < 5; i++) {
+            stock(removed);
+        }
+        AssetResponse survivor = stock(kept);
+
+        portfolioService.deletePortfolio(removed.getId(), user, false);
+
+        verify(assetRepository, times(3)).deleteChunkByGoalAccountId(eq(removed.getId()), eq(2));
+        assertThat(count("asset", removed)).isZero();
+        assertThat(count("asset_transactions", removed)).isZero();
+        assertThat(count("portfolio_cash_flows", removed)).isZero();
+        assertThat(goalAccountRepository.findById(removed.getId())).isEmpty();
+        assertThat(assetRepository.findById(survivor.getId())).isPresent();
+        assertThat(count("asset_transactions", kept)).isEqualTo(1);
+    }
+
+    @Test
+    void otherUsersPortfolioIsNotDeleted() {
+        GoalAccountResponse portfolio = portfolio();
+        stock(portfolio);
+        User other = new User();
+        other.setName("o");
+        other.setEmail("purge-" + UUID.randomUUID() + "@test.com");
+        other.setPassword("pw");
+        User intruder = userRepository.save(other);
+
+        assertThatThrownBy(() -> portfolioService.deletePortfolio(portfolio.getId(), intruder, false))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(count("asset", portfolio)).isEqualTo(1);
+        assertThat(goalAccountRepository.findById(portfolio.getId()).orElseThrow().isDeleted()).isFalse();
+    }
+
+    // 정리 중 실패해도 삭제 표시는 커밋되어 목록에서 빠지고, 재처리(sweep)가 남은 행을 지움
+    @Test
+    void failedPurgeIsFinishedBySweep() {
+        GoalAccountResponse portfolio = portfolio();
+        for (int i = 0; i < 3; i++) {
+            stock(portfolio);
+        }
+
+        // 저장소는 인터페이스 프록시라 callRealMethod 대신 원본에 위임하는 기본 응답을 씀
+        Answer<?> real = mockingDetails(assetRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (chunks.incrementAndGet() == 2) {
+                throw new IllegalStateException("중단");
+            }
+            return real.answer(invocation);
+        }).when(assetRepository).deleteChunkByGoalAccountId(anyLong(), anyInt());
+        try {
+            assertThatThrownBy(() -> portfolioService.deletePortfolio(portfolio.getId(), user, false))
+                    .hasMessage("중단");
+        } finally {
+            reset(assetRepository);
+        }
+
+        assertThat(count("asset", portfolio)).isEqualTo(1);
+        assertThat(portfolioService.getPortfoliosByUser(user)).isEmpty();
+
+        portfolioPurgeService.sweepAbandoned();
+
+        assertThat(count("asset", portfolio)).isZero();
+        assertThat(goalAccountRepository.findById(portfolio.getId())).isEmpty();
+    }
+
+    private GoalAccountResponse portfolio() {
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        request.setCash(new BigDecimal("100"));
+        return portfolioService.createPortfolio(request, user);
+    }
+
+    private AssetResponse stock(GoalAccountResponse portfolio) {
+        AssetRequest request = new AssetRequest();
+        request.setName("s");
+        request.setQuantity(1);
+        request.setPurchasePrice(new BigDecimal("10"));
+        return assetService.addAsset(portfolio.getId(), request, user);
+    }
+
+    private int count(String table, GoalAccountResponse portfolio) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE goal_account_id = ?",
+                Integer.class, portfolio.getId());
+    }
+}
@@ -0,0 +1,65 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetState;
+import com.peekport.dto.PortfolioImage;
+import com.peekport.dto.PortfolioState;
+import com.peekport.model.AssetEvent.Op;
+import com.peekport.model.PortfolioType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PortfolioReplayTest {
+
+    @Test
+    void replaysFromCreation() {
+        PortfolioReplay replay = PortfolioReplay.empty();
+        assertThat(replay.exists()).isFalse();
+
+        replay.applyPortfolio(Op.CREATE, portfolio("1000"));
+        replay.applyAsset(Op.CREATE, 2L, asset(2L, "MSFT", 3));
+        replay.applyAsset(Op.CREATE, 1L, asset(1L, "AAPL", 5));
+        replay.applyAsset(Op.UPDATE, 1L, asset(1L, "AAPL", 7));
+
+        PortfolioImage image = replay.image();
+        assertThat(replay.exists()).isTrue();
+        assertThat(replay.applied()).isEqualTo(4);
+        assertThat(image.getAssets()).extracting(AssetState::getTicker).containsExactly("AAPL", "MSFT");
+        assertThat(image.getAssets().get(0).getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void continuesFromCheckpoint() {
+        PortfolioReplay replay = PortfolioReplay.from(new PortfolioImage(portfolio("1000"),
+                List.of(asset(1L, "AAPL", 5), asset(2L, "MSFT", 3))));
+
+        replay.applyAsset(Op.DELETE, 2L, null);
+        replay.applyPortfolio(Op.UPDATE, portfolio("500"));
+
+        PortfolioImage image = replay.image();
+        assertThat(image.getPortfolio().getCash()).isEqualByComparingTo("500");
+        assertThat(image.getAssets()).extracting(AssetState::getId).containsExactly(1L);
+        assertThat(replay.applied()).isEqualTo(2);
+    }
+
+    @Test
+    void deletedPortfolioDoesNotExist() {
+        PortfolioReplay replay = PortfolioReplay.from(new PortfolioImage(portfolio("1000"), List.of()));
+
+        replay.applyPortfolio(Op.DELETE, null);
+
+        assertThat(replay.exists()).isFalse();
+    }
+
+    private static PortfolioState portfolio(String cash) {
+        return new PortfolioState(10L, "연금", "KRW", new BigDecimal(cash), 1_000_000L, PortfolioType.BALANCED);
+    }
+
+    private static AssetState asset(Long id, String ticker, int quantity) {
+        return new AssetState(id, ticker, ticker, "주식", "장기", "USD", quantity,
+                new BigDecimal("100"), new BigDecimal("110"), null, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,151 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.exception.InvalidAdjustmentException;
+import com.peekport.exception.VersionConflictException;
+import com.peekport.model.GoalAccount;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PortfolioServiceTest {
+
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalAccountRepository goalAccountRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    private User user;
+    private GoalAccountResponse portfolio;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("p");
+        created.setEmail("portfolio-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        request.setCash(new BigDecimal("1000"));
+        portfolio = portfolioService.createPortfolio(request, user);
+    }
+
+    // 동시에 들어온 증감이 서로 덮어쓰지 않고 모두 더해짐
+    @Test
+    void concurrentCashAdjustmentsAreAllApplied() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return portfolioService.adjustCash(portfolio.getId(), new BigDecimal("10"), user);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cash()).isEqualByComparingTo("1080");
+    }
+
+    // 잔액보다 큰 출금은 UPDATE 조건에서 걸러져 잔액이 그대로 남음
+    @Test
+    void overdrawIsRejectedWithoutChangingBalance() {
+        assertThatThrownBy(() -> portfolioService.adjustCash(portfolio.getId(), new BigDecimal("-1000.01"), user))
+                .isInstanceOf(InvalidAdjustmentException.class);
+        assertThat(cash()).isEqualByComparingTo("1000");
+
+        GoalAccountResponse emptied = portfolioService.adjustCash(portfolio.getId(), new BigDecimal("-1000"), user);
+        assertThat(emptied.getCash()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        Long seen = goalAccountRepository.findById(portfolio.getId()).orElseThrow().getVersion();
+        portfolioService.updateCash(portfolio.getId(), new BigDecimal("500"), seen, user);
+
+        assertThatThrownBy(() -> portfolioService.updateCash(portfolio.getId(), new BigDecimal("700"), seen, user))
+                .isInstanceOf(VersionConflictException.class);
+        assertThat(cash()).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void quantityCannotGoBelowZero() {
+        AssetRequest request = new AssetRequest();
+        request.setName("s");
+        request.setQuantity(3);
+        request.setPurchasePrice(new BigDecimal("10"));
+        AssetResponse stock = assetService.addAsset(portfolio.getId(), request, user);
+
+        assertThatThrownBy(() -> assetService.adjustQuantity(portfolio.getId(), stock.getId(), -4, user))
+                .isInstanceOf(InvalidAdjustmentException.class);
+        assertThat(assetRepository.findById(stock.getId()).orElseThrow().getQuantity()).isEqualTo(3);
+
+        assertThat(assetService.adjustQuantity(portfolio.getId(), stock.getId(), -3, user).getQuantity()).isZero();
+    }
+
+    // 알림을 끄면 마지막 알림 기록도 같은 변경으로 지워지고 동기화 순번이 올라감
+    @Test
+    void disablingRebalancingAlertClearsNotifiedAt() {
+        portfolioService.updateRebalancingAlert(portfolio.getId(), true, user);
+        GoalAccount notified = goalAccountRepository.findById(portfolio.getId()).orElseThrow();
+        notified.setRebalancingNotifiedAt(LocalDateTime.now());
+        goalAccountRepository.saveAndFlush(notified);
+        long seq = goalAccountRepository.findById(portfolio.getId()).orElseThrow().getChangeSeq();
+
+        portfolioService.updateRebalancingAlert(portfolio.getId(), false, user);
+
+        GoalAccount disabled = goalAccountRepository.findById(portfolio.getId()).orElseThrow();
+        assertThat(disabled.isRebalancingAlert()).isFalse();
+        assertThat(disabled.getRebalancingNotifiedAt()).isNull();
+        assertThat(disabled.getChangeSeq()).isGreaterThan(seq);
+    }
+
+    private BigDecimal cash() {
+        return goalAccountRepository.findById(portfolio.getId()).orElseThrow().getCash();
+    }
+}
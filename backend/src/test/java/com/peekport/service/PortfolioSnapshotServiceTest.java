@@ -0,0 +1,121 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.model.PortfolioSnapshot;
+import com.peekport.model.User;
+import com.peekport.repository.PortfolioSnapshotRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class PortfolioSnapshotServiceTest {
+
+    // 다른 테스트가 쓰지 않는 날짜
+    private static final LocalDate DATE = LocalDate.of(2001, 1, 2);
+
+    @Autowired
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    @Autowired
+    private PortfolioSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // USD 포트폴리오에 USD/KRW 종목: 원화로 바꿔 더한 뒤 USD로 나눔. 같은 날짜를 다시 돌리면 새 값으로 덮어씀
+    @Test
+    void snapshotConvertsCurrenciesAndOverwritesSameDate() {
+        User user = user();
+        GoalAccountResponse usd = portfolio(user, "USD", "50");
+        AssetResponse dollar = assetService.addAsset(usd.getId(), stock("USD", 2, "80", "100"), user);
+        assetService.addAsset(usd.getId(), stock("KRW", 10, "1000", "1500"), user);
+        GoalAccountResponse empty = portfolio(user, null, "0");
+        BigDecimal usdRate = jdbcTemplate.queryForObject(
+                "SELECT rate_to_krw FROM fx_rates WHERE currency = 'USD'", BigDecimal.class);
+
+        long first = portfolioSnapshotService.snapshot(DATE);
+
+        PortfolioSnapshot snapshot = snapshot(usd);
+        assertThat(snapshot.getMarketValue().doubleValue()).isCloseTo(usdValue(2 * 100, 10 * 1500, usdRate), within(0.01));
+        assertThat(snapshot.getCostBasis().doubleValue()).isCloseTo(usdValue(2 * 80, 10 * 1000, usdRate), within(0.01));
+        assertThat(snapshot.getCash()).isEqualByComparingTo("50");
+        assertThat(snapshot(empty).getMarketValue()).isEqualByComparingTo("0");
+        assertThat(first).isEqualTo(liveCount()).isEqualTo(rowCount());
+
+        jdbcTemplate.update("UPDATE asset SET current_price = 120 WHERE id = ?", dollar.getId());
+        long second = portfolioSnapshotService.snapshot(DATE);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(rowCount()).isEqualTo(first);
+        assertThat(snapshot(usd).getMarketValue().doubleValue()).isCloseTo(usdValue(2 * 120, 10 * 1500, usdRate), within(0.01));
+    }
+
+    private static double usdValue(double dollars, double won, BigDecimal usdRate) {
+        return BigDecimal.valueOf(dollars).add(BigDecimal.valueOf(won).divide(usdRate, 10, RoundingMode.HALF_UP))
+                .doubleValue();
+    }
+
+    private PortfolioSnapshot snapshot(GoalAccountResponse portfolio) {
+        return snapshotRepository.findFirstByGoalAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+                portfolio.getId(), DATE).orElseThrow();
+    }
+
+    private long liveCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goal_accounts WHERE deleted = false", Long.class);
+    }
+
+    private long rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM portfolio_snapshots WHERE snapshot_date = ?",
+                Long.class, DATE);
+    }
+
+    private GoalAccountResponse portfolio(User user, String currency, String cash) {
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        request.setCurrency(currency);
+        request.setCash(new BigDecimal(cash));
+        return portfolioService.createPortfolio(request, user);
+    }
+
+    private static AssetRequest stock(String currency, int quantity, String purchasePrice, String currentPrice) {
+        AssetRequest request = new AssetRequest();
+        request.setName(currency);
+        request.setCurrency(currency);
+        request.setQuantity(quantity);
+        request.setPurchasePrice(new BigDecimal(purchasePrice));
+        request.setCurrentPrice(new BigDecimal(currentPrice));
+        return request;
+    }
+
+    private User user() {
+        User created = new User();
+        created.setName("s");
+        created.setEmail("snapshot-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        return userRepository.save(created);
+    }
+}
@@ -0,0 +1,76 @@
+package com.peekport.service;
+
+import com.peekport.model.PriceAlert.Direction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 100만 건 색인 적재/메모리/발동 지연 측정 (gradle benchmark 로만 실행)
+ */
+@Tag("benchmark")
+class PriceAlertIndexBenchmarkTest {
+
+    private static final int ALERTS = 1_000_000;
+    private static final int TICKERS = 2_000;
+    private static final int TICKS = 20_000;
+
+    @Test
+    void oneMillionAlerts() {
+        Random random = new Random(42);
+        String[] tickers = new String[TICKERS];
+        double[] basePrices = new double[TICKERS];
+        for (int t = 0; t < TICKERS; t++) {
+            tickers[t] = "T" + t;
+            basePrices[t] = 10 + random.nextInt(990);
+        }
+
+        long heapBefore = usedHeap();
+        long startedAt = System.nanoTime();
+        PriceAlertIndex index = new PriceAlertIndex();
+        for (int i = 0; i < ALERTS; i++) {
+            int t = random.nextInt(TICKERS);
+            // 현재가 ±30% 안의 기준가, 절반은 하락/절반은 상승 알림
+            Direction direction = random.nextBoolean() ? Direction.BELOW : Direction.ABOVE;
+            double offset = basePrices[t] * 0.3 * random.nextDouble();
+            double threshold = direction == Direction.BELOW ? basePrices[t] - offset : basePrices[t] + offset;
+            index.append(tickers[t], direction, threshold, i + 1);
+        }
+        index.sortAll();
+        long buildMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        long heapDelta = usedHeap() - heapBefore;
+
+        // 현재가 근처 ±1% 움직임 (대부분 발동 없음, 가끔 소수 발동)
+        double[] prices = basePrices.clone();
+        long[] latencies = new long[TICKS];
+        long fired = 0;
+        for (int i = 0; i < TICKS; i++) {
+            int t = random.nextInt(TICKERS);
+            prices[t] *= 1 + (random.nextDouble() - 0.5) * 0.02;
+            long tickStartedAt = System.nanoTime();
+            fired += index.fire(tickers[t], prices[t]).length;
+            latencies[i] = System.nanoTime() - tickStartedAt;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("[benchmark] alerts=%d tickers=%d build=%dms arrayBytes=%,d heapDelta~%,d%n",
+                ALERTS, index.tickerCount(), buildMillis, index.arrayBytes(), heapDelta);
+        System.out.printf("[benchmark] ticks=%d fired=%d p50=%dns p99=%dns p999=%dns max=%dns%n",
+                TICKS, fired, latencies[TICKS / 2], latencies[TICKS * 99 / 100],
+                latencies[TICKS * 999 / 1000], latencies[TICKS - 1]);
+
+        assertThat(index.size()).isEqualTo(ALERTS - fired);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,77 @@
+package com.peekport.service;
+
+import com.peekport.model.PriceAlert.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceAlertIndexTest {
+
+    @Test
+    void firesOnlyCrossedThresholds() {
+        PriceAlertIndex index = new PriceAlertIndex();
+        index.add("AAPL", Direction.BELOW, 100, 1);
+        index.add("AAPL", Direction.BELOW, 90, 2);
+        index.add("AAPL", Direction.ABOVE, 120, 3);
+        index.add("AAPL", Direction.ABOVE, 110, 4);
+        index.add("MSFT", Direction.BELOW, 500, 5);
+
+        assertThat(index.fire("AAPL", 105)).isEmpty();
+        assertThat(index.fire("AAPL", 100)).containsExactly(1L);
+        assertThat(index.fire("AAPL", 115)).containsExactly(4L);
+        assertThat(index.fire("AAPL", 80)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void firedAlertsAreRemoved() {
+        PriceAlertIndex index = new PriceAlertIndex();
+        index.add("AAPL", Direction.BELOW, 100, 1);
+
+        assertThat(index.fire("AAPL", 99)).containsExactly(1L);
+        assertThat(index.fire("AAPL", 50)).isEmpty();
+    }
+
+    @Test
+    void addIsIdempotentAndRemoveMatchesId() {
+        PriceAlertIndex index = new PriceAlertIndex();
+        index.add("AAPL", Direction.BELOW, 100, 1);
+        index.add("AAPL", Direction.BELOW, 100, 1);
+        index.add("AAPL", Direction.BELOW, 100, 2);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.remove("AAPL", Direction.BELOW, 100, 3)).isFalse();
+        assertThat(index.remove("AAPL", Direction.BELOW, 100, 1)).isTrue();
+        assertThat(index.fire("AAPL", 100)).containsExactly(2L);
+    }
+
+    @Test
+    void bulkLoadMatchesIncrementalAdds() {
+        Random random = new Random(7);
+        PriceAlertIndex loaded = new PriceAlertIndex();
+        double[] thresholds = new double[2000];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = 50 + random.nextInt(100);
+            loaded.append("AAPL", i % 2 == 0 ? Direction.BELOW : Direction.ABOVE, thresholds[i], i);
+        }
+        loaded.sortAll();
+
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < thresholds.length; i++) {
+            boolean crossed = i % 2 == 0 ? 100 <= thresholds[i] : 100 >= thresholds[i];
+            if (crossed) {
+                expected.add((long) i);
+            }
+        }
+        Set<Long> fired = new HashSet<>();
+        Arrays.stream(loaded.fire("AAPL", 100)).forEach(fired::add);
+
+        assertThat(fired).isEqualTo(expected);
+        assertThat(loaded.size()).isEqualTo(thresholds.length - expected.size());
+    }
+}
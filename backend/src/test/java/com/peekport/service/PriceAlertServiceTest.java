@@ -0,0 +1,93 @@
+package com.peekport.service;
+
+import com.peekport.dto.PriceAlertRequest;
+import com.peekport.dto.PriceAlertResponse;
+import com.peekport.model.PriceAlert;
+import com.peekport.model.User;
+import com.peekport.repository.PriceAlertRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+class PriceAlertServiceTest {
+
+    @Autowired
+    private PriceAlertService priceAlertService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private PriceAlertRepository priceAlertRepository;
+
+    // 적재가 끝난 뒤(마지막 빈 페이지) 들어온 등록/삭제/발동도 새 색인에 반영됨
+    @Test
+    void reloadReplaysChangesMadeDuringLoad() {
+        User user = user();
+        String ticker = "R" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        PriceAlertResponse deleted = priceAlertService.create(alert(ticker, PriceAlert.Direction.ABOVE, "200"), user);
+        priceAlertService.create(alert(ticker, PriceAlert.Direction.BELOW, "50"), user);
+
+        // 저장소는 인터페이스 프록시라 callRealMethod 대신 원본에 위임하는 기본 응답을 씀
+        Answer<?> real = mockingDetails(priceAlertRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicBoolean changed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            List<?> page = (List<?>) real.answer(invocation);
+            if (page.isEmpty() && changed.compareAndSet(false, true)) {
+                priceAlertService.create(alert(ticker, PriceAlert.Direction.ABOVE, "100"), user);
+                priceAlertService.delete(deleted.getId(), user);
+                assertThat(priceAlertService.onPrices(Map.of(ticker, new BigDecimal("40")))).isEqualTo(1);
+            }
+            return page;
+        }).when(priceAlertRepository).findActiveAfter(anyLong(), any(Pageable.class));
+        try {
+            priceAlertService.reload();
+        } finally {
+            reset(priceAlertRepository);
+        }
+
+        assertThat(changed).isTrue();
+        Integer active = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM price_alerts WHERE active = true", Integer.class);
+        assertThat(priceAlertService.getIndexStatus().getAlerts()).isEqualTo(active);
+        // 적재 중 등록한 알림만 남아 있음
+        assertThat(priceAlertService.onPrices(Map.of(ticker, new BigDecimal("300")))).isEqualTo(1);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setName("a");
+        user.setEmail("alert-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("pw");
+        return userRepository.save(user);
+    }
+
+    private static PriceAlertRequest alert(String ticker, PriceAlert.Direction direction, String threshold) {
+        PriceAlertRequest request = new PriceAlertRequest();
+        request.setTicker(ticker);
+        request.setDirection(direction);
+        request.setThreshold(new BigDecimal(threshold));
+        return request;
+    }
+}
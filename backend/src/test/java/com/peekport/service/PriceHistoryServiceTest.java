@@ -0,0 +1,52 @@
+package com.peekport.service;
+
+import com.peekport.dto.PriceHistoryImportRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PriceHistoryServiceTest {
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importAdvancesStoredVersion() {
+        long before = priceHistoryService.getVersion();
+
+        PriceHistoryImportRequest.Row row = new PriceHistoryImportRequest.Row();
+        row.setTicker("VER1");
+        row.setDate(LocalDate.of(2020, 1, 2));
+        row.setClose(new BigDecimal("10"));
+        priceHistoryService.importPrices(List.of(row));
+
+        assertThat(priceHistoryService.getVersion()).isGreaterThan(before);
+        assertThat(storedVersion()).isEqualTo(priceHistoryService.getVersion());
+    }
+
+    // 다른 서버가 올린 버전은 주기 갱신 때 반영
+    @Test
+    void refreshPicksUpVersionFromOtherServer() {
+        long before = priceHistoryService.getVersion();
+        jdbcTemplate.update("UPDATE price_history_version SET version = version + 1 WHERE id = 1");
+
+        priceHistoryService.refresh();
+
+        assertThat(priceHistoryService.getVersion()).isEqualTo(storedVersion()).isGreaterThan(before);
+    }
+
+    private long storedVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM price_history_version WHERE id = 1", Long.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.peekport.service;
+
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.dto.ReturnsResponse;
+import com.peekport.model.AssetTransaction;
+import com.peekport.model.PortfolioCashFlow;
+import com.peekport.model.PortfolioSnapshot;
+import com.peekport.model.User;
+import com.peekport.repository.AssetTransactionRepository;
+import com.peekport.repository.GoalAccountRepository;
+import com.peekport.repository.PortfolioCashFlowRepository;
+import com.peekport.repository.PortfolioSnapshotRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 흐름과 스냅샷을 날짜를 정해 직접 넣고 손으로 계산한 TWR/XIRR과 비교
+ * 평가 시점: 오늘-40일 1000, 오늘-10일 1600, 오늘(현금) 2000
+ * 흐름: 입금 +1000 (오늘-40일), 입금 +500 (오늘-20일),
+ *       USD 매수 100 × 환율 2 = +200 (오늘-5일), USD 직접 수정 2주@50 → 1주@50 = -50 × 2 = -100 (오늘-3일)
+ */
+@SpringBootTest
+class ReturnsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+    @Autowired
+    private ReturnsService returnsService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalAccountRepository goalAccountRepository;
+
+    @Autowired
+    private PortfolioSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private AssetTransactionRepository transactionRepository;
+
+    @Autowired
+    private PortfolioCashFlowRepository cashFlowRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Long portfolioId;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("r");
+        created.setEmail("returns-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        GoalAccountResponse portfolio = portfolioService.createPortfolio(request, user);
+        portfolioId = portfolio.getId();
+        jdbcTemplate.update("DELETE FROM portfolio_cash_flows WHERE goal_account_id = ?", portfolioId);
+        jdbcTemplate.update("DELETE FROM asset_transactions WHERE goal_account_id = ?", portfolioId);
+
+        snapshot(40, "1000");
+        snapshot(10, "1600");
+        cash(40, "1000");
+        cash(20, "500");
+        trade(AssetTransaction.Type.BUY, 5, 2, null, "100");
+        trade(AssetTransaction.Type.ADJUST, 3, 1, "50", null);
+        setCash("2000");
+    }
+
+    // 전체 기간: 시작 평가액 0인 첫 구간은 건너뛰고 1600-500 / 1000, 2000-100 / 1600 을 곱함
+    @Test
+    void allPeriodChainsSnapshotsAroundFlows() {
+        ReturnsResponse response = returnsService.getReturns(portfolioId, "ALL", user);
+
+        assertThat(response.getFrom()).isEqualTo(TODAY.minusDays(41));
+        assertThat(response.getStartValue()).isEqualByComparingTo("0");
+        assertThat(response.getEndValue()).isEqualByComparingTo("2000");
+        assertThat(response.getNetContribution()).isEqualByComparingTo("1600");
+        assertThat(response.getProfit()).isEqualByComparingTo("400");
+        // 1.1 × 1.1875 - 1
+        assertThat(response.getTwr()).isCloseTo(30.625, within(0.01));
+        assertThat(response.getTwrAnnualized()).isNull();
+        // -1000(1일), -500(21일), -200(36일), +100(38일), +2000(41일)의 내부수익률
+        assertThat(response.getXirr()).isCloseTo(1163.76, within(0.01));
+    }
+
+    // 1개월: 기준일 이전 마지막 스냅샷(오늘-40일, 1000)에서 시작하고 그 날까지의 흐름은 빠짐
+    @Test
+    void periodStartsFromLastSnapshotBeforeStartDate() {
+        snapshot(70, "400");
+
+        ReturnsResponse response = returnsService.getReturns(portfolioId, "1M", user);
+
+        assertThat(response.getFrom()).isEqualTo(TODAY.minusDays(40));
+        assertThat(response.getStartValue()).isEqualByComparingTo("1000");
+        assertThat(response.getNetContribution()).isEqualByComparingTo("600");
+        assertThat(response.getProfit()).isEqualByComparingTo("400");
+        assertThat(response.getTwr()).isCloseTo(30.625, within(0.01));
+    }
+
+    // 캐시된 흐름에 새 행만 이어 붙인 결과가 처음부터 다시 읽은 결과와 같아야 함
+    @Test
+    void appendedFlowsMatchFullReload() {
+        returnsService.getReturns(portfolioId, "ALL", user);
+
+        // 입금 +300 (오늘-2일), USD 매도 60 × 2 = -120 (오늘-1일)
+        cash(2, "300");
+        trade(AssetTransaction.Type.SELL, 1, 1, null, "60");
+        setCash("2180");
+
+        ReturnsResponse appended = returnsService.getReturns(portfolioId, "ALL", user);
+        ReturnsService fresh = new ReturnsService(goalAccountRepository, snapshotRepository, transactionRepository,
+                cashFlowRepository, assetService, fxRateService, 10);
+        ReturnsResponse reloaded = fresh.getReturns(portfolioId, "ALL", user);
+
+        assertThat(appended).usingRecursiveComparison().isEqualTo(reloaded);
+        assertThat(appended.getNetContribution()).isEqualByComparingTo("1780");
+        // 마지막 구간 (2180 - 280) / 1600 은 그대로
+        assertThat(appended.getTwr()).isCloseTo(30.625, within(0.01));
+        assertThat(appended.getXirr()).isCloseTo(1140.29, within(0.01));
+    }
+
+    private void snapshot(int daysAgo, String value) {
+        PortfolioSnapshot snapshot = new PortfolioSnapshot();
+        snapshot.setSnapshotDate(TODAY.minusDays(daysAgo));
+        snapshot.setGoalAccountId(portfolioId);
+        snapshot.setMarketValue(new BigDecimal(value));
+        snapshot.setCostBasis(new BigDecimal(value));
+        snapshot.setCash(BigDecimal.ZERO);
+        snapshotRepository.save(snapshot);
+    }
+
+    private void cash(int daysAgo, String amount) {
+        PortfolioCashFlow flow = new PortfolioCashFlow(portfolioId, new BigDecimal(amount));
+        flow.setFlowedAt(TODAY.minusDays(daysAgo).atTime(12, 0));
+        cashFlowRepository.save(flow);
+    }
+
+    // USD 종목 하나(환율 2)의 거래. 매수/매도는 금액을, 직접 수정은 조정 후 수량과 평단을 받음
+    private void trade(AssetTransaction.Type type, int daysAgo, int quantity, String price, String amount) {
+        AssetTransaction tx = new AssetTransaction();
+        tx.setUserId(user.getId());
+        tx.setGoalAccountId(portfolioId);
+        tx.setAssetId(-portfolioId);
+        tx.setType(type);
+        tx.setQuantity(quantity);
+        tx.setPrice(price != null ? new BigDecimal(price) : null);
+        tx.setAmount(amount != null ? new BigDecimal(amount) : null);
+        tx.setFxRate(new BigDecimal("2"));
+        tx.setTradedAt(TODAY.minusDays(daysAgo).atTime(12, 0));
+        transactionRepository.save(tx);
+    }
+
+    // 현재 평가액(종목 없이 현금만)을 바꾸고 변경 순번을 올려 결과 캐시를 무효화
+    private void setCash(String cash) {
+        jdbcTemplate.update("UPDATE goal_accounts SET cash = ?, change_seq = change_seq + 1 WHERE id = ?",
+                new BigDecimal(cash), portfolioId);
+    }
+}
@@ -0,0 +1,74 @@
+package com.peekport.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RiskMathTest {
+
+    @Test
+    void covarianceMatchesSampleDefinition() {
+        double[] returns = {
+                0.01, -0.02, 0.03, 0.00,
+                0.02, -0.04, 0.06, 0.00
+        };
+
+        double[] cov = RiskMath.covariance(returns, 2, 4);
+        double[] corr = RiskMath.correlation(cov, 2);
+
+        // 평균 0.005, 편차제곱합 0.00130 → 0.00130 / 3
+        assertThat(cov[0]).isCloseTo(0.0013 / 3, within(1e-12));
+        assertThat(cov[3]).isCloseTo(4 * 0.0013 / 3, within(1e-12));
+        assertThat(cov[1]).isEqualTo(cov[2]);
+        assertThat(corr[1]).isCloseTo(1.0, within(1e-12));
+    }
+
+    @Test
+    void parallelPathMatchesSequential() {
+        int n = RiskMath.PARALLEL_THRESHOLD + 8;
+        int t = 60;
+        Random random = new Random(7);
+        double[] returns = new double[n * t];
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] = random.nextGaussian() * 0.01;
+        }
+
+        double[] cov = RiskMath.covariance(returns, n, t);
+
+        for (int i = 0; i < n; i += 7) {
+            for (int j = 0; j < n; j += 5) {
+                double expected = 0;
+                double mi = mean(returns, i * t, t);
+                double mj = mean(returns, j * t, t);
+                for (int k = 0; k < t; k++) {
+                    expected += (returns[i * t + k] - mi) * (returns[j * t + k] - mj);
+                }
+                assertThat(cov[i * n + j]).isCloseTo(expected / (t - 1), within(1e-15));
+            }
+        }
+    }
+
+    @Test
+    void historicalTailUsesWorstObservations() {
+        double[] returns = new double[100];
+        for (int k = 0; k < 100; k++) {
+            returns[k] = (k - 50) / 1000.0; // -0.050 ~ 0.049
+        }
+
+        double[] tail = RiskMath.historicalTail(returns, 0.95);
+
+        assertThat(tail[0]).isCloseTo(0.046, within(1e-12));
+        assertThat(tail[1]).isCloseTo(0.048, within(1e-12));
+    }
+
+    private static double mean(double[] values, int offset, int length) {
+        double sum = 0;
+        for (int k = 0; k < length; k++) {
+            sum += values[offset + k];
+        }
+        return sum / length;
+    }
+}
@@ -0,0 +1,204 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.dto.SyncResponse;
+import com.peekport.model.SyncTombstone;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("s");
+        created.setEmail("sync-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        user = userRepository.save(created);
+    }
+
+    // 종목 변경은 트랜잭션의 순번을 종목과 소속 포트폴리오에 함께 찍음
+    @Test
+    void changesAreStampedWithUserSequence() {
+        GoalAccountResponse portfolio = portfolio();
+        long created = syncService.changesSince(0, user).getSeq();
+
+        AssetResponse stock = assetService.addAsset(portfolio.getId(), stock("A"), user);
+        SyncResponse response = syncService.changesSince(created, user);
+
+        assertThat(response.getSeq()).isEqualTo(created + 1);
+        assertThat(response.isChanged()).isTrue();
+        assertThat(response.isFullResync()).isFalse();
+        assertThat(response.getStocks()).extracting(AssetResponse::getId).containsExactly(stock.getId());
+        assertThat(response.getPortfolios()).extracting(GoalAccountResponse::getId).containsExactly(portfolio.getId());
+        assertThat(assetRepository.findById(stock.getId()).orElseThrow().getChangeSeq()).isEqualTo(response.getSeq());
+    }
+
+    @Test
+    void unchangedSequenceReturnsEmptyResponse() {
+        portfolio();
+        long seq = syncService.changesSince(0, user).getSeq();
+
+        SyncResponse response = syncService.changesSince(seq, user);
+
+        assertThat(response.getSeq()).isEqualTo(seq);
+        assertThat(response.isChanged()).isFalse();
+        assertThat(response.getPortfolios()).isEmpty();
+        assertThat(response.getStocks()).isEmpty();
+        assertThat(response.getDeleted()).isEmpty();
+    }
+
+    @Test
+    void deletionsAreReportedAsTombstones() {
+        GoalAccountResponse kept = portfolio();
+        GoalAccountResponse removed = portfolio();
+        AssetResponse stock = assetService.addAsset(kept.getId(), stock("A"), user);
+        long before = syncService.changesSince(0, user).getSeq();
+
+        assetService.deleteAsset(kept.getId(), stock.getId(), user);
+        portfolioService.deletePortfolio(removed.getId(), user, false);
+        SyncResponse response = syncService.changesSince(before, user);
+
+        assertThat(response.getStocks()).isEmpty();
+        assertThat(response.getPortfolios()).extracting(GoalAccountResponse::getId).containsExactly(kept.getId());
+        assertThat(response.getDeleted())
+                .extracting(SyncResponse.Deleted::getType, SyncResponse.Deleted::getId, SyncResponse.Deleted::getSeq)
+                .containsExactly(
+                        tuple(SyncTombstone.EntityType.ASSET, stock.getId(), before + 1),
+                        tuple(SyncTombstone.EntityType.PORTFOLIO, removed.getId(), before + 2));
+    }
+
+    // 서버보다 앞선 순번이면 삭제 기록 없이 전체를 다시 내려줌
+    @Test
+    void sinceAheadOfServerForcesFullResync() {
+        GoalAccountResponse portfolio = portfolio();
+        AssetResponse stock = assetService.addAsset(portfolio.getId(), stock("A"), user);
+        long current = syncService.changesSince(0, user).getSeq();
+
+        SyncResponse response = syncService.changesSince(current + 100, user);
+
+        assertThat(response.getSeq()).isEqualTo(current);
+        assertThat(response.isFullResync()).isTrue();
+        assertThat(response.getPortfolios()).extracting(GoalAccountResponse::getId).containsExactly(portfolio.getId());
+        assertThat(response.getStocks()).extracting(AssetResponse::getId).containsExactly(stock.getId());
+        assertThat(response.getDeleted()).isEmpty();
+    }
+
+    // 보관 기간이 지난 삭제 기록은 지우고, 그보다 오래된 since는 전체 재동기화 (이후 since는 그대로 변경분만)
+    @Test
+    void sinceOlderThanPurgedTombstonesForcesFullResync() {
+        GoalAccountResponse portfolio = portfolio();
+        AssetResponse stock = assetService.addAsset(portfolio.getId(), stock("A"), user);
+        long before = syncService.changesSince(0, user).getSeq();
+        assetService.deleteAsset(portfolio.getId(), stock.getId(), user);
+        long deleted = syncService.changesSince(0, user).getSeq();
+        jdbcTemplate.update("UPDATE sync_tombstones SET created_at = ? WHERE user_id = ?",
+                LocalDateTime.now().minusDays(365), user.getId());
+
+        assertThat(syncService.purgeTombstones()).isPositive();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sync_tombstones WHERE user_id = ?",
+                Long.class, user.getId())).isZero();
+        SyncResponse stale = syncService.changesSince(before, user);
+        assertThat(stale.isFullResync()).isTrue();
+        assertThat(stale.getPortfolios()).extracting(GoalAccountResponse::getId).containsExactly(portfolio.getId());
+        assertThat(stale.getStocks()).isEmpty();
+
+        AssetResponse added = assetService.addAsset(portfolio.getId(), stock("B"), user);
+        SyncResponse recent = syncService.changesSince(deleted, user);
+        assertThat(recent.isFullResync()).isFalse();
+        assertThat(recent.getStocks()).extracting(AssetResponse::getId).containsExactly(added.getId());
+    }
+
+    // 순번을 읽은 뒤 커밋된 변경은 이번 응답에 섞여도 다음 동기화에서 반드시 다시 내려감
+    @Test
+    void changeCommittedDuringSyncAppearsNextTime() {
+        GoalAccountResponse portfolio = portfolio();
+        long before = syncService.changesSince(0, user).getSeq();
+
+        // 저장소는 인터페이스 프록시라 callRealMethod 대신 원본에 위임하는 기본 응답을 씀
+        Answer<?> real = mockingDetails(userRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicBoolean changed = new AtomicBoolean();
+        AtomicReference<AssetResponse> added = new AtomicReference<>();
+        doAnswer(invocation -> {
+            Object seq = real.answer(invocation);
+            if (changed.compareAndSet(false, true)) {
+                added.set(CompletableFuture.supplyAsync(() -> assetService.addAsset(portfolio.getId(), stock("B"), user)).join());
+            }
+            return seq;
+        }).when(userRepository).findChangeSeq(anyLong());
+        SyncResponse during;
+        try {
+            during = syncService.changesSince(before, user);
+        } finally {
+            reset(userRepository);
+        }
+        assertThat(during.getSeq()).isEqualTo(before);
+
+        SyncResponse next = syncService.changesSince(during.getSeq(), user);
+
+        assertThat(next.getSeq()).isEqualTo(before + 1);
+        assertThat(next.getStocks()).extracting(AssetResponse::getId).containsExactly(added.get().getId());
+    }
+
+    private GoalAccountResponse portfolio() {
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        return portfolioService.createPortfolio(request, user);
+    }
+
+    private static AssetRequest stock(String name) {
+        AssetRequest request = new AssetRequest();
+        request.setName(name);
+        request.setQuantity(1);
+        request.setPurchasePrice(new BigDecimal("10"));
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.peekport.service;
+
+import com.peekport.dto.AssetRequest;
+import com.peekport.dto.AssetResponse;
+import com.peekport.dto.GoalAccountRequest;
+import com.peekport.dto.GoalAccountResponse;
+import com.peekport.dto.PriceHistoryImportRequest;
+import com.peekport.dto.TargetAllocationRequest;
+import com.peekport.dto.TargetAllocationResponse;
+import com.peekport.model.Asset;
+import com.peekport.model.PortfolioType;
+import com.peekport.model.User;
+import com.peekport.repository.AssetRepository;
+import com.peekport.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class TargetAllocationServiceTest {
+
+    @Autowired
+    private TargetAllocationService targetAllocationService;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 최적화에서 빠진 종목은 현재 비중을 목표로 저장해, 목표 합계가 최적화 결과와 맞아야 함
+    @Test
+    void applyStoresCurrentShareForExcludedHoldings() {
+        User user = user();
+        String prefix = "T" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        List<PriceHistoryImportRequest.Row> rows = new ArrayList<>();
+        for (int k = 0; k < 60; k++) {
+            rows.add(row(prefix + "A", today.minusDays(k), 100 + (k % 3)));
+            rows.add(row(prefix + "B", today.minusDays(k), 100 + (k % 5) * 2));
+        }
+        for (int k = 0; k < 5; k++) {
+            rows.add(row(prefix + "C", today.minusDays(k), 100));
+        }
+        priceHistoryService.importPrices(rows);
+
+        GoalAccountRequest request = new GoalAccountRequest();
+        request.setName("p");
+        request.setTargetAmount(1_000_000L);
+        request.setCash(new BigDecimal("1000"));
+        GoalAccountResponse portfolio = portfolioService.createPortfolio(request, user);
+        AssetResponse a = assetService.addAsset(portfolio.getId(), stock(prefix + "A", 10, null), user);
+        AssetResponse b = assetService.addAsset(portfolio.getId(), stock(prefix + "B", 10, null), user);
+        AssetResponse shortHistory = assetService.addAsset(portfolio.getId(), stock(prefix + "C", 5, "40"), user);
+        AssetResponse noTicker = assetService.addAsset(portfolio.getId(), stock(null, 5, "30"), user);
+
+        TargetAllocationRequest optimize = new TargetAllocationRequest();
+        optimize.setDays(20);
+        optimize.setProfile(PortfolioType.BALANCED);
+        optimize.setApply(true);
+        TargetAllocationResponse response = targetAllocationService.optimize(portfolio.getId(), optimize, user);
+
+        // 총 4000 중 제외 종목이 각각 500
+        assertThat(response.getExcludedWeight()).isEqualTo(25.0);
+        assertThat(targetRatio(shortHistory)).isEqualByComparingTo("12.50");
+        assertThat(targetRatio(noTicker)).isEqualByComparingTo("12.50");
+
+        double cashWeight = response.getFrontiers().stream()
+                .filter(frontier -> frontier.getProfile().equals(PortfolioType.BALANCED.name()))
+                .findFirst().orElseThrow().getCashWeight();
+        double stockTarget = List.of(a, b, shortHistory, noTicker).stream()
+                .mapToDouble(asset -> targetRatio(asset).doubleValue())
+                .sum();
+        assertThat(stockTarget + cashWeight).isCloseTo(100, within(0.05));
+
+        long seq = asset(a).getChangeSeq();
+        assertThat(asset(shortHistory).getChangeSeq()).isEqualTo(seq);
+        assertThat(asset(noTicker).getChangeSeq()).isEqualTo(seq);
+    }
+
+    private Asset asset(AssetResponse response) {
+        return assetRepository.findById(response.getId()).orElseThrow();
+    }
+
+    private BigDecimal targetRatio(AssetResponse response) {
+        return asset(response).getTargetRatio();
+    }
+
+    private User user() {
+        User created = new User();
+        created.setName("t");
+        created.setEmail("target-" + UUID.randomUUID() + "@test.com");
+        created.setPassword("pw");
+        return userRepository.save(created);
+    }
+
+    private static AssetRequest stock(String ticker, int quantity, String targetRatio) {
+        AssetRequest request = new AssetRequest();
+        request.setName(ticker != null ? ticker : "비상장");
+        request.setTicker(ticker);
+        request.setQuantity(quantity);
+        request.setPurchasePrice(new BigDecimal("100"));
+        request.setTargetRatio(targetRatio != null ? new BigDecimal(targetRatio) : null);
+        return request;
+    }
+
+    private static PriceHistoryImportRequest.Row row(String ticker, LocalDate date, double close) {
+        PriceHistoryImportRequest.Row row = new PriceHistoryImportRequest.Row();
+        row.setTicker(ticker);
+        row.setDate(date);
+        row.setClose(BigDecimal.valueOf(close));
+        return row;
+    }
+}
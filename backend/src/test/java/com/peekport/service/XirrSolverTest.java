@@ -0,0 +1,47 @@
+package com.peekport.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class XirrSolverTest {
+
+    @Test
+    void singlePeriodMatchesSimpleReturn() {
+        double[] years = {0, 1};
+        double[] amounts = {-1000, 1100};
+
+        assertThat(XirrSolver.solve(years, amounts, 2, Double.NaN)).isCloseTo(0.10, within(1e-9));
+    }
+
+    @Test
+    void multipleFlowsZeroNpv() {
+        double[] years = {0, 0.5, 1.25, 2};
+        double[] amounts = {-10_000, -2_000, 1_500, 12_500};
+
+        double rate = XirrSolver.solve(years, amounts, 4, 0.1);
+
+        assertThat(XirrSolver.npv(years, amounts, 4, rate)).isCloseTo(0, within(1e-6));
+    }
+
+    @Test
+    void fallsBackToBracketingWhenNewtonDiverges() {
+        // 큰 손실: Newton이 -100% 아래로 튀는 경우
+        double[] years = {0, 1};
+        double[] amounts = {-1000, 50};
+
+        double rate = XirrSolver.solve(years, amounts, 2, 5.0);
+
+        assertThat(rate).isGreaterThan(-1).isLessThan(0);
+        assertThat(XirrSolver.npv(years, amounts, 2, rate)).isCloseTo(0, within(1e-6));
+    }
+
+    @Test
+    void noSolutionWithoutSignChange() {
+        double[] years = {0, 1};
+        double[] amounts = {1000, 1100};
+
+        assertThat(XirrSolver.solve(years, amounts, 2, 0.1)).isNaN();
+    }
+}
@@ -0,0 +1,36 @@
+package com.peekport.support;
+
+import com.peekport.config.datasource.QueryStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 통합 테스트용 쿼리 수 확인
+ * action 안에서 실행된 SQL(같은 스레드, MockMvc 요청 포함)을 세어 max 이하인지 확인한다.
+ * 예: assertMaxQueries(4, () -> mvc.perform(get("/api/portfolios")...));
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryStats assertMaxQueries(int max, Action action) throws Exception {
+        QueryStats stats = count(action);
+        assertThat(stats.getStatements())
+                .as("실행한 SQL 수 (2번 이상 반복된 SQL: %s)", stats.repeated(2))
+                .isLessThanOrEqualTo(max);
+        return stats;
+    }
+
+    public static QueryStats count(Action action) throws Exception {
+        try (QueryStats stats = QueryStats.start()) {
+            action.run();
+            return stats;
+        }
+    }
+}
@@ -236,6 +236,7 @@ const Dashboard = () => {
     allocation: { ...portfolioData.targetAllocation },
   });
   const [stocksData, setStocksData] = useState([]);
+  const [termBreakdown, setTermBreakdown] = useState({ short: 0, mid: 0, long: 0 });
   const [activeIndex, setActiveIndex] = useState(null);
   const [showDetailedChart, setShowDetailedChart] = useState(false);
   const [progressWidth, setProgressWidth] = useState(0);
@@ -299,15 +300,7 @@ const Dashboard = () => {
 
   // 기간별 합계 계산
   const termTotals = {
-    short: stocksData
-      .filter((item) => item.term === 'short')
-      .reduce((sum, item) => sum + item.value, 0),
-    mid: stocksData
-      .filter((item) => item.term === 'mid')
-      .reduce((sum, item) => sum + item.value, 0),
-    long: stocksData
-      .filter((item) => item.term === 'long')
-      .reduce((sum, item) => sum + item.value, 0),
+    ...termBreakdown,
     cash: portfolioData.cash,
   };
 
@@ -410,6 +403,7 @@ const Dashboard = () => {
     }
   }, []);
 
+  // 종목 목록 전체 대신 서버에서 합산한 자산 배분만 받아 차트를 그림
   const fetchStocksData = useCallback(async () => {
     try {
       const token = getToken();
@@ -417,74 +411,56 @@ const Dashboard = () => {
         throw new Error('인증 토큰이 없습니다.');
       }
 
-      const allStocks = [];
-
-      for (const portfolio of portfolios) {
-        try {
-          const assetsResponse = await fetch(
-            `http://localhost:8080/api/portfolios/${portfolio.id}/stocks`,
-            {
-              method: 'GET',
-              headers: {
-                Authorization: `Bearer ${token}`,
-                'Content-Type': 'application/json',
-              },
-            }
-          );
-
-          if (assetsResponse.ok) {
-            const assets = await assetsResponse.json();
-
-            assets.forEach((asset, index) => {
-              const colors = [
-                '#0088FE',
-                '#00C49F',
-                '#FFBB28',
-                '#8884d8',
-                '#83a6ed',
-                '#a4de6c',
-                '#d0ed57',
-              ];
-              const colorIndex = index % colors.length;
-
-              let termLabel = '중기';
-              switch (asset.term) {
-                case 'short':
-                  termLabel = '단기';
-                  break;
-                case 'long':
-                  termLabel = '장기';
-                  break;
-                case 'mid':
-                default:
-                  termLabel = '중기';
-                  break;
-              }
-
-              allStocks.push({
-                name: asset.name || '알 수 없는 종목',
-                value: asset.totalValue || 0,
-                term: asset.term || 'mid',
-                termLabel: termLabel,
-                returnRate: asset.returnRate || 0,
-                color: colors[colorIndex],
-              });
-            });
-          }
-        } catch (assetError) {
-          console.warn(
-            `포트폴리오 ${portfolio.id}의 자산 로드 실패:`,
-            assetError
-          );
-        }
+      const response = await fetch('http://localhost:8080/api/breakdown', {
+        method: 'GET',
+        headers: {
+          Authorization: `Bearer ${token}`,
+          'Content-Type': 'application/json',
+        },
+      });
+
+      if (!response.ok) {
+        throw new Error('자산 배분 데이터를 불러오지 못했습니다.');
       }
 
-      setStocksData(allStocks);
+      const breakdown = await response.json();
+      const colors = [
+        '#0088FE',
+        '#00C49F',
+        '#FFBB28',
+        '#8884d8',
+        '#83a6ed',
+        '#a4de6c',
+        '#d0ed57',
+      ];
+      const termLabels = { short: '단기', mid: '중기', long: '장기' };
+
+      setStocksData(
+        breakdown.tickers.map((slice, index) => {
+          const term = slice.term || 'mid';
+          return {
+            name: slice.name || '알 수 없는 종목',
+            value: Number(slice.value) || 0,
+            term: term,
+            termLabel: termLabels[term] || '중기',
+            returnRate: slice.returnRate || 0,
+            color: colors[index % colors.length],
+          };
+        })
+      );
+
+      // 기간이 비어 있는 종목은 기존처럼 중기로 합산
+      const totals = { short: 0, mid: 0, long: 0 };
+      breakdown.terms.forEach((slice) => {
+        const term = totals[slice.key] !== undefined ? slice.key : 'mid';
+        totals[term] += Number(slice.value) || 0;
+      });
+      setTermBreakdown(totals);
     } catch (err) {
       console.error('종목 데이터 로드 실패:', err);
       setError(err.message);
     }
-  }, [portfolios]);
+  }, []);
 
   // 진행 바 애니메이션
   const progressPercentage =
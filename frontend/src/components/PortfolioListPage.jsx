@@ -2,6 +2,7 @@
 import React, { useState, useEffect, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
 import axios from 'axios';
+import { formatMoney } from '../utils/format';
 
 const PortfolioListPage = () => {
   const [portfolios, setPortfolios] = useState([]);
@@ -179,15 +180,13 @@ const PortfolioListPage = () => {
                 <div className="flex justify-between items-center text-sm text-gray-500 mb-4">
                   <span>
                     총 자산:{' '}
-                    {portfolio.totalAmount
-                      ? portfolio.totalAmount.toLocaleString() + '원'
-                      : '0원'}
+                    {formatMoney(portfolio.totalAmount, portfolio.currency)}
                   </span>
                   <span>
                     <p>
                       목표 금액:{' '}
                       {portfolio.targetAmount
-                        ? portfolio.targetAmount.toLocaleString() + '원'
+                        ? formatMoney(portfolio.targetAmount, portfolio.currency)
                         : '미입력'}
                     </p>
                   </span>
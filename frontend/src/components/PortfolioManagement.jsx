@@ -99,10 +99,14 @@ const PortfolioManagement = () => {
 
   const [newStock, setNewStock] = useState({
     name: '',
+    ticker: '',
+    currency: '',
     purchasePrice: '',
     quantity: '',
     term: 'short',
   });
+  // 종목명 자동완성 후보 (티커/이름/초성 검색)
+  const [instrumentSuggestions, setInstrumentSuggestions] = useState([]);
 
   // 수정 관련 상태
   const [editingStock, setEditingStock] = useState(null);
@@ -313,6 +317,8 @@ const PortfolioManagement = () => {
         `/api/portfolios/${selectedPortfolio.id}/stocks/add`,
         {
           name: newStock.name,
+          ticker: newStock.ticker || null,
+          currency: newStock.currency || null,
           purchasePrice: Number(newStock.purchasePrice),
           quantity: Number(newStock.quantity),
           term: newStock.term,
@@ -325,6 +331,8 @@ const PortfolioManagement = () => {
       setTimeout(() => setSuccessMessage(null), 3000);
       setNewStock({
         name: '',
+        ticker: '',
+        currency: '',
         purchasePrice: '',
         quantity: '',
         term: activeTab,
@@ -423,6 +431,39 @@ const PortfolioManagement = () => {
     fetchPortfolios();
   }, [fetchPortfolios]);
 
+  // 종목명 입력이 멈추면 자동완성 후보 조회
+  useEffect(() => {
+    const query = newStock.name.trim();
+    if (!query || newStock.ticker) {
+      setInstrumentSuggestions([]);
+      return undefined;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const res = await authAxios.get('/api/instruments/search', {
+          params: { q: query, limit: 8 },
+        });
+        setInstrumentSuggestions(Array.isArray(res.data) ? res.data : []);
+      } catch {
+        setInstrumentSuggestions([]);
+      }
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [newStock.name, newStock.ticker]);
+
+  // 후보를 고르면 티커/통화도 함께 채움 (직접 입력하면 비움)
+  const handleNewStockNameChange = (value) => {
+    const picked = instrumentSuggestions.find(
+      (instrument) => instrument.name === value
+    );
+    setNewStock({
+      ...newStock,
+      name: value,
+      ticker: picked ? picked.ticker : '',
+      currency: picked ? picked.currency : '',
+    });
+  };
+
   // 기존 계산 함수들
   const termTabs = ['short', 'mid', 'long'];
   const termLabels = {
@@ -909,12 +950,20 @@ const PortfolioManagement = () => {
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-4 gap-4 mb-4">
           <input
             type="text"
-            placeholder="종목명"
+            placeholder="종목명 (티커/초성 검색)"
             value={newStock.name}
-            onChange={(e) => setNewStock({ ...newStock, name: e.target.value })}
+            list="instrument-suggestions"
+            onChange={(e) => handleNewStockNameChange(e.target.value)}
             className="p-3 border border-gray-300 rounded-xl focus:ring-2 focus:ring-purple-400 focus:border-transparent transition-all"
             disabled={!selectedPortfolio}
           />
+          <datalist id="instrument-suggestions">
+            {instrumentSuggestions.map((instrument) => (
+              <option key={instrument.ticker} value={instrument.name}>
+                {instrument.ticker} · {instrument.market}
+              </option>
+            ))}
+          </datalist>
           <input
             type="number"
             placeholder="매수가 (원)"
@@ -1,5 +1,6 @@
 import React, { useState, useEffect, useCallback } from 'react';
 import { authAxios } from '../utils/authUtils';
+import { formatMoney } from '../utils/format';
 import { Loader2, AlertCircle, TrendingUp, TrendingDown } from 'lucide-react';
 
 // 포트폴리오 종목 목록 조회 컴포넌트
@@ -352,10 +353,10 @@ const PortfolioStocksList = ({ portfolioId }) => {
                     {stock.quantity?.toLocaleString() || 0}주
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap text-right text-sm text-gray-900">
-                    {stock.purchasePrice?.toLocaleString() || 0}원
+                    {formatMoney(stock.purchasePrice, stock.currency)}
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap text-right text-sm text-gray-900">
-                    {stock.currentPrice?.toLocaleString() || 0}원
+                    {formatMoney(stock.currentPrice, stock.currency)}
                   </td>
                   <td
                     className={`px-6 py-4 whitespace-nowrap text-right text-sm font-medium ${
@@ -363,7 +364,7 @@ const PortfolioStocksList = ({ portfolioId }) => {
                     }`}
                   >
                     {isProfit ? '+' : ''}
-                    {profitLoss.toLocaleString()}원
+                    {formatMoney(profitLoss, stock.currency)}
                   </td>
                   <td
                     className={`px-6 py-4 whitespace-nowrap text-right text-sm font-medium ${
@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { attachEtagCache } from './etagCache';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -8,6 +9,9 @@ const api = axios.create({
   withCredentials: true
 });
 
+// 조건부 GET (If-None-Match → 304면 기억해 둔 본문 사용)
+attachEtagCache(api);
+
 // 요청 인터셉터 - 토큰 추가
 api.interceptors.request.use(
   (config) => {
@@ -35,6 +39,25 @@ export const portfolioApi = {
   
   // 현금 업데이트
   updateCash: (portfolioId, cash) => api.put(`/portfolios/${portfolioId}/cash`, { cash }),
+
+  // 일별 평가 스냅샷 (from/to: 'YYYY-MM-DD', 생략 시 최근 1년)
+  getSnapshots: (portfolioId, from, to) =>
+    api.get(`/portfolios/${portfolioId}/snapshots`, { params: { from, to } }),
+
+  // 기간 수익률 TWR/XIRR (period: '1M'|'3M'|'6M'|'YTD'|'1Y'|'3Y'|'5Y'|'10Y'|'ALL')
+  getReturns: (portfolioId, period = '1Y') =>
+    api.get(`/portfolios/${portfolioId}/returns`, { params: { period } }),
+
+  // 위험 지표 (변동성, 상관계수, VaR/CVaR). days: 일간 수익률 개수
+  getRisk: (portfolioId, days = 252, covariance = false) =>
+    api.get(`/portfolios/${portfolioId}/risk`, { params: { days, covariance } }),
+
+  // 목표 금액 달성 확률 시뮬레이션 (targetDate: 'YYYY-MM-DD', 기본 10년 뒤)
+  getProjection: (portfolioId, { targetDate, monthlyContribution, paths, seed } = {}) =>
+    api.get(`/portfolios/${portfolioId}/projection`, { params: { targetDate, monthlyContribution, paths, seed } }),
+
+  // 과거 시점의 포트폴리오 구성 (at: 'YYYY-MM-DDTHH:mm:ss', 생략 시 현재)
+  getHistory: (portfolioId, at) => api.get(`/portfolios/${portfolioId}/history`, { params: { at } }),
 };
 
 // 자산 API
@@ -44,6 +67,60 @@ export const assetApi = {
   
   // 자산 상세 조회
   getAssetDetail: (portfolioId, stockId) => api.get(`/portfolios/${portfolioId}/stocks/${stockId}`),
+
+  // 여러 종목 추가/수정/삭제 + 현금 증감을 한 번에 (operations: [{ type: 'ADD'|'UPDATE'|'DELETE', stockId, asset }])
+  batch: (portfolioId, operations, cashDelta) =>
+    api.post(`/portfolios/${portfolioId}/stocks/batch`, { operations, cashDelta }),
+
+  // 거래 내역 (trade: { type: 'BUY'|'SELL'|'DIVIDEND', quantity, price, amount, fee, tradedAt })
+  addTransaction: (portfolioId, stockId, trade) =>
+    api.post(`/portfolios/${portfolioId}/stocks/${stockId}/transactions`, trade),
+  getTransactions: (portfolioId, stockId) =>
+    api.get(`/portfolios/${portfolioId}/stocks/${stockId}/transactions`),
+};
+
+// 자산 배분 API (분류/기간/종목별 합계, portfolioId 생략 시 전체 포트폴리오를 currency로 합산)
+export const breakdownApi = {
+  getBreakdown: (portfolioId, currency) =>
+    portfolioId
+      ? api.get(`/portfolios/${portfolioId}/breakdown`)
+      : api.get('/breakdown', { params: { currency } }),
+};
+
+// 전체 포트폴리오 합산 노출 API (티커별/분류별, currency 생략 시 원화)
+export const exposureApi = {
+  getExposure: (currency) => api.get('/exposure', { params: { currency } }),
+};
+
+// 종목 검색 API (티커/이름 앞부분, 한글 초성)
+export const instrumentApi = {
+  search: (q, limit = 10) => api.get('/instruments/search', { params: { q, limit } }),
+};
+
+// 환율 API (지원 통화 목록 겸용)
+export const fxApi = {
+  getRates: () => api.get('/fx-rates'),
+};
+
+// 가격 알림 API (direction: BELOW | ABOVE, 한 번 발동하면 비활성)
+export const alertApi = {
+  getAlerts: () => api.get('/price-alerts'),
+  createAlert: (alertData) => api.post('/price-alerts', alertData),
+  deleteAlert: (alertId) => api.delete(`/price-alerts/${alertId}`),
+};
+
+// 목표 비중 API (위험 수준별 평균-분산 최적화, apply: true면 종목 목표 비중에 저장)
+export const allocationApi = {
+  optimize: (portfolioId, options = {}) =>
+    api.post(`/portfolios/${portfolioId}/rebalancing/target-allocation/optimize`, options),
+  // 리밸런싱 필요 알림 켜기/끄기
+  updateNotification: (portfolioId, enabled) =>
+    api.put(`/portfolios/${portfolioId}/rebalancing/notification`, null, { params: { enabled } }),
+};
+
+// 변경분 동기화 API (since: 마지막으로 받은 seq)
+export const syncApi = {
+  changes: (since = 0) => api.get('/sync', { params: { since } }),
 };
 
 export default api; 
\ No newline at end of file
@@ -1,8 +1,10 @@
 // authUtils.js - 인증 관련 유틸리티 함수 
 import axios from 'axios';
+import { attachEtagCache, clearEtagCache } from './etagCache';
 
 // JWT 토큰 저장
 export const saveToken = (token) => {
+  clearEtagCache();
   localStorage.setItem('jwt', token);
 };
 
@@ -38,6 +40,7 @@ export const getUser = () => {
 // 로그아웃
 export const logout = () => {
   removeToken();
+  clearEtagCache();
   localStorage.removeItem('user');
   // 필요한 경우 추가 정리 작업
 };
@@ -53,6 +56,9 @@ export const authAxios = axios.create({
   withCredentials: true
 });
 
+// 같은 목록/종목/요약을 다시 읽을 때 바뀐 게 없으면 304로 본문 없이 받음
+attachEtagCache(authAxios);
+
 // 요청 인터셉터 - 모든 요청에 인증 헤더 추가
 authAxios.interceptors.request.use(
   (config) => {
@@ -0,0 +1,52 @@
+// 조건부 GET 캐시 (ETag)
+// 응답에 ETag가 오면 본문과 함께 기억해 두고, 같은 주소를 다시 읽을 때 If-None-Match로 보낸다.
+// 서버가 304(바뀐 것 없음)를 주면 기억해 둔 본문을 200 응답처럼 돌려주므로 호출하는 쪽은 그대로 쓰면 된다.
+const MAX_ENTRIES = 200;
+const entries = new Map(); // 주소 → { etag, data } (오래 안 쓴 것부터 지움)
+
+const keyOf = (instance, config) => instance.getUri(config);
+
+export const attachEtagCache = (instance) => {
+  instance.interceptors.request.use((config) => {
+    if ((config.method || 'get').toLowerCase() !== 'get') {
+      return config;
+    }
+    const key = keyOf(instance, config);
+    const entry = entries.get(key);
+    config.etagKey = key;
+    if (entry) {
+      config.etagEntry = entry;
+      config.headers['If-None-Match'] = entry.etag;
+      config.validateStatus = (status) => (status >= 200 && status < 300) || status === 304;
+    }
+    return config;
+  });
+
+  instance.interceptors.response.use((response) => {
+    const { config } = response;
+    if (!config.etagKey) {
+      return response;
+    }
+    if (response.status === 304 && config.etagEntry) {
+      entries.delete(config.etagKey);
+      entries.set(config.etagKey, config.etagEntry);
+      return { ...response, status: 200, data: config.etagEntry.data };
+    }
+    const etag = response.headers?.etag;
+    if (etag) {
+      entries.delete(config.etagKey);
+      entries.set(config.etagKey, { etag, data: response.data });
+      if (entries.size > MAX_ENTRIES) {
+        entries.delete(entries.keys().next().value);
+      }
+    }
+    return response;
+  });
+
+  return instance;
+};
+
+// 로그인 사용자가 바뀌면 비움
+export const clearEtagCache = () => {
+  entries.clear();
+};
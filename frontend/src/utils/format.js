@@ -0,0 +1,8 @@
+// 금액 표시 (원화는 "1,234원", 그 외 통화는 "1,234.56 USD")
+export const formatMoney = (amount, currency = 'KRW') => {
+  const value = Number(amount) || 0;
+  if (!currency || currency === 'KRW') {
+    return `${Math.round(value).toLocaleString()}원`;
+  }
+  return `${value.toLocaleString(undefined, { maximumFractionDigits: 2 })} ${currency}`;
+};